@@ -0,0 +1,11 @@
+-- 企业申请列表按 (applied_at, id) 做游标分页，applied_at 为 NULL 的行无法被游标条件匹配：
+-- 先用所属岗位的发布时间回填（岗位也没有时间时取最早时间），再改为非空
+USE bb;
+
+UPDATE job_application ja
+    LEFT JOIN job_posting jp ON jp.id = ja.job_id
+SET ja.applied_at = COALESCE(jp.published_date, '1970-01-01 00:00:00')
+WHERE ja.applied_at IS NULL;
+
+ALTER TABLE job_application
+    MODIFY COLUMN applied_at DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP COMMENT '申请提交时间';
@@ -0,0 +1,18 @@
+-- 企业发布面试时段，学生自助预约；application_id 唯一保证每个申请最多占用一个时段
+USE bb;
+
+CREATE TABLE IF NOT EXISTS interview_slot (
+    id              BIGINT PRIMARY KEY AUTO_INCREMENT COMMENT '主键ID，自增',
+    job_id          BIGINT      NOT NULL COMMENT '关联招聘岗位表job_posting的ID',
+    start_time      DATETIME    NOT NULL COMMENT '时段开始时间',
+    location        VARCHAR(200) COMMENT '线下面试地点',
+    meeting_link    VARCHAR(255) COMMENT '线上面试会议链接',
+    application_id  BIGINT      COMMENT '预约该时段的申请ID，为空表示未被预约',
+    interview_id    BIGINT      COMMENT '预约后生成的面试安排ID',
+    booked_at       DATETIME    COMMENT '预约时间',
+    UNIQUE KEY uk_interview_slot_application (application_id),
+    KEY idx_interview_slot_job_time (job_id, start_time),
+    FOREIGN KEY (job_id) REFERENCES job_posting(id),
+    FOREIGN KEY (application_id) REFERENCES job_application(id),
+    FOREIGN KEY (interview_id) REFERENCES interview(id)
+) COMMENT='企业发布的面试时段表，学生自助预约';
@@ -0,0 +1,5 @@
+-- 面试安排的修改可能不改变状态，增加乐观锁版本号防止并发修改互相覆盖
+USE bb;
+
+ALTER TABLE interview
+    ADD COLUMN version INT NOT NULL DEFAULT 0 COMMENT '乐观锁版本号';
@@ -0,0 +1,8 @@
+-- 系统通知增加新岗位提醒类型（JOB_ALERT）
+USE bb;
+
+ALTER TABLE system_notification
+    MODIFY COLUMN category ENUM('SYSTEM','INTERVIEW','APPLICATION','GUIDANCE','JOB_ALERT') DEFAULT 'SYSTEM'
+        COMMENT '通知类型：系统/面试/申请/指导/新岗位提醒';
+
+SELECT 'system_notification.category now accepts JOB_ALERT' AS Status;
@@ -0,0 +1,8 @@
+-- 企业工作台按岗位取最近的申请与面试（ORDER BY ... LIMIT），并按岗位分组计数
+USE bb;
+
+ALTER TABLE job_application
+    ADD KEY idx_job_application_job_applied (job_id, applied_at);
+
+ALTER TABLE interview
+    ADD KEY idx_interview_job_time (job_id, scheduled_time);
@@ -0,0 +1,55 @@
+-- 岗位与就业意向增加结构化薪资列（月薪，单位：元），并回填已有数据
+-- 需要 MySQL 8.0+（REGEXP_SUBSTR）。新写入的数据由应用在保存时解析填充
+USE bb;
+
+ALTER TABLE job_posting
+    ADD COLUMN salary_min INT COMMENT '月薪下限（元），由salary_range解析' AFTER salary_range,
+    ADD COLUMN salary_max INT COMMENT '月薪上限（元），由salary_range解析' AFTER salary_min,
+    ADD KEY idx_job_posting_salary (status, salary_min, salary_max);
+
+ALTER TABLE employment_intention
+    ADD COLUMN salary_min INT COMMENT '期望月薪下限（元），由salary_range解析' AFTER salary_range,
+    ADD COLUMN salary_max INT COMMENT '期望月薪上限（元），由salary_range解析' AFTER salary_min,
+    ADD KEY idx_employment_intention_salary (salary_min, salary_max);
+
+-- 回填：只处理 "8k-12k"、"8-12K"、"10000-15000"、"1.5万-2万"、"5k"、"4500元/月" 这类常见写法，
+-- 单位写在任一端即对两端生效；面议等无法识别的描述保持 NULL，在应用中重新保存时会按完整规则解析
+DROP TEMPORARY TABLE IF EXISTS tmp_salary_backfill;
+CREATE TEMPORARY TABLE tmp_salary_backfill AS
+SELECT id,
+       CASE WHEN s REGEXP '万|w' THEN 10000 WHEN s REGEXP 'k|千' THEN 1000 ELSE 1 END AS unit,
+       CAST(REGEXP_SUBSTR(s, '[0-9]+(\\.[0-9]+)?', 1, 1) AS DECIMAL(12, 2)) AS low,
+       CAST(COALESCE(REGEXP_SUBSTR(s, '[0-9]+(\\.[0-9]+)?', 1, 2),
+                     REGEXP_SUBSTR(s, '[0-9]+(\\.[0-9]+)?', 1, 1)) AS DECIMAL(12, 2)) AS high
+FROM (SELECT id, LOWER(REPLACE(salary_range, ' ', '')) AS s
+      FROM job_posting
+      WHERE salary_range IS NOT NULL AND salary_min IS NULL) raw
+WHERE s REGEXP '^[0-9]+(\\.[0-9]+)?(k|千|w|万)?([-~至到][0-9]+(\\.[0-9]+)?(k|千|w|万)?)?(元)?(/月)?$';
+
+UPDATE job_posting jp
+JOIN tmp_salary_backfill t ON t.id = jp.id
+SET jp.salary_min = ROUND(LEAST(t.low, t.high) * t.unit),
+    jp.salary_max = ROUND(GREATEST(t.low, t.high) * t.unit);
+
+DROP TEMPORARY TABLE tmp_salary_backfill;
+CREATE TEMPORARY TABLE tmp_salary_backfill AS
+SELECT id,
+       CASE WHEN s REGEXP '万|w' THEN 10000 WHEN s REGEXP 'k|千' THEN 1000 ELSE 1 END AS unit,
+       CAST(REGEXP_SUBSTR(s, '[0-9]+(\\.[0-9]+)?', 1, 1) AS DECIMAL(12, 2)) AS low,
+       CAST(COALESCE(REGEXP_SUBSTR(s, '[0-9]+(\\.[0-9]+)?', 1, 2),
+                     REGEXP_SUBSTR(s, '[0-9]+(\\.[0-9]+)?', 1, 1)) AS DECIMAL(12, 2)) AS high
+FROM (SELECT id, LOWER(REPLACE(salary_range, ' ', '')) AS s
+      FROM employment_intention
+      WHERE salary_range IS NOT NULL AND salary_min IS NULL) raw
+WHERE s REGEXP '^[0-9]+(\\.[0-9]+)?(k|千|w|万)?([-~至到][0-9]+(\\.[0-9]+)?(k|千|w|万)?)?(元)?(/月)?$';
+
+UPDATE employment_intention ei
+JOIN tmp_salary_backfill t ON t.id = ei.id
+SET ei.salary_min = ROUND(LEAST(t.low, t.high) * t.unit),
+    ei.salary_max = ROUND(GREATEST(t.low, t.high) * t.unit);
+
+DROP TEMPORARY TABLE tmp_salary_backfill;
+
+SELECT 'salary columns added' AS Status,
+       (SELECT COUNT(*) FROM job_posting WHERE salary_range IS NOT NULL AND salary_min IS NULL) AS unparsed_job_postings,
+       (SELECT COUNT(*) FROM employment_intention WHERE salary_range IS NOT NULL AND salary_min IS NULL) AS unparsed_intentions;
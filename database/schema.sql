@@ -10,6 +10,7 @@ DROP TABLE IF EXISTS public_search_history;
 DROP TABLE IF EXISTS system_notification;
 DROP TABLE IF EXISTS teacher_guidance;
 DROP TABLE IF EXISTS teacher;
+DROP TABLE IF EXISTS interview_slot;
 DROP TABLE IF EXISTS interview;
 DROP TABLE IF EXISTS job_application;
 DROP TABLE IF EXISTS job_requirement;
@@ -108,8 +109,11 @@ CREATE TABLE IF NOT EXISTS employment_intention (
     student_id        BIGINT      NOT NULL UNIQUE COMMENT '关联学生资料表student_profile的ID（唯一）',
     expected_position VARCHAR(120) COMMENT '期望职位名称',
     salary_range      VARCHAR(60) COMMENT '期望薪资范围',
+    salary_min        INT COMMENT '期望月薪下限（元），由salary_range解析',
+    salary_max        INT COMMENT '期望月薪上限（元），由salary_range解析',
     work_type         ENUM('FULL_TIME','PART_TIME','INTERNSHIP','FLEXIBLE') COMMENT '期望工作类型：全职/兼职/实习/灵活',
     notes             TEXT COMMENT '其他就业意向备注',
+    KEY idx_employment_intention_salary (salary_min, salary_max),
     FOREIGN KEY (student_id) REFERENCES student_profile(id)
 ) COMMENT='学生就业意向表';
 
@@ -168,11 +172,14 @@ CREATE TABLE IF NOT EXISTS job_posting (
     title          VARCHAR(150) NOT NULL COMMENT '职位标题',
     description    TEXT COMMENT '职位详细描述',
     salary_range   VARCHAR(80) COMMENT '薪资范围描述',
+    salary_min     INT COMMENT '月薪下限（元），由salary_range解析',
+    salary_max     INT COMMENT '月薪上限（元），由salary_range解析',
     location       VARCHAR(120) COMMENT '工作地点',
     work_type      ENUM('FULL_TIME','PART_TIME','INTERNSHIP','REMOTE') COMMENT '工作类型：全职/兼职/实习/远程',
     status         ENUM('OPEN','CLOSED','DRAFT') DEFAULT 'OPEN' COMMENT '岗位状态：开放/关闭/草稿',
     published_date DATETIME    DEFAULT CURRENT_TIMESTAMP COMMENT '职位发布时间',
     closing_date   DATE COMMENT '职位截止日期',
+    KEY idx_job_posting_salary (status, salary_min, salary_max),
     FOREIGN KEY (employer_id) REFERENCES employer(id)
 ) COMMENT='招聘岗位发布表';
 
@@ -190,7 +197,8 @@ CREATE TABLE IF NOT EXISTS job_application (
     resume_id    BIGINT      NOT NULL COMMENT '关联简历表resume的ID',
     status       ENUM('SUBMITTED','REVIEWING','INTERVIEW','OFFERED','REJECTED') DEFAULT 'SUBMITTED' COMMENT '申请状态：提交/筛选/面试/已录用/已拒绝',
     cover_letter TEXT COMMENT '求职信内容',
-    applied_at   DATETIME    DEFAULT CURRENT_TIMESTAMP COMMENT '申请提交时间',
+    applied_at   DATETIME    NOT NULL DEFAULT CURRENT_TIMESTAMP COMMENT '申请提交时间',
+    KEY idx_job_application_job_applied (job_id, applied_at),
     FOREIGN KEY (job_id) REFERENCES job_posting(id),
     FOREIGN KEY (student_id) REFERENCES student_profile(id),
     FOREIGN KEY (resume_id) REFERENCES resume(id)
@@ -205,10 +213,28 @@ CREATE TABLE IF NOT EXISTS interview (
     meeting_link    VARCHAR(255) COMMENT '线上面试会议链接',
     status          ENUM('SCHEDULED','COMPLETED','CANCELLED') DEFAULT 'SCHEDULED' COMMENT '面试状态：已安排/已完成/已取消',
     feedback        TEXT COMMENT '面试反馈或评语',
+    version         INT         NOT NULL DEFAULT 0 COMMENT '乐观锁版本号',
+    KEY idx_interview_job_time (job_id, scheduled_time),
     FOREIGN KEY (job_id) REFERENCES job_posting(id),
     FOREIGN KEY (application_id) REFERENCES job_application(id)
 ) COMMENT='面试安排记录表';
 
+CREATE TABLE IF NOT EXISTS interview_slot (
+    id              BIGINT PRIMARY KEY AUTO_INCREMENT COMMENT '主键ID，自增',
+    job_id          BIGINT      NOT NULL COMMENT '关联招聘岗位表job_posting的ID',
+    start_time      DATETIME    NOT NULL COMMENT '时段开始时间',
+    location        VARCHAR(200) COMMENT '线下面试地点',
+    meeting_link    VARCHAR(255) COMMENT '线上面试会议链接',
+    application_id  BIGINT      COMMENT '预约该时段的申请ID，为空表示未被预约',
+    interview_id    BIGINT      COMMENT '预约后生成的面试安排ID',
+    booked_at       DATETIME    COMMENT '预约时间',
+    UNIQUE KEY uk_interview_slot_application (application_id),
+    KEY idx_interview_slot_job_time (job_id, start_time),
+    FOREIGN KEY (job_id) REFERENCES job_posting(id),
+    FOREIGN KEY (application_id) REFERENCES job_application(id),
+    FOREIGN KEY (interview_id) REFERENCES interview(id)
+) COMMENT='企业发布的面试时段表，学生自助预约';
+
 CREATE TABLE IF NOT EXISTS teacher (
     id          BIGINT PRIMARY KEY AUTO_INCREMENT COMMENT '主键ID，自增',
     user_id     BIGINT      NOT NULL COMMENT '关联系统用户表sys_user的ID',
@@ -258,7 +284,7 @@ CREATE TABLE IF NOT EXISTS public_resource (
 CREATE TABLE IF NOT EXISTS system_notification (
     id          BIGINT PRIMARY KEY AUTO_INCREMENT COMMENT '主键ID，自增',
     user_id     BIGINT      NOT NULL COMMENT '关联系统用户表sys_user的ID',
-    category    ENUM('SYSTEM','INTERVIEW','APPLICATION','GUIDANCE') DEFAULT 'SYSTEM' COMMENT '通知类型：系统/面试/申请/指导',
+    category    ENUM('SYSTEM','INTERVIEW','APPLICATION','GUIDANCE','JOB_ALERT') DEFAULT 'SYSTEM' COMMENT '通知类型：系统/面试/申请/指导/新岗位提醒',
     title       VARCHAR(150) NOT NULL COMMENT '通知标题',
     content     TEXT COMMENT '通知正文内容',
     read_flag   TINYINT(1) DEFAULT 0 COMMENT '阅读标记：0未读，1已读',
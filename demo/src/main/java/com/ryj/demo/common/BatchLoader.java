@@ -0,0 +1,92 @@
+package com.ryj.demo.common;
+
+import com.baomidou.mybatisplus.extension.service.IService;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * 批量实体加载器。
+ * <p>
+ * 先通过 {@link #prime} 登记需要的主键，首次读取时用 {@code listByIds} 一次性取回全部待加载实体；
+ * 结果（包括不存在的主键）在加载器生命周期内缓存，避免在循环中逐条调用 {@code getById}。
+ * 实例通过 {@link EntityLoaders} 获取，非线程安全。
+ *
+ * @param <T> 实体类型
+ */
+public class BatchLoader<T> {
+
+    private final IService<T> service;
+    private final Function<T, Long> idGetter;
+    private final Map<Long, T> loaded = new HashMap<>();
+    private final Set<Long> pending = new LinkedHashSet<>();
+
+    public BatchLoader(IService<T> service, Function<T, Long> idGetter) {
+        this.service = service;
+        this.idGetter = idGetter;
+    }
+
+    public BatchLoader<T> prime(Long id) {
+        if (id != null && !loaded.containsKey(id)) {
+            pending.add(id);
+        }
+        return this;
+    }
+
+    public BatchLoader<T> prime(Collection<Long> ids) {
+        for (Long id : ids) {
+            prime(id);
+        }
+        return this;
+    }
+
+    public T get(Long id) {
+        if (id == null) {
+            return null;
+        }
+        if (!loaded.containsKey(id)) {
+            pending.add(id);
+            dispatch();
+        }
+        return loaded.get(id);
+    }
+
+    /**
+     * 读取多个实体，返回 主键 -> 实体 的映射，不存在的主键不会出现在结果中
+     */
+    public Map<Long, T> getAll(Collection<Long> ids) {
+        prime(ids);
+        dispatch();
+        Map<Long, T> result = new LinkedHashMap<>();
+        for (Long id : ids) {
+            T entity = id == null ? null : loaded.get(id);
+            if (entity != null) {
+                result.put(id, entity);
+            }
+        }
+        return result;
+    }
+
+    private void dispatch() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        List<Long> ids = new ArrayList<>(pending);
+        pending.clear();
+        for (List<Long> batch : IdBatches.partition(ids)) {
+            for (T entity : service.listByIds(batch)) {
+                loaded.put(idGetter.apply(entity), entity);
+            }
+        }
+        for (Long id : ids) {
+            loaded.putIfAbsent(id, null);
+        }
+    }
+}
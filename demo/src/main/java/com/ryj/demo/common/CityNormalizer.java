@@ -0,0 +1,40 @@
+package com.ryj.demo.common;
+
+import java.util.regex.Pattern;
+
+/**
+ * 把岗位地点、意向城市等自由文本归一为城市名，便于分组与匹配：
+ * "北京市海淀区" / "北京 · 朝阳" / "广东省深圳市南山区" 分别归为 "北京" / "北京" / "深圳"。
+ */
+public final class CityNormalizer {
+
+    private static final Pattern SEPARATOR = Pattern.compile("[\\s,，、/·|()（）\\-]+");
+
+    private CityNormalizer() {
+    }
+
+    /**
+     * @return 归一后的城市名；输入为空时返回 null
+     */
+    public static String normalize(String location) {
+        if (location == null) {
+            return null;
+        }
+        String value = location.trim();
+        int province = value.indexOf('省');
+        if (province >= 0 && province < value.length() - 1) {
+            value = value.substring(province + 1);
+        }
+        for (String token : SEPARATOR.split(value)) {
+            if (!token.isEmpty()) {
+                value = token;
+                break;
+            }
+        }
+        int city = value.indexOf('市');
+        if (city > 0) {
+            value = value.substring(0, city);
+        }
+        return value.isEmpty() ? null : value;
+    }
+}
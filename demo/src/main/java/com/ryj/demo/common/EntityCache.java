@@ -0,0 +1,100 @@
+package com.ryj.demo.common;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+
+/**
+ * 按主键缓存实体的进程内缓存，由 {@link EntityCacheRegistry} 创建。
+ * <p>
+ * 实体是可变的 @Data 对象，调用方常常先修改再 updateById，因此存入和取出时都复制一份，
+ * 避免调用方的修改污染缓存。只缓存存在的记录，不缓存未命中。
+ *
+ * @param <T> 缓存值类型：单个实体，或某个外键下的实体列表
+ */
+public class EntityCache<T> {
+
+    private final String name;
+    private final UnaryOperator<T> copier;
+    private final Cache<Long, T> cache;
+
+    EntityCache(String name, UnaryOperator<T> copier, Cache<Long, T> cache) {
+        this.name = name;
+        this.copier = copier;
+        this.cache = cache;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public T get(Long id, Function<Long, T> loader) {
+        T cached = cache.getIfPresent(id);
+        if (cached != null) {
+            return copy(cached);
+        }
+        T loaded = loader.apply(id);
+        if (loaded != null) {
+            cache.put(id, copy(loaded));
+        }
+        return loaded;
+    }
+
+    /**
+     * 批量读取，未命中的主键交给 bulkLoader 一次性加载。返回顺序与数据库 listByIds 一致：不保证与入参顺序相同
+     */
+    public List<T> getAll(Collection<Long> ids, Function<T, Long> idGetter, Function<Collection<Long>, List<T>> bulkLoader) {
+        Set<Long> keys = new LinkedHashSet<>(ids);
+        Map<Long, T> hits = cache.getAllPresent(keys);
+        List<T> result = new ArrayList<>(keys.size());
+        for (T entity : hits.values()) {
+            result.add(copy(entity));
+        }
+        keys.removeAll(hits.keySet());
+        if (!keys.isEmpty()) {
+            List<T> loaded = bulkLoader.apply(keys);
+            Map<Long, T> fresh = new LinkedHashMap<>();
+            for (T entity : loaded) {
+                fresh.put(idGetter.apply(entity), copy(entity));
+            }
+            cache.putAll(fresh);
+            result.addAll(loaded);
+        }
+        return result;
+    }
+
+    public void invalidate(Long id) {
+        if (id != null) {
+            cache.invalidate(id);
+        }
+    }
+
+    public void invalidateAll(Collection<Long> ids) {
+        cache.invalidateAll(ids);
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    public long estimatedSize() {
+        return cache.estimatedSize();
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    private T copy(T source) {
+        return copier.apply(source);
+    }
+}
@@ -0,0 +1,79 @@
+package com.ryj.demo.common;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.UnaryOperator;
+import java.util.stream.Collectors;
+
+/**
+ * 统一创建实体缓存（容量上限 + 写入后过期，淘汰策略为 Caffeine 的 W-TinyLFU），并汇总各缓存的命中统计
+ */
+@Component
+public class EntityCacheRegistry {
+
+    private final Map<String, EntityCache<?>> caches = new ConcurrentHashMap<>();
+
+    @Value("${app.entity-cache.maximum-size:10000}")
+    private long maximumSize;
+
+    @Value("${app.entity-cache.ttl:10m}")
+    private Duration ttl;
+
+    /**
+     * 按主键缓存单个实体
+     */
+    public <T> EntityCache<T> create(String name, Class<T> entityClass) {
+        return register(name, entity -> copyOf(entity, entityClass));
+    }
+
+    /**
+     * 按外键缓存一组实体，例如某个岗位下的全部任职要求
+     */
+    public <T> EntityCache<List<T>> createForList(String name, Class<T> elementClass) {
+        return register(name, list -> list.stream()
+                .map(entity -> copyOf(entity, elementClass))
+                .collect(Collectors.toCollection(ArrayList::new)));
+    }
+
+    private <V> EntityCache<V> register(String name, UnaryOperator<V> copier) {
+        EntityCache<V> cache = new EntityCache<>(name, copier, Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build());
+        caches.put(name, cache);
+        return cache;
+    }
+
+    private static <T> T copyOf(T source, Class<T> type) {
+        T target = BeanUtils.instantiateClass(type);
+        BeanUtils.copyProperties(source, target);
+        return target;
+    }
+
+    public Map<String, Map<String, Object>> statistics() {
+        Map<String, Map<String, Object>> result = new LinkedHashMap<>();
+        caches.keySet().stream().sorted().forEach(name -> {
+            EntityCache<?> cache = caches.get(name);
+            CacheStats stats = cache.stats();
+            Map<String, Object> item = new LinkedHashMap<>();
+            item.put("size", cache.estimatedSize());
+            item.put("hitCount", stats.hitCount());
+            item.put("missCount", stats.missCount());
+            item.put("hitRate", stats.hitRate());
+            item.put("evictionCount", stats.evictionCount());
+            result.put(name, item);
+        });
+        return result;
+    }
+}
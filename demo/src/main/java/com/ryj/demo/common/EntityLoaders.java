@@ -0,0 +1,43 @@
+package com.ryj.demo.common;
+
+import com.baomidou.mybatisplus.extension.service.IService;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * 按请求维度提供 {@link BatchLoader}：同一 HTTP 请求内，同一实体类型共用一个加载器，
+ * 已加载的实体在请求结束前不会重复查询。没有请求上下文时（定时任务、测试）每次返回新的加载器。
+ * <p>
+ * 加载器只适合只读场景，请求内修改过的实体不要再通过加载器读取。
+ */
+@Component
+public class EntityLoaders {
+
+    private static final String REQUEST_ATTRIBUTE = EntityLoaders.class.getName() + ".loaders";
+
+    @SuppressWarnings("unchecked")
+    public <T> BatchLoader<T> loader(IService<T> service, Function<T, Long> idGetter) {
+        return (BatchLoader<T>) currentLoaders()
+                .computeIfAbsent(service.getEntityClass(), type -> new BatchLoader<>(service, idGetter));
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<Class<?>, BatchLoader<?>> currentLoaders() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return new HashMap<>();
+        }
+        Map<Class<?>, BatchLoader<?>> loaders = (Map<Class<?>, BatchLoader<?>>)
+                attributes.getAttribute(REQUEST_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (loaders == null) {
+            loaders = new HashMap<>();
+            attributes.setAttribute(REQUEST_ATTRIBUTE, loaders, RequestAttributes.SCOPE_REQUEST);
+        }
+        return loaders;
+    }
+}
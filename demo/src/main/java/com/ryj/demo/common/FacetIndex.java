@@ -0,0 +1,197 @@
+package com.ryj.demo.common;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 基于位图的分面索引：每个文档占用一个序号，每个 分面 -> 取值 对应一个 {@link BitSet}。
+ * <p>
+ * 同一分面内的多个取值按 OR 过滤，不同分面之间按 AND 过滤；某个分面的计数只应用其他分面的过滤条件
+ * （多选分面的常见做法，选中一个城市后仍能看到其他城市的数量）。所有计数都是位图与运算后的 cardinality，
+ * 不需要对每个分面单独做 GROUP BY。线程安全。
+ *
+ * @param <D> 文档携带的数据
+ */
+public class FacetIndex<D> {
+
+    private final Map<Long, Integer> ordinals = new HashMap<>();
+    private final List<Long> ids = new ArrayList<>();
+    private final List<D> values = new ArrayList<>();
+    private final List<Map<String, String>> facetsByOrdinal = new ArrayList<>();
+    private final Deque<Integer> freeOrdinals = new ArrayDeque<>();
+    private final BitSet live = new BitSet();
+    private final Map<String, Map<String, BitSet>> bitmaps = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * 一次查询的结果
+     *
+     * @param documents 满足全部过滤条件的文档
+     * @param counts    分面 -> (取值 -> 数量)，按数量降序
+     */
+    public record Result<D>(List<D> documents, Map<String, Map<String, Integer>> counts) {
+    }
+
+    /**
+     * 写入或替换一个文档
+     *
+     * @param facets 分面 -> 取值，取值为 null 的分面不参与索引
+     */
+    public void put(Long id, D value, Map<String, String> facets) {
+        lock.writeLock().lock();
+        try {
+            removeInternal(id);
+            int ordinal = freeOrdinals.isEmpty() ? ids.size() : freeOrdinals.pop();
+            if (ordinal == ids.size()) {
+                ids.add(id);
+                values.add(value);
+                facetsByOrdinal.add(facets);
+            } else {
+                ids.set(ordinal, id);
+                values.set(ordinal, value);
+                facetsByOrdinal.set(ordinal, facets);
+            }
+            ordinals.put(id, ordinal);
+            live.set(ordinal);
+            facets.forEach((facet, facetValue) -> {
+                if (facetValue != null) {
+                    bitmaps.computeIfAbsent(facet, key -> new HashMap<>())
+                            .computeIfAbsent(facetValue, key -> new BitSet())
+                            .set(ordinal);
+                }
+            });
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long id) {
+        lock.writeLock().lock();
+        try {
+            removeInternal(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return ordinals.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @param filters    分面 -> 允许的取值，空集合表示不过滤该分面
+     * @param restrictTo 只在这些主键中查找，null 表示不限制（例如关键字检索的命中集合）
+     * @param facets     需要返回计数的分面
+     */
+    public Result<D> query(Map<String, Set<String>> filters, Collection<Long> restrictTo, Collection<String> facets) {
+        lock.readLock().lock();
+        try {
+            BitSet base = (BitSet) live.clone();
+            if (restrictTo != null) {
+                BitSet allowed = new BitSet();
+                for (Long id : restrictTo) {
+                    Integer ordinal = ordinals.get(id);
+                    if (ordinal != null) {
+                        allowed.set(ordinal);
+                    }
+                }
+                base.and(allowed);
+            }
+
+            Map<String, BitSet> filterBits = new HashMap<>();
+            filters.forEach((facet, accepted) -> {
+                if (accepted != null && !accepted.isEmpty()) {
+                    filterBits.put(facet, union(facet, accepted));
+                }
+            });
+
+            BitSet matched = (BitSet) base.clone();
+            filterBits.values().forEach(matched::and);
+
+            Map<String, Map<String, Integer>> counts = new LinkedHashMap<>();
+            for (String facet : facets) {
+                BitSet scope = (BitSet) base.clone();
+                filterBits.forEach((other, bits) -> {
+                    if (!other.equals(facet)) {
+                        scope.and(bits);
+                    }
+                });
+                counts.put(facet, count(facet, scope));
+            }
+
+            List<D> documents = new ArrayList<>(matched.cardinality());
+            for (int i = matched.nextSetBit(0); i >= 0; i = matched.nextSetBit(i + 1)) {
+                documents.add(values.get(i));
+            }
+            return new Result<>(documents, counts);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private BitSet union(String facet, Set<String> accepted) {
+        BitSet bits = new BitSet();
+        Map<String, BitSet> byValue = bitmaps.getOrDefault(facet, Map.of());
+        for (String value : accepted) {
+            BitSet valueBits = byValue.get(value);
+            if (valueBits != null) {
+                bits.or(valueBits);
+            }
+        }
+        return bits;
+    }
+
+    private Map<String, Integer> count(String facet, BitSet scope) {
+        List<Map.Entry<String, Integer>> entries = new ArrayList<>();
+        bitmaps.getOrDefault(facet, Map.of()).forEach((value, bits) -> {
+            BitSet intersection = (BitSet) bits.clone();
+            intersection.and(scope);
+            int cardinality = intersection.cardinality();
+            if (cardinality > 0) {
+                entries.add(Map.entry(value, cardinality));
+            }
+        });
+        entries.sort(Map.Entry.<String, Integer>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()));
+        Map<String, Integer> result = new LinkedHashMap<>();
+        entries.forEach(entry -> result.put(entry.getKey(), entry.getValue()));
+        return result;
+    }
+
+    private void removeInternal(Long id) {
+        Integer ordinal = ordinals.remove(id);
+        if (ordinal == null) {
+            return;
+        }
+        live.clear(ordinal);
+        facetsByOrdinal.get(ordinal).forEach((facet, facetValue) -> {
+            if (facetValue == null) {
+                return;
+            }
+            Map<String, BitSet> byValue = bitmaps.get(facet);
+            BitSet bits = byValue.get(facetValue);
+            bits.clear(ordinal);
+            if (bits.isEmpty()) {
+                byValue.remove(facetValue);
+            }
+        });
+        ids.set(ordinal, null);
+        values.set(ordinal, null);
+        facetsByOrdinal.set(ordinal, Map.of());
+        freeOrdinals.push(ordinal);
+    }
+}
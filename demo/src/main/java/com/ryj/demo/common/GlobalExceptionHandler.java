@@ -44,6 +44,11 @@ public class GlobalExceptionHandler {
         return ApiResponse.failure(400, message);
     }
 
+    @ExceptionHandler(StateConflictException.class)
+    public ApiResponse<Void> handleStateConflict(StateConflictException ex) {
+        return ApiResponse.failure(409, ex.getMessage());
+    }
+
     @ExceptionHandler(Exception.class)
     public ApiResponse<Void> handleException(Exception ex) {
         // 打印完整的异常堆栈
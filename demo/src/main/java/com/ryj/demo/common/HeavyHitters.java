@@ -0,0 +1,137 @@
+package com.ryj.demo.common;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * 流式热门词统计：Count-Min Sketch 估计每个词的出现次数，另外只保留估计值最高的若干候选词。
+ * <p>
+ * 内存占用固定（depth × width 个计数器加 capacity 个候选），与累计处理的词数无关。
+ * 计数支持整体按比例衰减，定期调用 {@link #decay} 可以让近期出现的词排在前面。线程安全。
+ */
+public class HeavyHitters {
+
+    private static final double EVICT_THRESHOLD = 0.01;
+
+    private final int width;
+    private final double[][] counters;
+    private final int[] seeds;
+    private final int capacity;
+    private final Map<String, Candidate> candidates = new HashMap<>();
+    /**
+     * 候选按估计值升序排列，首元素即当前最小值，新词的估计值超过它时替换之
+     */
+    private final TreeSet<Candidate> ordered = new TreeSet<>(Comparator
+            .comparingDouble((Candidate c) -> c.count)
+            .thenComparing(c -> c.term));
+
+    public record Entry(String term, double count) {
+    }
+
+    private static final class Candidate {
+        private final String term;
+        private double count;
+
+        private Candidate(String term, double count) {
+            this.term = term;
+            this.count = count;
+        }
+    }
+
+    /**
+     * @param depth    哈希函数个数，越大误差概率越低
+     * @param width    每行计数器个数，越大单个估计越准确
+     * @param capacity 保留的候选词数量
+     */
+    public HeavyHitters(int depth, int width, int capacity) {
+        this.width = width;
+        this.counters = new double[depth][width];
+        this.seeds = new int[depth];
+        for (int i = 0; i < depth; i++) {
+            seeds[i] = 0x9E3779B9 * (i + 1);
+        }
+        this.capacity = capacity;
+    }
+
+    public synchronized void add(String term, double weight) {
+        double estimate = Double.MAX_VALUE;
+        int hash = term.hashCode();
+        for (int i = 0; i < counters.length; i++) {
+            int slot = slot(hash, seeds[i]);
+            counters[i][slot] += weight;
+            estimate = Math.min(estimate, counters[i][slot]);
+        }
+        Candidate candidate = candidates.get(term);
+        if (candidate != null) {
+            reorder(candidate, estimate);
+            return;
+        }
+        if (candidates.size() >= capacity) {
+            Candidate smallest = ordered.first();
+            if (smallest.count >= estimate) {
+                return;
+            }
+            ordered.pollFirst();
+            candidates.remove(smallest.term);
+        }
+        candidate = new Candidate(term, estimate);
+        candidates.put(term, candidate);
+        ordered.add(candidate);
+    }
+
+    /**
+     * 所有计数乘以 factor（0~1），估计值过小的候选被移除
+     */
+    public synchronized void decay(double factor) {
+        for (double[] row : counters) {
+            for (int j = 0; j < row.length; j++) {
+                row[j] *= factor;
+            }
+        }
+        // 缩放后数值可能因舍入出现相等，重新排序而不是原地修改有序集合的键
+        List<Candidate> remaining = new ArrayList<>(ordered);
+        ordered.clear();
+        for (Candidate candidate : remaining) {
+            candidate.count *= factor;
+            if (candidate.count < EVICT_THRESHOLD) {
+                candidates.remove(candidate.term);
+            } else {
+                ordered.add(candidate);
+            }
+        }
+    }
+
+    /**
+     * 估计值最高的 limit 个词，从高到低排列
+     */
+    public synchronized List<Entry> top(int limit) {
+        List<Entry> result = new ArrayList<>(Math.min(limit, ordered.size()));
+        Iterator<Candidate> iterator = ordered.descendingIterator();
+        while (iterator.hasNext() && result.size() < limit) {
+            Candidate candidate = iterator.next();
+            result.add(new Entry(candidate.term, candidate.count));
+        }
+        return result;
+    }
+
+    private void reorder(Candidate candidate, double count) {
+        ordered.remove(candidate);
+        candidate.count = count;
+        ordered.add(candidate);
+    }
+
+    private int slot(int hash, int seed) {
+        int h = hash ^ seed;
+        h ^= h >>> 16;
+        h *= 0x85EBCA6B;
+        h ^= h >>> 13;
+        h *= 0xC2B2AE35;
+        h ^= h >>> 16;
+        return Math.floorMod(h, width);
+    }
+}
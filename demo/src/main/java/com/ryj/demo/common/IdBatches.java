@@ -0,0 +1,53 @@
+package com.ryj.demo.common;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * 把主键集合按 IN 列表的长度上限切分，供 listByIds、IN 查询等批量读取使用
+ */
+public final class IdBatches {
+
+    public static final int MAX_IN_SIZE = 500;
+
+    private IdBatches() {
+    }
+
+    public static List<List<Long>> partition(Collection<Long> ids) {
+        List<Long> list = new ArrayList<>(ids);
+        List<List<Long>> batches = new ArrayList<>();
+        for (int from = 0; from < list.size(); from += MAX_IN_SIZE) {
+            batches.add(list.subList(from, Math.min(from + MAX_IN_SIZE, list.size())));
+        }
+        return batches;
+    }
+
+    /**
+     * 分批加载并按主键建立映射，不存在的主键不会出现在结果中
+     */
+    public static <E> Map<Long, E> load(Collection<Long> ids, Function<List<Long>, List<E>> loader,
+                                        Function<E, Long> idGetter) {
+        Map<Long, E> result = new HashMap<>();
+        for (List<Long> batch : partition(ids)) {
+            for (E entity : loader.apply(batch)) {
+                result.put(idGetter.apply(entity), entity);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 分批加载并按顺序拼接结果
+     */
+    public static <E> List<E> list(Collection<Long> ids, Function<List<Long>, List<E>> loader) {
+        List<E> result = new ArrayList<>();
+        for (List<Long> batch : partition(ids)) {
+            result.addAll(loader.apply(batch));
+        }
+        return result;
+    }
+}
@@ -0,0 +1,148 @@
+package com.ryj.demo.common;
+
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * 常驻内存读模型的公共骨架：全量构建 + 按 {@link TableChangedEvent} 增量刷新。
+ * <p>
+ * 关注的表发生变化时事件先入队，由子类的定时任务调用 {@link #applyPendingChanges()} 合并后交给
+ * {@link #apply(Changes)}；有无法确定具体行的事件时改为全量重建，增量应用失败时标记为未就绪，
+ * 下一次查询或定时任务重新全量构建。全量构建与增量应用都持有本对象锁，互斥执行。
+ * 定时任务的间隔由子类用各自的配置项声明。
+ */
+public abstract class IncrementalReadModel {
+
+    private final Set<String> watchedTables;
+    private final Queue<TableChangedEvent> pendingChanges = new ConcurrentLinkedQueue<>();
+    private volatile boolean ready;
+
+    protected IncrementalReadModel(Set<String> watchedTables) {
+        this.watchedTables = watchedTables;
+    }
+
+    /**
+     * 重新加载全部数据，成功后标记为就绪
+     */
+    public synchronized void rebuild() {
+        reload();
+        ready = true;
+    }
+
+    /**
+     * 全量加载，由 {@link #rebuild()} 在持有锁时调用
+     */
+    protected abstract void reload();
+
+    /**
+     * 合并后的增量变更，由 {@link #applyPendingChanges()} 在持有锁时调用
+     */
+    protected abstract void apply(Changes changes);
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTableChanged(TableChangedEvent event) {
+        if (watchedTables.contains(event.table())) {
+            pendingChanges.add(event);
+        }
+    }
+
+    protected synchronized void applyPendingChanges() {
+        if (pendingChanges.isEmpty()) {
+            return;
+        }
+        if (!ready) {
+            // 尚未完成全量构建（启动中或上次失败）：这些变更都会体现在全量构建中，不必逐条应用
+            pendingChanges.clear();
+            rebuildQuietly();
+            return;
+        }
+        Map<String, Set<Long>> changedIds = new HashMap<>();
+        boolean fullRebuild = false;
+        TableChangedEvent event;
+        while ((event = pendingChanges.poll()) != null) {
+            if (event.rowsKnown()) {
+                changedIds.computeIfAbsent(event.table(), key -> new HashSet<>()).addAll(event.ids());
+            } else {
+                fullRebuild = true;
+            }
+        }
+        try {
+            if (fullRebuild) {
+                rebuild();
+            } else {
+                apply(new Changes(changedIds));
+            }
+        } catch (RuntimeException e) {
+            // 加载失败时退化为下一次全量构建，避免读模型长期缺失这些变更
+            ready = false;
+        }
+    }
+
+    protected void rebuildQuietly() {
+        try {
+            rebuild();
+        } catch (RuntimeException e) {
+            // 数据库暂不可用时保留现有结果，下一次查询或定时任务再试
+        }
+    }
+
+    /**
+     * 启动后首次构建尚未完成（或上次失败）时，由查询线程同步构建一次；
+     * 等待锁期间其它线程已构建完成时不再重复构建
+     */
+    protected void ensureReady() {
+        if (!ready) {
+            synchronized (this) {
+                if (!ready) {
+                    rebuild();
+                }
+            }
+        }
+    }
+
+    protected boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * 子类就地重建内部状态中途失败时调用：状态不完整，必须重新全量构建；重建期间查询仍可读取旧结果
+     */
+    protected void markStale() {
+        ready = false;
+    }
+
+    /**
+     * 一批变更按表汇总的主键
+     */
+    protected static final class Changes {
+
+        private final Map<String, Set<Long>> idsByTable;
+
+        private Changes(Map<String, Set<Long>> idsByTable) {
+            this.idsByTable = idsByTable;
+        }
+
+        public Set<Long> of(String table) {
+            return of(List.of(table));
+        }
+
+        /**
+         * 多张表的主键合并在一起，适用于子表按所属记录上报主键的情况
+         */
+        public Set<Long> of(Collection<String> tables) {
+            Set<Long> ids = new HashSet<>();
+            for (String table : tables) {
+                ids.addAll(idsByTable.getOrDefault(table, Set.of()));
+            }
+            return ids;
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.ryj.demo.common;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * 按键分组的时间区间索引，区间为左闭右开 [start, end)。
+ * 每个键一棵按开始时间排序的 TreeMap，查询重叠时只扫描开始时间落在 (start - 最长区间, end) 内的条目，
+ * 已有区间之间允许互相重叠。非线程安全。
+ *
+ * @param <K> 分组键，如学生ID、面试地点
+ */
+public class IntervalIndex<K> {
+
+    private final Map<K, TreeMap<LocalDateTime, List<LocalDateTime>>> intervals = new HashMap<>();
+    private Duration longest = Duration.ZERO;
+
+    public void add(K key, LocalDateTime start, LocalDateTime end) {
+        if (!end.isAfter(start)) {
+            throw new IllegalArgumentException("区间结束时间必须晚于开始时间");
+        }
+        intervals.computeIfAbsent(key, k -> new TreeMap<>())
+                .computeIfAbsent(start, s -> new ArrayList<>(1))
+                .add(end);
+        Duration length = Duration.between(start, end);
+        if (length.compareTo(longest) > 0) {
+            longest = length;
+        }
+    }
+
+    /**
+     * 该键下是否存在与 [start, end) 重叠的区间
+     */
+    public boolean overlaps(K key, LocalDateTime start, LocalDateTime end) {
+        TreeMap<LocalDateTime, List<LocalDateTime>> byStart = intervals.get(key);
+        if (byStart == null) {
+            return false;
+        }
+        NavigableMap<LocalDateTime, List<LocalDateTime>> candidates =
+                byStart.subMap(start.minus(longest), false, end, false);
+        for (List<LocalDateTime> ends : candidates.values()) {
+            for (LocalDateTime existingEnd : ends) {
+                if (existingEnd.isAfter(start)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,144 @@
+package com.ryj.demo.common;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 线程安全的内存倒排索引：词元 -> (文档主键 -> 词频)。
+ * 写入按文档整体替换，查询返回同时包含全部查询词元的文档（AND 语义），
+ * 并附带同一时刻的语料统计（文档数、平均长度、文档频率），供 BM25 打分使用。
+ *
+ * @param <D> 文档携带的数据，通常是实体快照
+ */
+public class InvertedIndex<D> {
+
+    private final Map<Long, Document<D>> documents = new HashMap<>();
+    private final Map<String, Map<Long, Integer>> postings = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private long totalLength;
+
+    /**
+     * 已索引的文档
+     *
+     * @param id              主键
+     * @param value           文档数据
+     * @param termFrequencies 词元 -> 词频
+     * @param length          词元总数
+     */
+    public record Document<D>(Long id, D value, Map<String, Integer> termFrequencies, int length) {
+    }
+
+    /**
+     * 一次查询的结果
+     *
+     * @param documents           命中的文档
+     * @param documentCount       索引中的文档总数
+     * @param averageLength       文档平均长度
+     * @param documentFrequencies 查询词元 -> 包含该词元的文档数
+     */
+    public record Matches<D>(List<Document<D>> documents, int documentCount, double averageLength,
+                             Map<String, Integer> documentFrequencies) {
+
+        static <D> Matches<D> empty() {
+            return new Matches<>(List.of(), 0, 0, Map.of());
+        }
+    }
+
+    public void put(Long id, D value, List<String> tokens) {
+        Map<String, Integer> termFrequencies = new HashMap<>();
+        for (String token : tokens) {
+            termFrequencies.merge(token, 1, Integer::sum);
+        }
+        Document<D> document = new Document<>(id, value, Collections.unmodifiableMap(termFrequencies), tokens.size());
+        lock.writeLock().lock();
+        try {
+            removeInternal(id);
+            documents.put(id, document);
+            totalLength += document.length();
+            termFrequencies.forEach((token, frequency) ->
+                    postings.computeIfAbsent(token, key -> new HashMap<>()).put(id, frequency));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long id) {
+        lock.writeLock().lock();
+        try {
+            removeInternal(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 返回包含全部词元的文档；词元为空时返回空结果
+     */
+    public Matches<D> match(Collection<String> tokens) {
+        if (tokens.isEmpty()) {
+            return Matches.empty();
+        }
+        lock.readLock().lock();
+        try {
+            Map<String, Integer> documentFrequencies = new HashMap<>();
+            List<Map<Long, Integer>> lists = new ArrayList<>(tokens.size());
+            for (String token : tokens) {
+                Map<Long, Integer> list = postings.get(token);
+                if (list == null) {
+                    return Matches.empty();
+                }
+                lists.add(list);
+                documentFrequencies.put(token, list.size());
+            }
+            // 从最短的倒排表出发逐个校验，代价取决于最稀有的词元
+            lists.sort(Comparator.comparingInt(Map::size));
+            List<Document<D>> result = new ArrayList<>();
+            for (Long id : lists.get(0).keySet()) {
+                boolean matched = true;
+                for (int i = 1; i < lists.size() && matched; i++) {
+                    matched = lists.get(i).containsKey(id);
+                }
+                if (matched) {
+                    result.add(documents.get(id));
+                }
+            }
+            double averageLength = documents.isEmpty() ? 0 : (double) totalLength / documents.size();
+            return new Matches<>(result, documents.size(), averageLength, documentFrequencies);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void removeInternal(Long id) {
+        Document<D> existing = documents.remove(id);
+        if (existing == null) {
+            return;
+        }
+        totalLength -= existing.length();
+        for (String token : existing.termFrequencies().keySet()) {
+            Map<Long, Integer> list = postings.get(token);
+            if (list != null) {
+                list.remove(id);
+                if (list.isEmpty()) {
+                    postings.remove(token);
+                }
+            }
+        }
+    }
+}
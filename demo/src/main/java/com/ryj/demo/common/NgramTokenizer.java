@@ -0,0 +1,105 @@
+package com.ryj.demo.common;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * 面向中英文混合文本的分词器。
+ * <p>
+ * 连续的字母/数字作为一个词（转小写），建索引时同时产出该词的前缀（edge n-gram），
+ * 查询 "jav"、"spring" 也能命中 "Java"、"SpringBoot"；连续的中日韩文字切成单字和相邻二元组（n-gram），
+ * 这样不依赖词典也能做子串式匹配。其它字符视为分隔符。
+ */
+public final class NgramTokenizer {
+
+    /**
+     * 前缀最短 2 个字符，单个字母太泛；超长的字母数字串（链接、编号）只取到该长度为止的前缀
+     */
+    private static final int MIN_PREFIX_LENGTH = 2;
+    private static final int MAX_PREFIX_LENGTH = 20;
+
+    private NgramTokenizer() {
+    }
+
+    /**
+     * 建索引用：保留重复词元以便统计词频，中文片段同时产出单字与二元组，字母数字词同时产出前缀
+     */
+    public static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        scan(text, tokens, true);
+        return tokens;
+    }
+
+    /**
+     * 查询用：中文片段长度不少于 2 时只取二元组（单字太泛），结果去重并保持原有顺序
+     */
+    public static List<String> queryTokens(String text) {
+        List<String> tokens = new ArrayList<>();
+        scan(text, tokens, false);
+        return new ArrayList<>(new LinkedHashSet<>(tokens));
+    }
+
+    private static void scan(String text, List<String> tokens, boolean indexing) {
+        if (text == null || text.isEmpty()) {
+            return;
+        }
+        String normalized = text.toLowerCase(Locale.ROOT);
+        int length = normalized.length();
+        int i = 0;
+        while (i < length) {
+            int codePoint = normalized.codePointAt(i);
+            if (isCjk(codePoint)) {
+                int start = i;
+                while (i < length && isCjk(normalized.codePointAt(i))) {
+                    i += Character.charCount(normalized.codePointAt(i));
+                }
+                emitCjk(normalized.substring(start, i), tokens, indexing);
+            } else if (Character.isLetterOrDigit(codePoint)) {
+                int start = i;
+                while (i < length) {
+                    int current = normalized.codePointAt(i);
+                    if (!Character.isLetterOrDigit(current) || isCjk(current)) {
+                        break;
+                    }
+                    i += Character.charCount(current);
+                }
+                emitWord(normalized.substring(start, i), tokens, indexing);
+            } else {
+                i += Character.charCount(codePoint);
+            }
+        }
+    }
+
+    private static void emitWord(String word, List<String> tokens, boolean indexing) {
+        if (indexing) {
+            int[] codePoints = word.codePoints().toArray();
+            int longest = Math.min(codePoints.length - 1, MAX_PREFIX_LENGTH);
+            for (int length = MIN_PREFIX_LENGTH; length <= longest; length++) {
+                tokens.add(new String(codePoints, 0, length));
+            }
+        }
+        tokens.add(word);
+    }
+
+    private static void emitCjk(String run, List<String> tokens, boolean indexing) {
+        int[] codePoints = run.codePoints().toArray();
+        if (codePoints.length == 1 || indexing) {
+            for (int codePoint : codePoints) {
+                tokens.add(new String(Character.toChars(codePoint)));
+            }
+        }
+        for (int i = 0; i + 1 < codePoints.length; i++) {
+            tokens.add(new String(codePoints, i, 2));
+        }
+    }
+
+    private static boolean isCjk(int codePoint) {
+        Character.UnicodeScript script = Character.UnicodeScript.of(codePoint);
+        return script == Character.UnicodeScript.HAN
+                || script == Character.UnicodeScript.HIRAGANA
+                || script == Character.UnicodeScript.KATAKANA
+                || script == Character.UnicodeScript.HANGUL;
+    }
+}
@@ -0,0 +1,134 @@
+package com.ryj.demo.common;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 带权重的前缀树，用于输入联想。
+ * <p>
+ * 同一个词可以被多次累加权重（例如多个岗位同名），权重降到 0 时移除。每个节点记录子树中的最大权重，
+ * 查询时按该上界做最优优先遍历，只访问能进入前 k 名的分支，耗时与前缀下的词条总数基本无关。
+ * 匹配不区分大小写，返回最近一次写入的原始写法。
+ */
+public class PrefixTrie {
+
+    private final Node root = new Node(null, '\0');
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private static final class Node {
+        private final Node parent;
+        private final char key;
+        private final Map<Character, Node> children = new HashMap<>(4);
+        private String term;
+        private double weight;
+        private double maxWeight;
+
+        private Node(Node parent, char key) {
+            this.parent = parent;
+            this.key = key;
+        }
+    }
+
+    /**
+     * 累加词条权重，delta 可为负；权重不大于 0 时删除该词条
+     */
+    public void adjust(String term, double delta) {
+        String normalized = normalize(term);
+        if (normalized.isEmpty() || delta == 0) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            Node node = root;
+            for (int i = 0; i < normalized.length(); i++) {
+                char c = normalized.charAt(i);
+                Node current = node;
+                node = delta > 0
+                        ? node.children.computeIfAbsent(c, key -> new Node(current, key))
+                        : node.children.get(c);
+                if (node == null) {
+                    return;
+                }
+            }
+            node.weight += delta;
+            if (node.weight <= 0) {
+                node.weight = 0;
+                node.term = null;
+            } else if (delta > 0) {
+                node.term = term.trim();
+            }
+            propagate(node);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 返回以 prefix 开头、权重最高的 limit 个词条
+     */
+    public List<String> suggest(String prefix, int limit) {
+        String normalized = normalize(prefix);
+        List<String> result = new ArrayList<>(limit);
+        if (normalized.isEmpty() || limit <= 0) {
+            return result;
+        }
+        lock.readLock().lock();
+        try {
+            Node node = root;
+            for (int i = 0; i < normalized.length() && node != null; i++) {
+                node = node.children.get(normalized.charAt(i));
+            }
+            if (node == null) {
+                return result;
+            }
+            // 队列里既有待展开的节点（按子树上界排序），也有已确定的词条（按自身权重排序）
+            PriorityQueue<Object[]> queue = new PriorityQueue<>((a, b) -> Double.compare((double) b[1], (double) a[1]));
+            queue.add(new Object[]{node, node.maxWeight, false});
+            while (!queue.isEmpty() && result.size() < limit) {
+                Object[] entry = queue.poll();
+                Node current = (Node) entry[0];
+                if ((boolean) entry[2]) {
+                    result.add(current.term);
+                    continue;
+                }
+                if (current.term != null) {
+                    queue.add(new Object[]{current, current.weight, true});
+                }
+                for (Node child : current.children.values()) {
+                    queue.add(new Object[]{child, child.maxWeight, false});
+                }
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 自底向上更新子树最大权重，并剪掉不再承载词条的空分支
+     */
+    private void propagate(Node node) {
+        Node current = node;
+        while (current != null) {
+            double max = current.term != null ? current.weight : 0;
+            for (Node child : current.children.values()) {
+                max = Math.max(max, child.maxWeight);
+            }
+            current.maxWeight = max;
+            if (current.parent != null && current.term == null && current.children.isEmpty()) {
+                current.parent.children.remove(current.key);
+            }
+            current = current.parent;
+        }
+    }
+
+    private static String normalize(String value) {
+        return value == null ? "" : value.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,44 @@
+package com.ryj.demo.common;
+
+/**
+ * 月薪区间档位，与就业统计中的薪资分布口径一致（按薪资范围的中位数归档）
+ */
+public enum SalaryBand {
+
+    BELOW_5K("5k以下"),
+    RANGE_5K_8K("5k-8k"),
+    RANGE_8K_12K("8k-12k"),
+    RANGE_12K_20K("12k-20k"),
+    ABOVE_20K("20k以上"),
+    UNSPECIFIED("面议/未注明");
+
+    private final String label;
+
+    SalaryBand(String label) {
+        this.label = label;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    public static SalaryBand of(SalaryRange range) {
+        if (range == null) {
+            return UNSPECIFIED;
+        }
+        int salary = range.midpoint();
+        if (salary < 5000) {
+            return BELOW_5K;
+        }
+        if (salary < 8000) {
+            return RANGE_5K_8K;
+        }
+        if (salary < 12000) {
+            return RANGE_8K_12K;
+        }
+        if (salary < 20000) {
+            return RANGE_12K_20K;
+        }
+        return ABOVE_20K;
+    }
+}
@@ -0,0 +1,81 @@
+package com.ryj.demo.common;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 月薪范围（单位：元）。
+ * <p>
+ * {@link #parse} 兼容页面上常见的自由文本写法，如 "8k-12k"、"8-12K"、"10000-15000"、"1.5万-2万"、"8千~1万"、"10k以上"、"4500元/月"；
+ * 年薪按 12 个月折算，"·13薪" 之类的后缀忽略；面议、按天/小时计薪以及无法识别的写法返回 null，不抛异常。
+ *
+ * @param min 下限
+ * @param max 上限，只有一个数字时与下限相同
+ */
+public record SalaryRange(int min, int max) {
+
+    private static final Pattern AMOUNT = Pattern.compile("(\\d+(?:\\.\\d+)?)(k|千|w|万)?");
+
+    /**
+     * 没有单位的数字小于该值时视为省略了单位，沿用另一个数字的单位（如 "8-12k"）
+     */
+    private static final int BARE_NUMBER_LIMIT = 1000;
+
+    public int midpoint() {
+        return (min + max) / 2;
+    }
+
+    public static SalaryRange parse(String text) {
+        if (text == null) {
+            return null;
+        }
+        String normalized = text.toLowerCase(Locale.ROOT)
+                .replaceAll("\\s+", "")
+                .replace('－', '-').replace('—', '-').replace('～', '-').replace('~', '-')
+                .replace("至", "-").replace("到", "-")
+                .replace("ｋ", "k").replace("，", "").replace(",", "")
+                .replaceAll("[·*x]?\\d+薪", "");
+        if (normalized.isEmpty() || normalized.contains("面议")
+                || normalized.matches(".*(/|每)(天|日|时|小时|h|day|hour).*")) {
+            return null;
+        }
+
+        List<double[]> amounts = new ArrayList<>(2);
+        Matcher matcher = AMOUNT.matcher(normalized);
+        while (matcher.find() && amounts.size() < 3) {
+            amounts.add(new double[]{Double.parseDouble(matcher.group(1)), multiplier(matcher.group(2))});
+        }
+        if (amounts.isEmpty() || amounts.size() > 2) {
+            return null;
+        }
+        if (amounts.size() == 2) {
+            double[] low = amounts.get(0);
+            double[] high = amounts.get(1);
+            if (low[1] == 1 && high[1] > 1 && low[0] < BARE_NUMBER_LIMIT) {
+                low[1] = high[1];
+            }
+        }
+
+        double months = normalized.contains("年") ? 12 : 1;
+        int min = (int) Math.round(amounts.get(0)[0] * amounts.get(0)[1] / months);
+        int max = amounts.size() == 2 ? (int) Math.round(amounts.get(1)[0] * amounts.get(1)[1] / months) : min;
+        if (min <= 0 || max <= 0) {
+            return null;
+        }
+        return min <= max ? new SalaryRange(min, max) : new SalaryRange(max, min);
+    }
+
+    private static double multiplier(String unit) {
+        if (unit == null) {
+            return 1;
+        }
+        return switch (unit) {
+            case "k", "千" -> 1000;
+            case "w", "万" -> 10000;
+            default -> 1;
+        };
+    }
+}
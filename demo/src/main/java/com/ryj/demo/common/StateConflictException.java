@@ -0,0 +1,11 @@
+package com.ryj.demo.common;
+
+/**
+ * 状态转换冲突：记录已被他人处理或当前状态不允许该转换，由全局异常处理返回 409，调用方不应自动重试
+ */
+public class StateConflictException extends RuntimeException {
+
+    public StateConflictException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,169 @@
+package com.ryj.demo.common;
+
+import com.baomidou.mybatisplus.core.conditions.update.LambdaUpdateWrapper;
+import com.baomidou.mybatisplus.core.toolkit.support.SFunction;
+import com.baomidou.mybatisplus.extension.service.IService;
+
+import java.io.Serializable;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * 工作流状态机：声明允许的状态转换，并把每次转换落成一条条件 UPDATE
+ * （UPDATE ... SET status = 目标 WHERE id = ? AND status IN (可转入目标的来源状态)），
+ * 不预先读取记录；并发审核时只有一方的 UPDATE 命中，另一方得到 0 行并收到冲突，而不是覆盖对方的结果。
+ * 只有转换失败时才读取记录以给出原因。
+ * <p>
+ * 在静态初始化时用 {@link #allow} 声明转换，之后只读，可在多线程间共享。
+ *
+ * @param <S> 状态类型
+ */
+public final class StateMachine<S> {
+
+    private final String subject;
+    private final S initial;
+    private final Map<S, Set<S>> targets = new HashMap<>();
+    private final Map<S, String> labels = new HashMap<>();
+
+    /**
+     * @param subject 冲突提示中的记录名称，如“申请”
+     * @param initial 状态列为 NULL 时视为的状态，可为空
+     */
+    public StateMachine(String subject, S initial) {
+        this.subject = subject;
+        this.initial = initial;
+    }
+
+    @SafeVarargs
+    public final StateMachine<S> allow(S from, S... to) {
+        Collections.addAll(targets.computeIfAbsent(from, key -> new LinkedHashSet<>()), to);
+        return this;
+    }
+
+    public StateMachine<S> label(S state, String label) {
+        labels.put(state, label);
+        return this;
+    }
+
+    public String labelOf(S state) {
+        S effective = state == null ? initial : state;
+        return effective == null ? "未知" : labels.getOrDefault(effective, effective.toString());
+    }
+
+    public boolean canTransit(S from, S to) {
+        S effective = from == null ? initial : from;
+        return effective != null && targets.getOrDefault(effective, Set.of()).contains(to);
+    }
+
+    /**
+     * 可以转换到 to 的全部来源状态
+     */
+    public Set<S> sourcesOf(S to) {
+        Set<S> sources = new LinkedHashSet<>();
+        targets.forEach((from, allowed) -> {
+            if (allowed.contains(to)) {
+                sources.add(from);
+            }
+        });
+        return sources;
+    }
+
+    /**
+     * 已读取到当前状态时校验转换是否合法
+     * @throws StateConflictException 不允许从当前状态转换到目标状态
+     */
+    public void requireTransit(S from, S to) {
+        if (!canTransit(from, to)) {
+            throw conflict(from, to);
+        }
+    }
+
+    public StateConflictException conflict(S current, S to) {
+        return new StateConflictException(subject + "当前状态为「" + labelOf(current) + "」，不能变更为「" + labelOf(to) + "」");
+    }
+
+    /**
+     * 以一条条件 UPDATE 把单条记录转换到 to，不预先读取
+     * @param customizer 追加同时写入的列或额外的 WHERE 条件，可为空
+     * @return 是否命中；未命中时记录不存在、状态不允许或额外条件不满足，由调用方读取记录判断原因
+     */
+    public <T> boolean transit(IService<T> service, SFunction<T, ?> idColumn, Serializable id,
+                               SFunction<T, S> statusColumn, S to, Consumer<LambdaUpdateWrapper<T>> customizer) {
+        Set<S> sources = sourcesOf(to);
+        if (sources.isEmpty()) {
+            return false;
+        }
+        TransitionWrapper<T> wrapper = new TransitionWrapper<>(service.getEntityClass(), List.of(id));
+        wrapper.set(statusColumn, to).eq(idColumn, id);
+        if (sources.contains(initial)) {
+            wrapper.and(w -> w.in(statusColumn, sources).or().isNull(statusColumn));
+        } else {
+            wrapper.in(statusColumn, sources);
+        }
+        if (customizer != null) {
+            customizer.accept(wrapper);
+        }
+        return service.getBaseMapper().update(null, wrapper) > 0;
+    }
+
+    /**
+     * 同上，未命中时读取记录：不存在抛出 IllegalArgumentException，否则抛出 {@link StateConflictException}
+     */
+    public <T> void transitOrThrow(IService<T> service, SFunction<T, ?> idColumn, Serializable id,
+                                   SFunction<T, S> statusColumn, S to, Consumer<LambdaUpdateWrapper<T>> customizer) {
+        if (transit(service, idColumn, id, statusColumn, to, customizer)) {
+            return;
+        }
+        T current = service.getById(id);
+        if (current == null) {
+            throw new IllegalArgumentException(subject + "不存在");
+        }
+        throw conflict(statusColumn.apply(current), to);
+    }
+
+    /**
+     * 把一批处于同一来源状态的记录一次转换到 to
+     * @return 实际转换的行数，小于 ids 数量说明其中有记录已被他人修改
+     */
+    public <T> int transitAll(IService<T> service, SFunction<T, ?> idColumn, Collection<?> ids,
+                              SFunction<T, S> statusColumn, S from, S to) {
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        requireTransit(from, to);
+        TransitionWrapper<T> wrapper = new TransitionWrapper<>(service.getEntityClass(), ids);
+        wrapper.set(statusColumn, to).in(idColumn, ids);
+        if (from == null && initial == null) {
+            wrapper.isNull(statusColumn);
+        } else if (from == null || Objects.equals(from, initial)) {
+            wrapper.and(w -> w.eq(statusColumn, initial).or().isNull(statusColumn));
+        } else {
+            wrapper.eq(statusColumn, from);
+        }
+        return service.getBaseMapper().update(null, wrapper);
+    }
+
+    /**
+     * 状态转换使用的条件更新，记录了目标行主键，{@link TableChangeInterceptor} 据此只上报这些行而不是整表变化
+     */
+    public static class TransitionWrapper<T> extends LambdaUpdateWrapper<T> {
+
+        private final Collection<?> ids;
+
+        TransitionWrapper(Class<T> entityClass, Collection<?> ids) {
+            super(entityClass);
+            this.ids = List.copyOf(ids);
+        }
+
+        public Collection<?> getIds() {
+            return ids;
+        }
+    }
+}
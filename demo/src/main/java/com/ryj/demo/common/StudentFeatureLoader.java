@@ -0,0 +1,141 @@
+package com.ryj.demo.common;
+
+import com.ryj.demo.entity.EmploymentIntention;
+import com.ryj.demo.entity.Resume;
+import com.ryj.demo.entity.ResumeSkill;
+import com.ryj.demo.mapper.ResumeSkillMapper;
+import com.ryj.demo.service.EmploymentIntentionCityService;
+import com.ryj.demo.service.EmploymentIntentionService;
+import com.ryj.demo.service.ResumeService;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * 批量加载 {@link StudentFeatures}：就业意向、意向城市、简历和简历技能都按 IN 列表分批查询，
+ * 供推荐、候选人匹配等常驻内存的读模型全量构建和增量刷新共用。
+ */
+@Component
+public class StudentFeatureLoader {
+
+    private final EmploymentIntentionService employmentIntentionService;
+    private final EmploymentIntentionCityService intentionCityService;
+    private final ResumeService resumeService;
+    private final ResumeSkillMapper resumeSkillMapper;
+
+    public StudentFeatureLoader(EmploymentIntentionService employmentIntentionService,
+                                EmploymentIntentionCityService intentionCityService,
+                                ResumeService resumeService,
+                                ResumeSkillMapper resumeSkillMapper) {
+        this.employmentIntentionService = employmentIntentionService;
+        this.intentionCityService = intentionCityService;
+        this.resumeService = resumeService;
+        this.resumeSkillMapper = resumeSkillMapper;
+    }
+
+    /**
+     * 加载全部有就业意向或简历的学生
+     */
+    public Map<Long, StudentFeatures> loadAll() {
+        return assemble(employmentIntentionService.list(),
+                resumeService.lambdaQuery().select(Resume::getId, Resume::getStudentId).list());
+    }
+
+    /**
+     * 加载指定学生；既没有意向也没有简历的学生不出现在结果中
+     */
+    public Map<Long, StudentFeatures> load(Collection<Long> studentIds) {
+        Map<Long, StudentFeatures> result = new HashMap<>();
+        for (List<Long> batch : IdBatches.partition(studentIds)) {
+            result.putAll(assemble(
+                    employmentIntentionService.lambdaQuery().in(EmploymentIntention::getStudentId, batch).list(),
+                    resumeService.lambdaQuery()
+                            .select(Resume::getId, Resume::getStudentId)
+                            .in(Resume::getStudentId, batch)
+                            .list()));
+        }
+        return result;
+    }
+
+    /**
+     * 把意向、简历的主键换算为学生主键。已登记的归属直接查表（包括已被删除的行），
+     * 再查库取当前归属；新旧学生都会返回，行被转移或删除时原学生也会刷新
+     */
+    public Set<Long> owners(StudentOwners known, Collection<Long> intentionIds, Collection<Long> resumeIds) {
+        Set<Long> studentIds = new HashSet<>();
+        collectOwners(studentIds, intentionIds, known::intentionOwner,
+                employmentIntentionService::listByIds, EmploymentIntention::getStudentId);
+        collectOwners(studentIds, resumeIds, known::resumeOwner, resumeService::listByIds, Resume::getStudentId);
+        return studentIds;
+    }
+
+    private static <E> void collectOwners(Set<Long> studentIds, Collection<Long> ids, Function<Long, Long> knownOwner,
+                                          Function<List<Long>, List<E>> loader, Function<E, Long> ownerGetter) {
+        for (Long id : ids) {
+            Long owner = knownOwner.apply(id);
+            if (owner != null) {
+                studentIds.add(owner);
+            }
+        }
+        for (E entity : IdBatches.list(ids, loader)) {
+            Long owner = ownerGetter.apply(entity);
+            if (owner != null) {
+                studentIds.add(owner);
+            }
+        }
+    }
+
+    private Map<Long, StudentFeatures> assemble(List<EmploymentIntention> intentions, List<Resume> resumes) {
+        Map<Long, List<String>> citiesByIntention = new HashMap<>();
+        for (List<Long> batch : IdBatches.partition(intentions.stream().map(EmploymentIntention::getId).toList())) {
+            citiesByIntention.putAll(intentionCityService.findCitiesByIntentionIds(batch));
+        }
+        Map<Long, Set<String>> skillsByResume = new HashMap<>();
+        for (ResumeSkill skill : IdBatches.list(resumes.stream().map(Resume::getId).toList(),
+                resumeSkillMapper::findByResumeIds)) {
+            if (StringUtils.hasText(skill.getSkill())) {
+                skillsByResume.computeIfAbsent(skill.getResumeId(), key -> new HashSet<>())
+                        .add(skill.getSkill().trim().toLowerCase(Locale.ROOT));
+            }
+        }
+
+        Map<Long, EmploymentIntention> intentionByStudent = new HashMap<>();
+        for (EmploymentIntention intention : intentions) {
+            if (intention.getStudentId() != null) {
+                intentionByStudent.putIfAbsent(intention.getStudentId(), intention);
+            }
+        }
+        Map<Long, List<Resume>> resumesByStudent = new HashMap<>();
+        for (Resume resume : resumes) {
+            if (resume.getStudentId() != null) {
+                resumesByStudent.computeIfAbsent(resume.getStudentId(), key -> new ArrayList<>()).add(resume);
+            }
+        }
+        Set<Long> studentIds = new HashSet<>(intentionByStudent.keySet());
+        studentIds.addAll(resumesByStudent.keySet());
+
+        Map<Long, StudentFeatures> result = new HashMap<>();
+        for (Long studentId : studentIds) {
+            EmploymentIntention intention = intentionByStudent.get(studentId);
+            Set<Long> ownedResumes = new HashSet<>();
+            Set<String> skills = new HashSet<>();
+            for (Resume resume : resumesByStudent.getOrDefault(studentId, List.of())) {
+                ownedResumes.add(resume.getId());
+                skills.addAll(skillsByResume.getOrDefault(resume.getId(), Set.of()));
+            }
+            List<String> cities = intention == null ? List.of()
+                    : List.copyOf(citiesByIntention.getOrDefault(intention.getId(), List.of()));
+            result.put(studentId, new StudentFeatures(studentId, intention, cities, ownedResumes, skills));
+        }
+        return result;
+    }
+}
@@ -0,0 +1,37 @@
+package com.ryj.demo.common;
+
+import com.ryj.demo.entity.EmploymentIntention;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 按学生汇总的就业意向、意向城市与简历技能，由 {@link StudentFeatureLoader} 加载
+ *
+ * @param intention 该学生的就业意向，没有时为 null
+ * @param cities    意向城市原文，已去掉空白项
+ * @param resumeIds 该学生的全部简历
+ * @param skills    全部简历中的技能，已去掉首尾空白并转小写
+ */
+public record StudentFeatures(Long studentId, EmploymentIntention intention, List<String> cities,
+                              Set<Long> resumeIds, Set<String> skills) {
+
+    public Long intentionId() {
+        return intention == null ? null : intention.getId();
+    }
+
+    /**
+     * 经 {@link CityNormalizer} 归一后的意向城市
+     */
+    public Set<String> normalizedCities() {
+        Set<String> normalized = new HashSet<>();
+        for (String city : cities) {
+            String value = CityNormalizer.normalize(city);
+            if (value != null) {
+                normalized.add(value);
+            }
+        }
+        return normalized;
+    }
+}
@@ -0,0 +1,53 @@
+package com.ryj.demo.common;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 就业意向、简历 -> 所属学生的归属表。读模型在变更事件只给出意向或简历主键时，
+ * 据此找回原先的学生（包括已被删除的行），再由 {@link StudentFeatureLoader#owners} 补上当前归属。
+ * 非线程安全，只在持有读模型锁的后台任务中使用。
+ */
+public class StudentOwners {
+
+    private final Map<Long, Long> intentions = new HashMap<>();
+    private final Map<Long, Long> resumes = new HashMap<>();
+
+    public void register(StudentFeatures student) {
+        register(student.studentId(), student.intentionId(), student.resumeIds());
+    }
+
+    public void register(Long studentId, Long intentionId, Collection<Long> resumeIds) {
+        if (intentionId != null) {
+            intentions.put(intentionId, studentId);
+        }
+        for (Long resumeId : resumeIds) {
+            resumes.put(resumeId, studentId);
+        }
+    }
+
+    public void unregister(StudentFeatures student) {
+        unregister(student.intentionId(), student.resumeIds());
+    }
+
+    public void unregister(Long intentionId, Collection<Long> resumeIds) {
+        if (intentionId != null) {
+            intentions.remove(intentionId);
+        }
+        resumeIds.forEach(resumes::remove);
+    }
+
+    public void clear() {
+        intentions.clear();
+        resumes.clear();
+    }
+
+    Long intentionOwner(Long intentionId) {
+        return intentions.get(intentionId);
+    }
+
+    Long resumeOwner(Long resumeId) {
+        return resumes.get(resumeId);
+    }
+}
@@ -0,0 +1,126 @@
+package com.ryj.demo.common;
+
+import com.baomidou.mybatisplus.core.metadata.TableInfo;
+import com.baomidou.mybatisplus.core.metadata.TableInfoHelper;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Signature;
+import org.apache.ibatis.reflection.MetaObject;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 拦截所有写语句，在执行成功后发布 {@link TableChangedEvent}，供首页快照、搜索索引等内存结构感知数据变化。
+ * <p>
+ * 只有 BaseMapper 自带的按主键写方法能确定受影响的行（insert 在执行后才能拿到自增主键），
+ * 状态机的条件更新（{@link StateMachine.TransitionWrapper}）带有目标行主键，同样按行上报；
+ * 其余自定义 SQL 与按条件写入一律视为整表变化。没有自增主键的子表（岗位要求、简历技能、意向城市）
+ * 总是按所属记录整体替换，对这些表改为上报所属记录的主键，见 {@link #OWNER_KEYS}。
+ */
+@Intercepts(@Signature(type = Executor.class, method = "update", args = {MappedStatement.class, Object.class}))
+public class TableChangeInterceptor implements Interceptor {
+
+    private static final Pattern TARGET_TABLE = Pattern.compile(
+            "^\\s*(?:INSERT\\s+(?:IGNORE\\s+)?INTO|UPDATE|DELETE\\s+FROM)\\s+`?(\\w+)`?",
+            Pattern.CASE_INSENSITIVE);
+
+    /**
+     * 子表 -> 指向所属记录的属性名；这些表的写语句都以所属记录为单位，参数中总能取到该属性
+     */
+    private static final Map<String, String> OWNER_KEYS = Map.of(
+            "job_requirement", "jobId",
+            "resume_skill", "resumeId",
+            "employment_intention_city", "intentionId");
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    public TableChangeInterceptor(ApplicationEventPublisher eventPublisher) {
+        this.eventPublisher = eventPublisher;
+    }
+
+    @Override
+    public Object intercept(Invocation invocation) throws Throwable {
+        MappedStatement ms = (MappedStatement) invocation.getArgs()[0];
+        Object parameter = invocation.getArgs()[1];
+        Matcher matcher = TARGET_TABLE.matcher(ms.getBoundSql(parameter).getSql());
+        Object result = invocation.proceed();
+        if (matcher.find()) {
+            String table = matcher.group(1).toLowerCase(Locale.ROOT);
+            Set<Long> ids = OWNER_KEYS.containsKey(table)
+                    ? ownerIds(ms, parameter, OWNER_KEYS.get(table))
+                    : changedIds(ms, parameter);
+            eventPublisher.publishEvent(new TableChangedEvent(table, ids));
+        }
+        return result;
+    }
+
+    private Set<Long> changedIds(MappedStatement ms, Object parameter) {
+        String method = ms.getId().substring(ms.getId().lastIndexOf('.') + 1);
+        switch (method) {
+            case "insert":
+            case "deleteById":
+                return parameter instanceof Map ? null : toIds(List.of(parameter));
+            case "updateById":
+                return parameter instanceof Map<?, ?> map && map.containsKey("et")
+                        ? toIds(List.of(map.get("et"))) : null;
+            case "deleteBatchIds":
+                return parameter instanceof Map<?, ?> map && map.containsKey("coll")
+                        && map.get("coll") instanceof Collection<?> coll ? toIds(coll) : null;
+            case "update":
+                return parameter instanceof Map<?, ?> map && map.containsKey("ew")
+                        && map.get("ew") instanceof StateMachine.TransitionWrapper<?> wrapper
+                        ? toIds(wrapper.getIds()) : null;
+            default:
+                return null;
+        }
+    }
+
+    private Set<Long> ownerIds(MappedStatement ms, Object parameter, String property) {
+        if (parameter instanceof Number number) {
+            return Set.of(number.longValue());
+        }
+        if (parameter instanceof Map<?, ?> map) {
+            return map.containsKey(property) && map.get(property) instanceof Number number
+                    ? Set.of(number.longValue()) : null;
+        }
+        if (parameter == null) {
+            return null;
+        }
+        MetaObject metaObject = ms.getConfiguration().newMetaObject(parameter);
+        if (!metaObject.hasGetter(property)) {
+            return null;
+        }
+        return metaObject.getValue(property) instanceof Number number ? Set.of(number.longValue()) : null;
+    }
+
+    private Set<Long> toIds(Collection<?> values) {
+        Set<Long> ids = new HashSet<>();
+        for (Object value : values) {
+            if (value instanceof Number number) {
+                ids.add(number.longValue());
+                continue;
+            }
+            TableInfo tableInfo = value == null ? null : TableInfoHelper.getTableInfo(value.getClass());
+            if (tableInfo == null || tableInfo.getKeyProperty() == null) {
+                return null;
+            }
+            Object key = tableInfo.getPropertyValue(value, tableInfo.getKeyProperty());
+            if (!(key instanceof Number number)) {
+                return null;
+            }
+            ids.add(number.longValue());
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,17 @@
+package com.ryj.demo.common;
+
+import java.util.Set;
+
+/**
+ * 某张表发生了 INSERT/UPDATE/DELETE，由 {@link TableChangeInterceptor} 发布。
+ * 监听方用 @TransactionalEventListener(fallbackExecution = true) 接收，保证只在提交后处理。
+ *
+ * @param table 表名（小写）
+ * @param ids   受影响行的主键（无主键的子表为所属记录的主键）；按条件批量更新等无法确定具体行时为 null
+ */
+public record TableChangedEvent(String table, Set<Long> ids) {
+
+    public boolean rowsKnown() {
+        return ids != null;
+    }
+}
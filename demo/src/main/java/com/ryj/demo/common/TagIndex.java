@@ -0,0 +1,145 @@
+package com.ryj.demo.common;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 线程安全的标签倒排索引：标签 -> 带有该标签的主键集合。
+ * 与 {@link InvertedIndex} 不同，这里不统计词频，标签按原样整体匹配，适合技能、城市这类离散属性；
+ * 不同属性可以用前缀区分后放在同一个索引里（如 "skill:java"、"city:北京"）。
+ *
+ * @param <D> 主键携带的数据，通常是特征快照
+ */
+public class TagIndex<D> {
+
+    private final Map<Long, Entry<D>> entries = new HashMap<>();
+    private final Map<String, Set<Long>> postings = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private record Entry<D>(D value, Set<String> tags) {
+    }
+
+    /**
+     * 写入或整体替换一个主键的数据与标签
+     */
+    public void put(Long id, D value, Collection<String> tags) {
+        Entry<D> entry = new Entry<>(value, Set.copyOf(tags));
+        lock.writeLock().lock();
+        try {
+            removeInternal(id);
+            entries.put(id, entry);
+            for (String tag : entry.tags()) {
+                postings.computeIfAbsent(tag, key -> new HashSet<>()).add(id);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long id) {
+        lock.writeLock().lock();
+        try {
+            removeInternal(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 清空后批量写入，读线程看不到清空到写完之间的中间状态
+     */
+    public void replaceAll(Map<Long, D> values, Map<Long, ? extends Collection<String>> tags) {
+        lock.writeLock().lock();
+        try {
+            entries.clear();
+            postings.clear();
+            values.forEach((id, value) -> {
+                Collection<String> entryTags = tags.get(id);
+                Entry<D> entry = new Entry<>(value, entryTags == null ? Set.of() : Set.copyOf(entryTags));
+                entries.put(id, entry);
+                for (String tag : entry.tags()) {
+                    postings.computeIfAbsent(tag, key -> new HashSet<>()).add(id);
+                }
+            });
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public D get(Long id) {
+        lock.readLock().lock();
+        try {
+            Entry<D> entry = entries.get(id);
+            return entry == null ? null : entry.value();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 带有任一给定标签的主键；不存在的标签直接忽略
+     */
+    public Set<Long> anyOf(Collection<String> tags) {
+        lock.readLock().lock();
+        try {
+            Set<Long> result = new HashSet<>();
+            for (String tag : tags) {
+                Set<Long> ids = postings.get(tag);
+                if (ids != null) {
+                    result.addAll(ids);
+                }
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 给定标签中实际被索引过的那些，用于把候选词收窄到词表内
+     */
+    public Set<String> existing(Collection<String> tags) {
+        lock.readLock().lock();
+        try {
+            Set<String> result = new HashSet<>();
+            for (String tag : tags) {
+                if (postings.containsKey(tag)) {
+                    result.add(tag);
+                }
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void removeInternal(Long id) {
+        Entry<D> existing = entries.remove(id);
+        if (existing == null) {
+            return;
+        }
+        for (String tag : existing.tags()) {
+            Set<Long> ids = postings.get(tag);
+            if (ids != null) {
+                ids.remove(id);
+                if (ids.isEmpty()) {
+                    postings.remove(tag);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.ryj.demo.common;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * 固定容量的 Top-K 选择器：用大小为 k 的最小堆保留最好的 k 个元素，
+ * 复杂度 O(n log k)，避免对全部候选排序。非线程安全。
+ *
+ * @param <T> 元素类型
+ */
+public class TopK<T> {
+
+    private final int k;
+    private final Comparator<? super T> comparator;
+    private final PriorityQueue<T> heap;
+
+    /**
+     * @param k          保留的数量
+     * @param comparator 排序规则，越“大”越好
+     */
+    public TopK(int k, Comparator<? super T> comparator) {
+        this.k = k;
+        this.comparator = comparator;
+        this.heap = new PriorityQueue<>(Math.max(1, k), comparator);
+    }
+
+    public void offer(T element) {
+        if (k <= 0) {
+            return;
+        }
+        if (heap.size() < k) {
+            heap.add(element);
+        } else if (comparator.compare(element, heap.peek()) > 0) {
+            heap.poll();
+            heap.add(element);
+        }
+    }
+
+    public int size() {
+        return heap.size();
+    }
+
+    /**
+     * 按从好到差的顺序返回
+     */
+    public List<T> toSortedList() {
+        List<T> result = new ArrayList<>(heap);
+        result.sort(comparator.reversed());
+        return result;
+    }
+}
@@ -0,0 +1,60 @@
+package com.ryj.demo.common;
+
+import com.ryj.demo.entity.Interview;
+import com.ryj.demo.entity.JobApplication;
+
+import static com.ryj.demo.entity.JobApplication.Status.INTERVIEW;
+import static com.ryj.demo.entity.JobApplication.Status.OFFERED;
+import static com.ryj.demo.entity.JobApplication.Status.REJECTED;
+import static com.ryj.demo.entity.JobApplication.Status.REVIEWING;
+import static com.ryj.demo.entity.JobApplication.Status.SUBMITTED;
+
+/**
+ * 各业务流程的状态机定义
+ */
+public final class Workflows {
+
+    /**
+     * 岗位申请：企业可以在任意状态之间调整（如撤回录用、重新安排面试），不限制转换方向；
+     * 批量处理时以读取到的状态作为 UPDATE 条件，只用来发现并发修改
+     */
+    public static final StateMachine<JobApplication.Status> APPLICATION =
+            new StateMachine<JobApplication.Status>("申请", SUBMITTED)
+                    .allow(SUBMITTED, SUBMITTED, REVIEWING, INTERVIEW, OFFERED, REJECTED)
+                    .allow(REVIEWING, SUBMITTED, REVIEWING, INTERVIEW, OFFERED, REJECTED)
+                    .allow(INTERVIEW, SUBMITTED, REVIEWING, INTERVIEW, OFFERED, REJECTED)
+                    .allow(OFFERED, SUBMITTED, REVIEWING, INTERVIEW, OFFERED, REJECTED)
+                    .allow(REJECTED, SUBMITTED, REVIEWING, INTERVIEW, OFFERED, REJECTED)
+                    .label(SUBMITTED, "已提交")
+                    .label(REVIEWING, "筛选中")
+                    .label(INTERVIEW, "面试中")
+                    .label(OFFERED, "已录用")
+                    .label(REJECTED, "未通过");
+
+    /**
+     * 面试安排：已安排的面试可修改、完成或取消，已取消的可重新安排；
+     * 保持原状态的修改不改变状态，靠 interview.version 乐观锁防止覆盖
+     */
+    public static final StateMachine<Interview.Status> INTERVIEW_SCHEDULE =
+            new StateMachine<Interview.Status>("面试", Interview.Status.SCHEDULED)
+                    .allow(Interview.Status.SCHEDULED,
+                            Interview.Status.SCHEDULED, Interview.Status.COMPLETED, Interview.Status.CANCELLED)
+                    .allow(Interview.Status.COMPLETED, Interview.Status.COMPLETED)
+                    .allow(Interview.Status.CANCELLED, Interview.Status.CANCELLED, Interview.Status.SCHEDULED)
+                    .label(Interview.Status.SCHEDULED, "已安排")
+                    .label(Interview.Status.COMPLETED, "已完成")
+                    .label(Interview.Status.CANCELLED, "已取消");
+
+    /**
+     * 学生档案更新申请：待审核的申请只能被审核一次
+     */
+    public static final StateMachine<String> PROFILE_UPDATE_REQUEST =
+            new StateMachine<String>("档案更新申请", null)
+                    .allow("PENDING", "APPROVED", "REJECTED")
+                    .label("PENDING", "待审核")
+                    .label("APPROVED", "已通过")
+                    .label("REJECTED", "已退回");
+
+    private Workflows() {
+    }
+}
@@ -0,0 +1,44 @@
+package com.ryj.demo.config;
+
+import com.baomidou.mybatisplus.core.handlers.MetaObjectHandler;
+import com.ryj.demo.common.SalaryRange;
+import org.apache.ibatis.reflection.MetaObject;
+import org.springframework.stereotype.Component;
+
+/**
+ * 写入带有 salaryRange 的实体（岗位、就业意向）时，由薪资描述解析出 salaryMin/salaryMax 一并写库，
+ * 所有保存路径都无需各自解析。
+ * <p>
+ * 更新时如果 salaryRange 为 null（未修改该字段），保留实体上已有的数值。
+ */
+@Component
+public class SalaryColumnFillHandler implements MetaObjectHandler {
+
+    private static final String SOURCE = "salaryRange";
+    private static final String MIN = "salaryMin";
+    private static final String MAX = "salaryMax";
+
+    @Override
+    public void insertFill(MetaObject metaObject) {
+        fill(metaObject, true);
+    }
+
+    @Override
+    public void updateFill(MetaObject metaObject) {
+        fill(metaObject, false);
+    }
+
+    private void fill(MetaObject metaObject, boolean insert) {
+        if (!metaObject.hasGetter(SOURCE) || !metaObject.hasSetter(MIN) || !metaObject.hasSetter(MAX)) {
+            return;
+        }
+        Object text = metaObject.getValue(SOURCE);
+        if (text == null && !insert) {
+            return;
+        }
+        SalaryRange range = SalaryRange.parse((String) text);
+        // setFieldValByName 会忽略 null，解析失败时需要显式清空
+        metaObject.setValue(MIN, range != null ? range.min() : null);
+        metaObject.setValue(MAX, range != null ? range.max() : null);
+    }
+}
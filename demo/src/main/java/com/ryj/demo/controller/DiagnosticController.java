@@ -1,6 +1,8 @@
 package com.ryj.demo.controller;
 
 import com.ryj.demo.common.ApiResponse;
+import com.ryj.demo.common.EntityCacheRegistry;
+import com.ryj.demo.service.PublicSearchHistoryService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -17,6 +19,24 @@ import java.util.Map;
 public class DiagnosticController {
 
     private final JdbcTemplate jdbcTemplate;
+    private final EntityCacheRegistry entityCacheRegistry;
+    private final PublicSearchHistoryService searchHistoryService;
+
+    /**
+     * 实体缓存的容量、命中/未命中与淘汰次数
+     */
+    @GetMapping("/caches")
+    public ApiResponse<Map<String, Map<String, Object>>> caches() {
+        return ApiResponse.success(entityCacheRegistry.statistics());
+    }
+
+    /**
+     * 搜索记录写缓冲的积压与丢弃情况
+     */
+    @GetMapping("/search-history-buffer")
+    public ApiResponse<Map<String, Long>> searchHistoryBuffer() {
+        return ApiResponse.success(searchHistoryService.bufferStatistics());
+    }
 
     @GetMapping("/check-database")
     public ApiResponse<Map<String, Object>> checkDatabase() {
@@ -1,6 +1,9 @@
 package com.ryj.demo.controller;
 
 import com.ryj.demo.common.ApiResponse;
+import com.ryj.demo.common.Workflows;
+import com.ryj.demo.dto.EmployerApplicationBulkStatusRequest;
+import com.ryj.demo.dto.EmployerApplicationPage;
 import com.ryj.demo.dto.EmployerApplicationStatusRequest;
 import com.ryj.demo.dto.EmployerDashboardResponse;
 import com.ryj.demo.dto.EmployerDashboardResponse.ApplicationOverview;
@@ -9,40 +12,46 @@ import com.ryj.demo.dto.EmployerDashboardResponse.Header;
 import com.ryj.demo.dto.EmployerDashboardResponse.InterviewOverview;
 import com.ryj.demo.dto.EmployerDashboardResponse.JobOverview;
 import com.ryj.demo.dto.EmployerDashboardResponse.ModuleInfo;
+import com.ryj.demo.dto.EmployerInterviewBatchRequest;
+import com.ryj.demo.dto.EmployerInterviewBatchResponse;
 import com.ryj.demo.dto.EmployerInterviewRequest;
+import com.ryj.demo.dto.EmployerInterviewSlotRequest;
 import com.ryj.demo.dto.EmployerJobDetailResponse;
 import com.ryj.demo.dto.EmployerJobRequest;
+import com.ryj.demo.dto.EmployerOverviewRows.ApplicationFilter;
+import com.ryj.demo.dto.EmployerOverviewRows.ApplicationStatsRow;
+import com.ryj.demo.dto.EmployerOverviewRows.JobCountRow;
 import com.ryj.demo.dto.EmployerProfileRequest;
 import com.ryj.demo.dto.EmployerTalentResponse;
-import com.ryj.demo.dto.EmployerTalentResponse.Summary;
-import com.ryj.demo.dto.EmployerTalentResponse.TalentCandidate;
+import com.ryj.demo.dto.EmployerTalentResponse.MatchedCandidate;
 import com.ryj.demo.entity.Employer;
 import com.ryj.demo.entity.EmploymentIntention;
-import com.ryj.demo.entity.EmploymentIntentionCity;
 import com.ryj.demo.entity.Interview;
+import com.ryj.demo.entity.InterviewSlot;
 import com.ryj.demo.entity.JobApplication;
 import com.ryj.demo.entity.JobPosting;
 import com.ryj.demo.entity.JobRequirement;
-import com.ryj.demo.entity.Resume;
 import com.ryj.demo.entity.SysUser;
 import com.ryj.demo.entity.StudentProfile;
+import com.ryj.demo.mapper.EmployerOverviewMapper;
+import com.ryj.demo.service.CandidateMatchService;
 import com.ryj.demo.service.EmployerService;
+import com.ryj.demo.service.EmployerTalentPoolService;
 import com.ryj.demo.service.EmploymentIntentionCityService;
 import com.ryj.demo.service.EmploymentIntentionService;
 import com.ryj.demo.service.InterviewService;
+import com.ryj.demo.service.InterviewSlotService;
 import com.ryj.demo.service.JobApplicationService;
 import com.ryj.demo.service.JobPostingService;
 import com.ryj.demo.service.JobRequirementService;
-import com.ryj.demo.service.ResumeService;
 import com.ryj.demo.service.StudentProfileService;
 import com.ryj.demo.service.SysUserService;
 import jakarta.validation.Valid;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Collections;
-import java.util.Comparator;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -51,6 +60,7 @@ import java.util.Set;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -66,16 +76,22 @@ import org.springframework.web.bind.annotation.RestController;
 @RequiredArgsConstructor
 public class EmployerModuleController {
 
+    private static final int RECENT_LIMIT = 8;
+    private static final int MAX_APPLICATION_PAGE_SIZE = 100;
+
     private final SysUserService sysUserService;
     private final EmployerService employerService;
     private final JobPostingService jobPostingService;
     private final JobRequirementService jobRequirementService;
     private final JobApplicationService jobApplicationService;
-    private final ResumeService resumeService;
     private final InterviewService interviewService;
+    private final InterviewSlotService interviewSlotService;
     private final StudentProfileService studentProfileService;
     private final EmploymentIntentionService employmentIntentionService;
     private final EmploymentIntentionCityService employmentIntentionCityService;
+    private final CandidateMatchService candidateMatchService;
+    private final EmployerTalentPoolService employerTalentPoolService;
+    private final EmployerOverviewMapper employerOverviewMapper;
 
     @GetMapping("/overview")
     public ApiResponse<EmployerDashboardResponse> overview(@RequestParam Long userId) {
@@ -111,82 +127,36 @@ public class EmployerModuleController {
                 .map(JobPosting::getId)
                 .collect(Collectors.toList());
 
-        List<JobApplication> applications = jobIds.isEmpty() ? List.of() : jobApplicationService.lambdaQuery()
-                .in(JobApplication::getJobId, jobIds)
-                .orderByDesc(JobApplication::getAppliedAt)
-                .list();
-
-        List<Interview> interviews = jobIds.isEmpty() ? List.of() : interviewService.lambdaQuery()
-                .in(Interview::getJobId, jobIds)
-                .orderByDesc(Interview::getScheduledTime)
-                .list();
-
-        Map<Long, JobPosting> jobMap = postings.stream()
-                .collect(Collectors.toMap(JobPosting::getId, Function.identity()));
-
-        Map<Long, JobApplication> applicationMap = new HashMap<>();
-        for (JobApplication application : applications) {
-            applicationMap.put(application.getId(), application);
-        }
-
-        Set<Long> additionalApplicationIds = interviews.stream()
-                .map(Interview::getApplicationId)
-                .filter(Objects::nonNull)
-                .filter(id -> !applicationMap.containsKey(id))
-                .collect(Collectors.toSet());
-        if (!additionalApplicationIds.isEmpty()) {
-            List<JobApplication> extraApplications = jobApplicationService.listByIds(additionalApplicationIds);
-            for (JobApplication extra : extraApplications) {
-                applicationMap.put(extra.getId(), extra);
+        // 头部计数与各岗位申请数在数据库端聚合，最近的申请和面试各取 RECENT_LIMIT 条，连同姓名、简历标题一次查出
+        Map<Long, Long> applicationCountMap = new HashMap<>();
+        ApplicationStatsRow applicationStats = new ApplicationStatsRow();
+        long scheduledInterviewCount = 0;
+        List<ApplicationOverview> applicationOverviews = List.of();
+        List<InterviewOverview> interviewOverviews = List.of();
+        if (!jobIds.isEmpty()) {
+            for (JobCountRow row : employerOverviewMapper.countApplicationsByJob(employer.getId())) {
+                applicationCountMap.put(row.getJobId(), row.getTotal());
             }
-            applications = mergeApplications(applications, extraApplications);
+            applicationStats = employerOverviewMapper.selectApplicationStats(employer.getId());
+            scheduledInterviewCount = employerOverviewMapper.countScheduledInterviews(employer.getId());
+            ApplicationFilter recent = new ApplicationFilter();
+            recent.setEmployerId(employer.getId());
+            recent.setLimit(RECENT_LIMIT);
+            applicationOverviews = employerOverviewMapper.selectApplicationOverviews(recent);
+            interviewOverviews = employerOverviewMapper.selectInterviewOverviews(employer.getId(), RECENT_LIMIT);
         }
 
-        Set<Long> resumeIds = applicationMap.values().stream()
-                .map(JobApplication::getResumeId)
-                .filter(Objects::nonNull)
-                .collect(Collectors.toSet());
-        List<Resume> resumes = resumeIds.isEmpty() ? List.of() : resumeService.listByIds(resumeIds);
-        Map<Long, Resume> resumeMap = resumes.stream()
-                .collect(Collectors.toMap(Resume::getId, Function.identity()));
-
-        Set<Long> studentIds = new HashSet<>();
-        for (JobApplication application : applicationMap.values()) {
-            if (application.getStudentId() != null) {
-                studentIds.add(application.getStudentId());
-            }
-        }
-        for (Resume resume : resumes) {
-            if (resume.getStudentId() != null) {
-                studentIds.add(resume.getStudentId());
-            }
-        }
-
-        Map<Long, SysUser> studentMap = studentIds.isEmpty() ? Collections.emptyMap() : sysUserService.listByIds(studentIds)
-                .stream()
-                .collect(Collectors.toMap(SysUser::getId, Function.identity()));
-
-        Map<Long, Long> applicationCountMap = applications.stream()
-                .collect(Collectors.groupingBy(JobApplication::getJobId, Collectors.counting()));
-
         long openJobCount = postings.stream()
                 .filter(job -> job.getStatus() == JobPosting.Status.OPEN)
                 .count();
-        long activeApplicationCount = applications.stream()
-                .filter(app -> app.getStatus() != JobApplication.Status.REJECTED
-                        && app.getStatus() != JobApplication.Status.OFFERED)
-                .count();
-        long scheduledInterviewCount = interviews.stream()
-                .filter(interview -> interview.getStatus() == Interview.Status.SCHEDULED)
-                .count();
 
         Header header = new Header();
         header.setCompanyName(employer.getCompanyName());
         header.setTotalJobCount(postings.size());
         header.setOpenJobCount((int) openJobCount);
-        header.setActiveApplicationCount((int) activeApplicationCount);
+        header.setActiveApplicationCount((int) applicationStats.getActiveApplications());
         header.setScheduledInterviewCount((int) scheduledInterviewCount);
-        header.setTalentPoolSize(studentIds.size());
+        header.setTalentPoolSize((int) applicationStats.getTalentPoolSize());
         response.setHeader(header);
 
         response.setCompanyProfile(toCompanyProfile(employer));
@@ -196,18 +166,7 @@ public class EmployerModuleController {
                 .collect(Collectors.toList());
         response.setJobs(jobOverviews);
 
-        List<ApplicationOverview> applicationOverviews = applications.stream()
-                .sorted(Comparator.comparing(JobApplication::getAppliedAt, Comparator.nullsLast(Comparator.reverseOrder())))
-                .limit(8)
-                .map(app -> toApplicationOverview(app, jobMap, studentMap))
-                .collect(Collectors.toList());
         response.setApplications(applicationOverviews);
-
-        List<InterviewOverview> interviewOverviews = interviews.stream()
-                .sorted(Comparator.comparing(Interview::getScheduledTime, Comparator.nullsLast(Comparator.reverseOrder())))
-                .limit(8)
-                .map(interview -> toInterviewOverview(interview, jobMap, applicationMap, resumeMap, studentMap))
-                .collect(Collectors.toList());
         response.setInterviews(interviewOverviews);
 
         return ApiResponse.success(response);
@@ -317,204 +276,142 @@ public class EmployerModuleController {
         if (posting == null || !Objects.equals(posting.getEmployerId(), employer.getId())) {
             throw new IllegalArgumentException("未找到所属企业的岗位信息");
         }
+        interviewSlotService.removeByJob(id);
         jobRequirementService.replaceRequirements(id, null);
         boolean removed = jobPostingService.removeById(id);
         return ApiResponse.success(removed);
     }
 
+    /**
+     * 申请列表按 (appliedAt, id) 倒序做游标分页，筛选条件都在 SQL 中执行
+     * @param cursorAppliedAt 上一页返回的 nextCursorAppliedAt，与 cursorId 一起传入；首页不传
+     * @param appliedFrom 申请日期下限（含）
+     * @param appliedTo 申请日期上限（含）
+     * @param withTotal 为 false 时跳过总数统计，翻页时可省去一次 COUNT
+     */
     @GetMapping("/applications")
-    public ApiResponse<List<ApplicationOverview>> applications(@RequestParam Long userId,
-                                                               @RequestParam(required = false) JobApplication.Status status) {
+    public ApiResponse<EmployerApplicationPage> applications(@RequestParam Long userId,
+                                                             @RequestParam(required = false) JobApplication.Status status,
+                                                             @RequestParam(required = false) Long jobId,
+                                                             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate appliedFrom,
+                                                             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate appliedTo,
+                                                             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime cursorAppliedAt,
+                                                             @RequestParam(required = false) Long cursorId,
+                                                             @RequestParam(defaultValue = "20") int size,
+                                                             @RequestParam(defaultValue = "true") boolean withTotal) {
         Employer employer = requireEmployerProfile(userId);
-        List<JobPosting> postings = jobPostingService.lambdaQuery()
-                .eq(JobPosting::getEmployerId, employer.getId())
-                .list();
-        List<Long> jobIds = postings.stream().map(JobPosting::getId).collect(Collectors.toList());
-        if (jobIds.isEmpty()) {
-            return ApiResponse.success(Collections.emptyList());
-        }
-        List<JobApplication> applications = jobApplicationService.lambdaQuery()
-                .in(JobApplication::getJobId, jobIds)
-                .orderByDesc(JobApplication::getAppliedAt)
-                .list();
-        if (status != null) {
-            applications = applications.stream()
-                    .filter(app -> app.getStatus() == status)
-                    .collect(Collectors.toList());
-        }
-        Map<Long, JobPosting> jobMap = postings.stream()
-                .collect(Collectors.toMap(JobPosting::getId, Function.identity()));
-        Set<Long> studentIds = applications.stream()
-                .map(JobApplication::getStudentId)
-                .filter(Objects::nonNull)
-                .collect(Collectors.toSet());
-        Map<Long, SysUser> studentMap = studentIds.isEmpty() ? Collections.emptyMap()
-                : sysUserService.listByIds(studentIds).stream()
-                .collect(Collectors.toMap(SysUser::getId, Function.identity()));
-        List<ApplicationOverview> results = applications.stream()
-                .map(app -> toApplicationOverview(app, jobMap, studentMap))
-                .collect(Collectors.toList());
-        return ApiResponse.success(results);
+        if ((cursorAppliedAt == null) != (cursorId == null)) {
+            throw new IllegalArgumentException("分页游标需同时提供 cursorAppliedAt 与 cursorId");
+        }
+        if (jobId != null) {
+            requireOwnedPosting(employer, jobId);
+        }
+        ApplicationFilter filter = new ApplicationFilter();
+        filter.setEmployerId(employer.getId());
+        filter.setJobId(jobId);
+        filter.setStatus(status);
+        filter.setAppliedFrom(appliedFrom == null ? null : appliedFrom.atStartOfDay());
+        filter.setAppliedBefore(appliedTo == null ? null : appliedTo.plusDays(1).atStartOfDay());
+
+        EmployerApplicationPage page = new EmployerApplicationPage();
+        if (withTotal) {
+            page.setTotal(employerOverviewMapper.countApplications(filter));
+        }
+        int pageSize = Math.max(1, Math.min(size, MAX_APPLICATION_PAGE_SIZE));
+        filter.setCursorAppliedAt(cursorAppliedAt);
+        filter.setCursorId(cursorId);
+        filter.setLimit(pageSize + 1);
+        List<ApplicationOverview> records = employerOverviewMapper.selectApplicationOverviews(filter);
+        if (records.size() > pageSize) {
+            records = records.subList(0, pageSize);
+            ApplicationOverview last = records.get(pageSize - 1);
+            page.setHasMore(true);
+            page.setNextCursorAppliedAt(last.getAppliedAt());
+            page.setNextCursorId(last.getId());
+        }
+        page.setRecords(records);
+        return ApiResponse.success(page);
     }
 
+    /**
+     * 人才库读取预先汇总的读模型，筛选与分页都在服务端完成
+     * @param jobId 指定后按与该岗位的匹配度排序候选人
+     */
     @GetMapping("/talent")
     public ApiResponse<EmployerTalentResponse> talent(@RequestParam Long userId,
                                                       @RequestParam(required = false) String keyword,
                                                       @RequestParam(required = false) JobApplication.Status status,
-                                                      @RequestParam(required = false) Interview.Status interviewStatus) {
+                                                      @RequestParam(required = false) Interview.Status interviewStatus,
+                                                      @RequestParam(required = false) Long jobId,
+                                                      @RequestParam(defaultValue = "1") long page,
+                                                      @RequestParam(defaultValue = "20") long size) {
         Employer employer = requireEmployerProfile(userId);
-        List<JobPosting> postings = jobPostingService.lambdaQuery()
-                .eq(JobPosting::getEmployerId, employer.getId())
-                .list();
-        if (postings.isEmpty()) {
-            return ApiResponse.success(emptyTalentResponse());
-        }
-
-        List<Long> jobIds = postings.stream()
-                .map(JobPosting::getId)
-                .collect(Collectors.toList());
-        List<JobApplication> applications = jobApplicationService.lambdaQuery()
-                .in(JobApplication::getJobId, jobIds)
-                .orderByDesc(JobApplication::getAppliedAt)
-                .list();
-        if (applications.isEmpty()) {
-            return ApiResponse.success(emptyTalentResponse());
-        }
-
-        Map<Long, JobPosting> jobMap = postings.stream()
-                .collect(Collectors.toMap(JobPosting::getId, Function.identity()));
-
-        Map<Long, JobApplication> applicationMap = applications.stream()
-                .collect(Collectors.toMap(JobApplication::getId, Function.identity()));
-
-        Map<Long, List<JobApplication>> applicationsByStudent = new HashMap<>();
-        for (JobApplication application : applications) {
-            if (application.getStudentId() == null) {
-                continue;
-            }
-            applicationsByStudent
-                    .computeIfAbsent(application.getStudentId(), key -> new ArrayList<>())
-                    .add(application);
-        }
+        JobPosting matchPosting = jobId == null ? null : requireOwnedPosting(employer, jobId);
+        return ApiResponse.success(employerTalentPoolService.search(employer.getId(), keyword, status, interviewStatus,
+                matchPosting, page, size));
+    }
 
-        if (applicationsByStudent.isEmpty()) {
-            return ApiResponse.success(emptyTalentResponse());
+    /**
+     * 在全部学生中按与岗位的匹配度排序，不限于已投递的学生；只返回画像信息，不包含联系方式
+     */
+    @GetMapping("/talent/matches")
+    public ApiResponse<List<MatchedCandidate>> talentMatches(@RequestParam Long userId,
+                                                             @RequestParam Long jobId,
+                                                             @RequestParam(defaultValue = "20") int limit) {
+        Employer employer = requireEmployerProfile(userId);
+        JobPosting posting = requireOwnedPosting(employer, jobId);
+        List<CandidateMatchService.CandidateMatch> matches = candidateMatchService.rank(posting, limit);
+        if (matches.isEmpty()) {
+            return ApiResponse.success(Collections.emptyList());
         }
-
-        List<Long> studentIds = new ArrayList<>(applicationsByStudent.keySet());
+        List<Long> studentIds = matches.stream()
+                .map(CandidateMatchService.CandidateMatch::studentId)
+                .collect(Collectors.toList());
         Map<Long, SysUser> studentMap = sysUserService.listByIds(studentIds).stream()
                 .collect(Collectors.toMap(SysUser::getId, Function.identity()));
         Map<Long, StudentProfile> profileMap = studentProfileService.listByIds(studentIds).stream()
                 .collect(Collectors.toMap(StudentProfile::getId, Function.identity()));
-
-        List<EmploymentIntention> intentions = employmentIntentionService.lambdaQuery()
+        Map<Long, EmploymentIntention> intentionMap = employmentIntentionService.lambdaQuery()
                 .in(EmploymentIntention::getStudentId, studentIds)
-                .list();
-        Map<Long, EmploymentIntention> intentionMap = intentions.stream()
+                .list()
+                .stream()
                 .collect(Collectors.toMap(EmploymentIntention::getStudentId, Function.identity()));
-        Map<Long, List<String>> intentionCities = new HashMap<>();
-        for (EmploymentIntention intention : intentions) {
-            List<String> cities = employmentIntentionCityService.findByIntentionId(intention.getId()).stream()
-                    .map(EmploymentIntentionCity::getCity)
-                    .filter(Objects::nonNull)
-                    .filter(city -> !city.isBlank())
-                    .collect(Collectors.toList());
-            intentionCities.put(intention.getStudentId(), cities);
-        }
-
-        List<Interview> interviews = interviewService.lambdaQuery()
-                .in(Interview::getJobId, jobIds)
-                .list();
-        Map<Long, List<Interview>> interviewsByStudent = new HashMap<>();
-        for (Interview interview : interviews) {
-            JobApplication application = interview.getApplicationId() == null
-                    ? null
-                    : applicationMap.get(interview.getApplicationId());
-            if (application == null || application.getStudentId() == null) {
-                continue;
-            }
-            interviewsByStudent
-                    .computeIfAbsent(application.getStudentId(), key -> new ArrayList<>())
-                    .add(interview);
-        }
-
-        List<TalentCandidate> candidates = new ArrayList<>();
-        for (Map.Entry<Long, List<JobApplication>> entry : applicationsByStudent.entrySet()) {
-            Long studentId = entry.getKey();
-            List<JobApplication> studentApplications = entry.getValue();
-            studentApplications.sort(Comparator.comparing(JobApplication::getAppliedAt, Comparator.nullsLast(Comparator.reverseOrder())));
-            JobApplication latest = studentApplications.get(0);
+        Map<Long, List<String>> citiesByIntention = employmentIntentionCityService.findCitiesByIntentionIds(
+                intentionMap.values().stream().map(EmploymentIntention::getId).toList());
+        Set<Long> appliedStudents = jobApplicationService.lambdaQuery()
+                .select(JobApplication::getStudentId)
+                .eq(JobApplication::getJobId, jobId)
+                .in(JobApplication::getStudentId, studentIds)
+                .list()
+                .stream()
+                .map(JobApplication::getStudentId)
+                .collect(Collectors.toSet());
 
-            TalentCandidate candidate = new TalentCandidate();
+        List<MatchedCandidate> results = new ArrayList<>();
+        for (CandidateMatchService.CandidateMatch match : matches) {
+            Long studentId = match.studentId();
+            MatchedCandidate candidate = new MatchedCandidate();
             candidate.setStudentId(studentId);
             SysUser student = studentMap.get(studentId);
-            if (student != null) {
-                candidate.setCandidateName(Optional.ofNullable(student.getFullName()).orElse(student.getUsername()));
-                candidate.setEmail(student.getEmail());
-                candidate.setPhone(student.getPhone());
-            } else {
-                candidate.setCandidateName("候选人");
-            }
-
+            candidate.setCandidateName(student == null ? "候选人"
+                    : Optional.ofNullable(student.getFullName()).orElse(student.getUsername()));
             StudentProfile profile = profileMap.get(studentId);
             if (profile != null) {
                 candidate.setMajor(profile.getMajor());
                 candidate.setGraduationYear(profile.getGraduationYear());
             }
-
             EmploymentIntention intention = intentionMap.get(studentId);
             if (intention != null) {
                 candidate.setExpectedPosition(intention.getExpectedPosition());
                 candidate.setExpectedWorkType(intention.getWorkType());
-                List<String> cities = intentionCities.getOrDefault(studentId, Collections.emptyList());
-                candidate.setIntentionCities(cities.isEmpty() ? Collections.emptyList() : new ArrayList<>(cities));
-            }
-
-            candidate.setLatestStatus(latest.getStatus());
-            candidate.setLastAppliedAt(latest.getAppliedAt());
-            candidate.setLatestResumeId(latest.getResumeId());
-            JobPosting job = jobMap.get(latest.getJobId());
-            candidate.setLatestJobTitle(job != null ? job.getTitle() : "岗位已删除");
-            candidate.setApplicationCount(studentApplications.size());
-
-            List<Interview> studentInterviews = interviewsByStudent.getOrDefault(studentId, Collections.emptyList());
-            if (!studentInterviews.isEmpty()) {
-                studentInterviews.sort(Comparator.comparing(Interview::getScheduledTime, Comparator.nullsLast(Comparator.reverseOrder())));
-                candidate.setLatestInterviewStatus(studentInterviews.get(0).getStatus());
+                candidate.setIntentionCities(citiesByIntention.getOrDefault(intention.getId(), Collections.emptyList()));
             }
-            candidate.setInterviewCount(studentInterviews.size());
-
-            candidates.add(candidate);
+            candidate.setScore(roundScore(match.score()));
+            candidate.setMatchedSkills(match.matchedSkills());
+            candidate.setApplied(appliedStudents.contains(studentId));
+            results.add(candidate);
         }
-
-        int totalCandidates = candidates.size();
-        String keywordFilter = keyword == null ? null : keyword.trim().toLowerCase();
-        List<TalentCandidate> filteredCandidates = candidates.stream()
-                .filter(candidate -> matchesKeyword(candidate, keywordFilter))
-                .filter(candidate -> status == null || candidate.getLatestStatus() == status)
-                .filter(candidate -> interviewStatus == null || candidate.getLatestInterviewStatus() == interviewStatus)
-                .sorted(Comparator.comparing(TalentCandidate::getLastAppliedAt, Comparator.nullsLast(Comparator.reverseOrder()))
-                        .thenComparing(candidate -> Optional.ofNullable(candidate.getCandidateName()).orElse("")))
-                .collect(Collectors.toList());
-
-        Summary summary = new Summary();
-        summary.setTotalCandidates(totalCandidates);
-        summary.setFilteredCandidates(filteredCandidates.size());
-        summary.setPendingReviewCount((int) filteredCandidates.stream()
-                .filter(candidate -> candidate.getLatestStatus() == JobApplication.Status.SUBMITTED
-                        || candidate.getLatestStatus() == JobApplication.Status.REVIEWING)
-                .count());
-        summary.setInterviewingCount((int) filteredCandidates.stream()
-                .filter(candidate -> candidate.getLatestInterviewStatus() == Interview.Status.SCHEDULED)
-                .count());
-        summary.setOfferCount((int) filteredCandidates.stream()
-                .filter(candidate -> candidate.getLatestStatus() == JobApplication.Status.OFFERED)
-                .count());
-
-        EmployerTalentResponse response = new EmployerTalentResponse();
-        response.setSummary(summary);
-        response.setCandidates(filteredCandidates);
-        return ApiResponse.success(response);
+        return ApiResponse.success(results);
     }
 
     @PutMapping("/applications/{id}/status")
@@ -522,58 +419,25 @@ public class EmployerModuleController {
                                                         @PathVariable Long id,
                                                         @Valid @RequestBody EmployerApplicationStatusRequest request) {
         Employer employer = requireEmployerProfile(userId);
-        JobApplication application = jobApplicationService.getById(id);
-        if (application == null) {
-            throw new IllegalArgumentException("申请记录不存在");
-        }
-        JobPosting posting = jobPostingService.getById(application.getJobId());
-        if (posting == null || !Objects.equals(posting.getEmployerId(), employer.getId())) {
-            throw new IllegalArgumentException("无权更新其他企业的申请");
-        }
-        application.setStatus(request.getStatus());
-        boolean updated = jobApplicationService.updateById(application);
-        return ApiResponse.success(updated);
+        jobApplicationService.updateStatusForEmployer(employer.getId(), List.of(id), request.getStatus());
+        return ApiResponse.success(true);
+    }
+
+    /**
+     * 批量更新申请状态，返回状态实际发生变化的申请数
+     */
+    @PutMapping("/applications/status")
+    public ApiResponse<Integer> updateApplicationStatuses(@RequestParam Long userId,
+                                                          @Valid @RequestBody EmployerApplicationBulkStatusRequest request) {
+        Employer employer = requireEmployerProfile(userId);
+        return ApiResponse.success(jobApplicationService.updateStatusForEmployer(
+                employer.getId(), request.getApplicationIds(), request.getStatus()));
     }
 
     @GetMapping("/interviews")
     public ApiResponse<List<InterviewOverview>> interviews(@RequestParam Long userId) {
         Employer employer = requireEmployerProfile(userId);
-        List<JobPosting> postings = jobPostingService.lambdaQuery()
-                .eq(JobPosting::getEmployerId, employer.getId())
-                .list();
-        List<Long> jobIds = postings.stream().map(JobPosting::getId).collect(Collectors.toList());
-        if (jobIds.isEmpty()) {
-            return ApiResponse.success(Collections.emptyList());
-        }
-        List<Interview> interviews = interviewService.lambdaQuery()
-                .in(Interview::getJobId, jobIds)
-                .orderByDesc(Interview::getScheduledTime)
-                .list();
-        Map<Long, JobPosting> jobMap = postings.stream()
-                .collect(Collectors.toMap(JobPosting::getId, Function.identity()));
-        Map<Long, JobApplication> applicationMap = jobApplicationService.lambdaQuery()
-                .in(JobApplication::getJobId, jobIds)
-                .list()
-                .stream()
-                .collect(Collectors.toMap(JobApplication::getId, Function.identity()));
-        Set<Long> resumeIds = applicationMap.values().stream()
-                .map(JobApplication::getResumeId)
-                .filter(Objects::nonNull)
-                .collect(Collectors.toSet());
-        Map<Long, Resume> resumeMap = resumeIds.isEmpty() ? Collections.emptyMap()
-                : resumeService.listByIds(resumeIds).stream()
-                .collect(Collectors.toMap(Resume::getId, Function.identity()));
-        Set<Long> studentIds = applicationMap.values().stream()
-                .map(JobApplication::getStudentId)
-                .filter(Objects::nonNull)
-                .collect(Collectors.toSet());
-        Map<Long, SysUser> studentMap = studentIds.isEmpty() ? Collections.emptyMap()
-                : sysUserService.listByIds(studentIds).stream()
-                .collect(Collectors.toMap(SysUser::getId, Function.identity()));
-        List<InterviewOverview> results = interviews.stream()
-                .map(interview -> toInterviewOverview(interview, jobMap, applicationMap, resumeMap, studentMap))
-                .collect(Collectors.toList());
-        return ApiResponse.success(results);
+        return ApiResponse.success(employerOverviewMapper.selectInterviewOverviews(employer.getId(), null));
     }
 
     @PostMapping("/interviews")
@@ -590,8 +454,18 @@ public class EmployerModuleController {
         }
         Interview interview = new Interview();
         applyInterview(interview, request);
-        interviewService.save(interview);
-        return ApiResponse.success(buildInterviewResponse(interview, posting, application));
+        interviewService.saveChecked(employer.getId(), application.getStudentId(), interview);
+        return ApiResponse.success(employerOverviewMapper.selectInterviewOverview(interview.getId()));
+    }
+
+    /**
+     * 批量安排面试，与已有面试冲突的条目不写入并在结果中给出原因
+     */
+    @PostMapping("/interviews/batch")
+    public ApiResponse<EmployerInterviewBatchResponse> scheduleInterviews(@RequestParam Long userId,
+                                                                          @Valid @RequestBody EmployerInterviewBatchRequest request) {
+        Employer employer = requireEmployerProfile(userId);
+        return ApiResponse.success(interviewService.scheduleBatch(employer.getId(), request.getSlots()));
     }
 
     @PutMapping("/interviews/{id}")
@@ -611,9 +485,17 @@ public class EmployerModuleController {
         if (application == null) {
             throw new IllegalArgumentException("关联申请不存在");
         }
+        Interview.Status previousStatus = interview.getStatus();
         applyInterview(interview, request);
-        interviewService.updateById(interview);
-        return ApiResponse.success(buildInterviewResponse(interview, posting, application));
+        Workflows.INTERVIEW_SCHEDULE.requireTransit(previousStatus, interview.getStatus());
+        if (request.getVersion() != null) {
+            interview.setVersion(request.getVersion());
+        }
+        interviewService.saveChecked(employer.getId(), application.getStudentId(), interview);
+        if (interview.getStatus() == Interview.Status.CANCELLED && previousStatus != Interview.Status.CANCELLED) {
+            interviewSlotService.release(interview.getId());
+        }
+        return ApiResponse.success(employerOverviewMapper.selectInterviewOverview(interview.getId()));
     }
 
     @DeleteMapping("/interviews/{id}")
@@ -627,56 +509,39 @@ public class EmployerModuleController {
         if (posting == null || !Objects.equals(posting.getEmployerId(), employer.getId())) {
             throw new IllegalArgumentException("无权删除其他企业的面试安排");
         }
+        interviewSlotService.release(id);
         boolean removed = interviewService.removeById(id);
         return ApiResponse.success(removed);
     }
 
-    private EmployerTalentResponse emptyTalentResponse() {
-        EmployerTalentResponse response = new EmployerTalentResponse();
-        Summary summary = new Summary();
-        summary.setTotalCandidates(0);
-        summary.setFilteredCandidates(0);
-        summary.setPendingReviewCount(0);
-        summary.setInterviewingCount(0);
-        summary.setOfferCount(0);
-        response.setSummary(summary);
-        response.setCandidates(Collections.emptyList());
-        return response;
+    @GetMapping("/slots")
+    public ApiResponse<List<InterviewSlot>> interviewSlots(@RequestParam Long userId, @RequestParam Long jobId) {
+        Employer employer = requireEmployerProfile(userId);
+        requireOwnedPosting(employer, jobId);
+        return ApiResponse.success(interviewSlotService.listByJob(jobId, false));
     }
 
-    private boolean matchesKeyword(TalentCandidate candidate, String keyword) {
-        if (keyword == null || keyword.isEmpty()) {
-            return true;
-        }
-        String name = candidate.getCandidateName();
-        if (name != null && name.toLowerCase().contains(keyword)) {
-            return true;
-        }
-        String major = candidate.getMajor();
-        if (major != null && major.toLowerCase().contains(keyword)) {
-            return true;
-        }
-        String position = candidate.getExpectedPosition();
-        if (position != null && position.toLowerCase().contains(keyword)) {
-            return true;
-        }
-        String jobTitle = candidate.getLatestJobTitle();
-        if (jobTitle != null && jobTitle.toLowerCase().contains(keyword)) {
-            return true;
-        }
-        if (candidate.getIntentionCities() != null) {
-            for (String city : candidate.getIntentionCities()) {
-                if (city != null && city.toLowerCase().contains(keyword)) {
-                    return true;
-                }
-            }
-        }
-        String email = candidate.getEmail();
-        if (email != null && email.toLowerCase().contains(keyword)) {
-            return true;
+    /**
+     * 发布面试时段供学生自助预约，返回新发布的时段
+     */
+    @PostMapping("/slots")
+    public ApiResponse<List<InterviewSlot>> publishInterviewSlots(@RequestParam Long userId,
+                                                                  @Valid @RequestBody EmployerInterviewSlotRequest request) {
+        Employer employer = requireEmployerProfile(userId);
+        requireOwnedPosting(employer, request.getJobId());
+        return ApiResponse.success(interviewSlotService.publish(request.getJobId(), request.getStartTimes(),
+                request.getLocation(), request.getMeetingLink()));
+    }
+
+    @DeleteMapping("/slots/{id}")
+    public ApiResponse<Boolean> deleteInterviewSlot(@RequestParam Long userId, @PathVariable Long id) {
+        Employer employer = requireEmployerProfile(userId);
+        InterviewSlot slot = interviewSlotService.getById(id);
+        if (slot == null) {
+            return ApiResponse.success(false);
         }
-        String phone = candidate.getPhone();
-        return phone != null && phone.toLowerCase().contains(keyword);
+        requireOwnedPosting(employer, slot.getJobId());
+        return ApiResponse.success(interviewSlotService.removeFreeSlot(id));
     }
 
     private SysUser requireEmployerUser(Long userId) {
@@ -692,6 +557,18 @@ public class EmployerModuleController {
                 .orElseThrow(() -> new IllegalArgumentException("请先完善企业信息"));
     }
 
+    private JobPosting requireOwnedPosting(Employer employer, Long jobId) {
+        JobPosting posting = jobPostingService.getById(jobId);
+        if (posting == null || !Objects.equals(posting.getEmployerId(), employer.getId())) {
+            throw new IllegalArgumentException("未找到所属企业的岗位信息");
+        }
+        return posting;
+    }
+
+    private double roundScore(double score) {
+        return Math.round(score * 100) / 100.0;
+    }
+
     private CompanyProfile toCompanyProfile(Employer employer) {
         CompanyProfile profile = new CompanyProfile();
         profile.setId(employer.getId());
@@ -718,52 +595,6 @@ public class EmployerModuleController {
         return overview;
     }
 
-    private ApplicationOverview toApplicationOverview(JobApplication application,
-                                                      Map<Long, JobPosting> jobMap,
-                                                      Map<Long, SysUser> studentMap) {
-        ApplicationOverview overview = new ApplicationOverview();
-        overview.setId(application.getId());
-        overview.setJobId(application.getJobId());
-        JobPosting job = jobMap.get(application.getJobId());
-        overview.setJobTitle(job != null ? job.getTitle() : "岗位已删除");
-        overview.setStudentId(application.getStudentId());
-        SysUser student = application.getStudentId() == null ? null : studentMap.get(application.getStudentId());
-        overview.setCandidateName(student != null ? Optional.ofNullable(student.getFullName()).orElse(student.getUsername()) : "匿名候选人");
-        overview.setStatus(application.getStatus());
-        overview.setAppliedAt(application.getAppliedAt());
-        overview.setResumeId(application.getResumeId());
-        return overview;
-    }
-
-    private InterviewOverview toInterviewOverview(Interview interview,
-                                                  Map<Long, JobPosting> jobMap,
-                                                  Map<Long, JobApplication> applicationMap,
-                                                  Map<Long, Resume> resumeMap,
-                                                  Map<Long, SysUser> studentMap) {
-        InterviewOverview overview = new InterviewOverview();
-        overview.setId(interview.getId());
-        overview.setJobId(interview.getJobId());
-        JobPosting job = jobMap.get(interview.getJobId());
-        overview.setJobTitle(job != null ? job.getTitle() : "岗位已删除");
-        overview.setApplicationId(interview.getApplicationId());
-        JobApplication application = interview.getApplicationId() == null ? null : applicationMap.get(interview.getApplicationId());
-        Long studentId = application != null ? application.getStudentId() : null;
-        if (studentId == null && application != null) {
-            Resume resume = application.getResumeId() == null ? null : resumeMap.get(application.getResumeId());
-            if (resume != null) {
-                studentId = resume.getStudentId();
-            }
-        }
-        SysUser student = studentId == null ? null : studentMap.get(studentId);
-        overview.setCandidateName(student != null ? Optional.ofNullable(student.getFullName()).orElse(student.getUsername()) : "候选人");
-        overview.setStatus(interview.getStatus());
-        overview.setScheduledTime(interview.getScheduledTime());
-        overview.setLocation(interview.getLocation());
-        overview.setMeetingLink(interview.getMeetingLink());
-        overview.setFeedback(interview.getFeedback());
-        return overview;
-    }
-
     private EmployerJobDetailResponse toJobDetail(JobPosting posting, List<String> requirements, long applicationCount) {
         EmployerJobDetailResponse detail = new EmployerJobDetailResponse();
         detail.setJob(posting);
@@ -811,18 +642,6 @@ public class EmployerModuleController {
         interview.setFeedback(trimToNull(request.getFeedback()));
     }
 
-    private InterviewOverview buildInterviewResponse(Interview interview,
-                                                      JobPosting posting,
-                                                      JobApplication application) {
-        Map<Long, JobPosting> jobMap = Map.of(posting.getId(), posting);
-        Map<Long, JobApplication> applicationMap = Map.of(application.getId(), application);
-        Resume resume = application.getResumeId() == null ? null : resumeService.getById(application.getResumeId());
-        Map<Long, Resume> resumeMap = resume == null ? Collections.emptyMap() : Map.of(resume.getId(), resume);
-        SysUser candidate = application.getStudentId() == null ? null : sysUserService.getById(application.getStudentId());
-        Map<Long, SysUser> studentMap = candidate == null ? Collections.emptyMap() : Map.of(candidate.getId(), candidate);
-        return toInterviewOverview(interview, jobMap, applicationMap, resumeMap, studentMap);
-    }
-
     private List<String> normalizeRequirements(List<String> requirements) {
         if (requirements == null) {
             return Collections.emptyList();
@@ -841,18 +660,4 @@ public class EmployerModuleController {
         String trimmed = value.trim();
         return trimmed.isEmpty() ? null : trimmed;
     }
-
-    private List<JobApplication> mergeApplications(List<JobApplication> existing, List<JobApplication> additional) {
-        if (additional.isEmpty()) {
-            return existing;
-        }
-        Map<Long, JobApplication> merged = new HashMap<>();
-        for (JobApplication app : existing) {
-            merged.put(app.getId(), app);
-        }
-        for (JobApplication app : additional) {
-            merged.put(app.getId(), app);
-        }
-        return new ArrayList<>(merged.values());
-    }
 }
@@ -3,19 +3,27 @@ package com.ryj.demo.controller;
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.ryj.demo.common.ApiResponse;
+import com.ryj.demo.common.StateConflictException;
+import com.ryj.demo.common.Workflows;
 import com.ryj.demo.dto.InterviewRequest;
+import com.ryj.demo.dto.InterviewSlotClaimRequest;
 import com.ryj.demo.entity.Interview;
+import com.ryj.demo.entity.InterviewSlot;
 import com.ryj.demo.service.InterviewService;
+import com.ryj.demo.service.InterviewSlotService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+
 @RestController
 @RequestMapping("/api/interviews")
 @RequiredArgsConstructor
 public class InterviewController {
 
     private final InterviewService interviewService;
+    private final InterviewSlotService interviewSlotService;
 
     @PostMapping
     public ApiResponse<Interview> create(@Valid @RequestBody InterviewRequest request) {
@@ -31,8 +39,18 @@ public class InterviewController {
         if (interview == null) {
             throw new IllegalArgumentException("面试记录不存在");
         }
+        Interview.Status previousStatus = interview.getStatus();
+        if (request.getStatus() != null) {
+            Workflows.INTERVIEW_SCHEDULE.requireTransit(previousStatus, request.getStatus());
+        }
         apply(interview, request);
-        return ApiResponse.success(interviewService.updateById(interview));
+        if (!interviewService.updateById(interview)) {
+            throw new StateConflictException("面试安排已被他人修改，请刷新后重试");
+        }
+        if (interview.getStatus() == Interview.Status.CANCELLED && previousStatus != Interview.Status.CANCELLED) {
+            interviewSlotService.release(id);
+        }
+        return ApiResponse.success(true);
     }
 
     @GetMapping
@@ -55,6 +73,22 @@ public class InterviewController {
         return ApiResponse.success(result);
     }
 
+    /**
+     * 岗位下可预约的面试时段
+     */
+    @GetMapping("/slots")
+    public ApiResponse<List<InterviewSlot>> openSlots(@RequestParam Long jobId) {
+        return ApiResponse.success(interviewSlotService.listByJob(jobId, true));
+    }
+
+    /**
+     * 学生用对该岗位的申请预约时段，成功后返回生成的面试安排
+     */
+    @PostMapping("/slots/{slotId}/claim")
+    public ApiResponse<Interview> claimSlot(@PathVariable Long slotId, @Valid @RequestBody InterviewSlotClaimRequest request) {
+        return ApiResponse.success(interviewSlotService.claim(slotId, request.getStudentId(), request.getApplicationId()));
+    }
+
     @GetMapping("/{id}")
     public ApiResponse<Interview> detail(@PathVariable Long id) {
         return ApiResponse.success(interviewService.getById(id));
@@ -3,6 +3,7 @@ package com.ryj.demo.controller;
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.ryj.demo.common.ApiResponse;
+import com.ryj.demo.common.Workflows;
 import com.ryj.demo.dto.JobApplicationRequest;
 import com.ryj.demo.entity.JobApplication;
 import com.ryj.demo.service.JobApplicationService;
@@ -31,13 +32,17 @@ public class JobApplicationController {
 
     @PutMapping("/{id}")
     public ApiResponse<Boolean> updateStatus(@PathVariable Long id, @RequestBody JobApplicationRequest request) {
+        if (request.getStatus() != null) {
+            Workflows.APPLICATION.transitOrThrow(jobApplicationService, JobApplication::getId, id,
+                    JobApplication::getStatus, request.getStatus(),
+                    update -> update.set(request.getCoverLetter() != null, JobApplication::getCoverLetter,
+                            request.getCoverLetter()));
+            return ApiResponse.success(true);
+        }
         JobApplication application = jobApplicationService.getById(id);
         if (application == null) {
             throw new IllegalArgumentException("申请不存在");
         }
-        if (request.getStatus() != null) {
-            application.setStatus(request.getStatus());
-        }
         application.setCoverLetter(request.getCoverLetter());
         return ApiResponse.success(jobApplicationService.updateById(application));
     }
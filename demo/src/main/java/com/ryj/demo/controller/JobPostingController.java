@@ -3,16 +3,22 @@ package com.ryj.demo.controller;
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.ryj.demo.common.ApiResponse;
+import com.ryj.demo.dto.JobFacetSearchResponse;
 import com.ryj.demo.dto.JobPostingRequest;
+import com.ryj.demo.dto.SimilarJob;
 import com.ryj.demo.entity.JobPosting;
+import com.ryj.demo.service.InterviewSlotService;
+import com.ryj.demo.service.JobFacetService;
 import com.ryj.demo.service.JobPostingService;
 import com.ryj.demo.service.JobRequirementService;
+import com.ryj.demo.service.SimilarJobService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 @RestController
@@ -20,8 +26,13 @@ import java.util.Map;
 @RequiredArgsConstructor
 public class JobPostingController {
 
+    private static final int DETAIL_SIMILAR_LIMIT = 6;
+
     private final JobPostingService jobPostingService;
     private final JobRequirementService jobRequirementService;
+    private final JobFacetService jobFacetService;
+    private final SimilarJobService similarJobService;
+    private final InterviewSlotService interviewSlotService;
 
     @PostMapping
     @Transactional
@@ -55,15 +66,26 @@ public class JobPostingController {
         Map<String, Object> result = new HashMap<>();
         result.put("posting", posting);
         result.put("requirements", jobRequirementService.findByJobId(id));
+        result.put("similarJobs", similarJobService.similar(id, DETAIL_SIMILAR_LIMIT));
         return ApiResponse.success(result);
     }
 
+    /**
+     * 相似岗位，开放岗位直接读取预先计算的结果
+     */
+    @GetMapping("/{id}/similar")
+    public ApiResponse<List<SimilarJob>> similar(@PathVariable Long id, @RequestParam(defaultValue = "6") int limit) {
+        return ApiResponse.success(similarJobService.similar(id, limit));
+    }
+
     @GetMapping
     public ApiResponse<Page<JobPosting>> list(@RequestParam(defaultValue = "1") long page,
                                               @RequestParam(defaultValue = "10") long size,
                                               @RequestParam(required = false) Long employerId,
                                               @RequestParam(required = false) JobPosting.WorkType workType,
-                                              @RequestParam(required = false) String keyword) {
+                                              @RequestParam(required = false) String keyword,
+                                              @RequestParam(required = false) Integer salaryMin,
+                                              @RequestParam(required = false) Integer salaryMax) {
         LambdaQueryWrapper<JobPosting> wrapper = new LambdaQueryWrapper<>();
         if (employerId != null) {
             wrapper.eq(JobPosting::getEmployerId, employerId);
@@ -74,12 +96,34 @@ public class JobPostingController {
         if (keyword != null && !keyword.isBlank()) {
             wrapper.like(JobPosting::getTitle, keyword);
         }
+        // 薪资区间有交集即匹配：岗位上限不低于 salaryMin，下限不高于 salaryMax
+        if (salaryMin != null) {
+            wrapper.ge(JobPosting::getSalaryMax, salaryMin);
+        }
+        if (salaryMax != null) {
+            wrapper.le(JobPosting::getSalaryMin, salaryMax);
+        }
         Page<JobPosting> result = jobPostingService.page(new Page<>(page, size), wrapper);
         return ApiResponse.success(result);
     }
 
+    /**
+     * 开放岗位分面搜索，多选参数用逗号分隔，如 city=北京,上海&salaryBand=RANGE_8K_12K
+     */
+    @GetMapping("/search")
+    public ApiResponse<JobFacetSearchResponse> search(@RequestParam(required = false) String keyword,
+                                                      @RequestParam(required = false) List<String> workType,
+                                                      @RequestParam(required = false) List<String> city,
+                                                      @RequestParam(required = false) List<String> salaryBand,
+                                                      @RequestParam(required = false) List<String> employerId,
+                                                      @RequestParam(defaultValue = "1") long page,
+                                                      @RequestParam(defaultValue = "10") long size) {
+        return ApiResponse.success(jobFacetService.search(keyword, workType, city, salaryBand, employerId, page, size));
+    }
+
     @DeleteMapping("/{id}")
     public ApiResponse<Boolean> delete(@PathVariable Long id) {
+        interviewSlotService.removeByJob(id);
         jobRequirementService.replaceRequirements(id, null);
         return ApiResponse.success(jobPostingService.removeById(id));
     }
@@ -2,6 +2,8 @@ package com.ryj.demo.controller;
 
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import com.ryj.demo.common.ApiResponse;
+import com.ryj.demo.common.BatchLoader;
+import com.ryj.demo.common.EntityLoaders;
 import com.ryj.demo.dto.StudentDashboardResponse;
 import com.ryj.demo.entity.EmploymentIntention;
 import com.ryj.demo.entity.EmploymentIntentionCity;
@@ -20,6 +22,7 @@ import com.ryj.demo.service.EmploymentIntentionService;
 import com.ryj.demo.service.InterviewService;
 import com.ryj.demo.service.JobApplicationService;
 import com.ryj.demo.service.JobPostingService;
+import com.ryj.demo.service.JobRecommendationService;
 import com.ryj.demo.service.ResumeExperienceService;
 import com.ryj.demo.service.ResumeService;
 import com.ryj.demo.service.ResumeSkillService;
@@ -28,7 +31,6 @@ import com.ryj.demo.service.StudentEducationService;
 import com.ryj.demo.service.StudentExperienceService;
 import com.ryj.demo.service.StudentProfileService;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
@@ -40,6 +42,7 @@ import org.springframework.util.StringUtils;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 @RestController
@@ -47,6 +50,8 @@ import org.springframework.web.bind.annotation.RestController;
 @RequiredArgsConstructor
 public class StudentDashboardController {
 
+    private static final int RECOMMENDED_JOB_LIMIT = 8;
+
     private final StudentProfileService studentProfileService;
     private final StudentEducationService studentEducationService;
     private final StudentExperienceService studentExperienceService;
@@ -59,9 +64,17 @@ public class StudentDashboardController {
     private final JobApplicationService jobApplicationService;
     private final InterviewService interviewService;
     private final JobPostingService jobPostingService;
+    private final JobRecommendationService jobRecommendationService;
+    private final EntityLoaders entityLoaders;
 
+    /**
+     * @param salaryMin 推荐岗位月薪上限不低于该值；预先计算的推荐不可用时，默认取就业意向中的期望月薪下限
+     * @param salaryMax 推荐岗位月薪下限不高于该值
+     */
     @GetMapping("/{studentId}")
-    public ApiResponse<StudentDashboardResponse> dashboard(@PathVariable Long studentId) {
+    public ApiResponse<StudentDashboardResponse> dashboard(@PathVariable Long studentId,
+                                                           @RequestParam(required = false) Integer salaryMin,
+                                                           @RequestParam(required = false) Integer salaryMax) {
         StudentDashboardResponse response = new StudentDashboardResponse();
 
         StudentProfile profile = studentProfileService.getById(studentId);
@@ -106,7 +119,11 @@ public class StudentDashboardController {
         response.setResumes(resumeOverviews);
         response.setJobApplications(jobApplicationOverviews);
         response.setInterviews(interviewOverviews);
-        response.setRecommendedJobs(buildRecommendedJobs(intention, intentionCities));
+        List<StudentDashboardResponse.RecommendedJob> recommendedJobs = precomputedRecommendedJobs(studentId, salaryMin, salaryMax);
+        if (recommendedJobs.isEmpty()) {
+            recommendedJobs = buildRecommendedJobs(intention, intentionCities, salaryMin, salaryMax);
+        }
+        response.setRecommendedJobs(recommendedJobs);
 
         response.setHeader(buildHeader(profile, educations, experiences, awards, intention, resumes, interviewOverviews, applications));
 
@@ -196,7 +213,8 @@ public class StudentDashboardController {
     }
 
     private List<StudentDashboardResponse.JobApplicationOverview> buildJobApplicationOverviews(List<JobApplication> applications) {
-        Map<Long, JobPosting> jobCache = new HashMap<>();
+        BatchLoader<JobPosting> jobs = entityLoaders.loader(jobPostingService, JobPosting::getId);
+        applications.forEach(application -> jobs.prime(application.getJobId()));
         List<StudentDashboardResponse.JobApplicationOverview> results = new ArrayList<>();
         for (JobApplication application : applications) {
             StudentDashboardResponse.JobApplicationOverview overview = new StudentDashboardResponse.JobApplicationOverview();
@@ -205,10 +223,7 @@ public class StudentDashboardController {
             overview.setAppliedAt(application.getAppliedAt());
             overview.setJobId(application.getJobId());
             overview.setResumeId(application.getResumeId());
-            JobPosting jobPosting = null;
-            if (application.getJobId() != null) {
-                jobPosting = jobCache.computeIfAbsent(application.getJobId(), jobPostingService::getById);
-            }
+            JobPosting jobPosting = jobs.get(application.getJobId());
             if (jobPosting != null) {
                 overview.setJobTitle(jobPosting.getTitle());
                 overview.setJobLocation(jobPosting.getLocation());
@@ -234,7 +249,9 @@ public class StudentDashboardController {
                 .orderByDesc(Interview::getScheduledTime));
         Map<Long, JobApplication> applicationMap = applications.stream()
                 .collect(Collectors.toMap(JobApplication::getId, app -> app));
-        Map<Long, JobPosting> jobCache = new HashMap<>();
+        BatchLoader<JobPosting> jobs = entityLoaders.loader(jobPostingService, JobPosting::getId);
+        interviews.forEach(interview -> jobs.prime(interview.getJobId()));
+        applications.forEach(application -> jobs.prime(application.getJobId()));
         List<StudentDashboardResponse.InterviewOverview> results = new ArrayList<>();
         for (Interview interview : interviews) {
             StudentDashboardResponse.InterviewOverview overview = new StudentDashboardResponse.InterviewOverview();
@@ -244,16 +261,13 @@ public class StudentDashboardController {
             overview.setLocation(interview.getLocation());
             overview.setMeetingLink(interview.getMeetingLink());
             overview.setJobId(interview.getJobId());
-            JobPosting jobPosting = null;
-            if (interview.getJobId() != null) {
-                jobPosting = jobCache.computeIfAbsent(interview.getJobId(), jobPostingService::getById);
-            }
+            JobPosting jobPosting = jobs.get(interview.getJobId());
             if (jobPosting != null) {
                 overview.setJobTitle(jobPosting.getTitle());
             } else {
                 JobApplication application = applicationMap.get(interview.getApplicationId());
-                if (application != null && application.getJobId() != null) {
-                    JobPosting fallback = jobCache.computeIfAbsent(application.getJobId(), jobPostingService::getById);
+                if (application != null) {
+                    JobPosting fallback = jobs.get(application.getJobId());
                     if (fallback != null) {
                         overview.setJobTitle(fallback.getTitle());
                         overview.setJobId(fallback.getId());
@@ -265,9 +279,42 @@ public class StudentDashboardController {
         return results;
     }
 
+    private List<StudentDashboardResponse.RecommendedJob> precomputedRecommendedJobs(Long studentId,
+                                                                                     Integer salaryMin,
+                                                                                     Integer salaryMax) {
+        List<StudentDashboardResponse.RecommendedJob> results = new ArrayList<>();
+        for (JobRecommendationService.Recommendation recommendation : jobRecommendationService.recommend(studentId)) {
+            JobPosting jobPosting = recommendation.job();
+            if (salaryMin != null && (jobPosting.getSalaryMax() == null || jobPosting.getSalaryMax() < salaryMin)) {
+                continue;
+            }
+            if (salaryMax != null && (jobPosting.getSalaryMin() == null || jobPosting.getSalaryMin() > salaryMax)) {
+                continue;
+            }
+            StudentDashboardResponse.RecommendedJob recommendedJob = new StudentDashboardResponse.RecommendedJob();
+            recommendedJob.setId(jobPosting.getId());
+            recommendedJob.setTitle(jobPosting.getTitle());
+            recommendedJob.setLocation(jobPosting.getLocation());
+            recommendedJob.setSalaryRange(jobPosting.getSalaryRange());
+            recommendedJob.setWorkType(jobPosting.getWorkType());
+            recommendedJob.setMatchesIntention(recommendation.matchesIntention());
+            recommendedJob.setScore(Math.round(recommendation.score() * 100) / 100.0);
+            results.add(recommendedJob);
+            if (results.size() == RECOMMENDED_JOB_LIMIT) {
+                break;
+            }
+        }
+        return results;
+    }
+
+    /**
+     * 预先计算的推荐不可用（刚启动、学生尚未填写意向与简历、或都不满足薪资条件）时，按意向直接查询
+     */
     private List<StudentDashboardResponse.RecommendedJob> buildRecommendedJobs(
             EmploymentIntention intention,
-            List<EmploymentIntentionCity> intentionCities) {
+            List<EmploymentIntentionCity> intentionCities,
+            Integer salaryMin,
+            Integer salaryMax) {
         Set<String> targetCities = intentionCities.stream()
                 .map(EmploymentIntentionCity::getCity)
                 .filter(StringUtils::hasText)
@@ -279,8 +326,8 @@ public class StudentDashboardController {
         if (intention != null && StringUtils.hasText(intention.getExpectedPosition())) {
             wrapper.like(JobPosting::getTitle, intention.getExpectedPosition());
         }
-        if (intention != null) {
-            JobPosting.WorkType workType = mapWorkType(intention.getWorkType());
+        if (intention != null && intention.getWorkType() != null) {
+            JobPosting.WorkType workType = intention.getWorkType().toJobWorkType();
             if (workType != null) {
                 wrapper.eq(JobPosting::getWorkType, workType);
             }
@@ -288,15 +335,20 @@ public class StudentDashboardController {
         if (!targetCities.isEmpty()) {
             wrapper.in(JobPosting::getLocation, targetCities);
         }
+        Integer expectedMin = salaryMin != null ? salaryMin : (intention != null ? intention.getSalaryMin() : null);
+        wrapper.ge(expectedMin != null, JobPosting::getSalaryMax, expectedMin);
+        wrapper.le(salaryMax != null, JobPosting::getSalaryMin, salaryMax);
         wrapper.orderByDesc(JobPosting::getPublishedDate);
-        wrapper.last("limit 8");
+        wrapper.last("limit " + RECOMMENDED_JOB_LIMIT);
 
         List<JobPosting> jobPostings = jobPostingService.list(wrapper);
         if (jobPostings.isEmpty()) {
             jobPostings = jobPostingService.lambdaQuery()
                     .eq(JobPosting::getStatus, JobPosting.Status.OPEN)
+                    .ge(salaryMin != null, JobPosting::getSalaryMax, salaryMin)
+                    .le(salaryMax != null, JobPosting::getSalaryMin, salaryMax)
                     .orderByDesc(JobPosting::getPublishedDate)
-                    .last("limit 8")
+                    .last("limit " + RECOMMENDED_JOB_LIMIT)
                     .list();
         }
 
@@ -315,7 +367,7 @@ public class StudentDashboardController {
                     matchesIntention = true;
                 }
                 if (!matchesIntention && intention.getWorkType() != null) {
-                    JobPosting.WorkType workType = mapWorkType(intention.getWorkType());
+                    JobPosting.WorkType workType = intention.getWorkType().toJobWorkType();
                     if (workType != null && workType == jobPosting.getWorkType()) {
                         matchesIntention = true;
                     }
@@ -330,16 +382,4 @@ public class StudentDashboardController {
         }
         return results;
     }
-
-    private JobPosting.WorkType mapWorkType(EmploymentIntention.WorkType workType) {
-        if (workType == null) {
-            return null;
-        }
-        for (JobPosting.WorkType jobWorkType : JobPosting.WorkType.values()) {
-            if (jobWorkType.name().equals(workType.name())) {
-                return jobWorkType;
-            }
-        }
-        return null;
-    }
 }
@@ -0,0 +1,19 @@
+package com.ryj.demo.dto;
+
+import com.ryj.demo.entity.JobApplication;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import java.util.List;
+import lombok.Data;
+
+@Data
+public class EmployerApplicationBulkStatusRequest {
+
+    @NotEmpty(message = "请选择要更新的申请")
+    @Size(max = 500, message = "单次最多更新500条申请")
+    private List<Long> applicationIds;
+
+    @NotNull(message = "状态不能为空")
+    private JobApplication.Status status;
+}
@@ -0,0 +1,26 @@
+package com.ryj.demo.dto;
+
+import com.ryj.demo.dto.EmployerDashboardResponse.ApplicationOverview;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+import lombok.Data;
+
+/**
+ * 企业申请列表的一页，按申请时间、主键倒序，用游标 (appliedAt, id) 翻页.
+ */
+@Data
+public class EmployerApplicationPage {
+
+    private List<ApplicationOverview> records = Collections.emptyList();
+    /**
+     * 满足筛选条件的申请总数；请求时 withTotal=false 则不统计，为 null
+     */
+    private Long total;
+    private boolean hasMore;
+    /**
+     * 下一页游标，原样作为 cursorAppliedAt、cursorId 传回；没有下一页时为 null
+     */
+    private LocalDateTime nextCursorAppliedAt;
+    private Long nextCursorId;
+}
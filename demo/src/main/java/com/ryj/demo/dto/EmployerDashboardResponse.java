@@ -70,6 +70,7 @@ public class EmployerDashboardResponse {
         private JobApplication.Status status;
         private LocalDateTime appliedAt;
         private Long resumeId;
+        private String resumeTitle;
     }
 
     @Data
@@ -79,10 +80,12 @@ public class EmployerDashboardResponse {
         private String jobTitle;
         private Long applicationId;
         private String candidateName;
+        private String resumeTitle;
         private Interview.Status status;
         private LocalDateTime scheduledTime;
         private String location;
         private String meetingLink;
         private String feedback;
+        private Integer version;
     }
 }
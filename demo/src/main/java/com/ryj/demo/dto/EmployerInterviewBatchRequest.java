@@ -0,0 +1,33 @@
+package com.ryj.demo.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import java.time.LocalDateTime;
+import java.util.List;
+import lombok.Data;
+
+@Data
+public class EmployerInterviewBatchRequest {
+
+    @NotEmpty(message = "请至少安排一场面试")
+    @Size(max = 200, message = "单次最多安排200场面试")
+    private List<@Valid Slot> slots;
+
+    /**
+     * 一场待安排的面试，岗位取自申请
+     */
+    @Data
+    public static class Slot {
+
+        @NotNull(message = "申请ID不能为空")
+        private Long applicationId;
+
+        @NotNull(message = "面试时间不能为空")
+        private LocalDateTime scheduledTime;
+
+        private String location;
+        private String meetingLink;
+    }
+}
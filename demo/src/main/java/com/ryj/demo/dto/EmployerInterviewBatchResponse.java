@@ -0,0 +1,25 @@
+package com.ryj.demo.dto;
+
+import com.ryj.demo.dto.EmployerDashboardResponse.InterviewOverview;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+import lombok.Data;
+
+/**
+ * 批量安排面试的结果：无冲突的面试已全部写入，冲突的面试逐条给出原因
+ */
+@Data
+public class EmployerInterviewBatchResponse {
+
+    private List<InterviewOverview> scheduled = Collections.emptyList();
+    private List<RejectedSlot> rejected = Collections.emptyList();
+
+    @Data
+    public static class RejectedSlot {
+        private int index;                   // 在请求 slots 中的下标
+        private Long applicationId;
+        private LocalDateTime scheduledTime;
+        private String reason;
+    }
+}
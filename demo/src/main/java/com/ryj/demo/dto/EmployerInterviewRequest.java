@@ -21,4 +21,8 @@ public class EmployerInterviewRequest {
     private String meetingLink;
     private Interview.Status status;
     private String feedback;
+    /**
+     * 修改时读取到的版本号，与数据库不一致说明已被他人修改；为空时不校验
+     */
+    private Integer version;
 }
@@ -0,0 +1,22 @@
+package com.ryj.demo.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import java.time.LocalDateTime;
+import java.util.List;
+import lombok.Data;
+
+@Data
+public class EmployerInterviewSlotRequest {
+
+    @NotNull(message = "岗位ID不能为空")
+    private Long jobId;
+
+    @NotEmpty(message = "请至少发布一个面试时段")
+    @Size(max = 200, message = "单次最多发布200个面试时段")
+    private List<@NotNull(message = "时段开始时间不能为空") LocalDateTime> startTimes;
+
+    private String location;
+    private String meetingLink;
+}
@@ -0,0 +1,65 @@
+package com.ryj.demo.dto;
+
+import com.ryj.demo.entity.JobApplication;
+import java.time.LocalDateTime;
+import lombok.Data;
+
+/**
+ * 企业工作台查询的条件与结果行，由 EmployerOverviewMapper 直接映射
+ */
+public final class EmployerOverviewRows {
+
+    private EmployerOverviewRows() {
+    }
+
+    @Data
+    public static class ApplicationStatsRow {
+        private long activeApplications;     // 未录用且未拒绝的申请数
+        private long talentPoolSize;         // 投递过的学生数
+    }
+
+    @Data
+    public static class JobCountRow {
+        private Long jobId;                  // 岗位ID
+        private long total;                  // 申请数
+    }
+
+    /**
+     * 批量操作前按企业核对归属时取出的申请
+     */
+    @Data
+    public static class OwnedApplicationRow {
+        private Long id;                     // 申请ID
+        private Long jobId;                  // 岗位ID
+        private Long studentId;              // 学生ID
+        private JobApplication.Status status;
+        private String jobTitle;             // 岗位名称
+    }
+
+    /**
+     * 检测面试时间冲突时取出的已安排面试
+     */
+    @Data
+    public static class ScheduledInterviewRow {
+        private Long id;                     // 面试ID
+        private Long employerId;             // 岗位所属企业ID
+        private Long studentId;              // 候选人ID
+        private LocalDateTime scheduledTime;
+        private String location;             // 线下面试地点
+    }
+
+    /**
+     * 企业申请列表的筛选条件；cursorAppliedAt、cursorId 为上一页最后一行，为空时从头开始
+     */
+    @Data
+    public static class ApplicationFilter {
+        private Long employerId;             // 企业ID，必填
+        private Long jobId;                  // 岗位ID
+        private JobApplication.Status status;
+        private LocalDateTime appliedFrom;   // 申请时间下限（含）
+        private LocalDateTime appliedBefore; // 申请时间上限（不含）
+        private LocalDateTime cursorAppliedAt;
+        private Long cursorId;
+        private int limit;                   // 最多返回条数
+    }
+}
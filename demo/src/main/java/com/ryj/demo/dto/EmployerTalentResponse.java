@@ -15,7 +15,12 @@ import lombok.Data;
 public class EmployerTalentResponse {
 
     private Summary summary = new Summary();
+    /**
+     * 当前页候选人，筛选后的总数见 {@link Summary#getFilteredCandidates()}
+     */
     private List<TalentCandidate> candidates = Collections.emptyList();
+    private long page;
+    private long size;
 
     @Data
     public static class Summary {
@@ -44,5 +49,30 @@ public class EmployerTalentResponse {
         private String latestJobTitle;
         private int applicationCount;
         private int interviewCount;
+        /**
+         * 与请求中指定岗位的匹配度（0~1）；未指定岗位或没有任何匹配项时为 null
+         */
+        private Double matchScore;
+        private List<String> matchedSkills = Collections.emptyList();
+    }
+
+    /**
+     * 按岗位在全部学生中匹配出的候选人，不限于已投递的学生
+     */
+    @Data
+    public static class MatchedCandidate {
+        private Long studentId;
+        private String candidateName;
+        private String major;
+        private Integer graduationYear;
+        private String expectedPosition;
+        private EmploymentIntention.WorkType expectedWorkType;
+        private List<String> intentionCities = Collections.emptyList();
+        private double score;
+        private List<String> matchedSkills = Collections.emptyList();
+        /**
+         * 是否已投递该岗位
+         */
+        private boolean applied;
     }
 }
@@ -0,0 +1,49 @@
+package com.ryj.demo.dto;
+
+import lombok.Data;
+
+/**
+ * 就业统计聚合查询的结果行，由 TeacherStatisticsMapper 直接映射
+ */
+public final class EmploymentStatisticsRows {
+
+    private EmploymentStatisticsRows() {
+    }
+
+    @Data
+    public static class OverviewRow {
+        private long totalApplications;      // 总申请数
+        private long startedStudents;        // 有过申请的学生数
+        private long employedStudents;       // 获得Offer的学生数
+        private long activeStudents;         // 求职中学生数
+        private long offersReceived;         // Offer数
+    }
+
+    @Data
+    public static class GroupCountRow {
+        private String label;                // 分组名称（公司/地区）
+        private long total;                  // 数量
+    }
+
+    @Data
+    public static class SalaryRow {
+        private int salary;                  // 月薪中位数（元）
+        private long total;                  // 数量
+    }
+
+    @Data
+    public static class MajorRow {
+        private String major;                // 专业
+        private long totalStudents;          // 总学生数
+        private long employedStudents;       // 已就业学生数
+    }
+
+    @Data
+    public static class MonthlyRow {
+        private int statYear;                // 年
+        private int statMonth;               // 月
+        private long applications;           // 申请数
+        private long interviews;             // 有面试的申请数
+        private long offers;                 // Offer数
+    }
+}
@@ -0,0 +1,14 @@
+package com.ryj.demo.dto;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+@Data
+public class InterviewSlotClaimRequest {
+
+    @NotNull(message = "学生ID不能为空")
+    private Long studentId;
+
+    @NotNull(message = "申请ID不能为空")
+    private Long applicationId;
+}
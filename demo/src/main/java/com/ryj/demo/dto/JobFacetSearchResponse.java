@@ -0,0 +1,30 @@
+package com.ryj.demo.dto;
+
+import com.ryj.demo.entity.JobPosting;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import lombok.Data;
+
+/**
+ * 岗位分面搜索响应：当前页岗位与各分面的实时计数.
+ */
+@Data
+public class JobFacetSearchResponse {
+
+    private List<JobPosting> records = Collections.emptyList();
+    private long total;
+    private long page;
+    private long size;
+    /**
+     * 分面名称（workType / city / salaryBand / employer） -> 取值计数，按数量降序
+     */
+    private Map<String, List<FacetCount>> facets = Collections.emptyMap();
+
+    @Data
+    public static class FacetCount {
+        private String value;
+        private String label;
+        private int count;
+    }
+}
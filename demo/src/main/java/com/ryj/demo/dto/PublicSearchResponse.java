@@ -11,7 +11,15 @@ public class PublicSearchResponse {
 
     private long total;
 
+    /**
+     * 各分类本页返回的结果数
+     */
     private Map<String, Long> breakdown;
 
     private List<String> suggestions;
+
+    /**
+     * 下一页游标，原样传回 cursor 参数即可翻页；没有更多结果时为 null
+     */
+    private String nextCursor;
 }
@@ -19,5 +19,10 @@ public class PublicSearchResult {
 
     private LocalDateTime timestamp;
 
+    /**
+     * 相关度得分，仅用于排序参考
+     */
+    private Double score;
+
     private Map<String, Object> metadata;
 }
@@ -0,0 +1,14 @@
+package com.ryj.demo.dto;
+
+import lombok.Data;
+
+@Data
+public class PublicTrendingKeyword {
+
+    private String keyword;
+
+    /**
+     * 衰减后的搜索热度，约等于最近一个半衰期内的搜索次数
+     */
+    private Double score;
+}
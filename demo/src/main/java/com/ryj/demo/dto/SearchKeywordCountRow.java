@@ -0,0 +1,12 @@
+package com.ryj.demo.dto;
+
+import lombok.Data;
+
+/**
+ * 搜索历史按关键字聚合的结果行，由 PublicSearchHistoryMapper 直接映射
+ */
+@Data
+public class SearchKeywordCountRow {
+    private String keyword;              // 搜索关键字
+    private long total;                  // 搜索次数
+}
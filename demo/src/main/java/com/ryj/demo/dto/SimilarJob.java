@@ -0,0 +1,25 @@
+package com.ryj.demo.dto;
+
+import com.ryj.demo.entity.JobPosting;
+import lombok.Data;
+
+@Data
+public class SimilarJob {
+
+    private Long id;
+
+    private Long employerId;
+
+    private String title;
+
+    private String location;
+
+    private String salaryRange;
+
+    private JobPosting.WorkType workType;
+
+    /**
+     * 岗位名称与岗位要求的余弦相似度，0~1
+     */
+    private Double similarity;
+}
@@ -96,5 +96,9 @@ public class StudentDashboardResponse {
         private String salaryRange;
         private JobPosting.WorkType workType;
         private boolean matchesIntention;
+        /**
+         * 推荐匹配度（0~1）；推荐列表尚未生成、按最新发布兜底时为 null
+         */
+        private Double score;
     }
 }
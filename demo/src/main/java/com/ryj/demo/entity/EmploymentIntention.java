@@ -1,6 +1,9 @@
 package com.ryj.demo.entity;
 
+import com.baomidou.mybatisplus.annotation.FieldFill;
+import com.baomidou.mybatisplus.annotation.FieldStrategy;
 import com.baomidou.mybatisplus.annotation.IdType;
+import com.baomidou.mybatisplus.annotation.TableField;
 import com.baomidou.mybatisplus.annotation.TableId;
 import com.baomidou.mybatisplus.annotation.TableName;
 import lombok.Data;
@@ -16,6 +19,15 @@ public class EmploymentIntention {
     private String expectedPosition;
     
     private String salaryRange;
+
+    /**
+     * 期望月薪下限/上限（元），写入时由 salaryRange 解析得到，无法解析时为 null
+     */
+    @TableField(fill = FieldFill.INSERT_UPDATE, updateStrategy = FieldStrategy.ALWAYS)
+    private Integer salaryMin;
+
+    @TableField(fill = FieldFill.INSERT_UPDATE, updateStrategy = FieldStrategy.ALWAYS)
+    private Integer salaryMax;
     
     private WorkType workType;
     
@@ -25,6 +37,18 @@ public class EmploymentIntention {
         FULL_TIME,
         PART_TIME,
         INTERNSHIP,
-        FLEXIBLE
+        FLEXIBLE;
+
+        /**
+         * 对应的岗位工作类型；“灵活”等岗位没有的类型返回 null，视为不限
+         */
+        public JobPosting.WorkType toJobWorkType() {
+            for (JobPosting.WorkType jobWorkType : JobPosting.WorkType.values()) {
+                if (jobWorkType.name().equals(name())) {
+                    return jobWorkType;
+                }
+            }
+            return null;
+        }
     }
 }
@@ -3,6 +3,7 @@ package com.ryj.demo.entity;
 import com.baomidou.mybatisplus.annotation.IdType;
 import com.baomidou.mybatisplus.annotation.TableId;
 import com.baomidou.mybatisplus.annotation.TableName;
+import com.baomidou.mybatisplus.annotation.Version;
 import lombok.Data;
 
 import java.time.LocalDateTime;
@@ -19,6 +20,11 @@ public class Interview {
     private String meetingLink;
     private Status status;
     private String feedback;
+    /**
+     * 乐观锁版本号，按主键更新时自动校验并加一
+     */
+    @Version
+    private Integer version;
 
     public enum Status {
         SCHEDULED, COMPLETED, CANCELLED
@@ -0,0 +1,25 @@
+package com.ryj.demo.entity;
+
+import com.baomidou.mybatisplus.annotation.IdType;
+import com.baomidou.mybatisplus.annotation.TableId;
+import com.baomidou.mybatisplus.annotation.TableName;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
+@TableName("interview_slot")
+public class InterviewSlot {
+    @TableId(type = IdType.AUTO)
+    private Long id;
+    private Long jobId;
+    private LocalDateTime startTime;
+    private String location;
+    private String meetingLink;
+    /**
+     * 预约该时段的申请，为空表示未被预约
+     */
+    private Long applicationId;
+    private Long interviewId;
+    private LocalDateTime bookedAt;
+}
@@ -1,6 +1,9 @@
 package com.ryj.demo.entity;
 
+import com.baomidou.mybatisplus.annotation.FieldFill;
+import com.baomidou.mybatisplus.annotation.FieldStrategy;
 import com.baomidou.mybatisplus.annotation.IdType;
+import com.baomidou.mybatisplus.annotation.TableField;
 import com.baomidou.mybatisplus.annotation.TableId;
 import com.baomidou.mybatisplus.annotation.TableName;
 import lombok.Data;
@@ -17,6 +20,13 @@ public class JobPosting {
     private String title;
     private String description;
     private String salaryRange;
+    /**
+     * 月薪下限/上限（元），写入时由 salaryRange 解析得到，无法解析时为 null
+     */
+    @TableField(fill = FieldFill.INSERT_UPDATE, updateStrategy = FieldStrategy.ALWAYS)
+    private Integer salaryMin;
+    @TableField(fill = FieldFill.INSERT_UPDATE, updateStrategy = FieldStrategy.ALWAYS)
+    private Integer salaryMax;
     private String location;
     private WorkType workType;
     private Status status;
@@ -20,6 +20,10 @@ public class SystemNotification {
     private LocalDateTime createdAt;
 
     public enum Category {
-        SYSTEM, INTERVIEW, APPLICATION, GUIDANCE
+        SYSTEM, INTERVIEW, APPLICATION, GUIDANCE,
+        /**
+         * 新岗位提醒，只发给本人，不出现在首页与公共搜索中
+         */
+        JOB_ALERT
     }
 }
@@ -0,0 +1,171 @@
+package com.ryj.demo.mapper;
+
+import com.ryj.demo.dto.EmployerDashboardResponse.ApplicationOverview;
+import com.ryj.demo.dto.EmployerDashboardResponse.InterviewOverview;
+import com.ryj.demo.dto.EmployerOverviewRows.ApplicationFilter;
+import com.ryj.demo.dto.EmployerOverviewRows.ApplicationStatsRow;
+import com.ryj.demo.dto.EmployerOverviewRows.JobCountRow;
+import com.ryj.demo.dto.EmployerOverviewRows.OwnedApplicationRow;
+import com.ryj.demo.dto.EmployerOverviewRows.ScheduledInterviewRow;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Result;
+import org.apache.ibatis.annotations.ResultMap;
+import org.apache.ibatis.annotations.Results;
+import org.apache.ibatis.annotations.Select;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 企业工作台的计数与列表查询：计数在数据库端按企业聚合，申请、面试列表连同岗位名称、候选人姓名、
+ * 简历标题一次连接查出，只读取被引用的行
+ */
+@Mapper
+public interface EmployerOverviewMapper {
+
+    String APPLICATION_OVERVIEW = "SELECT ja.id, ja.job_id, jp.title AS job_title, ja.student_id, "
+            + "COALESCE(u.full_name, u.username, '匿名候选人') AS candidate_name, "
+            + "ja.status, ja.applied_at, ja.resume_id, r.title AS resume_title "
+            + "FROM job_application ja "
+            + "JOIN job_posting jp ON jp.id = ja.job_id "
+            + "LEFT JOIN sys_user u ON u.id = ja.student_id "
+            + "LEFT JOIN resume r ON r.id = ja.resume_id ";
+
+    /**
+     * 申请列表的筛选条件（不含游标），列表与计数共用
+     */
+    String APPLICATION_FILTER = "WHERE jp.employer_id = #{employerId} "
+            + "<if test='jobId != null'>AND ja.job_id = #{jobId} </if>"
+            + "<if test='status != null'>AND ja.status = #{status} </if>"
+            + "<if test='appliedFrom != null'>AND ja.applied_at &gt;= #{appliedFrom} </if>"
+            + "<if test='appliedBefore != null'>AND ja.applied_at &lt; #{appliedBefore} </if>";
+
+    /**
+     * 候选人优先取申请上的学生，缺失时取简历所属学生
+     */
+    String INTERVIEW_OVERVIEW = "SELECT i.id, i.job_id, jp.title AS job_title, i.application_id, "
+            + "COALESCE(u.full_name, u.username, '候选人') AS candidate_name, r.title AS resume_title, "
+            + "i.status, i.scheduled_time, i.location, i.meeting_link, i.feedback, i.version "
+            + "FROM interview i "
+            + "JOIN job_posting jp ON jp.id = i.job_id "
+            + "LEFT JOIN job_application ja ON ja.id = i.application_id "
+            + "LEFT JOIN resume r ON r.id = ja.resume_id "
+            + "LEFT JOIN sys_user u ON u.id = COALESCE(ja.student_id, r.student_id) ";
+
+    @Select("SELECT "
+            + "COUNT(CASE WHEN ja.status IS NULL OR ja.status NOT IN ('OFFERED', 'REJECTED') THEN 1 END) AS active_applications, "
+            + "COUNT(DISTINCT ja.student_id) AS talent_pool_size "
+            + "FROM job_application ja "
+            + "JOIN job_posting jp ON jp.id = ja.job_id "
+            + "WHERE jp.employer_id = #{employerId}")
+    ApplicationStatsRow selectApplicationStats(@Param("employerId") Long employerId);
+
+    @Select("SELECT COUNT(*) FROM interview i "
+            + "JOIN job_posting jp ON jp.id = i.job_id "
+            + "WHERE jp.employer_id = #{employerId} AND i.status = 'SCHEDULED'")
+    long countScheduledInterviews(@Param("employerId") Long employerId);
+
+    @Select("SELECT ja.job_id, COUNT(*) AS total "
+            + "FROM job_application ja "
+            + "JOIN job_posting jp ON jp.id = ja.job_id "
+            + "WHERE jp.employer_id = #{employerId} "
+            + "GROUP BY ja.job_id")
+    List<JobCountRow> countApplicationsByJob(@Param("employerId") Long employerId);
+
+    /**
+     * 按 (applied_at, id) 倒序取一页申请，游标之后的行才返回。applied_at 非空，游标条件能覆盖每一行
+     */
+    @Select("<script>" + APPLICATION_OVERVIEW + APPLICATION_FILTER
+            + "<if test='cursorAppliedAt != null'>"
+            + "AND (ja.applied_at &lt; #{cursorAppliedAt} OR (ja.applied_at = #{cursorAppliedAt} AND ja.id &lt; #{cursorId})) "
+            + "</if>"
+            + "ORDER BY ja.applied_at DESC, ja.id DESC LIMIT #{limit}"
+            + "</script>")
+    @Results(id = "applicationOverview", value = {
+            @Result(column = "id", property = "id", id = true),
+            @Result(column = "job_id", property = "jobId"),
+            @Result(column = "job_title", property = "jobTitle"),
+            @Result(column = "student_id", property = "studentId"),
+            @Result(column = "candidate_name", property = "candidateName"),
+            @Result(column = "status", property = "status"),
+            @Result(column = "applied_at", property = "appliedAt"),
+            @Result(column = "resume_id", property = "resumeId"),
+            @Result(column = "resume_title", property = "resumeTitle")
+    })
+    List<ApplicationOverview> selectApplicationOverviews(ApplicationFilter filter);
+
+    @Select("<script>SELECT COUNT(*) FROM job_application ja "
+            + "JOIN job_posting jp ON jp.id = ja.job_id "
+            + APPLICATION_FILTER
+            + "</script>")
+    long countApplications(ApplicationFilter filter);
+
+    /**
+     * 一次查询核对一批申请的归属，只返回属于该企业岗位的申请
+     */
+    @Select("<script>SELECT ja.id, ja.job_id, ja.student_id, ja.status, jp.title AS job_title "
+            + "FROM job_application ja "
+            + "JOIN job_posting jp ON jp.id = ja.job_id "
+            + "WHERE jp.employer_id = #{employerId} AND ja.id IN "
+            + "<foreach collection='applicationIds' item='id' open='(' separator=',' close=')'>#{id}</foreach>"
+            + "</script>")
+    List<OwnedApplicationRow> selectOwnedApplications(@Param("employerId") Long employerId,
+                                                      @Param("applicationIds") Collection<Long> applicationIds);
+
+    /**
+     * 企业全部岗位下的面试，按面试时间倒序
+     * @param limit 最多返回条数，为空时不限
+     */
+    @Select("<script>" + INTERVIEW_OVERVIEW
+            + "WHERE jp.employer_id = #{employerId} "
+            + "ORDER BY i.scheduled_time DESC, i.id DESC"
+            + "<if test='limit != null'> LIMIT #{limit}</if>"
+            + "</script>")
+    @Results(id = "interviewOverview", value = {
+            @Result(column = "id", property = "id", id = true),
+            @Result(column = "job_id", property = "jobId"),
+            @Result(column = "job_title", property = "jobTitle"),
+            @Result(column = "application_id", property = "applicationId"),
+            @Result(column = "candidate_name", property = "candidateName"),
+            @Result(column = "resume_title", property = "resumeTitle"),
+            @Result(column = "status", property = "status"),
+            @Result(column = "scheduled_time", property = "scheduledTime"),
+            @Result(column = "location", property = "location"),
+            @Result(column = "meeting_link", property = "meetingLink"),
+            @Result(column = "feedback", property = "feedback"),
+            @Result(column = "version", property = "version")
+    })
+    List<InterviewOverview> selectInterviewOverviews(@Param("employerId") Long employerId, @Param("limit") Integer limit);
+
+    /**
+     * 时间落在 (from, to) 内、仍处于已安排状态的面试，范围为该企业的全部面试加上给定学生在其他企业的面试
+     */
+    @Select("<script>SELECT i.id, jp.employer_id, ja.student_id, i.scheduled_time, i.location "
+            + "FROM interview i "
+            + "JOIN job_posting jp ON jp.id = i.job_id "
+            + "JOIN job_application ja ON ja.id = i.application_id "
+            + "WHERE i.status = 'SCHEDULED' "
+            + "AND i.scheduled_time &gt; #{from} AND i.scheduled_time &lt; #{to} "
+            + "AND (jp.employer_id = #{employerId}"
+            + "<if test='studentIds != null and !studentIds.isEmpty()'> OR ja.student_id IN "
+            + "<foreach collection='studentIds' item='id' open='(' separator=',' close=')'>#{id}</foreach>"
+            + "</if>)"
+            + "</script>")
+    List<ScheduledInterviewRow> selectScheduledInterviews(@Param("employerId") Long employerId,
+                                                          @Param("studentIds") Collection<Long> studentIds,
+                                                          @Param("from") LocalDateTime from,
+                                                          @Param("to") LocalDateTime to);
+
+    @Select("<script>" + INTERVIEW_OVERVIEW + "WHERE i.id IN "
+            + "<foreach collection='interviewIds' item='id' open='(' separator=',' close=')'>#{id}</foreach>"
+            + " ORDER BY i.scheduled_time, i.id"
+            + "</script>")
+    @ResultMap("interviewOverview")
+    List<InterviewOverview> selectInterviewOverviewsByIds(@Param("interviewIds") Collection<Long> interviewIds);
+
+    @Select(INTERVIEW_OVERVIEW + "WHERE i.id = #{interviewId}")
+    @ResultMap("interviewOverview")
+    InterviewOverview selectInterviewOverview(@Param("interviewId") Long interviewId);
+}
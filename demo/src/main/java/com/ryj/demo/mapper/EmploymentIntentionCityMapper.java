@@ -8,6 +8,7 @@ import org.apache.ibatis.annotations.Insert;
 import org.apache.ibatis.annotations.Select;
 import org.apache.ibatis.annotations.Param;
 
+import java.util.Collection;
 import java.util.List;
 
 @Mapper
@@ -15,6 +16,11 @@ public interface EmploymentIntentionCityMapper extends BaseMapper<EmploymentInte
     
     @Select("SELECT * FROM employment_intention_city WHERE intention_id = #{intentionId}")
     List<EmploymentIntentionCity> findByIntentionId(@Param("intentionId") Long intentionId);
+
+    @Select("<script>SELECT * FROM employment_intention_city WHERE intention_id IN "
+            + "<foreach collection='intentionIds' item='id' open='(' separator=',' close=')'>#{id}</foreach>"
+            + "</script>")
+    List<EmploymentIntentionCity> findByIntentionIds(@Param("intentionIds") Collection<Long> intentionIds);
     
     @Insert("INSERT INTO employment_intention_city (intention_id, city) VALUES (#{intentionId}, #{city})")
     int insertCity(@Param("intentionId") Long intentionId, @Param("city") String city);
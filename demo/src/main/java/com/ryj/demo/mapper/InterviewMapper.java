@@ -2,6 +2,26 @@ package com.ryj.demo.mapper;
 
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import com.ryj.demo.entity.Interview;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
+
+import java.util.Collection;
+import java.util.List;
 
 public interface InterviewMapper extends BaseMapper<Interview> {
+
+    /**
+     * 锁住企业行，串行化同一企业面试地点的冲突检测
+     */
+    @Select("SELECT id FROM employer WHERE id = #{employerId} FOR UPDATE")
+    Long lockEmployer(@Param("employerId") Long employerId);
+
+    /**
+     * 按ID顺序锁住候选人档案行，串行化同一候选人的冲突检测；固定加锁顺序避免批量安排之间死锁
+     */
+    @Select("<script>SELECT id FROM student_profile WHERE id IN "
+            + "<foreach collection='studentIds' item='id' open='(' separator=',' close=')'>#{id}</foreach>"
+            + " ORDER BY id FOR UPDATE"
+            + "</script>")
+    List<Long> lockStudents(@Param("studentIds") Collection<Long> studentIds);
 }
@@ -0,0 +1,39 @@
+package com.ryj.demo.mapper;
+
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.ryj.demo.entity.InterviewSlot;
+import org.apache.ibatis.annotations.Delete;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Update;
+
+import java.time.LocalDateTime;
+
+public interface InterviewSlotMapper extends BaseMapper<InterviewSlot> {
+
+    /**
+     * 只有时段仍未被预约时才写入，返回 0 表示已被他人抢先
+     */
+    @Update("UPDATE interview_slot SET application_id = #{applicationId}, booked_at = #{bookedAt} "
+            + "WHERE id = #{slotId} AND application_id IS NULL")
+    int claim(@Param("slotId") Long slotId, @Param("applicationId") Long applicationId,
+              @Param("bookedAt") LocalDateTime bookedAt);
+
+    @Update("UPDATE interview_slot SET interview_id = #{interviewId} WHERE id = #{slotId}")
+    int attachInterview(@Param("slotId") Long slotId, @Param("interviewId") Long interviewId);
+
+    /**
+     * 只删除未被预约的时段
+     */
+    @Delete("DELETE FROM interview_slot WHERE id = #{slotId} AND application_id IS NULL")
+    int deleteIfFree(@Param("slotId") Long slotId);
+
+    @Delete("DELETE FROM interview_slot WHERE job_id = #{jobId} AND application_id IS NULL")
+    int deleteFreeByJob(@Param("jobId") Long jobId);
+
+    /**
+     * 面试取消或删除后把时段恢复为未预约，同时解除对面试与申请的外键引用
+     */
+    @Update("UPDATE interview_slot SET application_id = NULL, interview_id = NULL, booked_at = NULL "
+            + "WHERE id = #{slotId} AND interview_id = #{interviewId}")
+    int release(@Param("slotId") Long slotId, @Param("interviewId") Long interviewId);
+}
@@ -3,6 +3,7 @@ package com.ryj.demo.mapper;
 import com.ryj.demo.entity.JobRequirement;
 import org.apache.ibatis.annotations.*;
 
+import java.util.Collection;
 import java.util.List;
 
 @Mapper
@@ -16,4 +17,9 @@ public interface JobRequirementMapper {
 
     @Delete("DELETE FROM job_requirement WHERE job_id = #{jobId}")
     void deleteByJobId(Long jobId);
+
+    @Select("<script>SELECT job_id, requirement FROM job_requirement WHERE job_id IN "
+            + "<foreach collection='jobIds' item='id' open='(' separator=',' close=')'>#{id}</foreach>"
+            + "</script>")
+    List<JobRequirement> findByJobIds(@Param("jobIds") Collection<Long> jobIds);
 }
@@ -1,7 +1,34 @@
 package com.ryj.demo.mapper;
 
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.ryj.demo.dto.SearchKeywordCountRow;
 import com.ryj.demo.entity.PublicSearchHistory;
+import org.apache.ibatis.annotations.Insert;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
+
+import java.time.LocalDateTime;
+import java.util.List;
 
 public interface PublicSearchHistoryMapper extends BaseMapper<PublicSearchHistory> {
+
+    /**
+     * 多行 INSERT，一条语句写入整批搜索记录
+     */
+    @Insert("<script>"
+            + "INSERT INTO public_search_history "
+            + "(user_id, keyword, role_filter, category_filter, location_filter, advanced_options, created_at) VALUES "
+            + "<foreach collection='list' item='h' separator=','>"
+            + "(#{h.userId}, #{h.keyword}, #{h.roleFilter}, #{h.categoryFilter}, #{h.locationFilter}, "
+            + "#{h.advancedOptions}, #{h.createdAt})"
+            + "</foreach>"
+            + "</script>")
+    int insertBatch(@Param("list") List<PublicSearchHistory> histories);
+
+    /**
+     * 指定时间之后搜索次数最多的关键字
+     */
+    @Select("SELECT keyword, COUNT(*) AS total FROM public_search_history " +
+            "WHERE created_at >= #{since} GROUP BY keyword ORDER BY total DESC LIMIT #{limit}")
+    List<SearchKeywordCountRow> selectPopularKeywords(@Param("since") LocalDateTime since, @Param("limit") int limit);
 }
@@ -3,6 +3,7 @@ package com.ryj.demo.mapper;
 import com.ryj.demo.entity.ResumeSkill;
 import org.apache.ibatis.annotations.*;
 
+import java.util.Collection;
 import java.util.List;
 
 @Mapper
@@ -19,4 +20,9 @@ public interface ResumeSkillMapper {
 
     @Select("SELECT COUNT(1) FROM resume_skill WHERE resume_id = #{resumeId}")
     int countByResumeId(Long resumeId);
+
+    @Select("<script>SELECT resume_id, skill, proficiency FROM resume_skill WHERE resume_id IN "
+            + "<foreach collection='resumeIds' item='id' open='(' separator=',' close=')'>#{id}</foreach>"
+            + "</script>")
+    List<ResumeSkill> findByResumeIds(@Param("resumeIds") Collection<Long> resumeIds);
 }
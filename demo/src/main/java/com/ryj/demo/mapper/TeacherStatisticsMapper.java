@@ -0,0 +1,104 @@
+package com.ryj.demo.mapper;
+
+import com.ryj.demo.dto.EmploymentStatisticsRows.GroupCountRow;
+import com.ryj.demo.dto.EmploymentStatisticsRows.MajorRow;
+import com.ryj.demo.dto.EmploymentStatisticsRows.MonthlyRow;
+import com.ryj.demo.dto.EmploymentStatisticsRows.OverviewRow;
+import com.ryj.demo.dto.EmploymentStatisticsRows.SalaryRow;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
+
+import java.util.List;
+
+/**
+ * 教师就业统计聚合查询，所有统计均在数据库端通过 GROUP BY/JOIN 一次完成
+ */
+@Mapper
+public interface TeacherStatisticsMapper {
+
+    /**
+     * 统计范围内的学生ID子查询：all 为全部学生账号，否则为该教师结对指导的学生
+     */
+    String COHORT = "<choose>"
+            + "<when test='allStudents'>SELECT id AS student_id FROM sys_user WHERE role = 'STUDENT'</when>"
+            + "<otherwise>SELECT DISTINCT student_id FROM teacher_guidance WHERE teacher_id = #{teacherId}</otherwise>"
+            + "</choose>";
+
+    @Select("<script>SELECT COUNT(*) FROM (" + COHORT + ") c</script>")
+    long countStudents(@Param("teacherId") Long teacherId, @Param("allStudents") boolean allStudents);
+
+    @Select("<script>"
+            + "SELECT COUNT(*) AS total_applications, "
+            + "COUNT(DISTINCT ja.student_id) AS started_students, "
+            + "COUNT(DISTINCT CASE WHEN ja.status = 'OFFERED' THEN ja.student_id END) AS employed_students, "
+            + "COUNT(DISTINCT CASE WHEN ja.status IN ('SUBMITTED', 'REVIEWING', 'INTERVIEW') THEN ja.student_id END) AS active_students, "
+            + "COALESCE(SUM(CASE WHEN ja.status = 'OFFERED' THEN 1 ELSE 0 END), 0) AS offers_received "
+            + "FROM job_application ja "
+            + "WHERE ja.student_id IN (" + COHORT + ")"
+            + "</script>")
+    OverviewRow selectOverview(@Param("teacherId") Long teacherId, @Param("allStudents") boolean allStudents);
+
+    @Select("<script>"
+            + "SELECT COUNT(*) FROM interview i "
+            + "JOIN job_application ja ON ja.id = i.application_id "
+            + "WHERE ja.student_id IN (" + COHORT + ")"
+            + "</script>")
+    long countInterviews(@Param("teacherId") Long teacherId, @Param("allStudents") boolean allStudents);
+
+    @Select("<script>"
+            + "SELECT e.company_name AS label, COUNT(*) AS total "
+            + "FROM job_application ja "
+            + "JOIN job_posting jp ON jp.id = ja.job_id "
+            + "JOIN employer e ON e.id = jp.employer_id "
+            + "WHERE ja.status = 'OFFERED' AND e.company_name IS NOT NULL "
+            + "AND ja.student_id IN (" + COHORT + ") "
+            + "GROUP BY e.company_name"
+            + "</script>")
+    List<GroupCountRow> countOffersByCompany(@Param("teacherId") Long teacherId, @Param("allStudents") boolean allStudents);
+
+    @Select("<script>"
+            + "SELECT jp.location AS label, COUNT(*) AS total "
+            + "FROM job_application ja "
+            + "JOIN job_posting jp ON jp.id = ja.job_id "
+            + "WHERE ja.status = 'OFFERED' AND jp.location IS NOT NULL "
+            + "AND ja.student_id IN (" + COHORT + ") "
+            + "GROUP BY jp.location"
+            + "</script>")
+    List<GroupCountRow> countOffersByLocation(@Param("teacherId") Long teacherId, @Param("allStudents") boolean allStudents);
+
+    /**
+     * Offer 岗位按月薪中位数（salary_min 与 salary_max 的平均值，向下取整）分组，薪资未能解析的岗位不计入
+     */
+    @Select("<script>"
+            + "SELECT FLOOR((jp.salary_min + jp.salary_max) / 2) AS salary, COUNT(*) AS total "
+            + "FROM job_application ja "
+            + "JOIN job_posting jp ON jp.id = ja.job_id "
+            + "WHERE ja.status = 'OFFERED' AND jp.salary_min IS NOT NULL AND jp.salary_max IS NOT NULL "
+            + "AND ja.student_id IN (" + COHORT + ") "
+            + "GROUP BY FLOOR((jp.salary_min + jp.salary_max) / 2) "
+            + "ORDER BY salary"
+            + "</script>")
+    List<SalaryRow> countOffersBySalary(@Param("teacherId") Long teacherId, @Param("allStudents") boolean allStudents);
+
+    @Select("<script>"
+            + "SELECT COALESCE(sp.major, '未知专业') AS major, COUNT(*) AS total_students, "
+            + "SUM(CASE WHEN EXISTS (SELECT 1 FROM job_application ja "
+            + "WHERE ja.student_id = c.student_id AND ja.status = 'OFFERED') THEN 1 ELSE 0 END) AS employed_students "
+            + "FROM (" + COHORT + ") c "
+            + "LEFT JOIN student_profile sp ON sp.id = c.student_id "
+            + "GROUP BY COALESCE(sp.major, '未知专业')"
+            + "</script>")
+    List<MajorRow> selectMajorRates(@Param("teacherId") Long teacherId, @Param("allStudents") boolean allStudents);
+
+    @Select("<script>"
+            + "SELECT YEAR(ja.applied_at) AS stat_year, MONTH(ja.applied_at) AS stat_month, COUNT(*) AS applications, "
+            + "SUM(CASE WHEN EXISTS (SELECT 1 FROM interview i WHERE i.application_id = ja.id) THEN 1 ELSE 0 END) AS interviews, "
+            + "SUM(CASE WHEN ja.status = 'OFFERED' THEN 1 ELSE 0 END) AS offers "
+            + "FROM job_application ja "
+            + "WHERE ja.applied_at IS NOT NULL AND ja.student_id IN (" + COHORT + ") "
+            + "GROUP BY YEAR(ja.applied_at), MONTH(ja.applied_at) "
+            + "ORDER BY stat_year, stat_month"
+            + "</script>")
+    List<MonthlyRow> selectMonthlyTrends(@Param("teacherId") Long teacherId, @Param("allStudents") boolean allStudents);
+}
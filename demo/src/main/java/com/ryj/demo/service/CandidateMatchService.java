@@ -0,0 +1,34 @@
+package com.ryj.demo.service;
+
+import com.ryj.demo.entity.JobPosting;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 候选人与岗位的匹配度：按简历技能、意向城市与工作类型、专业、毕业年份对照岗位要求打分
+ */
+public interface CandidateMatchService {
+
+    /**
+     * 一位候选人对某个岗位的匹配结果
+     * @param score 匹配得分，0~1
+     * @param matchedSkills 命中岗位要求的简历技能（小写）
+     */
+    record CandidateMatch(Long studentId, double score, List<String> matchedSkills) {
+    }
+
+    /**
+     * 在全部可匹配的学生中按得分从高到低取前 limit 名，只访问内存索引
+     * @param posting 岗位，要求条目按岗位主键读取
+     * @return 没有任何技能、城市或专业命中的学生不在结果中；岗位写明毕业年份时，毕业年份不符的学生不在结果中
+     */
+    List<CandidateMatch> rank(JobPosting posting, int limit);
+
+    /**
+     * 只为指定学生打分，规则与 {@link #rank} 相同
+     * @return 学生主键 -> 匹配结果，不匹配的学生不在结果中
+     */
+    Map<Long, CandidateMatch> score(JobPosting posting, Collection<Long> studentIds);
+}
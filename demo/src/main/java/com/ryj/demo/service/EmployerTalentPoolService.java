@@ -0,0 +1,29 @@
+package com.ryj.demo.service;
+
+import com.ryj.demo.dto.EmployerTalentResponse;
+import com.ryj.demo.entity.Interview;
+import com.ryj.demo.entity.JobApplication;
+import com.ryj.demo.entity.JobPosting;
+
+/**
+ * 企业人才库读模型：按企业预先汇总向其投递过的候选人，随投递、面试、岗位和学生资料的变化增量刷新
+ */
+public interface EmployerTalentPoolService {
+
+    /**
+     * 在企业人才库中筛选候选人并分页，只访问内存读模型
+     * @param keyword 匹配姓名、专业、期望职位、最近申请岗位、意向城市和联系方式，可为空
+     * @param status 最近一次申请的状态，可为空
+     * @param interviewStatus 最近一次面试的状态，可为空
+     * @param matchPosting 非空时按与该岗位的匹配度排序
+     * @param page 页码，从 1 开始
+     * @param size 每页条数
+     */
+    EmployerTalentResponse search(Long employerId, String keyword, JobApplication.Status status,
+                                  Interview.Status interviewStatus, JobPosting matchPosting, long page, long size);
+
+    /**
+     * 重新加载全部投递、面试与相关学生资料
+     */
+    void rebuild();
+}
@@ -2,10 +2,17 @@ package com.ryj.demo.service;
 
 import com.ryj.demo.entity.EmploymentIntentionCity;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 public interface EmploymentIntentionCityService {
     List<EmploymentIntentionCity> findByIntentionId(Long intentionId);
 
+    /**
+     * 一次查询多个意向的城市，返回 意向主键 -> 城市列表，没有城市的意向不出现在结果中
+     */
+    Map<Long, List<String>> findCitiesByIntentionIds(Collection<Long> intentionIds);
+
     void replaceCities(Long intentionId, List<String> cities);
 }
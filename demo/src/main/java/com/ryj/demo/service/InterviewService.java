@@ -1,7 +1,42 @@
 package com.ryj.demo.service;
 
 import com.baomidou.mybatisplus.extension.service.IService;
+import com.ryj.demo.dto.EmployerInterviewBatchRequest;
+import com.ryj.demo.dto.EmployerInterviewBatchResponse;
 import com.ryj.demo.entity.Interview;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
 public interface InterviewService extends IService<Interview> {
+
+    /**
+     * 企业批量安排面试：一次查询核对申请归属，按企业面试地点与候选人的已有面试检测时间冲突，
+     * 无冲突的面试一次批量写入；同一批次内的面试之间同样参与冲突检测
+     */
+    EmployerInterviewBatchResponse scheduleBatch(Long employerId, List<EmployerInterviewBatchRequest.Slot> slots);
+
+    /**
+     * 检测单场面试的时间冲突
+     * @param studentId 候选人ID，为空时只检测面试地点
+     * @param location 线下面试地点，为空时只检测候选人
+     * @param excludeInterviewId 修改已有面试时排除其自身，可为空
+     * @return 冲突原因，无冲突时为 null
+     */
+    String findConflict(Long employerId, Long studentId, LocalDateTime scheduledTime, String location, Long excludeInterviewId);
+
+    /**
+     * 锁住企业与候选人的面试日程，直到当前事务结束；先锁企业再按候选人ID顺序加锁。
+     * 冲突检测与写入之间持有该锁，并发安排同一候选人或同一面试地点时后到者能看到先到者的结果
+     * @param employerId 企业ID，为空时不锁面试地点
+     */
+    void lockSchedules(Long employerId, Collection<Long> studentIds);
+
+    /**
+     * 加锁检测冲突后保存单场面试，id 为空时新增，否则按乐观锁版本更新；只有已安排状态的面试参与冲突检测
+     * @throws IllegalArgumentException 与已有面试冲突
+     * @throws com.ryj.demo.common.StateConflictException 面试已被他人修改
+     */
+    void saveChecked(Long employerId, Long studentId, Interview interview);
 }
@@ -0,0 +1,50 @@
+package com.ryj.demo.service;
+
+import com.baomidou.mybatisplus.extension.service.IService;
+import com.ryj.demo.entity.Interview;
+import com.ryj.demo.entity.InterviewSlot;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 面试时段：企业发布时段日历，学生用对该岗位的申请自助预约，每个时段只能被一个申请占用
+ */
+public interface InterviewSlotService extends IService<InterviewSlot> {
+
+    /**
+     * 为岗位发布时段，与该岗位已有时段开始时间相同的会被跳过
+     * @return 新发布的时段
+     */
+    List<InterviewSlot> publish(Long jobId, List<LocalDateTime> startTimes, String location, String meetingLink);
+
+    /**
+     * 岗位下的时段，按开始时间升序
+     * @param openOnly 为 true 时只返回尚未开始且未被预约的时段
+     */
+    List<InterviewSlot> listByJob(Long jobId, boolean openOnly);
+
+    /**
+     * 预约时段并生成面试安排。先在内存中对时段占用状态做 CAS，失败立即返回，
+     * 成功后再以条件 UPDATE 落库，数据库仍是最终裁决
+     * @throws IllegalArgumentException 时段不存在、申请不匹配、已被预约或与候选人已有面试冲突
+     */
+    Interview claim(Long slotId, Long studentId, Long applicationId);
+
+    /**
+     * 删除未被预约的时段
+     * @throws IllegalArgumentException 时段已被预约
+     */
+    boolean removeFreeSlot(Long slotId);
+
+    /**
+     * 删除岗位前清理其时段：未被预约的时段直接删除
+     * @throws IllegalArgumentException 岗位有已被预约的时段
+     */
+    void removeByJob(Long jobId);
+
+    /**
+     * 面试取消或删除时释放它预约的时段，时段重新开放，申请也可以再预约其他时段；面试不是通过时段预约的则不做处理
+     */
+    void release(Long interviewId);
+}
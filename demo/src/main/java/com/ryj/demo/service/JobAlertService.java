@@ -0,0 +1,22 @@
+package com.ryj.demo.service;
+
+import com.ryj.demo.entity.JobPosting;
+
+import java.util.List;
+
+/**
+ * 新岗位提醒：岗位开放时，向就业意向与之匹配的学生发送 {@code JOB_ALERT} 通知
+ */
+public interface JobAlertService {
+
+    /**
+     * 找出与岗位匹配的订阅学生，只访问内存索引
+     * @return 学生主键
+     */
+    List<Long> matchSubscribers(JobPosting posting);
+
+    /**
+     * 重新加载全部订阅与开放中的岗位；期间新开放的岗位照常提醒
+     */
+    void rebuild();
+}
@@ -3,5 +3,14 @@ package com.ryj.demo.service;
 import com.baomidou.mybatisplus.extension.service.IService;
 import com.ryj.demo.entity.JobApplication;
 
+import java.util.Collection;
+
 public interface JobApplicationService extends IService<JobApplication> {
+
+    /**
+     * 企业批量更新申请状态：一次查询核对归属，按来源状态分组以条件 UPDATE 写入，并为状态实际变化的学生批量生成通知
+     * @param applicationIds 申请ID，必须全部属于该企业的岗位且允许转换到目标状态，否则整体拒绝
+     * @return 状态实际发生变化的申请数
+     */
+    int updateStatusForEmployer(Long employerId, Collection<Long> applicationIds, JobApplication.Status status);
 }
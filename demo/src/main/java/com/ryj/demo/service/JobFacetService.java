@@ -0,0 +1,25 @@
+package com.ryj.demo.service;
+
+import com.ryj.demo.dto.JobFacetSearchResponse;
+
+import java.util.Collection;
+
+/**
+ * 开放岗位的分面搜索
+ */
+public interface JobFacetService {
+
+    /**
+     * 按条件筛选开放岗位，并返回各分面在其余条件下的计数。同一分面内多个取值为“或”，不同分面之间为“且”
+     * @param keyword 关键字，可为空
+     * @param workTypes 工作类型（JobPosting.WorkType 名称）
+     * @param cities 归一化后的城市名
+     * @param salaryBands 薪资档位（SalaryBand 名称）
+     * @param employerIds 企业主键
+     * @param page 页码，从 1 开始
+     * @param size 每页条数
+     */
+    JobFacetSearchResponse search(String keyword, Collection<String> workTypes, Collection<String> cities,
+                                  Collection<String> salaryBands, Collection<String> employerIds,
+                                  long page, long size);
+}
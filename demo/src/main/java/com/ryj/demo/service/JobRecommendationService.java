@@ -0,0 +1,31 @@
+package com.ryj.demo.service;
+
+import com.ryj.demo.entity.JobPosting;
+
+import java.util.List;
+
+/**
+ * 学生岗位推荐：按就业意向与简历技能为每位学生预先计算匹配度最高的开放岗位
+ */
+public interface JobRecommendationService {
+
+    /**
+     * 一条推荐
+     * @param job 岗位快照，调用方不得修改
+     * @param score 匹配得分，0~1
+     * @param matchesIntention 岗位名称、工作类型或城市至少一项与就业意向一致
+     */
+    record Recommendation(JobPosting job, double score, boolean matchesIntention) {
+    }
+
+    /**
+     * 读取预先计算好的推荐列表，只访问内存
+     * @return 按得分从高到低排列；尚未完成首次计算或没有匹配岗位时为空列表
+     */
+    List<Recommendation> recommend(Long studentId);
+
+    /**
+     * 重新加载全部岗位与学生特征并重新计算所有学生的推荐列表
+     */
+    void rebuild();
+}
@@ -0,0 +1,18 @@
+package com.ryj.demo.service;
+
+/**
+ * 公共门户首页快照服务
+ */
+public interface PublicOverviewService {
+
+    /**
+     * 获取首页响应（已序列化的 ApiResponse JSON），只读取内存快照
+     * @return UTF-8 编码的 JSON
+     */
+    byte[] getOverviewJson();
+
+    /**
+     * 立即重建快照
+     */
+    void refresh();
+}
@@ -3,5 +3,23 @@ package com.ryj.demo.service;
 import com.baomidou.mybatisplus.extension.service.IService;
 import com.ryj.demo.entity.PublicSearchHistory;
 
+import java.util.Map;
+
 public interface PublicSearchHistoryService extends IService<PublicSearchHistory> {
+
+    /**
+     * 异步记录一次搜索：只放入内存缓冲区，由后台任务批量写库。缓冲区已满时丢弃该记录
+     * @return 是否被接收
+     */
+    boolean record(PublicSearchHistory history);
+
+    /**
+     * 立即把缓冲区中的记录写入数据库
+     */
+    void flush();
+
+    /**
+     * 缓冲区长度以及接收、合并、丢弃、写入的累计条数
+     */
+    Map<String, Long> bufferStatistics();
 }
@@ -0,0 +1,19 @@
+package com.ryj.demo.service;
+
+import com.ryj.demo.dto.PublicSearchResponse;
+
+/**
+ * 公共门户全局搜索
+ */
+public interface PublicSearchService {
+
+    /**
+     * 在岗位、企业、通知、资料中搜索
+     * @param keyword 关键字（已去除首尾空白）
+     * @param category 逗号分隔的分类过滤，为空表示全部分类
+     * @param location 岗位地点过滤，可为空
+     * @param cursor 上一页返回的 nextCursor，为空表示第一页；翻页时其余参数需与第一页相同，否则拒绝该游标
+     * @return 结果与各分类命中数（不含搜索建议）
+     */
+    PublicSearchResponse search(String keyword, String category, String location, String cursor);
+}
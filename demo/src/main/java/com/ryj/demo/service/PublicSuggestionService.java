@@ -0,0 +1,22 @@
+package com.ryj.demo.service;
+
+import java.util.List;
+
+/**
+ * 公共搜索框输入联想
+ */
+public interface PublicSuggestionService {
+
+    /**
+     * 按前缀返回联想词，只读取内存中的前缀树
+     * @param prefix 用户已输入的内容，不区分大小写
+     * @param limit 最多返回条数
+     * @return 按热度从高到低排列的联想词
+     */
+    List<String> suggest(String prefix, int limit);
+
+    /**
+     * 重新统计热门搜索关键字并更新联想词权重
+     */
+    void refreshPopularKeywords();
+}
@@ -0,0 +1,22 @@
+package com.ryj.demo.service;
+
+import com.ryj.demo.dto.PublicTrendingKeyword;
+
+import java.util.List;
+
+/**
+ * 全站热门搜索词
+ */
+public interface PublicTrendingService {
+
+    /**
+     * 记录一次搜索，只更新内存中的统计
+     */
+    void record(String keyword);
+
+    /**
+     * 当前热度最高的搜索词
+     * @param limit 最多返回条数
+     */
+    List<PublicTrendingKeyword> trending(int limit);
+}
@@ -0,0 +1,22 @@
+package com.ryj.demo.service;
+
+import com.ryj.demo.dto.SimilarJob;
+
+import java.util.List;
+
+/**
+ * 相似岗位：按岗位名称与岗位要求的相似度，为每个开放岗位预先计算相近的开放岗位
+ */
+public interface SimilarJobService {
+
+    /**
+     * 开放岗位直接读取预先计算的结果；其它岗位（已关闭、草稿）临时计算一次
+     * @return 按相似度从高到低排列，不包含岗位本身
+     */
+    List<SimilarJob> similar(Long jobId, int limit);
+
+    /**
+     * 重新加载全部开放岗位并重新计算所有相似岗位
+     */
+    void rebuild();
+}
@@ -1,7 +1,20 @@
 package com.ryj.demo.service;
 
 import com.baomidou.mybatisplus.extension.service.IService;
+import com.ryj.demo.dto.StudentProfileReviewDecision;
 import com.ryj.demo.entity.StudentProfileUpdateRequest;
 
 public interface StudentProfileUpdateRequestService extends IService<StudentProfileUpdateRequest> {
+
+    /**
+     * 通过待审核的档案更新申请，并把申请内容写入学生档案
+     * @return 申请是否仍待审核并被本次通过；未命中时由调用方读取申请区分不存在与已被处理
+     */
+    boolean approve(Long requestId, StudentProfileReviewDecision decision);
+
+    /**
+     * 退回待审核的档案更新申请，学生档案不变
+     * @return 申请是否仍待审核并被本次退回
+     */
+    boolean reject(Long requestId, StudentProfileReviewDecision decision);
 }
@@ -0,0 +1,173 @@
+package com.ryj.demo.service.impl;
+
+import com.baomidou.mybatisplus.core.conditions.Wrapper;
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
+import com.ryj.demo.common.EntityCache;
+import com.ryj.demo.common.EntityCacheRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BooleanSupplier;
+import java.util.function.Function;
+
+/**
+ * 带主键缓存的 ServiceImpl：getById/listByIds 先读缓存，所有按主键或条件的写操作都会失效对应缓存。
+ * <p>
+ * 事务内的读取直接查库（避免把未提交的数据放进缓存），写操作在执行前和生效后各失效一次
+ * （有事务时为事务结束后，否则为写语句返回后），防止并发读取在写入前把旧值重新装回缓存。
+ */
+public abstract class CachedServiceImpl<M extends BaseMapper<T>, T> extends ServiceImpl<M, T> {
+
+    private final Function<T, Long> idGetter;
+    private EntityCache<T> cache;
+
+    protected CachedServiceImpl(Function<T, Long> idGetter) {
+        this.idGetter = idGetter;
+    }
+
+    @Autowired
+    void setEntityCacheRegistry(EntityCacheRegistry registry) {
+        this.cache = registry.create(getEntityClass().getSimpleName(), getEntityClass());
+    }
+
+    @Override
+    public T getById(Serializable id) {
+        Long key = toKey(id);
+        if (key == null || TransactionSynchronizationManager.isActualTransactionActive()) {
+            return super.getById(id);
+        }
+        return cache.get(key, super::getById);
+    }
+
+    @Override
+    public List<T> listByIds(Collection<? extends Serializable> idList) {
+        List<Long> keys = new ArrayList<>(idList.size());
+        for (Serializable id : idList) {
+            Long key = toKey(id);
+            if (key == null) {
+                return super.listByIds(idList);
+            }
+            keys.add(key);
+        }
+        if (keys.isEmpty() || TransactionSynchronizationManager.isActualTransactionActive()) {
+            return super.listByIds(idList);
+        }
+        return cache.getAll(keys, idGetter, super::listByIds);
+    }
+
+    @Override
+    public boolean updateById(T entity) {
+        return evicting(idGetter.apply(entity), () -> super.updateById(entity));
+    }
+
+    @Override
+    public boolean updateBatchById(Collection<T> entityList, int batchSize) {
+        return evicting(keysOf(entityList), () -> super.updateBatchById(entityList, batchSize));
+    }
+
+    @Override
+    public boolean update(T entity, Wrapper<T> updateWrapper) {
+        return evictingAll(() -> super.update(entity, updateWrapper));
+    }
+
+    @Override
+    public boolean saveOrUpdateBatch(Collection<T> entityList, int batchSize) {
+        return evicting(keysOf(entityList), () -> super.saveOrUpdateBatch(entityList, batchSize));
+    }
+
+    @Override
+    public boolean removeById(Serializable id) {
+        return evicting(toKey(id), () -> super.removeById(id));
+    }
+
+    @Override
+    public boolean removeById(Serializable id, boolean useFill) {
+        return evicting(toKey(id), () -> super.removeById(id, useFill));
+    }
+
+    @Override
+    public boolean removeById(T entity) {
+        return evicting(idGetter.apply(entity), () -> super.removeById(entity));
+    }
+
+    @Override
+    public boolean removeByIds(Collection<?> list) {
+        return evictingAll(() -> super.removeByIds(list));
+    }
+
+    @Override
+    public boolean removeByIds(Collection<?> list, boolean useFill) {
+        return evictingAll(() -> super.removeByIds(list, useFill));
+    }
+
+    @Override
+    public boolean removeBatchByIds(Collection<?> list, int batchSize, boolean useFill) {
+        return evictingAll(() -> super.removeBatchByIds(list, batchSize, useFill));
+    }
+
+    @Override
+    public boolean removeByMap(Map<String, Object> columnMap) {
+        return evictingAll(() -> super.removeByMap(columnMap));
+    }
+
+    @Override
+    public boolean remove(Wrapper<T> queryWrapper) {
+        return evictingAll(() -> super.remove(queryWrapper));
+    }
+
+    private boolean evicting(Long id, BooleanSupplier write) {
+        return id == null ? write.getAsBoolean() : evicting(List.of(id), write);
+    }
+
+    private boolean evicting(Collection<Long> ids, BooleanSupplier write) {
+        return invalidateAround(() -> cache.invalidateAll(ids), write);
+    }
+
+    private boolean evictingAll(BooleanSupplier write) {
+        return invalidateAround(cache::invalidateAll, write);
+    }
+
+    /**
+     * 写之前先失效一次；有事务时在事务结束后再失效，没有事务时写完立即再失效，
+     * 两种情况下并发读取在写入前装回的旧值都会被清掉
+     */
+    private boolean invalidateAround(Runnable invalidate, BooleanSupplier write) {
+        invalidate.run();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    invalidate.run();
+                }
+            });
+            return write.getAsBoolean();
+        }
+        try {
+            return write.getAsBoolean();
+        } finally {
+            invalidate.run();
+        }
+    }
+
+    private List<Long> keysOf(Collection<T> entityList) {
+        List<Long> keys = new ArrayList<>(entityList.size());
+        for (T entity : entityList) {
+            Long key = idGetter.apply(entity);
+            if (key != null) {
+                keys.add(key);
+            }
+        }
+        return keys;
+    }
+
+    private Long toKey(Serializable id) {
+        return id instanceof Number number ? number.longValue() : null;
+    }
+}
@@ -0,0 +1,328 @@
+package com.ryj.demo.service.impl;
+
+import com.ryj.demo.common.CityNormalizer;
+import com.ryj.demo.common.IdBatches;
+import com.ryj.demo.common.IncrementalReadModel;
+import com.ryj.demo.common.NgramTokenizer;
+import com.ryj.demo.common.StudentFeatureLoader;
+import com.ryj.demo.common.StudentFeatures;
+import com.ryj.demo.common.StudentOwners;
+import com.ryj.demo.common.TableChangedEvent;
+import com.ryj.demo.common.TagIndex;
+import com.ryj.demo.common.TopK;
+import com.ryj.demo.entity.EmploymentIntention;
+import com.ryj.demo.entity.JobPosting;
+import com.ryj.demo.entity.JobRequirement;
+import com.ryj.demo.entity.StudentProfile;
+import com.ryj.demo.service.CandidateMatchService;
+import com.ryj.demo.service.JobRequirementService;
+import com.ryj.demo.service.StudentProfileService;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 候选人特征常驻内存，并按技能、意向城市、专业词元建立 {@link TagIndex}。
+ * <p>
+ * 为岗位排序时先从岗位要求里找出词表中出现过的技能，再经索引只取回命中的学生逐个累加得分，
+ * 代价取决于命中人数而不是学生总数。学生档案、就业意向、意向城市、简历、简历技能的变化通过
+ * {@link TableChangedEvent} 入队，由后台任务只重新加载受影响的学生；无法确定具体行时全量重建。
+ */
+@Service
+public class CandidateMatchServiceImpl extends IncrementalReadModel implements CandidateMatchService {
+
+    private static final int MAX_LIMIT = 200;
+
+    /**
+     * 技能按原文整体匹配岗位要求中的子串，超过该长度的技能视为描述而不参与匹配
+     */
+    private static final int MAX_SKILL_LENGTH = 30;
+
+    private static final double SKILL_WEIGHT = 0.45;
+    private static final double CITY_WEIGHT = 0.2;
+    private static final double MAJOR_WEIGHT = 0.15;
+    private static final double GRADUATION_WEIGHT = 0.1;
+    private static final double WORK_TYPE_WEIGHT = 0.1;
+
+    private static final String SKILL_TAG = "skill:";
+    private static final String CITY_TAG = "city:";
+    private static final String MAJOR_TAG = "major:";
+
+    /**
+     * 岗位要求中的届别，如 "2025届"、"2026年毕业"
+     */
+    private static final Pattern GRADUATION_YEAR = Pattern.compile("(20\\d{2})\\s*(?:届|年毕业|年应届)");
+
+    private static final Set<String> WATCHED_TABLES = Set.of("student_profile", "employment_intention",
+            "employment_intention_city", "resume", "resume_skill");
+    private static final Set<String> INTENTION_TABLES = Set.of("employment_intention", "employment_intention_city");
+    private static final Set<String> RESUME_TABLES = Set.of("resume", "resume_skill");
+
+    private static final Comparator<CandidateMatch> ORDER = Comparator
+            .comparingDouble(CandidateMatch::score)
+            .thenComparing(CandidateMatch::studentId, Comparator.reverseOrder());
+
+    private final StudentProfileService studentProfileService;
+    private final StudentFeatureLoader studentFeatureLoader;
+    private final JobRequirementService jobRequirementService;
+
+    private final TagIndex<Candidate> candidates = new TagIndex<>();
+    /**
+     * 只在持有本对象锁的后台任务中读写
+     */
+    private final StudentOwners owners = new StudentOwners();
+
+    /**
+     * 被索引的候选人特征
+     * @param skills 全部简历中不超过 {@link #MAX_SKILL_LENGTH} 的技能，已转小写
+     * @param cities 归一后的意向城市
+     * @param majorTokens 专业名称的查询词元
+     */
+    private record Candidate(StudentFeatures features, Set<String> skills, Set<String> cities,
+                             EmploymentIntention.WorkType workType, List<String> majorTokens, Integer graduationYear) {
+
+        Long studentId() {
+            return features.studentId();
+        }
+    }
+
+    /**
+     * 一次排序中单个学生的命中情况
+     */
+    private static final class Hits {
+        private int coveredRequirements;
+        private boolean city;
+        private int majorTokens;
+    }
+
+    public CandidateMatchServiceImpl(StudentProfileService studentProfileService,
+                                     StudentFeatureLoader studentFeatureLoader,
+                                     JobRequirementService jobRequirementService) {
+        super(WATCHED_TABLES);
+        this.studentProfileService = studentProfileService;
+        this.studentFeatureLoader = studentFeatureLoader;
+        this.jobRequirementService = jobRequirementService;
+    }
+
+    @Override
+    public List<CandidateMatch> rank(JobPosting posting, int limit) {
+        ensureReady();
+        TopK<CandidateMatch> top = new TopK<>(Math.max(1, Math.min(limit, MAX_LIMIT)), ORDER);
+        match(posting, null).values().forEach(top::offer);
+        return top.toSortedList();
+    }
+
+    @Override
+    public Map<Long, CandidateMatch> score(JobPosting posting, Collection<Long> studentIds) {
+        ensureReady();
+        return match(posting, new HashSet<>(studentIds));
+    }
+
+    /**
+     * @param restrictTo 只为这些学生打分；为 null 时不限
+     */
+    private Map<Long, CandidateMatch> match(JobPosting posting, Set<Long> restrictTo) {
+        List<String> requirements = jobRequirementService.findByJobId(posting.getId()).stream()
+                .map(JobRequirement::getRequirement)
+                .filter(StringUtils::hasText)
+                .map(text -> text.toLowerCase(Locale.ROOT))
+                .toList();
+        if (requirements.isEmpty() && StringUtils.hasText(posting.getTitle())) {
+            // 没有填写要求的岗位用名称代替，至少能匹配名称中出现的技能
+            requirements = List.of(posting.getTitle().toLowerCase(Locale.ROOT));
+        }
+
+        Map<Long, Hits> hits = new HashMap<>();
+        Set<String> matchedSkills = new HashSet<>();
+        for (String requirement : requirements) {
+            Set<String> skillTags = candidates.existing(skillCandidates(requirement));
+            skillTags.forEach(tag -> matchedSkills.add(tag.substring(SKILL_TAG.length())));
+            for (Long studentId : restrict(candidates.anyOf(skillTags), restrictTo)) {
+                hits.computeIfAbsent(studentId, key -> new Hits()).coveredRequirements++;
+            }
+        }
+        String city = CityNormalizer.normalize(posting.getLocation());
+        if (city != null) {
+            for (Long studentId : restrict(candidates.anyOf(List.of(CITY_TAG + city)), restrictTo)) {
+                hits.computeIfAbsent(studentId, key -> new Hits()).city = true;
+            }
+        }
+        Set<String> majorTokens = new LinkedHashSet<>(NgramTokenizer.queryTokens(posting.getTitle()));
+        requirements.forEach(requirement -> majorTokens.addAll(NgramTokenizer.queryTokens(requirement)));
+        for (String token : majorTokens) {
+            for (Long studentId : restrict(candidates.anyOf(List.of(MAJOR_TAG + token)), restrictTo)) {
+                hits.computeIfAbsent(studentId, key -> new Hits()).majorTokens++;
+            }
+        }
+
+        Set<Integer> graduationYears = graduationYears(requirements);
+        int requirementCount = requirements.size();
+        Map<Long, CandidateMatch> result = new HashMap<>();
+        hits.forEach((studentId, hit) -> {
+            Candidate candidate = candidates.get(studentId);
+            if (candidate == null) {
+                return;
+            }
+            boolean yearMatches = candidate.graduationYear() != null && graduationYears.contains(candidate.graduationYear());
+            if (!graduationYears.isEmpty() && candidate.graduationYear() != null && !yearMatches) {
+                return;
+            }
+            boolean workTypeMatches = candidate.workType() != null && posting.getWorkType() != null
+                    && candidate.workType().name().equals(posting.getWorkType().name());
+            double skill = requirementCount == 0 ? 0 : (double) hit.coveredRequirements / requirementCount;
+            double major = candidate.majorTokens().isEmpty() ? 0
+                    : Math.min(1, (double) hit.majorTokens / candidate.majorTokens().size());
+            double score = SKILL_WEIGHT * skill
+                    + CITY_WEIGHT * (hit.city ? 1 : 0)
+                    + MAJOR_WEIGHT * major
+                    + GRADUATION_WEIGHT * (yearMatches ? 1 : 0)
+                    + WORK_TYPE_WEIGHT * (workTypeMatches ? 1 : 0);
+            List<String> skills = candidate.skills().stream()
+                    .filter(matchedSkills::contains)
+                    .sorted()
+                    .toList();
+            result.put(studentId, new CandidateMatch(studentId, score, skills));
+        });
+        return result;
+    }
+
+    private static Set<Long> restrict(Set<Long> ids, Set<Long> restrictTo) {
+        if (restrictTo != null) {
+            ids.retainAll(restrictTo);
+        }
+        return ids;
+    }
+
+    /**
+     * 岗位要求中所有长度不超过 {@link #MAX_SKILL_LENGTH} 的子串，作为技能标签的候选。
+     * 以英文字母、数字开头或结尾的子串不能截断英文单词，"c"、"go" 不会命中 "react"、"good"；中文技能不受限制
+     */
+    private static Set<String> skillCandidates(String requirement) {
+        Set<String> tags = new HashSet<>();
+        int length = requirement.length();
+        for (int start = 0; start < length; start++) {
+            char first = requirement.charAt(start);
+            if (Character.isWhitespace(first)
+                    || (isWordChar(first) && start > 0 && isWordChar(requirement.charAt(start - 1)))) {
+                continue;
+            }
+            for (int end = start + 1; end <= Math.min(length, start + MAX_SKILL_LENGTH); end++) {
+                if (isWordChar(requirement.charAt(end - 1)) && end < length && isWordChar(requirement.charAt(end))) {
+                    continue;
+                }
+                tags.add(SKILL_TAG + requirement.substring(start, end));
+            }
+        }
+        return tags;
+    }
+
+    /**
+     * 英文技能名的组成字符；"+"、"#" 算在内，"c" 不会命中 "c++"、"c#"
+     */
+    private static boolean isWordChar(char c) {
+        return (c < 128 && Character.isLetterOrDigit(c)) || c == '+' || c == '#';
+    }
+
+    private static Set<Integer> graduationYears(List<String> requirements) {
+        Set<Integer> years = new HashSet<>();
+        for (String requirement : requirements) {
+            Matcher matcher = GRADUATION_YEAR.matcher(requirement);
+            while (matcher.find()) {
+                years.add(Integer.parseInt(matcher.group(1)));
+            }
+        }
+        return years;
+    }
+
+    @Scheduled(fixedDelayString = "${app.candidate-match.rebuild-interval:1h}")
+    public void scheduledRebuild() {
+        rebuildQuietly();
+    }
+
+    @Override
+    protected void reload() {
+        Map<Long, Candidate> loaded = toCandidates(studentProfileService.list(), studentFeatureLoader.loadAll());
+        Map<Long, Set<String>> tags = new HashMap<>();
+        loaded.forEach((studentId, candidate) -> tags.put(studentId, tags(candidate)));
+        candidates.replaceAll(loaded, tags);
+        owners.clear();
+        loaded.values().forEach(candidate -> owners.register(candidate.features()));
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${app.candidate-match.apply-interval:1s}")
+    public void applyPendingChanges() {
+        super.applyPendingChanges();
+    }
+
+    @Override
+    protected void apply(Changes changes) {
+        Set<Long> studentIds = changes.of("student_profile");
+        studentIds.addAll(studentFeatureLoader.owners(owners, changes.of(INTENTION_TABLES), changes.of(RESUME_TABLES)));
+        Map<Long, Candidate> loaded = toCandidates(IdBatches.list(studentIds, studentProfileService::listByIds),
+                studentFeatureLoader.load(studentIds));
+        for (Long studentId : studentIds) {
+            Candidate previous = candidates.get(studentId);
+            if (previous != null) {
+                owners.unregister(previous.features());
+            }
+            Candidate candidate = loaded.get(studentId);
+            if (candidate == null) {
+                candidates.remove(studentId);
+                continue;
+            }
+            candidates.put(studentId, candidate, tags(candidate));
+            owners.register(candidate.features());
+        }
+    }
+
+    private static Set<String> tags(Candidate candidate) {
+        Set<String> tags = new HashSet<>();
+        candidate.skills().forEach(skill -> tags.add(SKILL_TAG + skill));
+        candidate.cities().forEach(city -> tags.add(CITY_TAG + city));
+        candidate.majorTokens().forEach(token -> tags.add(MAJOR_TAG + token));
+        return tags;
+    }
+
+    /**
+     * 按学生合并档案与共用的学生特征；只有档案的学生也参与匹配
+     */
+    private static Map<Long, Candidate> toCandidates(List<StudentProfile> profiles, Map<Long, StudentFeatures> features) {
+        Map<Long, StudentProfile> profileByStudent = new HashMap<>();
+        profiles.forEach(profile -> profileByStudent.put(profile.getId(), profile));
+        Set<Long> studentIds = new HashSet<>(profileByStudent.keySet());
+        studentIds.addAll(features.keySet());
+
+        Map<Long, Candidate> result = new HashMap<>();
+        for (Long studentId : studentIds) {
+            StudentProfile profile = profileByStudent.get(studentId);
+            StudentFeatures student = features.getOrDefault(studentId,
+                    new StudentFeatures(studentId, null, List.of(), Set.of(), Set.of()));
+            Set<String> skills = new HashSet<>();
+            for (String skill : student.skills()) {
+                if (skill.length() <= MAX_SKILL_LENGTH) {
+                    skills.add(skill);
+                }
+            }
+            result.put(studentId, new Candidate(student,
+                    skills,
+                    student.normalizedCities(),
+                    student.intention() == null ? null : student.intention().getWorkType(),
+                    profile == null ? List.of() : NgramTokenizer.queryTokens(profile.getMajor()),
+                    profile == null ? null : profile.getGraduationYear()));
+        }
+        return result;
+    }
+}
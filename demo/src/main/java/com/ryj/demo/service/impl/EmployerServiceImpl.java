@@ -1,7 +1,6 @@
 package com.ryj.demo.service.impl;
 
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
-import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
 import com.ryj.demo.entity.Employer;
 import com.ryj.demo.mapper.EmployerMapper;
 import com.ryj.demo.service.EmployerService;
@@ -10,7 +9,11 @@ import org.springframework.stereotype.Service;
 import java.util.Optional;
 
 @Service
-public class EmployerServiceImpl extends ServiceImpl<EmployerMapper, Employer> implements EmployerService {
+public class EmployerServiceImpl extends CachedServiceImpl<EmployerMapper, Employer> implements EmployerService {
+
+    public EmployerServiceImpl() {
+        super(Employer::getId);
+    }
 
     @Override
     public Optional<Employer> findByUserId(Long userId) {
@@ -0,0 +1,537 @@
+package com.ryj.demo.service.impl;
+
+import com.ryj.demo.common.IdBatches;
+import com.ryj.demo.common.IncrementalReadModel;
+import com.ryj.demo.common.StudentFeatureLoader;
+import com.ryj.demo.common.StudentOwners;
+import com.ryj.demo.common.TableChangedEvent;
+import com.ryj.demo.dto.EmployerTalentResponse;
+import com.ryj.demo.dto.EmployerTalentResponse.Summary;
+import com.ryj.demo.dto.EmployerTalentResponse.TalentCandidate;
+import com.ryj.demo.entity.EmploymentIntention;
+import com.ryj.demo.entity.Interview;
+import com.ryj.demo.entity.JobApplication;
+import com.ryj.demo.entity.JobPosting;
+import com.ryj.demo.entity.StudentProfile;
+import com.ryj.demo.entity.SysUser;
+import com.ryj.demo.service.CandidateMatchService;
+import com.ryj.demo.service.EmployerTalentPoolService;
+import com.ryj.demo.service.EmploymentIntentionCityService;
+import com.ryj.demo.service.EmploymentIntentionService;
+import com.ryj.demo.service.InterviewService;
+import com.ryj.demo.service.JobApplicationService;
+import com.ryj.demo.service.JobPostingService;
+import com.ryj.demo.service.StudentProfileService;
+import com.ryj.demo.service.SysUserService;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * 人才库读模型常驻内存：企业 -> 学生 -> 候选人快照。
+ * <p>
+ * 投递、面试只保留汇总所需的列，连同岗位归属、学生资料一起建立反向索引。投递、面试、岗位、账号、学生档案、
+ * 就业意向和意向城市的变化通过 {@link TableChangedEvent} 入队，后台任务换算出受影响的（企业，学生）组合，
+ * 只重新汇总这些候选人；无法确定具体行时全量重建。查询只在单个企业的候选人中过滤、排序和分页。
+ */
+@Service
+public class EmployerTalentPoolServiceImpl extends IncrementalReadModel implements EmployerTalentPoolService {
+
+    private static final int MAX_PAGE_SIZE = 100;
+
+    private static final Set<String> INTENTION_TABLES = Set.of("employment_intention", "employment_intention_city");
+    private static final Set<String> STUDENT_TABLES = Set.of("sys_user", "student_profile");
+    private static final Set<String> WATCHED_TABLES = Set.of("job_posting", "job_application", "interview",
+            "sys_user", "student_profile", "employment_intention", "employment_intention_city");
+
+    private static final Comparator<Candidate> ORDER = Comparator
+            .comparing(Candidate::lastAppliedAt, Comparator.nullsLast(Comparator.reverseOrder()))
+            .thenComparing(Candidate::candidateName, Comparator.nullsLast(Comparator.naturalOrder()));
+
+    private final JobPostingService jobPostingService;
+    private final JobApplicationService jobApplicationService;
+    private final InterviewService interviewService;
+    private final SysUserService sysUserService;
+    private final StudentProfileService studentProfileService;
+    private final EmploymentIntentionService employmentIntentionService;
+    private final EmploymentIntentionCityService intentionCityService;
+    private final StudentFeatureLoader studentFeatureLoader;
+    private final CandidateMatchService candidateMatchService;
+
+    /**
+     * 查询线程只读这一份；内层 Map 的值是不可变快照
+     */
+    private final Map<Long, Map<Long, Candidate>> pools = new ConcurrentHashMap<>();
+
+    /**
+     * 以下状态只在 synchronized 的重建与增量任务中读写
+     */
+    private final Map<Long, JobRow> jobs = new HashMap<>();
+    private final Map<Long, ApplicationRow> applications = new HashMap<>();
+    private final Map<Long, Set<Long>> applicationsByJob = new HashMap<>();
+    private final Map<Long, Set<Long>> applicationsByStudent = new HashMap<>();
+    private final Map<Long, InterviewRow> interviews = new HashMap<>();
+    private final Map<Long, Set<Long>> interviewsByApplication = new HashMap<>();
+    private final Map<Long, StudentRow> students = new HashMap<>();
+    private final StudentOwners owners = new StudentOwners();
+
+    private record JobRow(Long employerId, String title) {
+    }
+
+    private record ApplicationRow(Long id, Long jobId, Long studentId, Long resumeId,
+                                  JobApplication.Status status, LocalDateTime appliedAt) {
+    }
+
+    private record InterviewRow(Long applicationId, Interview.Status status, LocalDateTime scheduledTime) {
+    }
+
+    private record StudentRow(String name, String email, String phone, String major, Integer graduationYear,
+                              Long intentionId, String expectedPosition, EmploymentIntention.WorkType workType,
+                              List<String> cities) {
+    }
+
+    private record Key(Long employerId, Long studentId) {
+    }
+
+    /**
+     * @param searchText 参与关键字匹配的字段，已转为小写并用换行分隔
+     */
+    private record Candidate(Long studentId, Long latestResumeId, String candidateName, String email, String phone,
+                             String major, Integer graduationYear, String expectedPosition,
+                             EmploymentIntention.WorkType expectedWorkType, List<String> intentionCities,
+                             JobApplication.Status latestStatus, Interview.Status latestInterviewStatus,
+                             LocalDateTime lastAppliedAt, String latestJobTitle, int applicationCount,
+                             int interviewCount, String searchText) {
+    }
+
+    public EmployerTalentPoolServiceImpl(JobPostingService jobPostingService,
+                                         JobApplicationService jobApplicationService,
+                                         InterviewService interviewService,
+                                         SysUserService sysUserService,
+                                         StudentProfileService studentProfileService,
+                                         EmploymentIntentionService employmentIntentionService,
+                                         EmploymentIntentionCityService intentionCityService,
+                                         StudentFeatureLoader studentFeatureLoader,
+                                         CandidateMatchService candidateMatchService) {
+        super(WATCHED_TABLES);
+        this.jobPostingService = jobPostingService;
+        this.jobApplicationService = jobApplicationService;
+        this.interviewService = interviewService;
+        this.sysUserService = sysUserService;
+        this.studentProfileService = studentProfileService;
+        this.employmentIntentionService = employmentIntentionService;
+        this.intentionCityService = intentionCityService;
+        this.studentFeatureLoader = studentFeatureLoader;
+        this.candidateMatchService = candidateMatchService;
+    }
+
+    @Override
+    public EmployerTalentResponse search(Long employerId, String keyword, JobApplication.Status status,
+                                         Interview.Status interviewStatus, JobPosting matchPosting,
+                                         long page, long size) {
+        ensureReady();
+        Collection<Candidate> pool = pools.getOrDefault(employerId, Map.of()).values();
+        String keywordFilter = keyword == null ? null : keyword.trim().toLowerCase(Locale.ROOT);
+        List<Candidate> filtered = pool.stream()
+                .filter(candidate -> keywordFilter == null || keywordFilter.isEmpty()
+                        || candidate.searchText().contains(keywordFilter))
+                .filter(candidate -> status == null || candidate.latestStatus() == status)
+                .filter(candidate -> interviewStatus == null || candidate.latestInterviewStatus() == interviewStatus)
+                .collect(Collectors.toList());
+
+        Summary summary = new Summary();
+        summary.setTotalCandidates(pool.size());
+        summary.setFilteredCandidates(filtered.size());
+        for (Candidate candidate : filtered) {
+            if (candidate.latestStatus() == JobApplication.Status.SUBMITTED
+                    || candidate.latestStatus() == JobApplication.Status.REVIEWING) {
+                summary.setPendingReviewCount(summary.getPendingReviewCount() + 1);
+            }
+            if (candidate.latestInterviewStatus() == Interview.Status.SCHEDULED) {
+                summary.setInterviewingCount(summary.getInterviewingCount() + 1);
+            }
+            if (candidate.latestStatus() == JobApplication.Status.OFFERED) {
+                summary.setOfferCount(summary.getOfferCount() + 1);
+            }
+        }
+
+        Map<Long, CandidateMatchService.CandidateMatch> matches = matchPosting == null || filtered.isEmpty()
+                ? Map.of()
+                : candidateMatchService.score(matchPosting, filtered.stream().map(Candidate::studentId).toList());
+        Comparator<Candidate> order = ORDER;
+        if (matchPosting != null) {
+            order = Comparator.<Candidate, Double>comparing(candidate -> Optional.ofNullable(matches.get(candidate.studentId()))
+                            .map(CandidateMatchService.CandidateMatch::score)
+                            .orElse(null), Comparator.nullsLast(Comparator.reverseOrder()))
+                    .thenComparing(ORDER);
+        }
+        filtered.sort(order);
+
+        long pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        long current = Math.max(1, page);
+        int from = (int) Math.min(filtered.size(), (current - 1) * pageSize);
+        int to = (int) Math.min(filtered.size(), from + pageSize);
+        List<TalentCandidate> records = new ArrayList<>();
+        for (Candidate candidate : filtered.subList(from, to)) {
+            records.add(toTalentCandidate(candidate, matches.get(candidate.studentId())));
+        }
+
+        EmployerTalentResponse response = new EmployerTalentResponse();
+        response.setSummary(summary);
+        response.setCandidates(records);
+        response.setPage(current);
+        response.setSize(pageSize);
+        return response;
+    }
+
+    @Scheduled(fixedDelayString = "${app.talent-pool.rebuild-interval:1h}")
+    public void scheduledRebuild() {
+        rebuildQuietly();
+    }
+
+    @Override
+    protected void reload() {
+        // 内部状态就地清空后重新加载；查询只读 pools，最后一次性替换，重建期间仍返回旧的候选人快照。
+        // 中途失败时内部状态不完整，标记为未就绪，由下一次查询或增量任务重新全量构建
+        Map<Long, Map<Long, Candidate>> fresh = new HashMap<>();
+        try {
+            jobs.clear();
+            applications.clear();
+            applicationsByJob.clear();
+            applicationsByStudent.clear();
+            interviews.clear();
+            interviewsByApplication.clear();
+            students.clear();
+            owners.clear();
+
+            jobPostingService.lambdaQuery()
+                    .select(JobPosting::getId, JobPosting::getEmployerId, JobPosting::getTitle)
+                    .list()
+                    .forEach(this::putJob);
+            jobApplicationService.lambdaQuery()
+                    .select(JobApplication::getId, JobApplication::getJobId, JobApplication::getStudentId,
+                            JobApplication::getResumeId, JobApplication::getStatus, JobApplication::getAppliedAt)
+                    .list()
+                    .forEach(this::putApplication);
+            interviewService.lambdaQuery()
+                    .select(Interview::getId, Interview::getApplicationId, Interview::getStatus, Interview::getScheduledTime)
+                    .list()
+                    .forEach(this::putInterview);
+            loadStudents(applicationsByStudent.keySet()).forEach(this::putStudent);
+
+            Set<Key> keys = new HashSet<>();
+            applications.keySet().forEach(applicationId -> addKey(keys, applicationId));
+            for (Key key : keys) {
+                Candidate candidate = summarize(key);
+                if (candidate != null) {
+                    fresh.computeIfAbsent(key.employerId(), id -> new ConcurrentHashMap<>()).put(key.studentId(), candidate);
+                }
+            }
+        } catch (RuntimeException e) {
+            markStale();
+            throw e;
+        }
+        pools.putAll(fresh);
+        pools.keySet().retainAll(fresh.keySet());
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${app.talent-pool.apply-interval:1s}")
+    public void applyPendingChanges() {
+        super.applyPendingChanges();
+    }
+
+    @Override
+    protected void apply(Changes changes) {
+        refresh(changes.of("job_posting"), changes.of("job_application"), changes.of("interview"),
+                changes.of(STUDENT_TABLES), changes.of(INTENTION_TABLES));
+    }
+
+    private void refresh(Set<Long> jobIds, Set<Long> applicationIds, Set<Long> interviewIds,
+                         Set<Long> studentIds, Set<Long> intentionIds) {
+        Map<Long, JobPosting> loadedJobs = IdBatches.load(jobIds, jobPostingService::listByIds, JobPosting::getId);
+        Map<Long, JobApplication> loadedApplications = IdBatches.load(applicationIds, jobApplicationService::listByIds,
+                JobApplication::getId);
+        Map<Long, Interview> loadedInterviews = IdBatches.load(interviewIds, interviewService::listByIds, Interview::getId);
+        studentIds.addAll(studentFeatureLoader.owners(owners, intentionIds, List.of()));
+
+        // 先按变更前的状态记下受影响的组合，再按变更后的状态补上，新旧归属都会刷新
+        Set<Long> touched = new HashSet<>(applicationIds);
+        for (Long jobId : jobIds) {
+            touched.addAll(applicationsByJob.getOrDefault(jobId, Set.of()));
+        }
+        for (Long interviewId : interviewIds) {
+            InterviewRow previous = interviews.get(interviewId);
+            if (previous != null && previous.applicationId() != null) {
+                touched.add(previous.applicationId());
+            }
+            Interview loaded = loadedInterviews.get(interviewId);
+            if (loaded != null && loaded.getApplicationId() != null) {
+                touched.add(loaded.getApplicationId());
+            }
+        }
+        Set<Long> affectedStudents = new HashSet<>(studentIds);
+        Set<Key> keys = new HashSet<>();
+        for (Long applicationId : touched) {
+            addKey(keys, applicationId);
+            ApplicationRow previous = applications.get(applicationId);
+            if (previous != null && previous.studentId() != null) {
+                affectedStudents.add(previous.studentId());
+            }
+        }
+
+        for (Long jobId : jobIds) {
+            jobs.remove(jobId);
+            Optional.ofNullable(loadedJobs.get(jobId)).ifPresent(this::putJob);
+        }
+        for (Long applicationId : applicationIds) {
+            removeApplication(applicationId);
+            Optional.ofNullable(loadedApplications.get(applicationId)).ifPresent(this::putApplication);
+        }
+        for (Long interviewId : interviewIds) {
+            removeInterview(interviewId);
+            Optional.ofNullable(loadedInterviews.get(interviewId)).ifPresent(this::putInterview);
+        }
+
+        for (JobApplication application : loadedApplications.values()) {
+            if (application.getStudentId() != null && !students.containsKey(application.getStudentId())) {
+                studentIds.add(application.getStudentId());
+            }
+        }
+        Set<Long> reload = studentIds.stream()
+                .filter(applicationsByStudent::containsKey)
+                .collect(Collectors.toSet());
+        Map<Long, StudentRow> loadedStudents = loadStudents(reload);
+        affectedStudents.addAll(studentIds);
+        for (Long studentId : affectedStudents) {
+            StudentRow previous = students.remove(studentId);
+            if (previous != null) {
+                owners.unregister(previous.intentionId(), List.of());
+            }
+            StudentRow loaded = reload.contains(studentId) ? loadedStudents.get(studentId) : previous;
+            if (loaded != null && applicationsByStudent.containsKey(studentId)) {
+                putStudent(studentId, loaded);
+            }
+        }
+
+        touched.forEach(applicationId -> addKey(keys, applicationId));
+        for (Long studentId : studentIds) {
+            applicationsByStudent.getOrDefault(studentId, Set.of()).forEach(applicationId -> addKey(keys, applicationId));
+        }
+        for (Key key : keys) {
+            Candidate candidate = summarize(key);
+            if (candidate == null) {
+                Map<Long, Candidate> pool = pools.get(key.employerId());
+                if (pool != null) {
+                    pool.remove(key.studentId());
+                }
+            } else {
+                pools.computeIfAbsent(key.employerId(), id -> new ConcurrentHashMap<>()).put(key.studentId(), candidate);
+            }
+        }
+    }
+
+    /**
+     * 汇总某个学生在某个企业下的全部投递与面试；已无投递时返回 null
+     */
+    private Candidate summarize(Key key) {
+        List<ApplicationRow> studentApplications = new ArrayList<>();
+        for (Long applicationId : applicationsByStudent.getOrDefault(key.studentId(), Set.of())) {
+            ApplicationRow application = applications.get(applicationId);
+            JobRow job = jobs.get(application.jobId());
+            if (job != null && Objects.equals(job.employerId(), key.employerId())) {
+                studentApplications.add(application);
+            }
+        }
+        if (studentApplications.isEmpty()) {
+            return null;
+        }
+        studentApplications.sort(Comparator.comparing(ApplicationRow::appliedAt, Comparator.nullsLast(Comparator.reverseOrder()))
+                .thenComparing(ApplicationRow::id, Comparator.reverseOrder()));
+        ApplicationRow latest = studentApplications.get(0);
+
+        InterviewRow latestInterview = null;
+        int interviewCount = 0;
+        Comparator<InterviewRow> interviewOrder = Comparator.comparing(InterviewRow::scheduledTime,
+                Comparator.nullsFirst(Comparator.naturalOrder()));
+        for (ApplicationRow application : studentApplications) {
+            for (Long interviewId : interviewsByApplication.getOrDefault(application.id(), Set.of())) {
+                InterviewRow interview = interviews.get(interviewId);
+                interviewCount++;
+                if (latestInterview == null || interviewOrder.compare(interview, latestInterview) > 0) {
+                    latestInterview = interview;
+                }
+            }
+        }
+
+        StudentRow student = students.get(key.studentId());
+        JobRow latestJob = jobs.get(latest.jobId());
+        String name = student == null ? "候选人" : student.name();
+        List<String> cities = student == null ? List.of() : student.cities();
+        List<String> searchFields = new ArrayList<>();
+        searchFields.add(name);
+        searchFields.add(latestJob.title());
+        if (student != null) {
+            searchFields.addAll(List.of(Objects.toString(student.major(), ""),
+                    Objects.toString(student.expectedPosition(), ""),
+                    Objects.toString(student.email(), ""),
+                    Objects.toString(student.phone(), "")));
+            searchFields.addAll(cities);
+        }
+        String searchText = searchFields.stream()
+                .filter(Objects::nonNull)
+                .map(field -> field.toLowerCase(Locale.ROOT))
+                .collect(Collectors.joining("\n"));
+
+        return new Candidate(key.studentId(), latest.resumeId(), name,
+                student == null ? null : student.email(),
+                student == null ? null : student.phone(),
+                student == null ? null : student.major(),
+                student == null ? null : student.graduationYear(),
+                student == null ? null : student.expectedPosition(),
+                student == null ? null : student.workType(),
+                cities, latest.status(), latestInterview == null ? null : latestInterview.status(),
+                latest.appliedAt(), latestJob.title(), studentApplications.size(), interviewCount, searchText);
+    }
+
+    private void addKey(Set<Key> keys, Long applicationId) {
+        ApplicationRow application = applications.get(applicationId);
+        if (application == null || application.studentId() == null) {
+            return;
+        }
+        JobRow job = jobs.get(application.jobId());
+        if (job != null && job.employerId() != null) {
+            keys.add(new Key(job.employerId(), application.studentId()));
+        }
+    }
+
+    private void putJob(JobPosting posting) {
+        jobs.put(posting.getId(), new JobRow(posting.getEmployerId(), posting.getTitle()));
+    }
+
+    private void putApplication(JobApplication application) {
+        applications.put(application.getId(), new ApplicationRow(application.getId(), application.getJobId(),
+                application.getStudentId(), application.getResumeId(), application.getStatus(), application.getAppliedAt()));
+        applicationsByJob.computeIfAbsent(application.getJobId(), key -> new HashSet<>()).add(application.getId());
+        if (application.getStudentId() != null) {
+            applicationsByStudent.computeIfAbsent(application.getStudentId(), key -> new HashSet<>()).add(application.getId());
+        }
+    }
+
+    private void removeApplication(Long applicationId) {
+        ApplicationRow previous = applications.remove(applicationId);
+        if (previous == null) {
+            return;
+        }
+        removeFromIndex(applicationsByJob, previous.jobId(), applicationId);
+        removeFromIndex(applicationsByStudent, previous.studentId(), applicationId);
+    }
+
+    private void putInterview(Interview interview) {
+        interviews.put(interview.getId(), new InterviewRow(interview.getApplicationId(), interview.getStatus(),
+                interview.getScheduledTime()));
+        if (interview.getApplicationId() != null) {
+            interviewsByApplication.computeIfAbsent(interview.getApplicationId(), key -> new HashSet<>())
+                    .add(interview.getId());
+        }
+    }
+
+    private void removeInterview(Long interviewId) {
+        InterviewRow previous = interviews.remove(interviewId);
+        if (previous != null) {
+            removeFromIndex(interviewsByApplication, previous.applicationId(), interviewId);
+        }
+    }
+
+    private void putStudent(Long studentId, StudentRow student) {
+        students.put(studentId, student);
+        owners.register(studentId, student.intentionId(), List.of());
+    }
+
+    private static void removeFromIndex(Map<Long, Set<Long>> index, Long key, Long id) {
+        if (key == null) {
+            return;
+        }
+        Set<Long> ids = index.get(key);
+        if (ids != null) {
+            ids.remove(id);
+            if (ids.isEmpty()) {
+                index.remove(key);
+            }
+        }
+    }
+
+    /**
+     * 按学生汇总账号、档案、就业意向与意向城市
+     */
+    private Map<Long, StudentRow> loadStudents(Collection<Long> studentIds) {
+        Map<Long, StudentRow> result = new HashMap<>();
+        for (List<Long> batch : IdBatches.partition(studentIds)) {
+            Map<Long, SysUser> users = IdBatches.load(batch, sysUserService::listByIds, SysUser::getId);
+            Map<Long, StudentProfile> profiles = IdBatches.load(batch, studentProfileService::listByIds, StudentProfile::getId);
+            Map<Long, EmploymentIntention> intentions = new HashMap<>();
+            for (EmploymentIntention intention : employmentIntentionService.lambdaQuery()
+                    .in(EmploymentIntention::getStudentId, batch)
+                    .list()) {
+                intentions.putIfAbsent(intention.getStudentId(), intention);
+            }
+            Map<Long, List<String>> citiesByIntention = intentionCityService.findCitiesByIntentionIds(
+                    intentions.values().stream().map(EmploymentIntention::getId).toList());
+            for (Long studentId : batch) {
+                SysUser user = users.get(studentId);
+                StudentProfile profile = profiles.get(studentId);
+                EmploymentIntention intention = intentions.get(studentId);
+                result.put(studentId, new StudentRow(
+                        user == null ? "候选人" : Optional.ofNullable(user.getFullName()).orElse(user.getUsername()),
+                        user == null ? null : user.getEmail(),
+                        user == null ? null : user.getPhone(),
+                        profile == null ? null : profile.getMajor(),
+                        profile == null ? null : profile.getGraduationYear(),
+                        intention == null ? null : intention.getId(),
+                        intention == null ? null : intention.getExpectedPosition(),
+                        intention == null ? null : intention.getWorkType(),
+                        intention == null ? List.of() : List.copyOf(citiesByIntention.getOrDefault(intention.getId(), List.of()))));
+            }
+        }
+        return result;
+    }
+
+    private static TalentCandidate toTalentCandidate(Candidate candidate, CandidateMatchService.CandidateMatch match) {
+        TalentCandidate result = new TalentCandidate();
+        result.setStudentId(candidate.studentId());
+        result.setLatestResumeId(candidate.latestResumeId());
+        result.setCandidateName(candidate.candidateName());
+        result.setEmail(candidate.email());
+        result.setPhone(candidate.phone());
+        result.setMajor(candidate.major());
+        result.setGraduationYear(candidate.graduationYear());
+        result.setExpectedPosition(candidate.expectedPosition());
+        result.setExpectedWorkType(candidate.expectedWorkType());
+        result.setIntentionCities(new ArrayList<>(candidate.intentionCities()));
+        result.setLatestStatus(candidate.latestStatus());
+        result.setLatestInterviewStatus(candidate.latestInterviewStatus());
+        result.setLastAppliedAt(candidate.lastAppliedAt());
+        result.setLatestJobTitle(candidate.latestJobTitle());
+        result.setApplicationCount(candidate.applicationCount());
+        result.setInterviewCount(candidate.interviewCount());
+        if (match != null) {
+            result.setMatchScore(Math.round(match.score() * 100) / 100.0);
+            result.setMatchedSkills(match.matchedSkills());
+        }
+        return result;
+    }
+}
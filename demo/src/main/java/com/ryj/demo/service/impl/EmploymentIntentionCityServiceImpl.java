@@ -6,8 +6,13 @@ import com.ryj.demo.service.EmploymentIntentionCityService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StringUtils;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 @Service
 @RequiredArgsConstructor
@@ -20,6 +25,20 @@ public class EmploymentIntentionCityServiceImpl implements EmploymentIntentionCi
         return cityMapper.findByIntentionId(intentionId);
     }
 
+    @Override
+    public Map<Long, List<String>> findCitiesByIntentionIds(Collection<Long> intentionIds) {
+        Map<Long, List<String>> result = new HashMap<>();
+        if (intentionIds.isEmpty()) {
+            return result;
+        }
+        for (EmploymentIntentionCity city : cityMapper.findByIntentionIds(intentionIds)) {
+            if (StringUtils.hasText(city.getCity())) {
+                result.computeIfAbsent(city.getIntentionId(), key -> new ArrayList<>()).add(city.getCity());
+            }
+        }
+        return result;
+    }
+
     @Override
     @Transactional
     public void replaceCities(Long intentionId, List<String> cities) {
@@ -1,11 +1,226 @@
 package com.ryj.demo.service.impl;
 
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
+import com.ryj.demo.common.IntervalIndex;
+import com.ryj.demo.common.StateConflictException;
+import com.ryj.demo.dto.EmployerInterviewBatchRequest.Slot;
+import com.ryj.demo.dto.EmployerInterviewBatchResponse;
+import com.ryj.demo.dto.EmployerInterviewBatchResponse.RejectedSlot;
+import com.ryj.demo.dto.EmployerOverviewRows.OwnedApplicationRow;
+import com.ryj.demo.dto.EmployerOverviewRows.ScheduledInterviewRow;
 import com.ryj.demo.entity.Interview;
+import com.ryj.demo.mapper.EmployerOverviewMapper;
 import com.ryj.demo.mapper.InterviewMapper;
 import com.ryj.demo.service.InterviewService;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StringUtils;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 public class InterviewServiceImpl extends ServiceImpl<InterviewMapper, Interview> implements InterviewService {
+
+    private static final int INSERT_BATCH_SIZE = 200;
+
+    private final EmployerOverviewMapper employerOverviewMapper;
+    /**
+     * 面试记录只有开始时间，每场面试按固定时长占用候选人与面试地点
+     */
+    private final Duration slotLength;
+
+    public InterviewServiceImpl(EmployerOverviewMapper employerOverviewMapper,
+                                @Value("${app.interview.slot-length:1h}") Duration slotLength) {
+        this.employerOverviewMapper = employerOverviewMapper;
+        this.slotLength = slotLength;
+    }
+
+    /**
+     * 申请归属要先查出来才知道锁哪些候选人，锁之后的查询必须看到最新提交的面试，因此用读已提交隔离级别
+     */
+    @Override
+    @Transactional(isolation = Isolation.READ_COMMITTED)
+    public EmployerInterviewBatchResponse scheduleBatch(Long employerId, List<Slot> slots) {
+        EmployerInterviewBatchResponse response = new EmployerInterviewBatchResponse();
+        if (slots == null || slots.isEmpty()) {
+            return response;
+        }
+        Set<Long> applicationIds = slots.stream()
+                .map(Slot::getApplicationId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        Map<Long, OwnedApplicationRow> owned = applicationIds.isEmpty() ? Map.of()
+                : employerOverviewMapper.selectOwnedApplications(employerId, applicationIds).stream()
+                .collect(Collectors.toMap(OwnedApplicationRow::getId, Function.identity()));
+        Set<Long> studentIds = owned.values().stream()
+                .map(OwnedApplicationRow::getStudentId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        lockSchedules(employerId, studentIds);
+        LocalDateTime earliest = slots.stream().map(Slot::getScheduledTime).filter(Objects::nonNull)
+                .min(Comparator.naturalOrder()).orElse(null);
+        LocalDateTime latest = slots.stream().map(Slot::getScheduledTime).filter(Objects::nonNull)
+                .max(Comparator.naturalOrder()).orElse(null);
+        Schedule schedule = earliest == null ? new Schedule()
+                : loadSchedule(employerId, studentIds, earliest, latest, null);
+
+        List<Interview> accepted = new ArrayList<>();
+        List<RejectedSlot> rejected = new ArrayList<>();
+        for (int i = 0; i < slots.size(); i++) {
+            Slot slot = slots.get(i);
+            OwnedApplicationRow application = owned.get(slot.getApplicationId());
+            String reason;
+            if (application == null) {
+                reason = "申请不存在或不属于当前企业";
+            } else if (slot.getScheduledTime() == null) {
+                reason = "面试时间不能为空";
+            } else {
+                reason = schedule.conflict(application.getStudentId(), slot.getScheduledTime(), slot.getLocation());
+            }
+            if (reason != null) {
+                rejected.add(rejectedSlot(i, slot, reason));
+                continue;
+            }
+            schedule.add(application.getStudentId(), slot.getScheduledTime(), slot.getLocation());
+            Interview interview = new Interview();
+            interview.setJobId(application.getJobId());
+            interview.setApplicationId(application.getId());
+            interview.setScheduledTime(slot.getScheduledTime());
+            interview.setLocation(trimToNull(slot.getLocation()));
+            interview.setMeetingLink(trimToNull(slot.getMeetingLink()));
+            interview.setStatus(Interview.Status.SCHEDULED);
+            accepted.add(interview);
+        }
+        if (!accepted.isEmpty()) {
+            saveBatch(accepted, INSERT_BATCH_SIZE);
+            response.setScheduled(employerOverviewMapper.selectInterviewOverviewsByIds(
+                    accepted.stream().map(Interview::getId).toList()));
+        }
+        response.setRejected(rejected);
+        return response;
+    }
+
+    @Override
+    public String findConflict(Long employerId, Long studentId, LocalDateTime scheduledTime, String location,
+                               Long excludeInterviewId) {
+        Set<Long> studentIds = studentId == null ? Set.of() : Set.of(studentId);
+        return loadSchedule(employerId, studentIds, scheduledTime, scheduledTime, excludeInterviewId)
+                .conflict(studentId, scheduledTime, location);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void lockSchedules(Long employerId, Collection<Long> studentIds) {
+        if (employerId != null) {
+            baseMapper.lockEmployer(employerId);
+        }
+        if (studentIds != null && !studentIds.isEmpty()) {
+            baseMapper.lockStudents(new TreeSet<>(studentIds));
+        }
+    }
+
+    @Override
+    @Transactional
+    public void saveChecked(Long employerId, Long studentId, Interview interview) {
+        if (interview.getStatus() == Interview.Status.SCHEDULED) {
+            lockSchedules(employerId, studentId == null ? Set.of() : Set.of(studentId));
+            String conflict = findConflict(employerId, studentId, interview.getScheduledTime(),
+                    interview.getLocation(), interview.getId());
+            if (conflict != null) {
+                throw new IllegalArgumentException(conflict);
+            }
+        }
+        if (interview.getId() == null) {
+            save(interview);
+        } else if (!updateById(interview)) {
+            throw new StateConflictException("面试安排已被他人修改，请刷新后重试");
+        }
+    }
+
+    /**
+     * 取出可能与 [earliest, latest + 时长) 内的面试重叠的已安排面试，建成按候选人、按本企业面试地点的区间索引
+     */
+    private Schedule loadSchedule(Long employerId, Collection<Long> studentIds, LocalDateTime earliest,
+                                  LocalDateTime latest, Long excludeInterviewId) {
+        Schedule schedule = new Schedule();
+        List<ScheduledInterviewRow> rows = employerOverviewMapper.selectScheduledInterviews(employerId,
+                new HashSet<>(studentIds), earliest.minus(slotLength), latest.plus(slotLength));
+        for (ScheduledInterviewRow row : rows) {
+            if (Objects.equals(row.getId(), excludeInterviewId)) {
+                continue;
+            }
+            schedule.add(row.getStudentId(), row.getScheduledTime(),
+                    Objects.equals(row.getEmployerId(), employerId) ? row.getLocation() : null);
+        }
+        return schedule;
+    }
+
+    private RejectedSlot rejectedSlot(int index, Slot slot, String reason) {
+        RejectedSlot rejected = new RejectedSlot();
+        rejected.setIndex(index);
+        rejected.setApplicationId(slot.getApplicationId());
+        rejected.setScheduledTime(slot.getScheduledTime());
+        rejected.setReason(reason);
+        return rejected;
+    }
+
+    private static String trimToNull(String value) {
+        return StringUtils.hasText(value) ? value.trim() : null;
+    }
+
+    /**
+     * 线下面试地点忽略首尾空白与大小写；线上面试不占用地点
+     */
+    private static String roomKey(String location) {
+        return StringUtils.hasText(location) ? location.trim().toLowerCase(Locale.ROOT) : null;
+    }
+
+    /**
+     * 一次冲突检测用到的区间索引：候选人的全部已安排面试，以及本企业各面试地点的已安排面试
+     */
+    private final class Schedule {
+
+        private final IntervalIndex<Long> students = new IntervalIndex<>();
+        private final IntervalIndex<String> rooms = new IntervalIndex<>();
+
+        void add(Long studentId, LocalDateTime start, String location) {
+            LocalDateTime end = start.plus(slotLength);
+            if (studentId != null) {
+                students.add(studentId, start, end);
+            }
+            String room = roomKey(location);
+            if (room != null) {
+                rooms.add(room, start, end);
+            }
+        }
+
+        String conflict(Long studentId, LocalDateTime start, String location) {
+            LocalDateTime end = start.plus(slotLength);
+            if (studentId != null && students.overlaps(studentId, start, end)) {
+                return "候选人在该时段已有面试安排";
+            }
+            String room = roomKey(location);
+            if (room != null && rooms.overlaps(room, start, end)) {
+                return "面试地点在该时段已被占用";
+            }
+            return null;
+        }
+    }
 }
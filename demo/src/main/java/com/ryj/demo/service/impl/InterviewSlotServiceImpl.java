@@ -0,0 +1,253 @@
+package com.ryj.demo.service.impl;
+
+import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
+import com.ryj.demo.entity.Interview;
+import com.ryj.demo.entity.InterviewSlot;
+import com.ryj.demo.entity.JobApplication;
+import com.ryj.demo.mapper.InterviewSlotMapper;
+import com.ryj.demo.service.InterviewService;
+import com.ryj.demo.service.InterviewSlotService;
+import com.ryj.demo.service.JobApplicationService;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Service
+public class InterviewSlotServiceImpl extends ServiceImpl<InterviewSlotMapper, InterviewSlot> implements InterviewSlotService {
+
+    /**
+     * 时段占用状态：FREE 为空闲，REMOVED 为正在或已经删除，其余为占用该时段的申请ID
+     */
+    private static final long FREE = 0L;
+    private static final long REMOVED = -1L;
+    private static final int INSERT_BATCH_SIZE = 200;
+
+    private final InterviewService interviewService;
+    private final JobApplicationService jobApplicationService;
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * 时段ID -> 时段快照与占用状态，首次访问时从数据库加载，时段开始后定期清理
+     */
+    private final Map<Long, SlotState> slots = new ConcurrentHashMap<>();
+    /**
+     * 申请ID -> 已占用的时段ID，保证一个申请同一时刻只争抢一个时段
+     */
+    private final Map<Long, Long> applicationSlots = new ConcurrentHashMap<>();
+
+    private record SlotState(InterviewSlot slot, AtomicLong holder) {
+    }
+
+    public InterviewSlotServiceImpl(InterviewService interviewService,
+                                    JobApplicationService jobApplicationService,
+                                    TransactionTemplate transactionTemplate) {
+        this.interviewService = interviewService;
+        this.jobApplicationService = jobApplicationService;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    @Override
+    public List<InterviewSlot> publish(Long jobId, List<LocalDateTime> startTimes, String location, String meetingLink) {
+        LocalDateTime now = LocalDateTime.now();
+        TreeSet<LocalDateTime> requested = new TreeSet<>();
+        for (LocalDateTime startTime : startTimes) {
+            if (startTime == null) {
+                continue;
+            }
+            if (!startTime.isAfter(now)) {
+                throw new IllegalArgumentException("面试时段不能早于当前时间");
+            }
+            requested.add(startTime);
+        }
+        if (requested.isEmpty()) {
+            return List.of();
+        }
+        Set<LocalDateTime> existing = new HashSet<>();
+        for (InterviewSlot slot : lambdaQuery()
+                .eq(InterviewSlot::getJobId, jobId)
+                .between(InterviewSlot::getStartTime, requested.first(), requested.last())
+                .list()) {
+            existing.add(slot.getStartTime());
+        }
+        List<InterviewSlot> created = new ArrayList<>();
+        for (LocalDateTime startTime : requested) {
+            if (existing.contains(startTime)) {
+                continue;
+            }
+            InterviewSlot slot = new InterviewSlot();
+            slot.setJobId(jobId);
+            slot.setStartTime(startTime);
+            slot.setLocation(StringUtils.hasText(location) ? location.trim() : null);
+            slot.setMeetingLink(StringUtils.hasText(meetingLink) ? meetingLink.trim() : null);
+            created.add(slot);
+        }
+        if (!created.isEmpty()) {
+            saveBatch(created, INSERT_BATCH_SIZE);
+            for (InterviewSlot slot : created) {
+                slots.put(slot.getId(), new SlotState(slot, new AtomicLong(FREE)));
+            }
+        }
+        return created;
+    }
+
+    @Override
+    public List<InterviewSlot> listByJob(Long jobId, boolean openOnly) {
+        return lambdaQuery()
+                .eq(InterviewSlot::getJobId, jobId)
+                .isNull(openOnly, InterviewSlot::getApplicationId)
+                .gt(openOnly, InterviewSlot::getStartTime, LocalDateTime.now())
+                .orderByAsc(InterviewSlot::getStartTime)
+                .orderByAsc(InterviewSlot::getId)
+                .list();
+    }
+
+    @Override
+    public Interview claim(Long slotId, Long studentId, Long applicationId) {
+        SlotState state = stateOf(slotId);
+        if (state == null) {
+            throw new IllegalArgumentException("面试时段不存在");
+        }
+        InterviewSlot slot = state.slot();
+        // 已被占用的时段直接拒绝，抢占高峰时绝大多数请求在这里返回，不触达数据库
+        if (state.holder().get() != FREE) {
+            throw new IllegalArgumentException("该时段已被预约");
+        }
+        if (!slot.getStartTime().isAfter(LocalDateTime.now())) {
+            throw new IllegalArgumentException("该时段已开始，无法预约");
+        }
+        JobApplication application = jobApplicationService.getById(applicationId);
+        if (application == null || !Objects.equals(application.getStudentId(), studentId)
+                || !Objects.equals(application.getJobId(), slot.getJobId())) {
+            throw new IllegalArgumentException("申请与面试时段不匹配");
+        }
+        if (applicationSlots.putIfAbsent(applicationId, slotId) != null) {
+            throw new IllegalArgumentException("该申请已预约过面试时段");
+        }
+        if (!state.holder().compareAndSet(FREE, applicationId)) {
+            applicationSlots.remove(applicationId, slotId);
+            throw new IllegalArgumentException("该时段已被预约");
+        }
+        try {
+            return transactionTemplate.execute(status -> book(slot, application));
+        } catch (RuntimeException e) {
+            applicationSlots.remove(applicationId, slotId);
+            // 落库失败时内存状态不可信，丢弃后下次访问重新从数据库加载
+            slots.remove(slotId, state);
+            if (e instanceof DuplicateKeyException) {
+                throw new IllegalArgumentException("该申请已预约过面试时段");
+            }
+            throw e;
+        }
+    }
+
+    @Override
+    public boolean removeFreeSlot(Long slotId) {
+        SlotState state = stateOf(slotId);
+        if (state == null) {
+            return false;
+        }
+        if (!state.holder().compareAndSet(FREE, REMOVED)) {
+            if (state.holder().get() == REMOVED) {
+                return false;
+            }
+            throw new IllegalArgumentException("已被预约的时段不能删除");
+        }
+        try {
+            if (baseMapper.deleteIfFree(slotId) == 0) {
+                throw new IllegalArgumentException("已被预约的时段不能删除");
+            }
+            return true;
+        } finally {
+            slots.remove(slotId, state);
+        }
+    }
+
+    @Override
+    public void removeByJob(Long jobId) {
+        if (lambdaQuery().eq(InterviewSlot::getJobId, jobId).isNotNull(InterviewSlot::getApplicationId).count() > 0) {
+            throw new IllegalArgumentException("岗位已有被预约的面试时段，不能删除");
+        }
+        List<SlotState> removing = new ArrayList<>();
+        for (SlotState state : slots.values()) {
+            if (Objects.equals(state.slot().getJobId(), jobId) && state.holder().compareAndSet(FREE, REMOVED)) {
+                removing.add(state);
+            }
+        }
+        try {
+            baseMapper.deleteFreeByJob(jobId);
+        } finally {
+            removing.forEach(state -> slots.remove(state.slot().getId(), state));
+        }
+    }
+
+    @Override
+    public void release(Long interviewId) {
+        InterviewSlot booked = lambdaQuery().eq(InterviewSlot::getInterviewId, interviewId).one();
+        if (booked == null || baseMapper.release(booked.getId(), interviewId) == 0) {
+            return;
+        }
+        Long applicationId = booked.getApplicationId();
+        SlotState state = slots.get(booked.getId());
+        if (state != null && applicationId != null) {
+            state.holder().compareAndSet(applicationId, FREE);
+        }
+        if (applicationId != null) {
+            applicationSlots.remove(applicationId, booked.getId());
+        }
+    }
+
+    /**
+     * 已开始的时段不再接受预约，连同占用它的申请一起从内存中清理
+     */
+    @Scheduled(fixedDelayString = "${app.interview-slot.evict-interval:10m}")
+    public void evictStartedSlots() {
+        LocalDateTime now = LocalDateTime.now();
+        slots.values().removeIf(state -> !state.slot().getStartTime().isAfter(now));
+        applicationSlots.values().removeIf(slotId -> !slots.containsKey(slotId));
+    }
+
+    /**
+     * 先锁候选人日程再检测冲突，与企业直接安排面试的路径互斥；时段本身不属于企业面试地点，不锁企业
+     */
+    private Interview book(InterviewSlot slot, JobApplication application) {
+        interviewService.lockSchedules(null, Set.of(application.getStudentId()));
+        String conflict = interviewService.findConflict(null, application.getStudentId(), slot.getStartTime(), null, null);
+        if (conflict != null) {
+            throw new IllegalArgumentException(conflict);
+        }
+        if (baseMapper.claim(slot.getId(), application.getId(), LocalDateTime.now()) == 0) {
+            throw new IllegalArgumentException("该时段已被预约");
+        }
+        Interview interview = new Interview();
+        interview.setJobId(slot.getJobId());
+        interview.setApplicationId(application.getId());
+        interview.setScheduledTime(slot.getStartTime());
+        interview.setLocation(slot.getLocation());
+        interview.setMeetingLink(slot.getMeetingLink());
+        interview.setStatus(Interview.Status.SCHEDULED);
+        interviewService.save(interview);
+        baseMapper.attachInterview(slot.getId(), interview.getId());
+        return interview;
+    }
+
+    private SlotState stateOf(Long slotId) {
+        return slots.computeIfAbsent(slotId, id -> {
+            InterviewSlot slot = getById(id);
+            return slot == null ? null
+                    : new SlotState(slot, new AtomicLong(slot.getApplicationId() == null ? FREE : slot.getApplicationId()));
+        });
+    }
+}
@@ -0,0 +1,317 @@
+package com.ryj.demo.service.impl;
+
+import com.ryj.demo.common.CityNormalizer;
+import com.ryj.demo.common.IdBatches;
+import com.ryj.demo.common.IncrementalReadModel;
+import com.ryj.demo.common.NgramTokenizer;
+import com.ryj.demo.common.TableChangedEvent;
+import com.ryj.demo.common.TagIndex;
+import com.ryj.demo.entity.Employer;
+import com.ryj.demo.entity.EmploymentIntention;
+import com.ryj.demo.entity.JobPosting;
+import com.ryj.demo.entity.SystemNotification;
+import com.ryj.demo.service.EmployerService;
+import com.ryj.demo.service.EmploymentIntentionCityService;
+import com.ryj.demo.service.EmploymentIntentionService;
+import com.ryj.demo.service.JobAlertService;
+import com.ryj.demo.service.JobPostingService;
+import com.ryj.demo.service.SystemNotificationService;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * 每条填写了期望岗位的就业意向视为一个订阅，按期望岗位词元、意向城市、工作类型建立反向的 {@link TagIndex}。
+ * <p>
+ * 岗位开放（新建即开放，或由草稿/关闭改为开放）时，先用岗位名称的词元从索引取回可能匹配的订阅，
+ * 再按城市、工作类型收窄，最后校验期望岗位的全部词元都出现在岗位名称中，不扫描全部学生。
+ * 岗位与意向的变化都通过 {@link TableChangedEvent} 入队，由后台任务合并处理，提醒按批写入通知表，
+ * 发布岗位的请求不等待提醒发送。
+ */
+@Service
+public class JobAlertServiceImpl extends IncrementalReadModel implements JobAlertService {
+
+    private static final int NOTIFICATION_BATCH_SIZE = 500;
+    private static final int MAX_TITLE_LENGTH = 100;
+
+    private static final String POSITION_TAG = "position:";
+    private static final String CITY_TAG = "city:";
+    private static final String WORK_TYPE_TAG = "type:";
+    /**
+     * 没有限定城市/工作类型的订阅挂在通配标签下，与任何岗位的城市/工作类型都匹配
+     */
+    private static final String ANY_CITY = CITY_TAG + "*";
+    private static final String ANY_WORK_TYPE = WORK_TYPE_TAG + "*";
+
+    private static final Set<String> INTENTION_TABLES = Set.of("employment_intention", "employment_intention_city");
+    private static final Set<String> WATCHED_TABLES = Set.of("job_posting",
+            "employment_intention", "employment_intention_city");
+
+    private final JobPostingService jobPostingService;
+    private final EmployerService employerService;
+    private final EmploymentIntentionService employmentIntentionService;
+    private final EmploymentIntentionCityService intentionCityService;
+    private final SystemNotificationService notificationService;
+
+    /**
+     * 意向主键 -> 订阅
+     */
+    private final TagIndex<Subscription> subscriptions = new TagIndex<>();
+    /**
+     * 当前开放中的岗位，用来识别“新开放”；只在持有本对象锁的后台任务中读写
+     */
+    private final Set<Long> openJobs = new HashSet<>();
+    /**
+     * 是否已成功加载过一次开放岗位：首次加载时已经开放的岗位不提醒
+     */
+    private boolean openJobsLoaded;
+
+    /**
+     * @param positionTokens 期望岗位的查询词元，岗位名称需包含全部词元
+     * @param cities 归一后的意向城市，为空表示不限
+     * @param workType 为 null 表示不限
+     */
+    private record Subscription(Long studentId, List<String> positionTokens, Set<String> cities,
+                                JobPosting.WorkType workType) {
+    }
+
+    public JobAlertServiceImpl(JobPostingService jobPostingService,
+                               EmployerService employerService,
+                               EmploymentIntentionService employmentIntentionService,
+                               EmploymentIntentionCityService intentionCityService,
+                               SystemNotificationService notificationService) {
+        super(WATCHED_TABLES);
+        this.jobPostingService = jobPostingService;
+        this.employerService = employerService;
+        this.employmentIntentionService = employmentIntentionService;
+        this.intentionCityService = intentionCityService;
+        this.notificationService = notificationService;
+    }
+
+    @Override
+    public List<Long> matchSubscribers(JobPosting posting) {
+        Set<String> titleTokens = new HashSet<>(NgramTokenizer.tokenize(posting.getTitle()));
+        if (titleTokens.isEmpty()) {
+            return List.of();
+        }
+        Set<Long> intentionIds = subscriptions.anyOf(titleTokens.stream().map(token -> POSITION_TAG + token).toList());
+        if (intentionIds.isEmpty()) {
+            return List.of();
+        }
+        String city = CityNormalizer.normalize(posting.getLocation());
+        intentionIds.retainAll(subscriptions.anyOf(city == null ? List.of(ANY_CITY) : List.of(CITY_TAG + city, ANY_CITY)));
+        JobPosting.WorkType workType = posting.getWorkType();
+        intentionIds.retainAll(subscriptions.anyOf(workType == null
+                ? List.of(ANY_WORK_TYPE) : List.of(WORK_TYPE_TAG + workType.name(), ANY_WORK_TYPE)));
+
+        Set<Long> studentIds = new LinkedHashSet<>();
+        for (Long intentionId : intentionIds) {
+            Subscription subscription = subscriptions.get(intentionId);
+            if (subscription != null && titleTokens.containsAll(subscription.positionTokens())) {
+                studentIds.add(subscription.studentId());
+            }
+        }
+        return new ArrayList<>(studentIds);
+    }
+
+    @Scheduled(fixedDelayString = "${app.job-alert.rebuild-interval:1h}")
+    public void scheduledRebuild() {
+        rebuildQuietly();
+    }
+
+    @Override
+    protected void reload() {
+        Map<Long, Subscription> loaded = loadSubscriptions(employmentIntentionService.list());
+        Map<Long, Set<String>> tags = new HashMap<>();
+        loaded.forEach((intentionId, subscription) -> tags.put(intentionId, tags(subscription)));
+        subscriptions.replaceAll(loaded, tags);
+
+        Set<Long> currentlyOpen = jobPostingService.lambdaQuery()
+                .select(JobPosting::getId)
+                .eq(JobPosting::getStatus, JobPosting.Status.OPEN)
+                .list()
+                .stream()
+                .map(JobPosting::getId)
+                .collect(Collectors.toSet());
+        Set<Long> published = new HashSet<>(currentlyOpen);
+        published.removeAll(openJobs);
+        openJobs.clear();
+        openJobs.addAll(currentlyOpen);
+        // 启动时已经开放的岗位不再提醒；之后的全量校准中发现的新开放岗位说明对应事件被错过，补发提醒
+        if (openJobsLoaded && !published.isEmpty()) {
+            try {
+                sendAlerts(published);
+            } catch (RuntimeException e) {
+                openJobs.removeAll(published);
+                throw e;
+            }
+        }
+        openJobsLoaded = true;
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${app.job-alert.apply-interval:2s}")
+    public void applyPendingChanges() {
+        super.applyPendingChanges();
+    }
+
+    @Override
+    protected void apply(Changes changes) {
+        Set<Long> published = Set.of();
+        try {
+            // 先更新订阅，刚填写意向的学生也能收到同一批岗位的提醒
+            refreshSubscriptions(changes.of(INTENTION_TABLES));
+            published = refreshOpenJobs(changes.of("job_posting"));
+            sendAlerts(published);
+        } catch (RuntimeException e) {
+            // 提醒未能全部写入时把岗位退回“未开放”，由下一次全量校准补发（已写入的批次可能重复）
+            openJobs.removeAll(published);
+        }
+    }
+
+    /**
+     * @return 由非开放变为开放的岗位
+     */
+    private Set<Long> refreshOpenJobs(Set<Long> jobIds) {
+        Set<Long> published = new HashSet<>();
+        Set<Long> stillOpen = new HashSet<>();
+        for (JobPosting posting : IdBatches.list(jobIds, jobPostingService::listByIds)) {
+            if (posting.getStatus() == JobPosting.Status.OPEN) {
+                stillOpen.add(posting.getId());
+            }
+        }
+        for (Long jobId : jobIds) {
+            if (stillOpen.contains(jobId)) {
+                if (openJobs.add(jobId)) {
+                    published.add(jobId);
+                }
+            } else {
+                openJobs.remove(jobId);
+            }
+        }
+        return published;
+    }
+
+    private void refreshSubscriptions(Set<Long> intentionIds) {
+        Map<Long, Subscription> loaded = loadSubscriptions(IdBatches.list(intentionIds, employmentIntentionService::listByIds));
+        for (Long intentionId : intentionIds) {
+            Subscription subscription = loaded.get(intentionId);
+            if (subscription == null) {
+                subscriptions.remove(intentionId);
+            } else {
+                subscriptions.put(intentionId, subscription, tags(subscription));
+            }
+        }
+    }
+
+    /**
+     * 为新开放的岗位生成提醒，攒满一批写入一次
+     */
+    private void sendAlerts(Collection<Long> jobIds) {
+        if (jobIds.isEmpty()) {
+            return;
+        }
+        List<JobPosting> postings = IdBatches.list(jobIds, jobPostingService::listByIds);
+        Set<Long> employerIds = postings.stream()
+                .map(JobPosting::getEmployerId)
+                .filter(id -> id != null)
+                .collect(Collectors.toSet());
+        Map<Long, String> companyNames = employerIds.isEmpty() ? Map.of()
+                : employerService.listByIds(employerIds).stream()
+                .filter(employer -> employer.getCompanyName() != null)
+                .collect(Collectors.toMap(Employer::getId, Employer::getCompanyName));
+
+        List<SystemNotification> buffer = new ArrayList<>();
+        for (JobPosting posting : postings) {
+            if (posting.getStatus() != JobPosting.Status.OPEN) {
+                continue;
+            }
+            for (Long studentId : matchSubscribers(posting)) {
+                buffer.add(toNotification(studentId, posting, companyNames.get(posting.getEmployerId())));
+                if (buffer.size() >= NOTIFICATION_BATCH_SIZE) {
+                    notificationService.saveBatch(buffer, NOTIFICATION_BATCH_SIZE);
+                    buffer = new ArrayList<>();
+                }
+            }
+        }
+        if (!buffer.isEmpty()) {
+            notificationService.saveBatch(buffer, NOTIFICATION_BATCH_SIZE);
+        }
+    }
+
+    private SystemNotification toNotification(Long studentId, JobPosting posting, String companyName) {
+        String title = posting.getTitle().length() > MAX_TITLE_LENGTH
+                ? posting.getTitle().substring(0, MAX_TITLE_LENGTH) + "…" : posting.getTitle();
+        StringBuilder content = new StringBuilder();
+        content.append(StringUtils.hasText(companyName) ? companyName : "企业")
+                .append(" 发布了与你的求职意向匹配的岗位「").append(posting.getTitle()).append("」");
+        if (StringUtils.hasText(posting.getLocation())) {
+            content.append("，工作地点：").append(posting.getLocation());
+        }
+        if (StringUtils.hasText(posting.getSalaryRange())) {
+            content.append("，薪资：").append(posting.getSalaryRange());
+        }
+        content.append("。");
+
+        SystemNotification notification = new SystemNotification();
+        notification.setUserId(studentId);
+        notification.setCategory(SystemNotification.Category.JOB_ALERT);
+        notification.setTitle("新岗位提醒：" + title);
+        notification.setContent(content.toString());
+        notification.setReadFlag(false);
+        notification.setCreatedAt(LocalDateTime.now());
+        return notification;
+    }
+
+    /**
+     * 没有填写期望岗位的意向不构成订阅
+     */
+    private Map<Long, Subscription> loadSubscriptions(List<EmploymentIntention> intentions) {
+        List<EmploymentIntention> subscribed = intentions.stream()
+                .filter(intention -> intention.getStudentId() != null)
+                .filter(intention -> !NgramTokenizer.queryTokens(intention.getExpectedPosition()).isEmpty())
+                .toList();
+        Map<Long, Set<String>> citiesByIntention = new HashMap<>();
+        for (List<Long> batch : IdBatches.partition(subscribed.stream().map(EmploymentIntention::getId).toList())) {
+            intentionCityService.findCitiesByIntentionIds(batch).forEach((intentionId, cities) -> {
+                for (String city : cities) {
+                    String normalized = CityNormalizer.normalize(city);
+                    if (normalized != null) {
+                        citiesByIntention.computeIfAbsent(intentionId, key -> new HashSet<>()).add(normalized);
+                    }
+                }
+            });
+        }
+        Map<Long, Subscription> result = new HashMap<>();
+        for (EmploymentIntention intention : subscribed) {
+            result.put(intention.getId(), new Subscription(intention.getStudentId(),
+                    NgramTokenizer.queryTokens(intention.getExpectedPosition()),
+                    citiesByIntention.getOrDefault(intention.getId(), Set.of()),
+                    intention.getWorkType() == null ? null : intention.getWorkType().toJobWorkType()));
+        }
+        return result;
+    }
+
+    private static Set<String> tags(Subscription subscription) {
+        Set<String> tags = new HashSet<>();
+        subscription.positionTokens().forEach(token -> tags.add(POSITION_TAG + token));
+        if (subscription.cities().isEmpty()) {
+            tags.add(ANY_CITY);
+        } else {
+            subscription.cities().forEach(city -> tags.add(CITY_TAG + city));
+        }
+        tags.add(subscription.workType() == null ? ANY_WORK_TYPE : WORK_TYPE_TAG + subscription.workType().name());
+        return tags;
+    }
+}
@@ -1,11 +1,94 @@
 package com.ryj.demo.service.impl;
 
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
+import com.ryj.demo.common.StateConflictException;
+import com.ryj.demo.common.Workflows;
+import com.ryj.demo.dto.EmployerOverviewRows.OwnedApplicationRow;
 import com.ryj.demo.entity.JobApplication;
+import com.ryj.demo.entity.SystemNotification;
+import com.ryj.demo.mapper.EmployerOverviewMapper;
 import com.ryj.demo.mapper.JobApplicationMapper;
 import com.ryj.demo.service.JobApplicationService;
+import com.ryj.demo.service.SystemNotificationService;
+import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StringUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 @Service
+@RequiredArgsConstructor
 public class JobApplicationServiceImpl extends ServiceImpl<JobApplicationMapper, JobApplication> implements JobApplicationService {
+
+    private static final int NOTIFICATION_BATCH_SIZE = 500;
+
+    private final EmployerOverviewMapper employerOverviewMapper;
+    private final SystemNotificationService notificationService;
+
+    @Override
+    @Transactional
+    public int updateStatusForEmployer(Long employerId, Collection<Long> applicationIds, JobApplication.Status status) {
+        Set<Long> ids = new LinkedHashSet<>(applicationIds);
+        ids.remove(null);
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        List<OwnedApplicationRow> owned = employerOverviewMapper.selectOwnedApplications(employerId, ids);
+        if (owned.size() != ids.size()) {
+            throw new IllegalArgumentException("申请记录不存在或不属于当前企业");
+        }
+        List<OwnedApplicationRow> changed = owned.stream()
+                .filter(row -> row.getStatus() != status)
+                .toList();
+        if (changed.isEmpty()) {
+            return 0;
+        }
+        Map<JobApplication.Status, List<Long>> idsBySource = new HashMap<>();
+        for (OwnedApplicationRow row : changed) {
+            idsBySource.computeIfAbsent(row.getStatus(), key -> new ArrayList<>()).add(row.getId());
+        }
+        // 按读取到的来源状态分组，每组一条 UPDATE ... WHERE id IN (...) AND status = 来源；
+        // 命中行数不足说明期间有人改过其中的申请，整批回滚，由操作者刷新后重试
+        int updated = 0;
+        for (Map.Entry<JobApplication.Status, List<Long>> group : idsBySource.entrySet()) {
+            updated += Workflows.APPLICATION.transitAll(this, JobApplication::getId, group.getValue(),
+                    JobApplication::getStatus, group.getKey(), status);
+        }
+        if (updated != changed.size()) {
+            throw new StateConflictException("部分申请已被他人处理，请刷新后重试");
+        }
+
+        List<SystemNotification> notifications = new ArrayList<>(changed.size());
+        LocalDateTime now = LocalDateTime.now();
+        for (OwnedApplicationRow row : changed) {
+            if (row.getStudentId() != null) {
+                notifications.add(toNotification(row, status, now));
+            }
+        }
+        if (!notifications.isEmpty()) {
+            notificationService.saveBatch(notifications, NOTIFICATION_BATCH_SIZE);
+        }
+        return changed.size();
+    }
+
+    private SystemNotification toNotification(OwnedApplicationRow row, JobApplication.Status status, LocalDateTime now) {
+        String jobTitle = StringUtils.hasText(row.getJobTitle()) ? row.getJobTitle() : "岗位";
+        SystemNotification notification = new SystemNotification();
+        notification.setUserId(row.getStudentId());
+        notification.setCategory(SystemNotification.Category.APPLICATION);
+        String label = Workflows.APPLICATION.labelOf(status);
+        notification.setTitle("申请状态更新：" + label);
+        notification.setContent("你投递的「" + jobTitle + "」申请状态已更新为：" + label + "。");
+        notification.setReadFlag(false);
+        notification.setCreatedAt(now);
+        return notification;
+    }
 }
@@ -0,0 +1,193 @@
+package com.ryj.demo.service.impl;
+
+import com.ryj.demo.common.CityNormalizer;
+import com.ryj.demo.common.FacetIndex;
+import com.ryj.demo.common.InvertedIndex;
+import com.ryj.demo.common.NgramTokenizer;
+import com.ryj.demo.common.SalaryBand;
+import com.ryj.demo.common.SalaryRange;
+import com.ryj.demo.dto.JobFacetSearchResponse;
+import com.ryj.demo.dto.JobFacetSearchResponse.FacetCount;
+import com.ryj.demo.entity.Employer;
+import com.ryj.demo.entity.JobPosting;
+import com.ryj.demo.service.EmployerService;
+import com.ryj.demo.service.JobFacetService;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * 开放岗位的分面索引跟随 {@link PublicSearchIndexer} 的岗位索引同步（全量重建时整体替换，增量变更逐条更新），
+ * 关键字检索直接复用岗位倒排索引的命中集合，查询与计数都在内存中完成。
+ */
+@Service
+public class JobFacetServiceImpl implements JobFacetService, PublicSearchIndexer.Listener {
+
+    private static final String WORK_TYPE = "workType";
+    private static final String CITY = "city";
+    private static final String SALARY_BAND = "salaryBand";
+    private static final String EMPLOYER = "employer";
+    private static final List<String> FACETS = List.of(WORK_TYPE, CITY, SALARY_BAND, EMPLOYER);
+
+    /**
+     * 城市与企业的取值较多，只返回数量最多的若干个
+     */
+    private static final int MAX_FACET_VALUES = 20;
+    private static final int MAX_PAGE_SIZE = 100;
+
+    private static final Comparator<JobPosting> NEWEST_FIRST = Comparator
+            .comparing(JobPosting::getPublishedDate, Comparator.nullsFirst(Comparator.<LocalDateTime>naturalOrder()))
+            .thenComparing(JobPosting::getId)
+            .reversed();
+
+    private final PublicSearchIndexer indexer;
+    private final EmployerService employerService;
+    private volatile FacetIndex<JobPosting> index = new FacetIndex<>();
+
+    public JobFacetServiceImpl(PublicSearchIndexer indexer, EmployerService employerService) {
+        this.indexer = indexer;
+        this.employerService = employerService;
+        indexer.addListener(this);
+    }
+
+    @Override
+    public JobFacetSearchResponse search(String keyword, Collection<String> workTypes, Collection<String> cities,
+                                         Collection<String> salaryBands, Collection<String> employerIds,
+                                         long page, long size) {
+        indexer.ensureReady();
+
+        Set<Long> restrictTo = null;
+        if (StringUtils.hasText(keyword)) {
+            restrictTo = new HashSet<>();
+            for (InvertedIndex.Document<JobPosting> document
+                    : indexer.jobs().match(NgramTokenizer.queryTokens(keyword.trim())).documents()) {
+                restrictTo.add(document.id());
+            }
+        }
+
+        Map<String, Set<String>> filters = new HashMap<>();
+        filters.put(WORK_TYPE, toSet(workTypes, value -> value.toUpperCase(Locale.ROOT)));
+        filters.put(CITY, toSet(cities, CityNormalizer::normalize));
+        filters.put(SALARY_BAND, toSet(salaryBands, value -> value.toUpperCase(Locale.ROOT)));
+        filters.put(EMPLOYER, toSet(employerIds, Function.identity()));
+        FacetIndex.Result<JobPosting> result = index.query(filters, restrictTo, FACETS);
+
+        List<JobPosting> matched = new ArrayList<>(result.documents());
+        matched.sort(NEWEST_FIRST);
+        long pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        long current = Math.max(1, page);
+        int from = (int) Math.min(matched.size(), (current - 1) * pageSize);
+        int to = (int) Math.min(matched.size(), from + pageSize);
+
+        JobFacetSearchResponse response = new JobFacetSearchResponse();
+        response.setRecords(new ArrayList<>(matched.subList(from, to)));
+        response.setTotal(matched.size());
+        response.setPage(current);
+        response.setSize(pageSize);
+
+        Map<String, List<FacetCount>> facets = new LinkedHashMap<>();
+        facets.put(WORK_TYPE, toFacetCounts(result.counts().get(WORK_TYPE), Function.identity()));
+        facets.put(CITY, toFacetCounts(result.counts().get(CITY), Function.identity()));
+        facets.put(SALARY_BAND, toFacetCounts(result.counts().get(SALARY_BAND),
+                value -> SalaryBand.valueOf(value).getLabel()));
+        facets.put(EMPLOYER, employerFacet(result.counts().get(EMPLOYER)));
+        response.setFacets(facets);
+        return response;
+    }
+
+    @Override
+    public void onRebuilt(String table, List<PublicSearchIndexer.Row> rows) {
+        if (!"job_posting".equals(table)) {
+            return;
+        }
+        FacetIndex<JobPosting> fresh = new FacetIndex<>();
+        for (PublicSearchIndexer.Row row : rows) {
+            JobPosting job = (JobPosting) row.entity();
+            fresh.put(row.id(), job, facetValues(job));
+        }
+        index = fresh;
+    }
+
+    @Override
+    public void onChanged(String table, Long id, PublicSearchIndexer.Row row) {
+        if (!"job_posting".equals(table)) {
+            return;
+        }
+        if (row == null) {
+            index.remove(id);
+        } else {
+            JobPosting job = (JobPosting) row.entity();
+            index.put(id, job, facetValues(job));
+        }
+    }
+
+    private Map<String, String> facetValues(JobPosting job) {
+        Map<String, String> values = new HashMap<>();
+        values.put(WORK_TYPE, job.getWorkType() != null ? job.getWorkType().name() : null);
+        values.put(CITY, CityNormalizer.normalize(job.getLocation()));
+        SalaryRange salary = job.getSalaryMin() != null && job.getSalaryMax() != null
+                ? new SalaryRange(job.getSalaryMin(), job.getSalaryMax())
+                : null;
+        values.put(SALARY_BAND, SalaryBand.of(salary).name());
+        values.put(EMPLOYER, job.getEmployerId() != null ? job.getEmployerId().toString() : null);
+        return values;
+    }
+
+    private List<FacetCount> toFacetCounts(Map<String, Integer> counts, Function<String, String> label) {
+        List<FacetCount> result = new ArrayList<>();
+        if (counts == null) {
+            return result;
+        }
+        for (Map.Entry<String, Integer> entry : counts.entrySet()) {
+            if (result.size() >= MAX_FACET_VALUES) {
+                break;
+            }
+            FacetCount count = new FacetCount();
+            count.setValue(entry.getKey());
+            count.setLabel(label.apply(entry.getKey()));
+            count.setCount(entry.getValue());
+            result.add(count);
+        }
+        return result;
+    }
+
+    private List<FacetCount> employerFacet(Map<String, Integer> counts) {
+        List<FacetCount> result = toFacetCounts(counts, Function.identity());
+        List<Long> employerIds = result.stream().map(count -> Long.valueOf(count.getValue())).toList();
+        if (employerIds.isEmpty()) {
+            return result;
+        }
+        Map<Long, String> names = new HashMap<>();
+        for (Employer employer : employerService.listByIds(employerIds)) {
+            names.put(employer.getId(), employer.getCompanyName());
+        }
+        for (FacetCount count : result) {
+            count.setLabel(names.getOrDefault(Long.valueOf(count.getValue()), count.getValue()));
+        }
+        return result;
+    }
+
+    private Set<String> toSet(Collection<String> values, Function<String, String> normalizer) {
+        Set<String> result = new HashSet<>();
+        if (values != null) {
+            for (String value : values) {
+                if (StringUtils.hasText(value)) {
+                    result.add(normalizer.apply(value.trim()));
+                }
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,359 @@
+package com.ryj.demo.service.impl;
+
+import com.ryj.demo.common.CityNormalizer;
+import com.ryj.demo.common.IdBatches;
+import com.ryj.demo.common.IncrementalReadModel;
+import com.ryj.demo.common.NgramTokenizer;
+import com.ryj.demo.common.StudentFeatureLoader;
+import com.ryj.demo.common.StudentFeatures;
+import com.ryj.demo.common.StudentOwners;
+import com.ryj.demo.common.TableChangedEvent;
+import com.ryj.demo.common.TopK;
+import com.ryj.demo.entity.EmploymentIntention;
+import com.ryj.demo.entity.JobPosting;
+import com.ryj.demo.entity.JobRequirement;
+import com.ryj.demo.mapper.JobRequirementMapper;
+import com.ryj.demo.service.JobPostingService;
+import com.ryj.demo.service.JobRecommendationService;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 每位学生的推荐列表（前 {@link #TOP_N} 个岗位）常驻内存，看板直接读取，不再按意向临时拼查询。
+ * <p>
+ * 得分由五项加权：岗位名称与期望岗位的词元重合度、意向城市、工作类型、薪资区间重合度、
+ * 简历技能对岗位要求的覆盖率。岗位、岗位要求、就业意向、意向城市、简历、简历技能的变化通过
+ * {@link TableChangedEvent} 入队，由后台任务合并后只重算受影响的部分：岗位变化时把该岗位
+ * 重新打分并并入每位学生的列表，学生资料变化时只重算该学生；无法确定具体行时改为全量重算。
+ */
+@Service
+public class JobRecommendationServiceImpl extends IncrementalReadModel implements JobRecommendationService {
+
+    private static final int TOP_N = 50;
+
+    private static final int LOAD_BATCH_SIZE = 1000;
+
+    private static final double TITLE_WEIGHT = 0.35;
+    private static final double CITY_WEIGHT = 0.2;
+    private static final double WORK_TYPE_WEIGHT = 0.1;
+    private static final double SALARY_WEIGHT = 0.15;
+    private static final double SKILL_WEIGHT = 0.2;
+
+    private static final Set<String> JOB_TABLES = Set.of("job_posting", "job_requirement");
+    private static final Set<String> INTENTION_TABLES = Set.of("employment_intention", "employment_intention_city");
+    private static final Set<String> RESUME_TABLES = Set.of("resume", "resume_skill");
+    private static final Set<String> WATCHED_TABLES = Set.of("job_posting", "job_requirement",
+            "employment_intention", "employment_intention_city", "resume", "resume_skill");
+
+    /**
+     * 得分相同时优先较新发布的岗位
+     */
+    private static final Comparator<Recommendation> ORDER = Comparator
+            .comparingDouble(Recommendation::score)
+            .thenComparing(item -> item.job().getPublishedDate(), Comparator.nullsFirst(Comparator.<LocalDateTime>naturalOrder()))
+            .thenComparing(item -> item.job().getId());
+
+    private final JobPostingService jobPostingService;
+    private final JobRequirementMapper jobRequirementMapper;
+    private final StudentFeatureLoader studentFeatureLoader;
+
+    /**
+     * 以下特征与归属关系只在持有本对象锁的后台任务中读写
+     */
+    private final Map<Long, JobFeatures> jobs = new HashMap<>();
+    private final Map<Long, Student> students = new HashMap<>();
+    private final StudentOwners owners = new StudentOwners();
+    private volatile Map<Long, List<Recommendation>> recommendations = new ConcurrentHashMap<>();
+
+    public JobRecommendationServiceImpl(JobPostingService jobPostingService,
+                                        JobRequirementMapper jobRequirementMapper,
+                                        StudentFeatureLoader studentFeatureLoader) {
+        super(WATCHED_TABLES);
+        this.jobPostingService = jobPostingService;
+        this.jobRequirementMapper = jobRequirementMapper;
+        this.studentFeatureLoader = studentFeatureLoader;
+    }
+
+    @Override
+    public List<Recommendation> recommend(Long studentId) {
+        if (studentId == null) {
+            return List.of();
+        }
+        return recommendations.getOrDefault(studentId, List.of());
+    }
+
+    @Scheduled(fixedDelayString = "${app.job-recommendation.rebuild-interval:1h}")
+    public void scheduledRebuild() {
+        rebuildQuietly();
+    }
+
+    @Override
+    protected void reload() {
+        Map<Long, JobFeatures> freshJobs = new HashMap<>();
+        Long lastId = null;
+        while (true) {
+            List<JobPosting> batch = jobPostingService.lambdaQuery()
+                    .eq(JobPosting::getStatus, JobPosting.Status.OPEN)
+                    .gt(lastId != null, JobPosting::getId, lastId)
+                    .orderByAsc(JobPosting::getId)
+                    .last("limit " + LOAD_BATCH_SIZE)
+                    .list();
+            freshJobs.putAll(loadJobs(batch));
+            if (batch.size() < LOAD_BATCH_SIZE) {
+                break;
+            }
+            lastId = batch.get(batch.size() - 1).getId();
+        }
+        Map<Long, Student> freshStudents = toStudents(studentFeatureLoader.loadAll());
+
+        Map<Long, List<Recommendation>> freshRecommendations = new ConcurrentHashMap<>();
+        for (Student student : freshStudents.values()) {
+            List<Recommendation> ranked = rank(student, freshJobs.values());
+            if (!ranked.isEmpty()) {
+                freshRecommendations.put(student.studentId(), ranked);
+            }
+        }
+        jobs.clear();
+        jobs.putAll(freshJobs);
+        students.clear();
+        owners.clear();
+        freshStudents.values().forEach(this::register);
+        recommendations = freshRecommendations;
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${app.job-recommendation.apply-interval:1s}")
+    public void applyPendingChanges() {
+        super.applyPendingChanges();
+    }
+
+    @Override
+    protected void apply(Changes changes) {
+        Set<Long> jobIds = changes.of(JOB_TABLES);
+        if (!jobIds.isEmpty()) {
+            applyJobChanges(jobIds);
+        }
+        Set<Long> studentIds = studentFeatureLoader.owners(owners,
+                changes.of(INTENTION_TABLES), changes.of(RESUME_TABLES));
+        if (!studentIds.isEmpty()) {
+            applyStudentChanges(studentIds);
+        }
+    }
+
+    /**
+     * 重新加载变化的岗位并把新得分并入每位学生的列表。被移出的岗位如果原本在已满的列表中，
+     * 列表外的岗位可能递补进来，此时对该学生重算全部岗位
+     */
+    private void applyJobChanges(Set<Long> jobIds) {
+        Map<Long, JobFeatures> loaded = loadJobs(IdBatches.list(jobIds, jobPostingService::listByIds).stream()
+                .filter(job -> job.getStatus() == JobPosting.Status.OPEN)
+                .toList());
+        jobIds.forEach(jobs::remove);
+        jobs.putAll(loaded);
+
+        for (Student student : students.values()) {
+            List<Recommendation> current = recommend(student.studentId());
+            List<Recommendation> kept = current.stream()
+                    .filter(item -> !jobIds.contains(item.job().getId()))
+                    .toList();
+            if (current.size() == TOP_N && kept.size() < TOP_N) {
+                store(student.studentId(), rank(student, jobs.values()));
+                continue;
+            }
+            TopK<Recommendation> top = new TopK<>(TOP_N, ORDER);
+            kept.forEach(top::offer);
+            for (JobFeatures job : loaded.values()) {
+                Recommendation recommendation = score(student, job);
+                if (recommendation != null) {
+                    top.offer(recommendation);
+                }
+            }
+            store(student.studentId(), top.toSortedList());
+        }
+    }
+
+    private void applyStudentChanges(Set<Long> studentIds) {
+        Map<Long, Student> loaded = toStudents(studentFeatureLoader.load(studentIds));
+        for (Long studentId : studentIds) {
+            Student previous = students.remove(studentId);
+            if (previous != null) {
+                owners.unregister(previous.features());
+            }
+            Student student = loaded.get(studentId);
+            if (student == null) {
+                recommendations.remove(studentId);
+                continue;
+            }
+            register(student);
+            store(studentId, rank(student, jobs.values()));
+        }
+    }
+
+    private void register(Student student) {
+        students.put(student.studentId(), student);
+        owners.register(student.features());
+    }
+
+    private void store(Long studentId, List<Recommendation> ranked) {
+        if (ranked.isEmpty()) {
+            recommendations.remove(studentId);
+        } else {
+            recommendations.put(studentId, List.copyOf(ranked));
+        }
+    }
+
+    private List<Recommendation> rank(Student student, Collection<JobFeatures> candidates) {
+        TopK<Recommendation> top = new TopK<>(TOP_N, ORDER);
+        for (JobFeatures job : candidates) {
+            Recommendation recommendation = score(student, job);
+            if (recommendation != null) {
+                top.offer(recommendation);
+            }
+        }
+        return top.toSortedList();
+    }
+
+    /**
+     * @return 各项都不匹配时返回 null，不进入推荐列表
+     */
+    private Recommendation score(Student student, JobFeatures job) {
+        double title = titleSimilarity(student.positionTokens(), job.titleTokens());
+        boolean cityMatches = job.city() != null && student.cities().contains(job.city());
+        boolean workTypeMatches = student.workType() != null && student.workType() == job.job().getWorkType();
+        double salary = salaryOverlap(student.salaryMin(), student.salaryMax(),
+                job.job().getSalaryMin(), job.job().getSalaryMax());
+        double skills = skillCoverage(student.skills(), job.requirements());
+        double score = TITLE_WEIGHT * title
+                + CITY_WEIGHT * (cityMatches ? 1 : 0)
+                + WORK_TYPE_WEIGHT * (workTypeMatches ? 1 : 0)
+                + SALARY_WEIGHT * salary
+                + SKILL_WEIGHT * skills;
+        if (score <= 0) {
+            return null;
+        }
+        return new Recommendation(job.job(), score, title >= 1 || cityMatches || workTypeMatches);
+    }
+
+    /**
+     * 期望岗位的查询词元中出现在岗位名称里的比例
+     */
+    private static double titleSimilarity(List<String> positionTokens, Set<String> titleTokens) {
+        if (positionTokens.isEmpty()) {
+            return 0;
+        }
+        int hits = 0;
+        for (String token : positionTokens) {
+            if (titleTokens.contains(token)) {
+                hits++;
+            }
+        }
+        return (double) hits / positionTokens.size();
+    }
+
+    /**
+     * 两个薪资区间重合部分占较窄区间的比例；任一方未给出薪资时为 0
+     */
+    private static double salaryOverlap(Integer expectedMin, Integer expectedMax, Integer offeredMin, Integer offeredMax) {
+        if (expectedMin == null || expectedMax == null || offeredMin == null || offeredMax == null) {
+            return 0;
+        }
+        int low = Math.max(expectedMin, offeredMin);
+        int high = Math.min(expectedMax, offeredMax);
+        if (high < low) {
+            return 0;
+        }
+        int narrower = Math.min(expectedMax - expectedMin, offeredMax - offeredMin);
+        return narrower <= 0 ? 1 : Math.min(1, (double) (high - low) / narrower);
+    }
+
+    /**
+     * 岗位要求中至少提到一项简历技能的条目所占比例
+     */
+    private static double skillCoverage(Set<String> skills, List<String> requirements) {
+        if (skills.isEmpty() || requirements.isEmpty()) {
+            return 0;
+        }
+        int covered = 0;
+        for (String requirement : requirements) {
+            for (String skill : skills) {
+                if (requirement.contains(skill)) {
+                    covered++;
+                    break;
+                }
+            }
+        }
+        return (double) covered / requirements.size();
+    }
+
+    private Map<Long, JobFeatures> loadJobs(List<JobPosting> postings) {
+        Map<Long, List<String>> requirements = new HashMap<>();
+        List<Long> jobIds = postings.stream().map(JobPosting::getId).toList();
+        for (JobRequirement requirement : IdBatches.list(jobIds, jobRequirementMapper::findByJobIds)) {
+            if (StringUtils.hasText(requirement.getRequirement())) {
+                requirements.computeIfAbsent(requirement.getJobId(), key -> new ArrayList<>())
+                        .add(requirement.getRequirement().trim().toLowerCase(Locale.ROOT));
+            }
+        }
+        Map<Long, JobFeatures> result = new HashMap<>();
+        for (JobPosting posting : postings) {
+            result.put(posting.getId(), new JobFeatures(posting,
+                    new HashSet<>(NgramTokenizer.tokenize(posting.getTitle())),
+                    CityNormalizer.normalize(posting.getLocation()),
+                    requirements.getOrDefault(posting.getId(), List.of())));
+        }
+        return result;
+    }
+
+    /**
+     * 在共用的学生特征上补充打分所需的词元与工作类型；既没有意向也没有简历的学生不参与推荐
+     */
+    private static Map<Long, Student> toStudents(Map<Long, StudentFeatures> features) {
+        Map<Long, Student> result = new HashMap<>();
+        features.forEach((studentId, student) -> {
+            EmploymentIntention intention = student.intention();
+            result.put(studentId, new Student(student,
+                    intention == null ? List.of() : NgramTokenizer.queryTokens(intention.getExpectedPosition()),
+                    student.normalizedCities(),
+                    intention == null || intention.getWorkType() == null ? null : intention.getWorkType().toJobWorkType(),
+                    intention == null ? null : intention.getSalaryMin(),
+                    intention == null ? null : intention.getSalaryMax()));
+        });
+        return result;
+    }
+
+    /**
+     * @param titleTokens  岗位名称的全部词元
+     * @param requirements 岗位要求，已转小写
+     */
+    private record JobFeatures(JobPosting job, Set<String> titleTokens, String city, List<String> requirements) {
+    }
+
+    /**
+     * @param positionTokens 期望岗位的查询词元
+     * @param cities         归一后的意向城市
+     */
+    private record Student(StudentFeatures features, List<String> positionTokens, Set<String> cities,
+                           JobPosting.WorkType workType, Integer salaryMin, Integer salaryMax) {
+
+        Long studentId() {
+            return features.studentId();
+        }
+
+        Set<String> skills() {
+            return features.skills();
+        }
+    }
+}
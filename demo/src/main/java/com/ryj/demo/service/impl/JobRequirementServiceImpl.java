@@ -1,28 +1,48 @@
 package com.ryj.demo.service.impl;
 
+import com.ryj.demo.common.EntityCache;
+import com.ryj.demo.common.EntityCacheRegistry;
 import com.ryj.demo.entity.JobRequirement;
 import com.ryj.demo.mapper.JobRequirementMapper;
 import com.ryj.demo.service.JobRequirementService;
-import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.util.List;
 
 @Service
-@RequiredArgsConstructor
 public class JobRequirementServiceImpl implements JobRequirementService {
 
     private final JobRequirementMapper jobRequirementMapper;
+    private final EntityCache<List<JobRequirement>> requirementCache;
+
+    public JobRequirementServiceImpl(JobRequirementMapper jobRequirementMapper, EntityCacheRegistry cacheRegistry) {
+        this.jobRequirementMapper = jobRequirementMapper;
+        this.requirementCache = cacheRegistry.createForList("JobRequirement", JobRequirement.class);
+    }
 
     @Override
     public List<JobRequirement> findByJobId(Long jobId) {
-        return jobRequirementMapper.findByJobId(jobId);
+        if (jobId == null || TransactionSynchronizationManager.isActualTransactionActive()) {
+            return jobRequirementMapper.findByJobId(jobId);
+        }
+        return requirementCache.get(jobId, jobRequirementMapper::findByJobId);
     }
 
     @Override
     @Transactional
     public void replaceRequirements(Long jobId, List<String> requirements) {
+        requirementCache.invalidate(jobId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    requirementCache.invalidate(jobId);
+                }
+            });
+        }
         jobRequirementMapper.deleteByJobId(jobId);
         if (requirements == null || requirements.isEmpty()) {
             return;
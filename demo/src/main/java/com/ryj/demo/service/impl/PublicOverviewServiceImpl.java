@@ -0,0 +1,252 @@
+package com.ryj.demo.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ryj.demo.common.ApiResponse;
+import com.ryj.demo.common.TableChangedEvent;
+import com.ryj.demo.dto.PublicOverviewResponse;
+import com.ryj.demo.dto.PublicOverviewResponse.HighlightModule;
+import com.ryj.demo.dto.PublicOverviewResponse.Hero;
+import com.ryj.demo.dto.PublicOverviewResponse.JobSummary;
+import com.ryj.demo.dto.PublicOverviewResponse.NotificationItem;
+import com.ryj.demo.dto.PublicOverviewResponse.QuickLink;
+import com.ryj.demo.dto.PublicOverviewResponse.ResourceSummary;
+import com.ryj.demo.dto.PublicOverviewResponse.Statistics;
+import com.ryj.demo.entity.JobPosting;
+import com.ryj.demo.entity.PublicResource;
+import com.ryj.demo.entity.SystemNotification;
+import com.ryj.demo.service.EmployerService;
+import com.ryj.demo.service.JobPostingService;
+import com.ryj.demo.service.PublicOverviewService;
+import com.ryj.demo.service.PublicResourceService;
+import com.ryj.demo.service.StudentProfileService;
+import com.ryj.demo.service.SystemNotificationService;
+import com.ryj.demo.service.TeacherService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+/**
+ * 首页数据在后台构建成不可变快照并预先序列化，请求只做一次引用读取。
+ * 快照在启动后的第一次后台检查时构建，之后按固定间隔刷新；相关表发生写入时标记为过期，由下一次后台检查重建（多次写入合并为一次重建）。
+ */
+@Service
+@RequiredArgsConstructor
+public class PublicOverviewServiceImpl implements PublicOverviewService {
+
+    /**
+     * 首页内容依赖的表，其它表的写入不影响快照
+     */
+    private static final Set<String> SOURCE_TABLES = Set.of(
+            "job_posting", "employer", "student_profile", "teacher", "system_notification", "public_resource");
+
+    private final JobPostingService jobPostingService;
+    private final EmployerService employerService;
+    private final StudentProfileService studentProfileService;
+    private final TeacherService teacherService;
+    private final SystemNotificationService notificationService;
+    private final PublicResourceService resourceService;
+    private final ObjectMapper objectMapper;
+
+    @Value("${app.public-overview.refresh-interval:5m}")
+    private Duration refreshInterval;
+
+    private final AtomicBoolean stale = new AtomicBoolean(true);
+    private volatile Snapshot snapshot;
+
+    private record Snapshot(byte[] json, long builtAt) {
+    }
+
+    @Override
+    public byte[] getOverviewJson() {
+        Snapshot current = snapshot;
+        if (current == null) {
+            refresh();
+            current = snapshot;
+        }
+        return current.json();
+    }
+
+    @Override
+    public synchronized void refresh() {
+        // 先清除标记再查询，构建期间发生的写入会让下一次检查再重建一次
+        stale.set(false);
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(ApiResponse.success(buildOverview()));
+            snapshot = new Snapshot(json, System.currentTimeMillis());
+        } catch (JsonProcessingException e) {
+            stale.set(true);
+            throw new IllegalStateException("首页数据序列化失败", e);
+        } catch (RuntimeException e) {
+            stale.set(true);
+            throw e;
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTableChanged(TableChangedEvent event) {
+        if (SOURCE_TABLES.contains(event.table())) {
+            stale.set(true);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.public-overview.check-interval:2s}")
+    public void refreshIfNeeded() {
+        Snapshot current = snapshot;
+        boolean expired = current == null
+                || System.currentTimeMillis() - current.builtAt() >= refreshInterval.toMillis();
+        if (stale.get() || expired) {
+            refreshQuietly();
+        }
+    }
+
+    private void refreshQuietly() {
+        try {
+            refresh();
+        } catch (RuntimeException e) {
+            // 数据库暂不可用时保留旧快照，等待下一次检查
+        }
+    }
+
+    private PublicOverviewResponse buildOverview() {
+        PublicOverviewResponse response = new PublicOverviewResponse();
+
+        Hero hero = new Hero();
+        hero.setTitle("高校就业服务枢纽");
+        hero.setSubtitle("面向管理员、学生、教师与企业的统一就业门户");
+        hero.setDescription("集成全局搜索、即时通知与资料共享功能，帮助各角色快速联通就业生态。");
+        hero.setBadges(List.of("智能推荐", "实时同步", "一站式服务"));
+        response.setHero(hero);
+
+        Statistics statistics = new Statistics();
+        statistics.setTotalJobs(jobPostingService.lambdaQuery()
+                .eq(JobPosting::getStatus, JobPosting.Status.OPEN)
+                .count());
+        statistics.setActiveEmployers(employerService.count());
+        statistics.setRegisteredStudents(studentProfileService.count());
+        statistics.setServiceTeachers(teacherService.count());
+        response.setStatistics(statistics);
+
+        response.setFocusAreas(List.of(
+                "全局搜索实时整合招聘、通知、企业信息",
+                "统一消息中心覆盖站内信与系统公告",
+                "多角色共享的资料库支持上传与预览"
+        ));
+
+        response.setModules(List.of(
+                buildModule("全局搜索", "结合智能提示与高级筛选，快速定位目标信息", "#2563eb", List.of(
+                        "跨角色统一搜索入口",
+                        "高级筛选支持角色、地点与类型",
+                        "自动记录搜索历史，便于快速回访"
+                )),
+                buildModule("消息通知中心", "多渠道同步提醒重要动态与待办", "#9333ea", List.of(
+                        "系统公告与面试邀请统一查看",
+                        "支持未读快速筛查",
+                        "按角色推送个性化提示"
+                )),
+                buildModule("资料共享", "高质量模板与政策解读随时下载", "#0ea5e9", List.of(
+                        "简历、协议等模板统一存放",
+                        "企业及院校资料集中共享",
+                        "支持批量上传与安全下载"
+                ))
+        ));
+
+        response.setQuickLinks(List.of(
+                buildQuickLink("智能职位搜索", "探索最新开放的岗位需求", "/jobs"),
+                buildQuickLink("通知中心", "查看未读提醒与面试安排", "/notifications"),
+                buildQuickLink("资料下载", "下载简历模板与政策文件", "/resources"),
+                buildQuickLink("就业数据驾驶舱", "掌握实时就业动态", "/dashboard")
+        ));
+
+        List<JobSummary> jobSummaries = jobPostingService.lambdaQuery()
+                .eq(JobPosting::getStatus, JobPosting.Status.OPEN)
+                .orderByDesc(JobPosting::getPublishedDate)
+                .last("limit 6")
+                .list()
+                .stream()
+                .map(this::toJobSummary)
+                .collect(Collectors.toList());
+        response.setTrendingJobs(jobSummaries);
+
+        List<NotificationItem> notificationItems = notificationService.lambdaQuery()
+                .and(wrapper -> wrapper.isNull(SystemNotification::getCategory)
+                        .or()
+                        .ne(SystemNotification::getCategory, SystemNotification.Category.JOB_ALERT))
+                .orderByDesc(SystemNotification::getCreatedAt)
+                .last("limit 6")
+                .list()
+                .stream()
+                .map(this::toNotificationItem)
+                .collect(Collectors.toList());
+        response.setNotifications(notificationItems);
+
+        List<ResourceSummary> resourceSummaries = resourceService.lambdaQuery()
+                .orderByDesc(PublicResource::getCreatedAt)
+                .last("limit 6")
+                .list()
+                .stream()
+                .map(this::toResourceSummary)
+                .collect(Collectors.toList());
+        response.setResources(resourceSummaries);
+
+        return response;
+    }
+
+    private HighlightModule buildModule(String name, String description, String accentColor, List<String> features) {
+        HighlightModule module = new HighlightModule();
+        module.setName(name);
+        module.setDescription(description);
+        module.setAccentColor(accentColor);
+        module.setFeatures(features);
+        return module;
+    }
+
+    private QuickLink buildQuickLink(String label, String description, String target) {
+        QuickLink quickLink = new QuickLink();
+        quickLink.setLabel(label);
+        quickLink.setDescription(description);
+        quickLink.setTarget(target);
+        return quickLink;
+    }
+
+    private JobSummary toJobSummary(JobPosting jobPosting) {
+        JobSummary summary = new JobSummary();
+        summary.setId(jobPosting.getId());
+        summary.setTitle(jobPosting.getTitle());
+        summary.setLocation(jobPosting.getLocation());
+        summary.setSalaryRange(jobPosting.getSalaryRange());
+        summary.setWorkType(jobPosting.getWorkType() != null ? jobPosting.getWorkType().name() : null);
+        summary.setPublishedDate(jobPosting.getPublishedDate());
+        return summary;
+    }
+
+    private NotificationItem toNotificationItem(SystemNotification notification) {
+        NotificationItem item = new NotificationItem();
+        item.setId(notification.getId());
+        item.setTitle(notification.getTitle());
+        item.setContent(notification.getContent());
+        item.setCategory(notification.getCategory() != null ? notification.getCategory().name() : null);
+        item.setCreatedAt(notification.getCreatedAt());
+        return item;
+    }
+
+    private ResourceSummary toResourceSummary(PublicResource resource) {
+        ResourceSummary summary = new ResourceSummary();
+        summary.setId(resource.getId());
+        summary.setFileName(resource.getFileName());
+        summary.setDescription(resource.getDescription());
+        summary.setFileType(resource.getFileType());
+        summary.setFileSize(resource.getFileSize());
+        summary.setCreatedAt(resource.getCreatedAt());
+        summary.setDownloadUrl(resource.getDownloadUrl());
+        return summary;
+    }
+}
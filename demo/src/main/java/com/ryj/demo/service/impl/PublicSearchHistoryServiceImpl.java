@@ -4,9 +4,118 @@ import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
 import com.ryj.demo.entity.PublicSearchHistory;
 import com.ryj.demo.mapper.PublicSearchHistoryMapper;
 import com.ryj.demo.service.PublicSearchHistoryService;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 搜索记录采用写后缓冲：请求线程只把记录放入有界队列，后台任务定期取出并用多行 INSERT 批量写库。
+ * <p>
+ * 队列满时直接丢弃新记录并计数，不阻塞搜索请求；同一用户连续重复的搜索（关键字与筛选条件都相同）在批内合并为一条，
+ * 保留最后一次的时间。应用正常关闭时会把剩余记录写完。
+ */
 @Service
 public class PublicSearchHistoryServiceImpl extends ServiceImpl<PublicSearchHistoryMapper, PublicSearchHistory>
         implements PublicSearchHistoryService {
+
+    private static final int INSERT_BATCH_SIZE = 500;
+
+    private final BlockingQueue<PublicSearchHistory> buffer;
+    private final AtomicLong accepted = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong merged = new AtomicLong();
+    private final AtomicLong written = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+
+    public PublicSearchHistoryServiceImpl(@Value("${app.public-search.history-buffer-capacity:10000}") int capacity) {
+        this.buffer = new ArrayBlockingQueue<>(capacity);
+    }
+
+    @Override
+    public boolean record(PublicSearchHistory history) {
+        if (buffer.offer(history)) {
+            accepted.incrementAndGet();
+            return true;
+        }
+        dropped.incrementAndGet();
+        return false;
+    }
+
+    @Scheduled(fixedDelayString = "${app.public-search.history-flush-interval:1s}")
+    public void scheduledFlush() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            // 写库失败的批次已计入 failed，继续处理后续记录
+        }
+    }
+
+    @Override
+    public synchronized void flush() {
+        List<PublicSearchHistory> drained = new ArrayList<>();
+        while (buffer.drainTo(drained, INSERT_BATCH_SIZE) > 0) {
+            List<PublicSearchHistory> batch = mergeConsecutiveDuplicates(drained);
+            drained.clear();
+            try {
+                baseMapper.insertBatch(batch);
+                written.addAndGet(batch.size());
+            } catch (RuntimeException e) {
+                // 不重新入队，避免数据库长时间不可用时缓冲区被同一批数据占满
+                failed.addAndGet(batch.size());
+                throw e;
+            }
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        scheduledFlush();
+    }
+
+    @Override
+    public Map<String, Long> bufferStatistics() {
+        Map<String, Long> statistics = new LinkedHashMap<>();
+        statistics.put("pending", (long) buffer.size());
+        statistics.put("accepted", accepted.get());
+        statistics.put("merged", merged.get());
+        statistics.put("dropped", dropped.get());
+        statistics.put("written", written.get());
+        statistics.put("failed", failed.get());
+        return statistics;
+    }
+
+    private List<PublicSearchHistory> mergeConsecutiveDuplicates(List<PublicSearchHistory> drained) {
+        List<PublicSearchHistory> batch = new ArrayList<>(drained.size());
+        Map<Long, PublicSearchHistory> lastByUser = new HashMap<>();
+        for (PublicSearchHistory history : drained) {
+            PublicSearchHistory last = lastByUser.get(history.getUserId());
+            if (last != null && sameSearch(last, history)) {
+                last.setCreatedAt(history.getCreatedAt());
+                last.setAdvancedOptions(history.getAdvancedOptions());
+                merged.incrementAndGet();
+                continue;
+            }
+            batch.add(history);
+            lastByUser.put(history.getUserId(), history);
+        }
+        return batch;
+    }
+
+    private boolean sameSearch(PublicSearchHistory a, PublicSearchHistory b) {
+        return Objects.equals(a.getKeyword(), b.getKeyword())
+                && Objects.equals(a.getRoleFilter(), b.getRoleFilter())
+                && Objects.equals(a.getCategoryFilter(), b.getCategoryFilter())
+                && Objects.equals(a.getLocationFilter(), b.getLocationFilter());
+    }
 }
@@ -0,0 +1,291 @@
+package com.ryj.demo.service.impl;
+
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.baomidou.mybatisplus.core.toolkit.support.SFunction;
+import com.baomidou.mybatisplus.extension.service.IService;
+import com.ryj.demo.common.InvertedIndex;
+import com.ryj.demo.common.NgramTokenizer;
+import com.ryj.demo.common.TableChangedEvent;
+import com.ryj.demo.entity.Employer;
+import com.ryj.demo.entity.JobPosting;
+import com.ryj.demo.entity.PublicResource;
+import com.ryj.demo.entity.SystemNotification;
+import com.ryj.demo.service.EmployerService;
+import com.ryj.demo.service.JobPostingService;
+import com.ryj.demo.service.PublicResourceService;
+import com.ryj.demo.service.SystemNotificationService;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * 公共搜索的内存索引：岗位、企业、通知、资料各一份倒排索引。
+ * <p>
+ * 启动后由第一次定时任务全量构建，之后按固定间隔全量校准一次；平时根据 {@link TableChangedEvent}
+ * 只重新加载发生变化的行，事件先入队，由后台任务合并后统一应用，写请求不等待索引更新。
+ * 其他内存结构（如输入联想）可通过 {@link #addListener} 跟随索引内容同步，无需再各自查库。
+ */
+@Component
+public class PublicSearchIndexer {
+
+    private static final int LOAD_BATCH_SIZE = 1000;
+
+    /**
+     * 标题词元按该倍数计入词频（简化的 BM25F 字段加权），标题命中比正文命中更相关
+     */
+    private static final int TITLE_WEIGHT = 2;
+
+    private final Category<JobPosting> jobs;
+    private final Category<Employer> employers;
+    private final Category<SystemNotification> notifications;
+    private final Category<PublicResource> resources;
+    private final Map<String, Category<?>> categoriesByTable = new HashMap<>();
+    private final Queue<TableChangedEvent> pendingChanges = new ConcurrentLinkedQueue<>();
+    private final List<Listener> listeners = new CopyOnWriteArrayList<>();
+    private volatile boolean ready;
+
+    /**
+     * 索引内容变化的回调。回调在索引更新线程中串行执行，实现方应尽快返回，且不得修改实体
+     */
+    public interface Listener {
+
+        /**
+         * 某张表的索引被整体替换
+         * @param rows 当前被索引的全部行
+         */
+        void onRebuilt(String table, List<Row> rows);
+
+        /**
+         * 某一行被重新索引或移出索引
+         * @param row 新的内容；移出索引时为 null
+         */
+        void onChanged(String table, Long id, Row row);
+    }
+
+    /**
+     * 被索引的一行
+     * @param title 索引时使用的第一个文本字段
+     */
+    public record Row(Long id, Object entity, String title) {
+    }
+
+    public PublicSearchIndexer(JobPostingService jobPostingService,
+                               EmployerService employerService,
+                               SystemNotificationService notificationService,
+                               PublicResourceService resourceService) {
+        // 公共搜索只展示开放中的岗位
+        this.jobs = register(new Category<>("job_posting", jobPostingService, JobPosting::getId, JobPosting::getId,
+                job -> job.getStatus() == JobPosting.Status.OPEN,
+                job -> List.of(nullToEmpty(job.getTitle()), nullToEmpty(job.getDescription()))));
+        this.employers = register(new Category<>("employer", employerService, Employer::getId, Employer::getId,
+                employer -> true,
+                employer -> List.of(nullToEmpty(employer.getCompanyName()), nullToEmpty(employer.getDescription()))));
+        this.notifications = register(new Category<>("system_notification", notificationService,
+                SystemNotification::getId, SystemNotification::getId,
+                notification -> notification.getCategory() != SystemNotification.Category.JOB_ALERT,
+                notification -> List.of(nullToEmpty(notification.getTitle()), nullToEmpty(notification.getContent()))));
+        this.resources = register(new Category<>("public_resource", resourceService, PublicResource::getId, PublicResource::getId,
+                resource -> true,
+                resource -> List.of(nullToEmpty(resource.getFileName()), nullToEmpty(resource.getDescription()))));
+    }
+
+    public void addListener(Listener listener) {
+        listeners.add(listener);
+    }
+
+    public InvertedIndex<JobPosting> jobs() {
+        return jobs.index;
+    }
+
+    public InvertedIndex<Employer> employers() {
+        return employers.index;
+    }
+
+    public InvertedIndex<SystemNotification> notifications() {
+        return notifications.index;
+    }
+
+    public InvertedIndex<PublicResource> resources() {
+        return resources.index;
+    }
+
+    /**
+     * 启动后首次构建尚未完成（或数据库不可用导致失败）时，由查询线程同步构建一次
+     */
+    public void ensureReady() {
+        if (!ready) {
+            rebuild();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.public-search.rebuild-interval:1h}")
+    public void scheduledRebuild() {
+        try {
+            rebuild();
+        } catch (RuntimeException e) {
+            // 数据库暂不可用时保留现有索引，下一次查询或定时任务再试
+        }
+    }
+
+    /**
+     * 全量重建所有分类。与增量应用互斥，构建期间到达的变更会在之后重新应用
+     */
+    public synchronized void rebuild() {
+        for (Category<?> category : categoriesByTable.values()) {
+            category.rebuild();
+        }
+        ready = true;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTableChanged(TableChangedEvent event) {
+        if (categoriesByTable.containsKey(event.table())) {
+            pendingChanges.add(event);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.public-search.apply-interval:500ms}")
+    public synchronized void applyPendingChanges() {
+        if (!ready || pendingChanges.isEmpty()) {
+            return;
+        }
+        Map<String, Set<Long>> changedIds = new HashMap<>();
+        Set<String> fullReload = new HashSet<>();
+        TableChangedEvent event;
+        while ((event = pendingChanges.poll()) != null) {
+            if (event.rowsKnown()) {
+                changedIds.computeIfAbsent(event.table(), key -> new HashSet<>()).addAll(event.ids());
+            } else {
+                fullReload.add(event.table());
+            }
+        }
+        try {
+            for (String table : fullReload) {
+                categoriesByTable.get(table).rebuild();
+            }
+            changedIds.forEach((table, ids) -> {
+                if (!fullReload.contains(table)) {
+                    categoriesByTable.get(table).refresh(ids);
+                }
+            });
+        } catch (RuntimeException e) {
+            // 加载失败时退化为下一次全量重建，避免索引长期缺失这些变更
+            ready = false;
+        }
+    }
+
+    private <E> Category<E> register(Category<E> category) {
+        categoriesByTable.put(category.table, category);
+        return category;
+    }
+
+    private static String nullToEmpty(String value) {
+        return value == null ? "" : value;
+    }
+
+    private final class Category<E> {
+        private final String table;
+        private final IService<E> service;
+        private final SFunction<E, Long> idColumn;
+        private final Function<E, Long> idGetter;
+        private final Predicate<E> indexable;
+        /**
+         * 参与索引的文本：第一个为标题，其余为正文
+         */
+        private final Function<E, List<String>> texts;
+        private volatile InvertedIndex<E> index = new InvertedIndex<>();
+
+        private Category(String table, IService<E> service, SFunction<E, Long> idColumn, Function<E, Long> idGetter,
+                         Predicate<E> indexable, Function<E, List<String>> texts) {
+            this.table = table;
+            this.service = service;
+            this.idColumn = idColumn;
+            this.idGetter = idGetter;
+            this.indexable = indexable;
+            this.texts = texts;
+        }
+
+        /**
+         * 按主键分批读取整张表构建新索引，完成后再整体替换，查询始终看到完整的一份
+         */
+        private void rebuild() {
+            InvertedIndex<E> fresh = new InvertedIndex<>();
+            List<Row> rows = new ArrayList<>();
+            Long lastId = null;
+            while (true) {
+                List<E> batch = service.list(new LambdaQueryWrapper<E>()
+                        .gt(lastId != null, idColumn, lastId)
+                        .orderByAsc(idColumn)
+                        .last("limit " + LOAD_BATCH_SIZE));
+                for (E entity : batch) {
+                    if (indexable.test(entity)) {
+                        rows.add(new Row(idGetter.apply(entity), entity, index(fresh, entity)));
+                    }
+                }
+                if (batch.size() < LOAD_BATCH_SIZE) {
+                    break;
+                }
+                lastId = idGetter.apply(batch.get(batch.size() - 1));
+            }
+            index = fresh;
+            for (Listener listener : listeners) {
+                listener.onRebuilt(table, rows);
+            }
+        }
+
+        private void refresh(Set<Long> ids) {
+            InvertedIndex<E> current = index;
+            Set<Long> missing = new HashSet<>(ids);
+            for (E entity : service.listByIds(new ArrayList<>(ids))) {
+                Long id = idGetter.apply(entity);
+                missing.remove(id);
+                if (indexable.test(entity)) {
+                    notifyChanged(id, new Row(id, entity, index(current, entity)));
+                } else {
+                    current.remove(id);
+                    notifyChanged(id, null);
+                }
+            }
+            // 已删除的行
+            for (Long id : missing) {
+                current.remove(id);
+                notifyChanged(id, null);
+            }
+        }
+
+        private void notifyChanged(Long id, Row row) {
+            for (Listener listener : listeners) {
+                listener.onChanged(table, id, row);
+            }
+        }
+
+        /**
+         * 写入索引，返回该行的标题
+         */
+        private String index(InvertedIndex<E> target, E entity) {
+            List<String> fields = texts.apply(entity);
+            List<String> tokens = new ArrayList<>();
+            List<String> titleTokens = NgramTokenizer.tokenize(fields.get(0));
+            for (int i = 0; i < TITLE_WEIGHT; i++) {
+                tokens.addAll(titleTokens);
+            }
+            for (String text : fields.subList(1, fields.size())) {
+                tokens.addAll(NgramTokenizer.tokenize(text));
+            }
+            target.put(idGetter.apply(entity), entity, tokens);
+            return fields.get(0);
+        }
+    }
+}
@@ -0,0 +1,394 @@
+package com.ryj.demo.service.impl;
+
+import com.ryj.demo.common.InvertedIndex;
+import com.ryj.demo.common.InvertedIndex.Document;
+import com.ryj.demo.common.NgramTokenizer;
+import com.ryj.demo.common.TopK;
+import com.ryj.demo.dto.PublicSearchResponse;
+import com.ryj.demo.dto.PublicSearchResult;
+import com.ryj.demo.entity.Employer;
+import com.ryj.demo.entity.JobPosting;
+import com.ryj.demo.entity.PublicResource;
+import com.ryj.demo.entity.SystemNotification;
+import com.ryj.demo.service.PublicSearchService;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * 基于内存倒排索引的全局搜索，请求路径上不访问数据库。
+ * <p>
+ * 排序分 = BM25 相关度 × 分类权重 × 时间衰减；每个分类用 Top-K 选出得分最高的若干条，再合并按得分排序。
+ * 各分类都是内存索引扫描，在请求线程中依次检索，不再分派到线程池。
+ * 翻页使用不透明游标，记录每个分类上一页最后一条的（得分, 时间, 主键），下一页只取排在其后的命中。
+ * 游标同时固定首页的参考时间与各分类的语料统计（文档数、平均长度、文档频率），后续各页沿用它们打分，
+ * 翻页期间索引被写入时已有文档的得分不变，不会跳过或重复；游标还带有查询条件指纹，换了条件的游标会被拒绝。
+ */
+@Service
+public class PublicSearchServiceImpl implements PublicSearchService {
+
+    private static final double BM25_K1 = 1.2;
+    private static final double BM25_B = 0.75;
+
+    /**
+     * 时间衰减：每过一个半衰期权重减半，但不低于下限，保证高相关的旧内容仍能排进结果
+     */
+    private static final double RECENCY_HALF_LIFE_DAYS = 30;
+    private static final double RECENCY_FLOOR = 0.3;
+
+    private static final double JOB_BOOST = 1.2;
+    private static final double EMPLOYER_BOOST = 1.0;
+    private static final double NOTIFICATION_BOOST = 0.8;
+    private static final double RESOURCE_BOOST = 0.9;
+
+    private static final Comparator<Hit<?>> HIT_ORDER = Comparator
+            .comparingDouble((Hit<?> hit) -> hit.score())
+            .thenComparing(Hit::timestamp, Comparator.nullsFirst(Comparator.naturalOrder()))
+            .thenComparingLong(Hit::id);
+
+    private final PublicSearchIndexer indexer;
+
+    public PublicSearchServiceImpl(PublicSearchIndexer indexer) {
+        this.indexer = indexer;
+    }
+
+    /**
+     * 一条打分后的命中
+     */
+    private record Hit<E>(String type, E value, long id, double score, LocalDateTime timestamp) {
+    }
+
+    /**
+     * BM25 用到的语料统计，取自分类首页查询时的索引
+     *
+     * @param documentFrequencies 与查询词元一一对应的文档频率
+     */
+    private record Stats(int documentCount, double averageLength, int[] documentFrequencies) {
+
+        static Stats of(InvertedIndex.Matches<?> matches, List<String> tokens) {
+            int[] documentFrequencies = new int[tokens.size()];
+            for (int i = 0; i < tokens.size(); i++) {
+                documentFrequencies[i] = matches.documentFrequencies().getOrDefault(tokens.get(i), 0);
+            }
+            return new Stats(matches.documentCount(), matches.averageLength(), documentFrequencies);
+        }
+    }
+
+    /**
+     * 某个分类已翻到的位置：上一页最后一条命中，以及首页的语料统计
+     */
+    private record Position(Hit<?> last, Stats stats) {
+    }
+
+    /**
+     * 某个分类本页的结果，hasMore 表示之后还有更多命中
+     */
+    private record CategoryPage(List<Hit<?>> hits, boolean hasMore, Stats stats) {
+    }
+
+    /**
+     * 翻页游标：首次查询的参考时间（保证各页的时间衰减一致）、查询条件指纹、各分类翻到的位置，以及已取完的分类。
+     * 没有出现在 positions 与 exhausted 中的分类从头开始
+     */
+    private record Cursor(LocalDateTime now, String query, Map<String, Position> positions, Set<String> exhausted) {
+    }
+
+    @Override
+    public PublicSearchResponse search(String keyword, String category, String location, String cursor) {
+        indexer.ensureReady();
+
+        Set<String> categories = new HashSet<>();
+        if (StringUtils.hasText(category)) {
+            for (String item : category.split(",")) {
+                if (StringUtils.hasText(item)) {
+                    categories.add(item.trim().toLowerCase());
+                }
+            }
+        }
+
+        List<String> tokens = NgramTokenizer.queryTokens(keyword);
+        String locationFilter = StringUtils.hasText(location) ? location.trim().toLowerCase(Locale.ROOT) : null;
+        String query = fingerprint(tokens, categories, locationFilter);
+        Cursor current = StringUtils.hasText(cursor)
+                ? decodeCursor(cursor, tokens.size())
+                : new Cursor(LocalDateTime.now(), query, Map.of(), Set.of());
+        if (!current.query().equals(query)) {
+            throw new IllegalArgumentException("翻页游标与查询条件不匹配，请重新搜索");
+        }
+        LocalDateTime now = current.now();
+        Map<String, CategoryPage> pages = new LinkedHashMap<>();
+
+        if (wanted(categories, current, "job", "job")) {
+            Position after = current.positions().get("job");
+            pages.put("job", collect("job", indexer.jobs(), tokens,
+                    job -> locationFilter == null || (job.getLocation() != null
+                            && job.getLocation().toLowerCase(Locale.ROOT).contains(locationFilter)),
+                    JobPosting::getPublishedDate, JOB_BOOST, 10, now, after));
+        }
+
+        if (wanted(categories, current, "employer", "employer", "company")) {
+            // 企业没有时间属性，不参与时间衰减
+            Position after = current.positions().get("employer");
+            pages.put("employer", collect("employer", indexer.employers(), tokens,
+                    employer -> true, employer -> null, EMPLOYER_BOOST, 6, now, after));
+        }
+
+        if (wanted(categories, current, "notification", "notification", "message")) {
+            Position after = current.positions().get("notification");
+            pages.put("notification", collect("notification", indexer.notifications(), tokens,
+                    notification -> true, SystemNotification::getCreatedAt, NOTIFICATION_BOOST, 6, now, after));
+        }
+
+        if (wanted(categories, current, "resource", "resource", "file")) {
+            Position after = current.positions().get("resource");
+            pages.put("resource", collect("resource", indexer.resources(), tokens,
+                    resource -> true, PublicResource::getCreatedAt, RESOURCE_BOOST, 6, now, after));
+        }
+
+        List<Hit<?>> hits = new ArrayList<>();
+        Map<String, Long> breakdown = new HashMap<>();
+        Map<String, Position> nextPositions = new HashMap<>();
+        Set<String> nextExhausted = new HashSet<>(current.exhausted());
+        for (Map.Entry<String, CategoryPage> entry : pages.entrySet()) {
+            String type = entry.getKey();
+            CategoryPage page = entry.getValue();
+            hits.addAll(page.hits());
+            breakdown.put(type, (long) page.hits().size());
+            if (page.hasMore()) {
+                nextPositions.put(type, new Position(page.hits().get(page.hits().size() - 1), page.stats()));
+            } else {
+                nextExhausted.add(type);
+            }
+        }
+
+        hits.sort(HIT_ORDER.reversed());
+        List<PublicSearchResult> results = new ArrayList<>(hits.size());
+        for (Hit<?> hit : hits) {
+            PublicSearchResult result = toResult(hit);
+            result.setScore(hit.score());
+            results.add(result);
+        }
+
+        PublicSearchResponse response = new PublicSearchResponse();
+        response.setResults(results);
+        response.setTotal(results.size());
+        response.setBreakdown(breakdown);
+        boolean hasMore = pages.keySet().stream().anyMatch(type -> !nextExhausted.contains(type));
+        response.setNextCursor(hasMore ? encodeCursor(new Cursor(now, query, nextPositions, nextExhausted)) : null);
+        return response;
+    }
+
+    /**
+     * 分类是否在过滤范围内，且翻页时尚未取完
+     */
+    private boolean wanted(Set<String> categories, Cursor cursor, String type, String... aliases) {
+        if (cursor.exhausted().contains(type)) {
+            return false;
+        }
+        if (categories.isEmpty()) {
+            return true;
+        }
+        for (String alias : aliases) {
+            if (categories.contains(alias)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 查询条件指纹：游标只能用于生成它的那组关键字、分类与地点
+     */
+    private static String fingerprint(List<String> tokens, Set<String> categories, String locationFilter) {
+        String canonical = String.join(" ", tokens) + '\n' + String.join(",", new TreeSet<>(categories))
+                + '\n' + (locationFilter == null ? "" : locationFilter);
+        return Integer.toHexString(canonical.hashCode());
+    }
+
+    /**
+     * 选出排在 after 之后（after 为 null 时从头开始）得分最高的 limit 条。
+     * 翻页时沿用首页的语料统计打分，同一文档在各页的得分一致。
+     * 多取一条用于判断是否还有下一页，每页代价与翻到第几页无关
+     */
+    private <E> CategoryPage collect(String type, InvertedIndex<E> index, List<String> tokens, Predicate<E> filter,
+                                     Function<E, LocalDateTime> timestamp, double boost, int limit,
+                                     LocalDateTime now, Position after) {
+        InvertedIndex.Matches<E> matches = index.match(tokens);
+        Stats stats = after == null ? Stats.of(matches, tokens) : after.stats();
+        TopK<Hit<E>> topK = new TopK<>(limit + 1, HIT_ORDER);
+        for (Document<E> document : matches.documents()) {
+            if (!filter.test(document.value())) {
+                continue;
+            }
+            LocalDateTime time = timestamp.apply(document.value());
+            double score = bm25(document, stats, tokens) * boost * recency(time, now);
+            Hit<E> hit = new Hit<>(type, document.value(), document.id(), score, time);
+            if (after == null || HIT_ORDER.compare(hit, after.last()) < 0) {
+                topK.offer(hit);
+            }
+        }
+        List<Hit<?>> selected = new ArrayList<>(topK.toSortedList());
+        boolean hasMore = selected.size() > limit;
+        return new CategoryPage(hasMore ? selected.subList(0, limit) : selected, hasMore, stats);
+    }
+
+    /**
+     * 游标格式：参考时间|查询指纹|分类,得分,时间,主键,文档数,平均长度,文档频率:文档频率...|分类,END ...，
+     * 整体做 URL 安全的 Base64 编码，对客户端不透明
+     */
+    private String encodeCursor(Cursor cursor) {
+        StringBuilder builder = new StringBuilder(cursor.now().toString()).append('|').append(cursor.query());
+        cursor.positions().forEach((type, position) -> {
+            Hit<?> hit = position.last();
+            Stats stats = position.stats();
+            builder.append('|').append(type)
+                    .append(',').append(hit.score())
+                    .append(',').append(hit.timestamp() == null ? "-" : hit.timestamp().toString())
+                    .append(',').append(hit.id())
+                    .append(',').append(stats.documentCount())
+                    .append(',').append(stats.averageLength())
+                    .append(',');
+            for (int i = 0; i < stats.documentFrequencies().length; i++) {
+                builder.append(i == 0 ? "" : ":").append(stats.documentFrequencies()[i]);
+            }
+        });
+        cursor.exhausted().forEach(type -> builder.append('|').append(type).append(",END"));
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(builder.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private Cursor decodeCursor(String cursor, int tokenCount) {
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|");
+            LocalDateTime now = LocalDateTime.parse(parts[0]);
+            Map<String, Position> positions = new HashMap<>();
+            Set<String> exhausted = new HashSet<>();
+            for (int i = 2; i < parts.length; i++) {
+                String[] fields = parts[i].split(",", -1);
+                if (fields.length == 2 && "END".equals(fields[1])) {
+                    exhausted.add(fields[0]);
+                } else {
+                    LocalDateTime time = "-".equals(fields[2]) ? null : LocalDateTime.parse(fields[2]);
+                    Hit<?> last = new Hit<>(fields[0], null, Long.parseLong(fields[3]), Double.parseDouble(fields[1]), time);
+                    int[] documentFrequencies = new int[tokenCount];
+                    String[] frequencies = fields[6].split(":");
+                    for (int t = 0; t < tokenCount; t++) {
+                        documentFrequencies[t] = Integer.parseInt(frequencies[t]);
+                    }
+                    positions.put(fields[0], new Position(last, new Stats(Integer.parseInt(fields[4]),
+                            Double.parseDouble(fields[5]), documentFrequencies)));
+                }
+            }
+            return new Cursor(now, parts[1], positions, exhausted);
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("无效的翻页游标");
+        }
+    }
+
+    private double bm25(Document<?> document, Stats stats, List<String> tokens) {
+        double lengthNorm = stats.averageLength() > 0 ? document.length() / stats.averageLength() : 1;
+        double score = 0;
+        for (int i = 0; i < tokens.size(); i++) {
+            int tf = document.termFrequencies().getOrDefault(tokens.get(i), 0);
+            if (tf == 0) {
+                continue;
+            }
+            int df = stats.documentFrequencies()[i];
+            double idf = Math.log(1 + (stats.documentCount() - df + 0.5) / (df + 0.5));
+            score += idf * tf * (BM25_K1 + 1) / (tf + BM25_K1 * (1 - BM25_B + BM25_B * lengthNorm));
+        }
+        return score;
+    }
+
+    private double recency(LocalDateTime time, LocalDateTime now) {
+        if (time == null) {
+            return 1;
+        }
+        double ageDays = Math.max(0, Duration.between(time, now).toHours() / 24.0);
+        return RECENCY_FLOOR + (1 - RECENCY_FLOOR) * Math.pow(0.5, ageDays / RECENCY_HALF_LIFE_DAYS);
+    }
+
+    private PublicSearchResult toResult(Hit<?> hit) {
+        return switch (hit.type()) {
+            case "job" -> buildJobResult((JobPosting) hit.value());
+            case "employer" -> buildEmployerResult((Employer) hit.value());
+            case "notification" -> buildNotificationResult((SystemNotification) hit.value());
+            default -> buildResourceResult((PublicResource) hit.value());
+        };
+    }
+
+    private PublicSearchResult buildJobResult(JobPosting jobPosting) {
+        PublicSearchResult result = new PublicSearchResult();
+        result.setType("job");
+        result.setTitle(jobPosting.getTitle());
+        result.setSubtitle(jobPosting.getLocation());
+        result.setDescription(jobPosting.getDescription());
+        result.setLink("/jobs/" + jobPosting.getId());
+        result.setTimestamp(jobPosting.getPublishedDate());
+        Map<String, Object> metadata = new HashMap<>();
+        metadata.put("salaryRange", jobPosting.getSalaryRange());
+        metadata.put("workType", jobPosting.getWorkType() != null ? jobPosting.getWorkType().name() : null);
+        result.setMetadata(metadata);
+        return result;
+    }
+
+    private PublicSearchResult buildEmployerResult(Employer employer) {
+        PublicSearchResult result = new PublicSearchResult();
+        result.setType("employer");
+        result.setTitle(employer.getCompanyName());
+        result.setSubtitle(employer.getContactPerson());
+        result.setDescription(employer.getDescription());
+        result.setLink("/employers/" + employer.getId());
+        Map<String, Object> metadata = new HashMap<>();
+        metadata.put("contactEmail", employer.getContactEmail());
+        metadata.put("contactPhone", employer.getContactPhone());
+        metadata.put("website", employer.getWebsite());
+        result.setMetadata(metadata);
+        return result;
+    }
+
+    private PublicSearchResult buildNotificationResult(SystemNotification notification) {
+        PublicSearchResult result = new PublicSearchResult();
+        result.setType("notification");
+        result.setTitle(notification.getTitle());
+        result.setSubtitle(notification.getCategory() != null ? notification.getCategory().name() : "系统通知");
+        result.setDescription(notification.getContent());
+        result.setLink("/notifications/" + notification.getId());
+        result.setTimestamp(notification.getCreatedAt());
+        Map<String, Object> metadata = new HashMap<>();
+        metadata.put("readFlag", notification.getReadFlag());
+        result.setMetadata(metadata);
+        return result;
+    }
+
+    private PublicSearchResult buildResourceResult(PublicResource resource) {
+        PublicSearchResult result = new PublicSearchResult();
+        result.setType("resource");
+        result.setTitle(resource.getFileName());
+        result.setSubtitle("共享资料");
+        result.setDescription(resource.getDescription());
+        result.setLink(resource.getDownloadUrl());
+        result.setTimestamp(resource.getCreatedAt());
+        Map<String, Object> metadata = new HashMap<>();
+        metadata.put("fileSize", resource.getFileSize());
+        metadata.put("fileType", resource.getFileType());
+        result.setMetadata(metadata);
+        return result;
+    }
+}
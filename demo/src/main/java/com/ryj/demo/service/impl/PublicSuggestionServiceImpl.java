@@ -0,0 +1,138 @@
+package com.ryj.demo.service.impl;
+
+import com.ryj.demo.common.PrefixTrie;
+import com.ryj.demo.dto.SearchKeywordCountRow;
+import com.ryj.demo.mapper.PublicSearchHistoryMapper;
+import com.ryj.demo.service.PublicSuggestionService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 输入联想词来自岗位名称、企业名称、资料名称以及近期热门搜索关键字，统一存放在一棵前缀树中。
+ * <p>
+ * 前三类跟随 {@link PublicSearchIndexer} 的索引内容增量更新（只统计开放中的岗位），热门关键字由后台定时统计，
+ * 每次只把权重差值应用到前缀树；查询路径不访问数据库。
+ */
+@Service
+public class PublicSuggestionServiceImpl implements PublicSuggestionService, PublicSearchIndexer.Listener {
+
+    /**
+     * 参与联想的表，系统通知的标题不适合作为搜索词
+     */
+    private static final Set<String> SOURCE_TABLES = Set.of("job_posting", "employer", "public_resource");
+
+    /**
+     * 每个同名岗位/企业/资料计 1 次，热门关键字按搜索次数计权重
+     */
+    private static final double ENTITY_WEIGHT = 1;
+    private static final int POPULAR_KEYWORD_LIMIT = 500;
+    private static final int MAX_TERM_LENGTH = 50;
+    private static final int MAX_LIMIT = 20;
+
+    private final PublicSearchHistoryMapper searchHistoryMapper;
+    private final PrefixTrie trie = new PrefixTrie();
+    private final Map<String, Map<Long, String>> termsByTable = new HashMap<>();
+    private Map<String, Long> popularKeywords = new HashMap<>();
+
+    @Value("${app.public-search.popular-keyword-window:90d}")
+    private Duration popularKeywordWindow;
+
+    public PublicSuggestionServiceImpl(PublicSearchIndexer indexer, PublicSearchHistoryMapper searchHistoryMapper) {
+        this.searchHistoryMapper = searchHistoryMapper;
+        indexer.addListener(this);
+    }
+
+    @Override
+    public List<String> suggest(String prefix, int limit) {
+        if (!StringUtils.hasText(prefix) || prefix.length() > MAX_TERM_LENGTH) {
+            return List.of();
+        }
+        return trie.suggest(prefix, Math.max(1, Math.min(limit, MAX_LIMIT)));
+    }
+
+    @Scheduled(fixedDelayString = "${app.public-search.popular-keyword-interval:10m}")
+    public void scheduledRefresh() {
+        try {
+            refreshPopularKeywords();
+        } catch (RuntimeException e) {
+            // 数据库暂不可用时保留上一次的热门关键字
+        }
+    }
+
+    @Override
+    public synchronized void refreshPopularKeywords() {
+        LocalDateTime since = LocalDateTime.now().minus(popularKeywordWindow);
+        Map<String, Long> latest = new HashMap<>();
+        for (SearchKeywordCountRow row : searchHistoryMapper.selectPopularKeywords(since, POPULAR_KEYWORD_LIMIT)) {
+            if (acceptable(row.getKeyword())) {
+                latest.merge(row.getKeyword().trim(), row.getTotal(), Long::sum);
+            }
+        }
+        Set<String> keywords = new HashSet<>(popularKeywords.keySet());
+        keywords.addAll(latest.keySet());
+        for (String keyword : keywords) {
+            long delta = latest.getOrDefault(keyword, 0L) - popularKeywords.getOrDefault(keyword, 0L);
+            trie.adjust(keyword, delta);
+        }
+        popularKeywords = latest;
+    }
+
+    @Override
+    public synchronized void onRebuilt(String table, List<PublicSearchIndexer.Row> rows) {
+        if (!SOURCE_TABLES.contains(table)) {
+            return;
+        }
+        Map<Long, String> previous = termsByTable.getOrDefault(table, Map.of());
+        Map<Long, String> current = new HashMap<>();
+        for (PublicSearchIndexer.Row row : rows) {
+            if (acceptable(row.title())) {
+                current.put(row.id(), row.title().trim());
+            }
+        }
+        // 只应用差异，避免整表替换期间联想词短暂消失
+        previous.forEach((id, term) -> {
+            if (!term.equals(current.get(id))) {
+                trie.adjust(term, -ENTITY_WEIGHT);
+            }
+        });
+        current.forEach((id, term) -> {
+            if (!term.equals(previous.get(id))) {
+                trie.adjust(term, ENTITY_WEIGHT);
+            }
+        });
+        termsByTable.put(table, current);
+    }
+
+    @Override
+    public synchronized void onChanged(String table, Long id, PublicSearchIndexer.Row row) {
+        if (!SOURCE_TABLES.contains(table)) {
+            return;
+        }
+        Map<Long, String> terms = termsByTable.computeIfAbsent(table, key -> new HashMap<>());
+        String term = row != null && acceptable(row.title()) ? row.title().trim() : null;
+        String previous = term == null ? terms.remove(id) : terms.put(id, term);
+        if (previous != null && previous.equals(term)) {
+            return;
+        }
+        if (previous != null) {
+            trie.adjust(previous, -ENTITY_WEIGHT);
+        }
+        if (term != null) {
+            trie.adjust(term, ENTITY_WEIGHT);
+        }
+    }
+
+    private static boolean acceptable(String term) {
+        return StringUtils.hasText(term) && term.trim().length() <= MAX_TERM_LENGTH;
+    }
+}
@@ -0,0 +1,64 @@
+package com.ryj.demo.service.impl;
+
+import com.ryj.demo.common.HeavyHitters;
+import com.ryj.demo.dto.PublicTrendingKeyword;
+import com.ryj.demo.service.PublicTrendingService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * 热门搜索词由搜索接口实时喂入 {@link HeavyHitters}，不再对搜索记录表做 GROUP BY，内存占用固定。
+ * 计数每隔一个衰减周期按半衰期折算一次，热度反映的是近期而不是累计的搜索量；重启后从零开始统计。
+ */
+@Service
+public class PublicTrendingServiceImpl implements PublicTrendingService {
+
+    private static final int SKETCH_DEPTH = 4;
+    private static final int SKETCH_WIDTH = 4096;
+    private static final int CANDIDATE_CAPACITY = 200;
+    private static final int MAX_KEYWORD_LENGTH = 50;
+    private static final int MAX_LIMIT = 50;
+
+    private final HeavyHitters heavyHitters = new HeavyHitters(SKETCH_DEPTH, SKETCH_WIDTH, CANDIDATE_CAPACITY);
+    private final double decayFactor;
+
+    public PublicTrendingServiceImpl(@Value("${app.public-search.trending-half-life:6h}") Duration halfLife,
+                                     @Value("${app.public-search.trending-decay-interval:1m}") Duration decayInterval) {
+        this.decayFactor = Math.pow(0.5, (double) decayInterval.toMillis() / halfLife.toMillis());
+    }
+
+    @Override
+    public void record(String keyword) {
+        if (!StringUtils.hasText(keyword)) {
+            return;
+        }
+        String normalized = keyword.trim().toLowerCase(Locale.ROOT);
+        if (normalized.length() <= MAX_KEYWORD_LENGTH) {
+            heavyHitters.add(normalized, 1);
+        }
+    }
+
+    @Override
+    public List<PublicTrendingKeyword> trending(int limit) {
+        List<PublicTrendingKeyword> result = new ArrayList<>();
+        for (HeavyHitters.Entry entry : heavyHitters.top(Math.max(1, Math.min(limit, MAX_LIMIT)))) {
+            PublicTrendingKeyword keyword = new PublicTrendingKeyword();
+            keyword.setKeyword(entry.term());
+            keyword.setScore(Math.round(entry.count() * 100) / 100.0);
+            result.add(keyword);
+        }
+        return result;
+    }
+
+    @Scheduled(fixedRateString = "${app.public-search.trending-decay-interval:1m}")
+    public void decay() {
+        heavyHitters.decay(decayFactor);
+    }
+}
@@ -0,0 +1,359 @@
+package com.ryj.demo.service.impl;
+
+import com.ryj.demo.common.IdBatches;
+import com.ryj.demo.common.IncrementalReadModel;
+import com.ryj.demo.common.NgramTokenizer;
+import com.ryj.demo.common.TableChangedEvent;
+import com.ryj.demo.common.TopK;
+import com.ryj.demo.dto.SimilarJob;
+import com.ryj.demo.entity.JobPosting;
+import com.ryj.demo.entity.JobRequirement;
+import com.ryj.demo.mapper.JobRequirementMapper;
+import com.ryj.demo.service.JobPostingService;
+import com.ryj.demo.service.SimilarJobService;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 每个开放岗位表示为一个稀疏的 TF-IDF 向量（岗位名称词元加权计入，外加全部岗位要求的词元），
+ * 向量按词元建立倒排表，求相似岗位时只累加与该岗位有共同词元的岗位的点积（余弦相似度）。
+ * <p>
+ * 每个开放岗位的前 {@link #NEIGHBOURS} 个相似岗位预先算好，详情页直接读取。岗位或岗位要求变化
+ * （{@link TableChangedEvent}，岗位要求按所属岗位上报）时只重算该岗位，以及原先把它列为相似岗位、
+ * 或与它的新相似度足以进入列表的岗位。增量更新沿用上次全量计算时的文档频率，每小时全量校准一次。
+ */
+@Service
+public class SimilarJobServiceImpl extends IncrementalReadModel implements SimilarJobService {
+
+    private static final int NEIGHBOURS = 10;
+    private static final int LOAD_BATCH_SIZE = 1000;
+
+    /**
+     * 岗位名称词元按该倍数计入词频
+     */
+    private static final int TITLE_WEIGHT = 2;
+
+    /**
+     * 低于该相似度的岗位只共享了个别常见词元，不作为相似岗位
+     */
+    private static final double MIN_SIMILARITY = 0.05;
+
+    private static final Set<String> WATCHED_TABLES = Set.of("job_posting", "job_requirement");
+
+    private static final Comparator<Neighbour> ORDER = Comparator
+            .comparingDouble(Neighbour::similarity)
+            .thenComparing(neighbour -> neighbour.job().getId(), Comparator.reverseOrder());
+
+    private final JobPostingService jobPostingService;
+    private final JobRequirementMapper jobRequirementMapper;
+
+    /**
+     * 以下向量、倒排表与文档频率由 lock 保护：后台任务写，临时计算读
+     */
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Vector> vectors = new HashMap<>();
+    private final Map<String, Map<Long, Double>> postings = new HashMap<>();
+    private final Map<String, Integer> documentFrequencies = new HashMap<>();
+    /**
+     * 开放岗位 -> 相似岗位（可能为空列表）；不在其中的岗位需要临时计算
+     */
+    private final Map<Long, List<Neighbour>> neighbours = new ConcurrentHashMap<>();
+
+    /**
+     * @param termFrequencies 词元 -> 词频，文档频率变化后据此重新计算权重
+     * @param weights 归一化后的 TF-IDF 权重
+     */
+    private record Vector(JobPosting job, Map<String, Integer> termFrequencies, Map<String, Double> weights) {
+    }
+
+    private record Neighbour(JobPosting job, double similarity) {
+    }
+
+    public SimilarJobServiceImpl(JobPostingService jobPostingService, JobRequirementMapper jobRequirementMapper) {
+        super(WATCHED_TABLES);
+        this.jobPostingService = jobPostingService;
+        this.jobRequirementMapper = jobRequirementMapper;
+    }
+
+    @Override
+    public List<SimilarJob> similar(Long jobId, int limit) {
+        ensureReady();
+        List<Neighbour> result = neighbours.get(jobId);
+        if (result == null) {
+            result = computeForInactive(jobId);
+        }
+        return result.stream()
+                .limit(Math.max(1, Math.min(limit, NEIGHBOURS)))
+                .map(this::toSimilarJob)
+                .toList();
+    }
+
+    /**
+     * 非开放岗位不在索引中，按当前文档频率为它临时构建向量查询一次
+     */
+    private List<Neighbour> computeForInactive(Long jobId) {
+        JobPosting posting = jobPostingService.getById(jobId);
+        if (posting == null) {
+            return List.of();
+        }
+        Map<String, Integer> termFrequencies = termFrequencies(posting, requirementTexts(List.of(jobId)).get(jobId));
+        lock.readLock().lock();
+        try {
+            return rank(jobId, weigh(termFrequencies, documentFrequencies, vectors.size()));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.similar-jobs.rebuild-interval:1h}")
+    public void scheduledRebuild() {
+        rebuildQuietly();
+    }
+
+    @Override
+    protected void reload() {
+        List<JobPosting> open = new ArrayList<>();
+        Long lastId = null;
+        while (true) {
+            List<JobPosting> batch = jobPostingService.lambdaQuery()
+                    .eq(JobPosting::getStatus, JobPosting.Status.OPEN)
+                    .gt(lastId != null, JobPosting::getId, lastId)
+                    .orderByAsc(JobPosting::getId)
+                    .last("limit " + LOAD_BATCH_SIZE)
+                    .list();
+            open.addAll(batch);
+            if (batch.size() < LOAD_BATCH_SIZE) {
+                break;
+            }
+            lastId = batch.get(batch.size() - 1).getId();
+        }
+        Map<Long, List<String>> requirements = requirementTexts(open.stream().map(JobPosting::getId).toList());
+
+        Map<Long, Map<String, Integer>> frequencies = new HashMap<>();
+        Map<String, Integer> freshFrequencies = new HashMap<>();
+        for (JobPosting posting : open) {
+            Map<String, Integer> termFrequencies = termFrequencies(posting, requirements.get(posting.getId()));
+            frequencies.put(posting.getId(), termFrequencies);
+            termFrequencies.keySet().forEach(term -> freshFrequencies.merge(term, 1, Integer::sum));
+        }
+
+        lock.writeLock().lock();
+        try {
+            vectors.clear();
+            postings.clear();
+            documentFrequencies.clear();
+            documentFrequencies.putAll(freshFrequencies);
+            for (JobPosting posting : open) {
+                Map<String, Integer> termFrequencies = frequencies.get(posting.getId());
+                index(new Vector(posting, termFrequencies, weigh(termFrequencies, documentFrequencies, open.size())));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        Map<Long, List<Neighbour>> fresh = new HashMap<>();
+        for (Vector vector : vectors.values()) {
+            fresh.put(vector.job().getId(), rank(vector.job().getId(), vector.weights()));
+        }
+        neighbours.keySet().retainAll(fresh.keySet());
+        neighbours.putAll(fresh);
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${app.similar-jobs.apply-interval:1s}")
+    public void applyPendingChanges() {
+        super.applyPendingChanges();
+    }
+
+    /**
+     * 岗位要求按所属岗位上报，与岗位一起按岗位主键刷新
+     */
+    @Override
+    protected void apply(Changes changes) {
+        refresh(changes.of(WATCHED_TABLES));
+    }
+
+    private void refresh(Set<Long> jobIds) {
+        List<JobPosting> open = IdBatches.list(jobIds, jobPostingService::listByIds).stream()
+                .filter(posting -> posting.getStatus() == JobPosting.Status.OPEN)
+                .toList();
+        Map<Long, List<String>> requirements = requirementTexts(open.stream().map(JobPosting::getId).toList());
+
+        lock.writeLock().lock();
+        try {
+            for (Long jobId : jobIds) {
+                unindex(jobId);
+            }
+            for (JobPosting posting : open) {
+                Map<String, Integer> termFrequencies = termFrequencies(posting, requirements.get(posting.getId()));
+                termFrequencies.keySet().forEach(term -> documentFrequencies.merge(term, 1, Integer::sum));
+                index(new Vector(posting, termFrequencies,
+                        weigh(termFrequencies, documentFrequencies, vectors.size() + 1)));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        // 原先列出了变化岗位的列表整体重算：旧相似度已失效，且变化岗位可能被其它岗位取代
+        Set<Long> recompute = new HashSet<>();
+        for (Map.Entry<Long, List<Neighbour>> entry : neighbours.entrySet()) {
+            for (Neighbour neighbour : entry.getValue()) {
+                if (jobIds.contains(neighbour.job().getId())) {
+                    recompute.add(entry.getKey());
+                    break;
+                }
+            }
+        }
+        jobIds.forEach(neighbours::remove);
+        recompute.removeAll(jobIds);
+        for (JobPosting posting : open) {
+            Vector vector = vectors.get(posting.getId());
+            Map<Long, Double> similarities = similarities(posting.getId(), vector.weights());
+            neighbours.put(posting.getId(), top(similarities));
+            // 余弦相似度对称：变化岗位与其它岗位的新相似度足以进入对方列表时直接并入；
+            // 变化岗位之间的列表已基于更新后的索引整体计算，无需再并入
+            similarities.forEach((otherId, similarity) -> {
+                if (jobIds.contains(otherId) || recompute.contains(otherId) || similarity < MIN_SIMILARITY) {
+                    return;
+                }
+                List<Neighbour> current = neighbours.get(otherId);
+                if (current == null) {
+                    return;
+                }
+                TopK<Neighbour> merged = new TopK<>(NEIGHBOURS, ORDER);
+                current.forEach(merged::offer);
+                merged.offer(new Neighbour(posting, similarity));
+                neighbours.put(otherId, List.copyOf(merged.toSortedList()));
+            });
+        }
+        for (Long jobId : recompute) {
+            Vector vector = vectors.get(jobId);
+            if (vector != null) {
+                neighbours.put(jobId, rank(jobId, vector.weights()));
+            }
+        }
+    }
+
+    private void index(Vector vector) {
+        Long jobId = vector.job().getId();
+        vectors.put(jobId, vector);
+        vector.weights().forEach((term, weight) ->
+                postings.computeIfAbsent(term, key -> new HashMap<>()).put(jobId, weight));
+    }
+
+    private void unindex(Long jobId) {
+        Vector existing = vectors.remove(jobId);
+        if (existing == null) {
+            return;
+        }
+        for (String term : existing.weights().keySet()) {
+            Map<Long, Double> list = postings.get(term);
+            if (list != null) {
+                list.remove(jobId);
+                if (list.isEmpty()) {
+                    postings.remove(term);
+                }
+            }
+            documentFrequencies.computeIfPresent(term, (key, count) -> count > 1 ? count - 1 : null);
+        }
+    }
+
+    private List<Neighbour> rank(Long jobId, Map<String, Double> weights) {
+        return top(similarities(jobId, weights));
+    }
+
+    private List<Neighbour> top(Map<Long, Double> similarities) {
+        TopK<Neighbour> top = new TopK<>(NEIGHBOURS, ORDER);
+        similarities.forEach((otherId, similarity) -> {
+            Vector other = vectors.get(otherId);
+            if (other != null && similarity >= MIN_SIMILARITY) {
+                top.offer(new Neighbour(other.job(), similarity));
+            }
+        });
+        return List.copyOf(top.toSortedList());
+    }
+
+    /**
+     * 沿倒排表累加点积，只访问与查询向量有共同词元的岗位
+     */
+    private Map<Long, Double> similarities(Long jobId, Map<String, Double> weights) {
+        Map<Long, Double> scores = new HashMap<>();
+        weights.forEach((term, weight) -> {
+            Map<Long, Double> list = postings.get(term);
+            if (list != null) {
+                list.forEach((otherId, otherWeight) -> scores.merge(otherId, weight * otherWeight, Double::sum));
+            }
+        });
+        scores.remove(jobId);
+        return scores;
+    }
+
+    private static Map<String, Integer> termFrequencies(JobPosting posting, List<String> requirements) {
+        Map<String, Integer> termFrequencies = new HashMap<>();
+        for (String token : NgramTokenizer.queryTokens(posting.getTitle())) {
+            termFrequencies.merge(token, TITLE_WEIGHT, Integer::sum);
+        }
+        if (requirements != null) {
+            for (String requirement : requirements) {
+                for (String token : NgramTokenizer.queryTokens(requirement)) {
+                    termFrequencies.merge(token, 1, Integer::sum);
+                }
+            }
+        }
+        return termFrequencies;
+    }
+
+    /**
+     * 对数词频乘平滑 IDF，再做 L2 归一化，两个向量的点积即余弦相似度
+     */
+    private static Map<String, Double> weigh(Map<String, Integer> termFrequencies,
+                                             Map<String, Integer> documentFrequencies, int documentCount) {
+        Map<String, Double> weights = new HashMap<>();
+        double norm = 0;
+        for (Map.Entry<String, Integer> entry : termFrequencies.entrySet()) {
+            int documentFrequency = documentFrequencies.getOrDefault(entry.getKey(), 0);
+            double idf = Math.log((documentCount + 1.0) / (documentFrequency + 1.0)) + 1;
+            double weight = (1 + Math.log(entry.getValue())) * idf;
+            weights.put(entry.getKey(), weight);
+            norm += weight * weight;
+        }
+        if (norm > 0) {
+            double length = Math.sqrt(norm);
+            weights.replaceAll((term, weight) -> weight / length);
+        }
+        return weights;
+    }
+
+    private Map<Long, List<String>> requirementTexts(List<Long> jobIds) {
+        Map<Long, List<String>> result = new HashMap<>();
+        for (JobRequirement requirement : IdBatches.list(jobIds, jobRequirementMapper::findByJobIds)) {
+            if (requirement.getRequirement() != null) {
+                result.computeIfAbsent(requirement.getJobId(), key -> new ArrayList<>()).add(requirement.getRequirement());
+            }
+        }
+        return result;
+    }
+
+    private SimilarJob toSimilarJob(Neighbour neighbour) {
+        JobPosting job = neighbour.job();
+        SimilarJob similarJob = new SimilarJob();
+        similarJob.setId(job.getId());
+        similarJob.setEmployerId(job.getEmployerId());
+        similarJob.setTitle(job.getTitle());
+        similarJob.setLocation(job.getLocation());
+        similarJob.setSalaryRange(job.getSalaryRange());
+        similarJob.setWorkType(job.getWorkType());
+        similarJob.setSimilarity(Math.round(neighbour.similarity() * 1000) / 1000.0);
+        return similarJob;
+    }
+}
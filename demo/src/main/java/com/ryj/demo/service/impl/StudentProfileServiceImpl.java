@@ -1,11 +1,14 @@
 package com.ryj.demo.service.impl;
 
-import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
 import com.ryj.demo.entity.StudentProfile;
 import com.ryj.demo.mapper.StudentProfileMapper;
 import com.ryj.demo.service.StudentProfileService;
 import org.springframework.stereotype.Service;
 
 @Service
-public class StudentProfileServiceImpl extends ServiceImpl<StudentProfileMapper, StudentProfile> implements StudentProfileService {
+public class StudentProfileServiceImpl extends CachedServiceImpl<StudentProfileMapper, StudentProfile> implements StudentProfileService {
+
+    public StudentProfileServiceImpl() {
+        super(StudentProfile::getId);
+    }
 }
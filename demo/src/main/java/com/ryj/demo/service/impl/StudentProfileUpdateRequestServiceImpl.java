@@ -1,12 +1,66 @@
 package com.ryj.demo.service.impl;
 
+import com.baomidou.mybatisplus.core.conditions.update.LambdaUpdateWrapper;
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
+import com.ryj.demo.common.Workflows;
+import com.ryj.demo.dto.StudentProfileReviewDecision;
+import com.ryj.demo.entity.StudentProfile;
 import com.ryj.demo.entity.StudentProfileUpdateRequest;
 import com.ryj.demo.mapper.StudentProfileUpdateRequestMapper;
+import com.ryj.demo.service.StudentProfileService;
 import com.ryj.demo.service.StudentProfileUpdateRequestService;
+import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
 
 @Service
+@RequiredArgsConstructor
 public class StudentProfileUpdateRequestServiceImpl extends ServiceImpl<StudentProfileUpdateRequestMapper, StudentProfileUpdateRequest>
         implements StudentProfileUpdateRequestService {
+
+    private final StudentProfileService studentProfileService;
+
+    @Override
+    @Transactional
+    public boolean approve(Long requestId, StudentProfileReviewDecision decision) {
+        boolean approved = Workflows.PROFILE_UPDATE_REQUEST.transit(this,
+                StudentProfileUpdateRequest::getId, requestId, StudentProfileUpdateRequest::getStatus, "APPROVED",
+                update -> applyDecision(update, decision));
+        if (!approved) {
+            return false;
+        }
+
+        // 本事务已持有申请行锁，读取到的就是本次通过的内容
+        StudentProfileUpdateRequest request = getById(requestId);
+        StudentProfile profile = studentProfileService.getById(request.getStudentId());
+        if (profile == null) {
+            profile = new StudentProfile();
+            profile.setId(request.getStudentId());
+        }
+        profile.setGender(request.getGender());
+        profile.setAge(request.getAge());
+        profile.setMajor(request.getMajor());
+        profile.setBiography(request.getBiography());
+        profile.setGraduationYear(request.getGraduationYear());
+        studentProfileService.saveOrUpdate(profile);
+        return true;
+    }
+
+    @Override
+    public boolean reject(Long requestId, StudentProfileReviewDecision decision) {
+        return Workflows.PROFILE_UPDATE_REQUEST.transit(this,
+                StudentProfileUpdateRequest::getId, requestId, StudentProfileUpdateRequest::getStatus, "REJECTED",
+                update -> applyDecision(update, decision));
+    }
+
+    private void applyDecision(LambdaUpdateWrapper<StudentProfileUpdateRequest> update, StudentProfileReviewDecision decision) {
+        update.set(StudentProfileUpdateRequest::getReviewedAt, LocalDateTime.now());
+        if (decision == null) {
+            return;
+        }
+        update.set(decision.getReviewerId() != null, StudentProfileUpdateRequest::getReviewerId, decision.getReviewerId())
+                .set(decision.getReviewComment() != null, StudentProfileUpdateRequest::getReviewComment, decision.getReviewComment());
+    }
 }
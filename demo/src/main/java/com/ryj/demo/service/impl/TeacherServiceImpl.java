@@ -1,7 +1,12 @@
 package com.ryj.demo.service.impl;
 
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.baomidou.mybatisplus.core.conditions.update.LambdaUpdateWrapper;
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
+import com.ryj.demo.common.BatchLoader;
+import com.ryj.demo.common.EntityLoaders;
+import com.ryj.demo.common.StateConflictException;
+import com.ryj.demo.common.Workflows;
 import com.ryj.demo.dto.TeacherDashboardResponse;
 import com.ryj.demo.dto.TeacherProfileApprovalDetail;
 import com.ryj.demo.dto.TeacherProfileResponse;
@@ -21,6 +26,12 @@ import java.util.stream.Collectors;
 @Service
 public class TeacherServiceImpl extends ServiceImpl<TeacherMapper, Teacher> implements TeacherService {
 
+    private static final Set<JobApplication.Status> ACTIVE_APPLICATION_STATUSES = EnumSet.of(
+        JobApplication.Status.SUBMITTED,
+        JobApplication.Status.REVIEWING,
+        JobApplication.Status.INTERVIEW
+    );
+
     private final SysUserService sysUserService;
     private final StudentProfileService studentProfileService;
     private final StudentProfileUpdateRequestService profileUpdateRequestService;
@@ -29,6 +40,7 @@ public class TeacherServiceImpl extends ServiceImpl<TeacherMapper, Teacher> impl
     private final InterviewService interviewService;
     private final EmployerService employerService;
     private final JobPostingService jobPostingService;
+    private final EntityLoaders entityLoaders;
 
     public TeacherServiceImpl(
             SysUserService sysUserService,
@@ -38,7 +50,8 @@ public class TeacherServiceImpl extends ServiceImpl<TeacherMapper, Teacher> impl
             JobApplicationService jobApplicationService,
             InterviewService interviewService,
             EmployerService employerService,
-            JobPostingService jobPostingService) {
+            JobPostingService jobPostingService,
+            EntityLoaders entityLoaders) {
         this.sysUserService = sysUserService;
         this.studentProfileService = studentProfileService;
         this.profileUpdateRequestService = profileUpdateRequestService;
@@ -47,6 +60,7 @@ public class TeacherServiceImpl extends ServiceImpl<TeacherMapper, Teacher> impl
         this.interviewService = interviewService;
         this.employerService = employerService;
         this.jobPostingService = jobPostingService;
+        this.entityLoaders = entityLoaders;
     }
 
     @Override
@@ -144,6 +158,10 @@ public class TeacherServiceImpl extends ServiceImpl<TeacherMapper, Teacher> impl
     @Override
     public TeacherDashboardResponse getDashboardData(Long teacherId) {
         TeacherDashboardResponse response = new TeacherDashboardResponse();
+        BatchLoader<SysUser> users = entityLoaders.loader(sysUserService, SysUser::getId);
+        BatchLoader<StudentProfile> profiles = entityLoaders.loader(studentProfileService, StudentProfile::getId);
+        BatchLoader<JobPosting> jobs = entityLoaders.loader(jobPostingService, JobPosting::getId);
+        BatchLoader<Employer> employers = entityLoaders.loader(employerService, Employer::getId);
 
         // 1. 获取教师基本信息
         Teacher teacher = this.getById(teacherId);
@@ -151,18 +169,18 @@ public class TeacherServiceImpl extends ServiceImpl<TeacherMapper, Teacher> impl
             throw new RuntimeException("教师信息不存在");
         }
 
-        SysUser teacherUser = sysUserService.getById(teacher.getUserId());
-
-        response.setProfile(toDashboardProfile(buildProfileResponse(teacher, teacherUser)));
-
-        // 2. 获取所有被指导的学生
+        // 2. 获取所有被指导的学生（按指导时间倒序，便于取每个学生最近一条指导记录）
         List<TeacherGuidance> allGuidances = guidanceService.list(
-            new LambdaQueryWrapper<TeacherGuidance>().eq(TeacherGuidance::getTeacherId, teacherId)
+            new LambdaQueryWrapper<TeacherGuidance>()
+                .eq(TeacherGuidance::getTeacherId, teacherId)
+                .orderByDesc(TeacherGuidance::getCreatedAt)
         );
-        
-        Set<Long> guidedStudentIds = allGuidances.stream()
-            .map(TeacherGuidance::getStudentId)
-            .collect(Collectors.toSet());
+
+        Map<Long, TeacherGuidance> latestGuidanceByStudent = new LinkedHashMap<>();
+        for (TeacherGuidance guidance : allGuidances) {
+            latestGuidanceByStudent.putIfAbsent(guidance.getStudentId(), guidance);
+        }
+        Set<Long> guidedStudentIds = latestGuidanceByStudent.keySet();
 
         // 3. 获取待审核的档案更新请求（只看分配给当前老师的）
         List<StudentProfileUpdateRequest> pendingRequests = profileUpdateRequestService.list(
@@ -171,9 +189,60 @@ public class TeacherServiceImpl extends ServiceImpl<TeacherMapper, Teacher> impl
                 .eq(StudentProfileUpdateRequest::getHomeroomTeacherId, teacherId)
         );
 
+        // 被指导学生的申请、待审核请求与面试各查询一次，再在内存中按学生分组
+        Map<Long, List<JobApplication>> appsByStudent = new HashMap<>();
+        Map<Long, Integer> pendingCountByStudent = new HashMap<>();
+        Map<Long, List<Interview>> interviewsByApplication = new HashMap<>();
+        if (!guidedStudentIds.isEmpty()) {
+            List<JobApplication> applications = jobApplicationService.list(
+                new LambdaQueryWrapper<JobApplication>()
+                    .in(JobApplication::getStudentId, guidedStudentIds)
+                    .orderByDesc(JobApplication::getAppliedAt)
+            );
+            for (JobApplication app : applications) {
+                appsByStudent.computeIfAbsent(app.getStudentId(), id -> new ArrayList<>()).add(app);
+                jobs.prime(app.getJobId());
+            }
+
+            profileUpdateRequestService.list(
+                new LambdaQueryWrapper<StudentProfileUpdateRequest>()
+                    .select(StudentProfileUpdateRequest::getId, StudentProfileUpdateRequest::getStudentId)
+                    .in(StudentProfileUpdateRequest::getStudentId, guidedStudentIds)
+                    .eq(StudentProfileUpdateRequest::getStatus, "PENDING")
+            ).forEach(request -> pendingCountByStudent.merge(request.getStudentId(), 1, Integer::sum));
+
+            if (!applications.isEmpty()) {
+                List<Interview> interviews = interviewService.list(
+                    new LambdaQueryWrapper<Interview>()
+                        .in(Interview::getApplicationId,
+                            applications.stream().map(JobApplication::getId).collect(Collectors.toList()))
+                        .orderByDesc(Interview::getScheduledTime)
+                );
+                for (Interview interview : interviews) {
+                    interviewsByApplication.computeIfAbsent(interview.getApplicationId(), id -> new ArrayList<>()).add(interview);
+                }
+            }
+        }
+
+        // 一次性登记本次需要的用户、档案与企业，后续读取时各自只发出一条 listByIds
+        users.prime(teacher.getUserId());
+        users.prime(guidedStudentIds);
+        pendingRequests.forEach(request -> users.prime(request.getStudentId()));
+        profiles.prime(guidedStudentIds);
+        jobs.getAll(appsByStudent.values().stream()
+                .flatMap(List::stream)
+                .map(JobApplication::getJobId)
+                .collect(Collectors.toSet()))
+            .values()
+            .forEach(job -> employers.prime(job.getEmployerId()));
+
+        SysUser teacherUser = users.get(teacher.getUserId());
+
+        response.setProfile(toDashboardProfile(buildProfileResponse(teacher, teacherUser)));
+
         List<TeacherDashboardResponse.PendingApproval> pendingApprovals = new ArrayList<>();
         for (StudentProfileUpdateRequest request : pendingRequests) {
-            SysUser student = sysUserService.getById(request.getStudentId());
+            SysUser student = users.get(request.getStudentId());
             TeacherDashboardResponse.PendingApproval approval = new TeacherDashboardResponse.PendingApproval();
             approval.setRequestId(request.getId());
             approval.setStudentId(request.getStudentId());
@@ -189,86 +258,45 @@ public class TeacherServiceImpl extends ServiceImpl<TeacherMapper, Teacher> impl
         // 4. 获取所有被指导学生的详细信息
         List<TeacherDashboardResponse.GuidedStudent> guidedStudents = new ArrayList<>();
         for (Long studentId : guidedStudentIds) {
-            SysUser student = sysUserService.getById(studentId);
-            StudentProfile profile1 = studentProfileService.getById(studentId);
-            
-            // 获取该学生的待审核请求数
-            long pendingCount = profileUpdateRequestService.count(
-                new LambdaQueryWrapper<StudentProfileUpdateRequest>()
-                    .eq(StudentProfileUpdateRequest::getStudentId, studentId)
-                    .eq(StudentProfileUpdateRequest::getStatus, "PENDING")
-            );
-            
+            SysUser student = users.get(studentId);
+            StudentProfile profile1 = profiles.get(studentId);
+            List<JobApplication> apps = appsByStudent.getOrDefault(studentId, Collections.emptyList());
+
             // 获取该学生的活跃申请数
-            long activeAppCount = jobApplicationService.count(
-                new LambdaQueryWrapper<JobApplication>()
-                    .eq(JobApplication::getStudentId, studentId)
-                    .in(JobApplication::getStatus, Arrays.asList(
-                        JobApplication.Status.SUBMITTED,
-                        JobApplication.Status.REVIEWING,
-                        JobApplication.Status.INTERVIEW
-                    ))
-            );
-            
+            long activeAppCount = apps.stream()
+                .filter(app -> ACTIVE_APPLICATION_STATUSES.contains(app.getStatus()))
+                .count();
+
             // 获取最新面试状态
-            JobApplication latestApp = jobApplicationService.getOne(
-                new LambdaQueryWrapper<JobApplication>()
-                    .eq(JobApplication::getStudentId, studentId)
-                    .orderByDesc(JobApplication::getAppliedAt)
-                    .last("LIMIT 1")
-            );
-            
             Interview latestInterview = null;
-            if (latestApp != null) {
-                latestInterview = interviewService.getOne(
-                    new LambdaQueryWrapper<Interview>()
-                        .eq(Interview::getApplicationId, latestApp.getId())
-                        .orderByDesc(Interview::getScheduledTime)
-                        .last("LIMIT 1")
-                );
+            if (!apps.isEmpty()) {
+                List<Interview> interviews = interviewsByApplication.get(apps.get(0).getId());
+                latestInterview = interviews != null ? interviews.get(0) : null;
             }
-            
+
             // 获取最近指导记录
-            TeacherGuidance latestGuidance = guidanceService.getOne(
-                new LambdaQueryWrapper<TeacherGuidance>()
-                    .eq(TeacherGuidance::getTeacherId, teacherId)
-                    .eq(TeacherGuidance::getStudentId, studentId)
-                    .orderByDesc(TeacherGuidance::getCreatedAt)
-                    .last("LIMIT 1")
-            );
-            
-            // 获取该学生申请的企业名称
-            List<JobApplication> apps = jobApplicationService.list(
-                new LambdaQueryWrapper<JobApplication>()
-                    .eq(JobApplication::getStudentId, studentId)
-                    .orderByDesc(JobApplication::getAppliedAt)
-                    .last("LIMIT 5")
-            );
-            
+            TeacherGuidance latestGuidance = latestGuidanceByStudent.get(studentId);
+
+            // 获取该学生最近申请的企业名称
             List<String> employerNames = new ArrayList<>();
-            for (JobApplication app : apps) {
-                if (app.getJobId() != null) {
-                    JobPosting job = jobPostingService.getById(app.getJobId());
-                    if (job != null && job.getEmployerId() != null) {
-                        Employer employer = employerService.getById(job.getEmployerId());
-                        if (employer != null && !employerNames.contains(employer.getCompanyName())) {
-                            employerNames.add(employer.getCompanyName());
-                        }
-                    }
+            for (JobApplication app : apps.subList(0, Math.min(5, apps.size()))) {
+                Employer employer = employerOf(jobs.get(app.getJobId()), employers);
+                if (employer != null && !employerNames.contains(employer.getCompanyName())) {
+                    employerNames.add(employer.getCompanyName());
                 }
             }
-            
+
             TeacherDashboardResponse.GuidedStudent guidedStudent = new TeacherDashboardResponse.GuidedStudent();
             guidedStudent.setStudentId(studentId);
             guidedStudent.setStudentName(student != null ? student.getFullName() : "未知");
             guidedStudent.setMajor(profile1 != null ? profile1.getMajor() : null);
-            guidedStudent.setPendingRequestCount((int) pendingCount);
+            guidedStudent.setPendingRequestCount(pendingCountByStudent.getOrDefault(studentId, 0));
             guidedStudent.setActiveApplicationCount((int) activeAppCount);
             guidedStudent.setLatestInterviewStatus(latestInterview != null ? latestInterview.getStatus().toString() : null);
             guidedStudent.setLatestGuidanceAt(latestGuidance != null ? latestGuidance.getCreatedAt() : null);
             guidedStudent.setLatestGuidanceNote(latestGuidance != null ? latestGuidance.getNote() : null);
             guidedStudent.setEmployerNames(employerNames);
-            
+
             guidedStudents.add(guidedStudent);
         }
         response.setGuidedStudents(guidedStudents);
@@ -276,18 +304,10 @@ public class TeacherServiceImpl extends ServiceImpl<TeacherMapper, Teacher> impl
         // 5. 获取校企协同信息
         Map<Long, TeacherDashboardResponse.EmployerCollaboration> employerMap = new HashMap<>();
         for (Long studentId : guidedStudentIds) {
-            List<JobApplication> apps = jobApplicationService.list(
-                new LambdaQueryWrapper<JobApplication>().eq(JobApplication::getStudentId, studentId)
-            );
-            
-            for (JobApplication app : apps) {
-                if (app.getJobId() == null) continue;
-                JobPosting job = jobPostingService.getById(app.getJobId());
-                if (job == null || job.getEmployerId() == null) continue;
-                
-                Employer employer = employerService.getById(job.getEmployerId());
+            for (JobApplication app : appsByStudent.getOrDefault(studentId, Collections.emptyList())) {
+                Employer employer = employerOf(jobs.get(app.getJobId()), employers);
                 if (employer == null) continue;
-                
+
                 TeacherDashboardResponse.EmployerCollaboration collab = employerMap.computeIfAbsent(
                     employer.getId(),
                     id -> {
@@ -300,42 +320,40 @@ public class TeacherServiceImpl extends ServiceImpl<TeacherMapper, Teacher> impl
                         return c;
                     }
                 );
-                
-                SysUser student = sysUserService.getById(studentId);
+
+                SysUser student = users.get(studentId);
                 String studentName = student != null ? student.getFullName() : "未知";
                 if (!collab.getStudentNames().contains(studentName)) {
                     collab.getStudentNames().add(studentName);
                     collab.setStudentCount(collab.getStudentCount() + 1);
                 }
-                
-                if (collab.getLatestInteraction() == null || 
-                    app.getAppliedAt().isAfter(collab.getLatestInteraction())) {
+
+                if (app.getAppliedAt() != null && (collab.getLatestInteraction() == null ||
+                    app.getAppliedAt().isAfter(collab.getLatestInteraction()))) {
                     collab.setLatestInteraction(app.getAppliedAt());
                 }
             }
         }
-        
-        // 计算每个企业的职位数
-        for (TeacherDashboardResponse.EmployerCollaboration collab : employerMap.values()) {
-            long jobCount = jobPostingService.count(
-                new LambdaQueryWrapper<JobPosting>().eq(JobPosting::getEmployerId, collab.getEmployerId())
-            );
-            collab.setJobCount((int) jobCount);
+
+        // 计算每个企业的职位数（只取两列，一次查询）
+        if (!employerMap.isEmpty()) {
+            Map<Long, Integer> jobCounts = new HashMap<>();
+            jobPostingService.list(
+                new LambdaQueryWrapper<JobPosting>()
+                    .select(JobPosting::getId, JobPosting::getEmployerId)
+                    .in(JobPosting::getEmployerId, employerMap.keySet())
+            ).forEach(job -> jobCounts.merge(job.getEmployerId(), 1, Integer::sum));
+            for (TeacherDashboardResponse.EmployerCollaboration collab : employerMap.values()) {
+                collab.setJobCount(jobCounts.getOrDefault(collab.getEmployerId(), 0));
+            }
         }
-        
+
         response.setEmployerCollaborations(new ArrayList<>(employerMap.values()));
 
         // 6. 获取最近指导记录
-        List<TeacherGuidance> recentGuidances = guidanceService.list(
-            new LambdaQueryWrapper<TeacherGuidance>()
-                .eq(TeacherGuidance::getTeacherId, teacherId)
-                .orderByDesc(TeacherGuidance::getCreatedAt)
-                .last("LIMIT 10")
-        );
-        
         List<TeacherDashboardResponse.GuidanceNote> guidanceNotes = new ArrayList<>();
-        for (TeacherGuidance guidance : recentGuidances) {
-            SysUser student = sysUserService.getById(guidance.getStudentId());
+        for (TeacherGuidance guidance : allGuidances.subList(0, Math.min(10, allGuidances.size()))) {
+            SysUser student = users.get(guidance.getStudentId());
             TeacherDashboardResponse.GuidanceNote note = new TeacherDashboardResponse.GuidanceNote();
             note.setId(guidance.getId());
             note.setStudentId(guidance.getStudentId());
@@ -349,19 +367,12 @@ public class TeacherServiceImpl extends ServiceImpl<TeacherMapper, Teacher> impl
         // 7. 获取学生就业动向
         List<TeacherDashboardResponse.StudentActivity> activities = new ArrayList<>();
         for (Long studentId : guidedStudentIds) {
-            List<JobApplication> apps = jobApplicationService.list(
-                new LambdaQueryWrapper<JobApplication>()
-                    .eq(JobApplication::getStudentId, studentId)
-                    .orderByDesc(JobApplication::getAppliedAt)
-                    .last("LIMIT 3")
-            );
-            
-            for (JobApplication app : apps) {
-                SysUser student = sysUserService.getById(studentId);
-                JobPosting job = app.getJobId() != null ? jobPostingService.getById(app.getJobId()) : null;
-                Employer employer = (job != null && job.getEmployerId() != null) 
-                    ? employerService.getById(job.getEmployerId()) : null;
-                
+            List<JobApplication> apps = appsByStudent.getOrDefault(studentId, Collections.emptyList());
+            for (JobApplication app : apps.subList(0, Math.min(3, apps.size()))) {
+                SysUser student = users.get(studentId);
+                JobPosting job = jobs.get(app.getJobId());
+                Employer employer = employerOf(job, employers);
+
                 TeacherDashboardResponse.StudentActivity activity = new TeacherDashboardResponse.StudentActivity();
                 activity.setApplicationId(app.getId());
                 activity.setStudentId(studentId);
@@ -374,8 +385,9 @@ public class TeacherServiceImpl extends ServiceImpl<TeacherMapper, Teacher> impl
                 activities.add(activity);
             }
         }
-        
-        activities.sort((a, b) -> b.getAppliedAt().compareTo(a.getAppliedAt()));
+
+        activities.sort(Comparator.comparing(TeacherDashboardResponse.StudentActivity::getAppliedAt,
+            Comparator.nullsLast(Comparator.reverseOrder())));
         if (activities.size() > 15) {
             activities = activities.subList(0, 15);
         }
@@ -385,22 +397,12 @@ public class TeacherServiceImpl extends ServiceImpl<TeacherMapper, Teacher> impl
         TeacherDashboardResponse.Overview overview = new TeacherDashboardResponse.Overview();
         overview.setTotalGuidedStudents(guidedStudentIds.size());
         overview.setPendingApprovalCount(pendingApprovals.size());
-        
+
         // 统计活跃面试数
-        int activeInterviewCount = 0;
-        for (Long studentId : guidedStudentIds) {
-            long count = interviewService.count(
-                new LambdaQueryWrapper<Interview>()
-                    .eq(Interview::getStatus, Interview.Status.SCHEDULED)
-                    .in(Interview::getApplicationId, 
-                        jobApplicationService.list(
-                            new LambdaQueryWrapper<JobApplication>()
-                                .eq(JobApplication::getStudentId, studentId)
-                        ).stream().map(JobApplication::getId).collect(Collectors.toList())
-                    )
-            );
-            activeInterviewCount += count;
-        }
+        int activeInterviewCount = (int) interviewsByApplication.values().stream()
+            .flatMap(List::stream)
+            .filter(interview -> interview.getStatus() == Interview.Status.SCHEDULED)
+            .count();
         overview.setActiveInterviewCount(activeInterviewCount);
         overview.setCollaborationCount(employerMap.size());
         response.setOverview(overview);
@@ -408,29 +410,32 @@ public class TeacherServiceImpl extends ServiceImpl<TeacherMapper, Teacher> impl
         return response;
     }
 
+    private Employer employerOf(JobPosting job, BatchLoader<Employer> employers) {
+        return job != null ? employers.get(job.getEmployerId()) : null;
+    }
+
     @Override
     @Transactional
     public Boolean approveProfileUpdate(Long teacherId, Long requestId, String reviewComment) {
-        StudentProfileUpdateRequest request = profileUpdateRequestService.getById(requestId);
-        if (request == null) {
-            throw new RuntimeException("申请记录不存在");
-        }
-        
-        if (!"PENDING".equals(request.getStatus())) {
-            throw new RuntimeException("该申请已被处理，当前状态：" + request.getStatus());
-        }
-        
-        // 验证该申请是否分配给当前教师
-        if (request.getHomeroomTeacherId() != null && !request.getHomeroomTeacherId().equals(teacherId)) {
-            throw new RuntimeException("该申请未分配给您，无权审核");
-        }
-        
         Teacher teacher = this.getById(teacherId);
         if (teacher == null) {
             throw new RuntimeException("教师信息不存在，无法执行审核");
         }
 
-        // 1. 更新学生档案信息（通过后立即生效）
+        // 1. 以条件更新完成审核：只有仍待审核且分配给当前教师的申请才会命中，并发审核时只有一方成功
+        String comment = StringUtils.hasText(reviewComment) ? reviewComment.trim() : "审核通过";
+        boolean approved = Workflows.PROFILE_UPDATE_REQUEST.transit(profileUpdateRequestService,
+                StudentProfileUpdateRequest::getId, requestId, StudentProfileUpdateRequest::getStatus, "APPROVED",
+                update -> assignedTo(update, teacherId)
+                        .set(StudentProfileUpdateRequest::getReviewedAt, LocalDateTime.now())
+                        .set(StudentProfileUpdateRequest::getReviewerId, teacher.getUserId())
+                        .set(StudentProfileUpdateRequest::getReviewComment, comment));
+        if (!approved) {
+            throw reviewFailure(teacherId, requestId);
+        }
+
+        // 2. 更新学生档案信息（本事务已持有申请行锁，读取到的就是本次通过的内容）
+        StudentProfileUpdateRequest request = profileUpdateRequestService.getById(requestId);
         StudentProfile profile = studentProfileService.getById(request.getStudentId());
         if (profile == null) {
             profile = new StudentProfile();
@@ -460,63 +465,62 @@ public class TeacherServiceImpl extends ServiceImpl<TeacherMapper, Teacher> impl
             throw new RuntimeException("更新学生档案失败");
         }
         
-        // 2. 更新申请记录状态为"教师已审核通过"
-        request.setStatus("APPROVED");
-        request.setReviewedAt(LocalDateTime.now());
-        request.setReviewerId(teacher.getUserId());
-        request.setReviewComment(reviewComment != null && !reviewComment.trim().isEmpty() 
-            ? reviewComment.trim() 
-            : "审核通过");
-        
-        boolean requestUpdated = profileUpdateRequestService.updateById(request);
-        if (!requestUpdated) {
-            throw new RuntimeException("更新申请状态失败");
-        }
-        
         return true;
     }
 
     @Override
     @Transactional
     public Boolean rejectProfileUpdate(Long teacherId, Long requestId, String reviewComment) {
-        StudentProfileUpdateRequest request = profileUpdateRequestService.getById(requestId);
-        if (request == null) {
-            throw new RuntimeException("申请记录不存在");
-        }
-        
-        if (!"PENDING".equals(request.getStatus())) {
-            throw new RuntimeException("该申请已被处理，当前状态：" + request.getStatus());
-        }
-        
-        // 验证该申请是否分配给当前教师
-        if (request.getHomeroomTeacherId() != null && !request.getHomeroomTeacherId().equals(teacherId)) {
-            throw new RuntimeException("该申请未分配给您，无权审核");
+        // 验证必须填写退回原因
+        if (reviewComment == null || reviewComment.trim().isEmpty()) {
+            throw new RuntimeException("退回申请时必须填写原因");
         }
-        
+
         Teacher teacher = this.getById(teacherId);
         if (teacher == null) {
             throw new RuntimeException("教师信息不存在，无法执行审核");
         }
 
-        // 验证必须填写退回原因
-        if (reviewComment == null || reviewComment.trim().isEmpty()) {
-            throw new RuntimeException("退回申请时必须填写原因");
-        }
-        
         // 更新申请状态为"已退回"，学生档案不更新
-        request.setStatus("REJECTED");
-        request.setReviewedAt(LocalDateTime.now());
-        request.setReviewerId(teacher.getUserId());
-        request.setReviewComment(reviewComment.trim());
-
-        boolean updated = profileUpdateRequestService.updateById(request);
-        if (!updated) {
-            throw new RuntimeException("更新申请状态失败");
+        boolean rejected = Workflows.PROFILE_UPDATE_REQUEST.transit(profileUpdateRequestService,
+                StudentProfileUpdateRequest::getId, requestId, StudentProfileUpdateRequest::getStatus, "REJECTED",
+                update -> assignedTo(update, teacherId)
+                        .set(StudentProfileUpdateRequest::getReviewedAt, LocalDateTime.now())
+                        .set(StudentProfileUpdateRequest::getReviewerId, teacher.getUserId())
+                        .set(StudentProfileUpdateRequest::getReviewComment, reviewComment.trim()));
+        if (!rejected) {
+            throw reviewFailure(teacherId, requestId);
         }
         
         return true;
     }
 
+    /**
+     * 未分配班主任的申请任何教师都可以审核
+     */
+    private LambdaUpdateWrapper<StudentProfileUpdateRequest> assignedTo(LambdaUpdateWrapper<StudentProfileUpdateRequest> update,
+                                                                        Long teacherId) {
+        return update.and(w -> w.isNull(StudentProfileUpdateRequest::getHomeroomTeacherId)
+                .or().eq(StudentProfileUpdateRequest::getHomeroomTeacherId, teacherId));
+    }
+
+    /**
+     * 审核的条件更新未命中时读取申请，给出具体原因
+     */
+    private RuntimeException reviewFailure(Long teacherId, Long requestId) {
+        StudentProfileUpdateRequest request = profileUpdateRequestService.getById(requestId);
+        if (request == null) {
+            return new RuntimeException("申请记录不存在");
+        }
+        if (!"PENDING".equals(request.getStatus())) {
+            return new StateConflictException("该申请已被处理，当前状态：" + request.getStatus());
+        }
+        if (request.getHomeroomTeacherId() != null && !request.getHomeroomTeacherId().equals(teacherId)) {
+            return new RuntimeException("该申请未分配给您，无权审核");
+        }
+        return new StateConflictException("该申请正在被处理，请刷新后重试");
+    }
+
     @Override
     public TeacherProfileApprovalDetail getProfileApprovalDetail(Long teacherId, Long requestId) {
         StudentProfileUpdateRequest request = profileUpdateRequestService.getById(requestId);
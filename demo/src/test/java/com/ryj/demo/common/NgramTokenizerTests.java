@@ -0,0 +1,62 @@
+package com.ryj.demo.common;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 英文词按前缀建索引：只输入单词开头的一部分，或查询词是文档中更长单词的前缀，也能命中，
+ * 与原先 LIKE '%关键词%' 的召回保持一致；中文仍按二元组匹配
+ */
+class NgramTokenizerTests {
+
+    private static final long JAVA = 1L;
+    private static final long SPRING = 2L;
+    private static final long REACT = 3L;
+
+    private final InvertedIndex<String> index = new InvertedIndex<>();
+
+    @BeforeEach
+    void seed() {
+        put(JAVA, "Java Developers 招聘");
+        put(SPRING, "SpringBoot 后端工程师");
+        put(REACT, "React 前端开发");
+    }
+
+    @Test
+    void partialWordQueriesMatchLongerWords() {
+        assertThat(search("jav")).containsExactly(JAVA);
+        assertThat(search("developer")).containsExactly(JAVA);
+        assertThat(search("spring")).containsExactly(SPRING);
+        assertThat(search("Spring 工程师")).containsExactly(SPRING);
+        assertThat(search("re")).containsExactly(REACT);
+    }
+
+    @Test
+    void wholeWordsStillMatchAndOtherWordsDoNot() {
+        assertThat(search("java")).containsExactly(JAVA);
+        assertThat(search("springboot")).containsExactly(SPRING);
+        assertThat(search("javascript")).isEmpty();
+        assertThat(search("developerss")).isEmpty();
+        assertThat(search("前端")).containsExactly(REACT);
+    }
+
+    @Test
+    void queryTokensStayWholeWords() {
+        assertThat(NgramTokenizer.queryTokens("SpringBoot 工程师")).containsExactly("springboot", "工程", "程师");
+        assertThat(NgramTokenizer.tokenize("Java")).containsExactly("ja", "jav", "java");
+    }
+
+    private void put(long id, String text) {
+        index.put(id, text, NgramTokenizer.tokenize(text));
+    }
+
+    private List<Long> search(String keyword) {
+        return index.match(NgramTokenizer.queryTokens(keyword)).documents().stream()
+                .map(InvertedIndex.Document::id)
+                .toList();
+    }
+}
@@ -0,0 +1,206 @@
+package com.ryj.demo.controller;
+
+import com.ryj.demo.dto.EmployerDashboardResponse;
+import com.ryj.demo.entity.Employer;
+import com.ryj.demo.entity.Interview;
+import com.ryj.demo.entity.JobApplication;
+import com.ryj.demo.entity.JobPosting;
+import com.ryj.demo.entity.SysUser;
+import com.ryj.demo.service.EmployerService;
+import com.ryj.demo.service.InterviewService;
+import com.ryj.demo.service.JobApplicationService;
+import com.ryj.demo.service.JobPostingService;
+import com.ryj.demo.service.SysUserService;
+import org.apache.ibatis.executor.resultset.ResultSetHandler;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Signature;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 企业工作台的开销应只取决于岗位数和展示条数：同一企业的历史申请从 40 条增长到 4000 条，
+ * 工作台从数据库取回的行数不增加（逐条加载时会随之增长到数千行），头部计数仍与明细一致
+ */
+@SpringBootTest
+@ActiveProfiles("h2")
+@Transactional
+class EmployerOverviewBenchmarkTests {
+
+    private static final int JOB_COUNT = 3;
+    private static final int STUDENT_COUNT = 10;
+    private static final LocalDateTime START = LocalDateTime.of(2024, 1, 1, 9, 0);
+
+    @Autowired
+    private EmployerModuleController controller;
+    @Autowired
+    private SysUserService sysUserService;
+    @Autowired
+    private EmployerService employerService;
+    @Autowired
+    private JobPostingService jobPostingService;
+    @Autowired
+    private JobApplicationService jobApplicationService;
+    @Autowired
+    private InterviewService interviewService;
+    @Autowired
+    private RowCounter rowCounter;
+
+    private Long employerUserId;
+    private final List<Long> jobIds = new ArrayList<>();
+    private final List<Long> studentIds = new ArrayList<>();
+    private int seeded;
+
+    @TestConfiguration
+    static class RowCounterConfig {
+        @Bean
+        RowCounter rowCounter() {
+            return new RowCounter();
+        }
+    }
+
+    /**
+     * 统计当前线程从结果集映射出的行数，排除后台索引任务的查询
+     */
+    @Intercepts(@Signature(type = ResultSetHandler.class, method = "handleResultSets", args = Statement.class))
+    static class RowCounter implements Interceptor {
+
+        private final ThreadLocal<long[]> rows = new ThreadLocal<>();
+
+        @Override
+        public Object intercept(Invocation invocation) throws Throwable {
+            Object result = invocation.proceed();
+            long[] counter = rows.get();
+            if (counter != null && result instanceof List<?> list) {
+                counter[0] += list.size();
+            }
+            return result;
+        }
+
+        long count(Runnable action) {
+            rows.set(new long[1]);
+            try {
+                action.run();
+                return rows.get()[0];
+            } finally {
+                rows.remove();
+            }
+        }
+    }
+
+    @BeforeEach
+    void seed() {
+        SysUser employerUser = user("overview_employer", SysUser.Role.EMPLOYER);
+        employerUserId = employerUser.getId();
+        Employer employer = new Employer();
+        employer.setUserId(employerUserId);
+        employer.setCompanyName("工作台测试企业");
+        employerService.save(employer);
+        for (int i = 0; i < JOB_COUNT; i++) {
+            JobPosting posting = new JobPosting();
+            posting.setEmployerId(employer.getId());
+            posting.setTitle("岗位" + i);
+            posting.setWorkType(JobPosting.WorkType.FULL_TIME);
+            posting.setStatus(JobPosting.Status.OPEN);
+            jobPostingService.save(posting);
+            jobIds.add(posting.getId());
+        }
+        for (int i = 0; i < STUDENT_COUNT; i++) {
+            studentIds.add(user("overview_student_" + i, SysUser.Role.STUDENT).getId());
+        }
+    }
+
+    @Test
+    void overviewCostDoesNotGrowWithApplicationHistory() {
+        addApplications(40);
+        long smallRows = rowCounter.count(() -> controller.overview(employerUserId));
+        assertHeaderMatchesHistory(controller.overview(employerUserId).getData());
+
+        addApplications(3960);
+        long largeRows = rowCounter.count(() -> controller.overview(employerUserId));
+        EmployerDashboardResponse large = controller.overview(employerUserId).getData();
+        assertHeaderMatchesHistory(large);
+
+        assertThat(largeRows).isLessThanOrEqualTo(smallRows);
+        assertThat(large.getApplications()).hasSize(8);
+        assertThat(large.getApplications().get(0).getAppliedAt()).isEqualTo(START.plusHours(seeded - 1));
+        assertThat(large.getInterviews()).hasSize(8);
+    }
+
+    private void assertHeaderMatchesHistory(EmployerDashboardResponse response) {
+        List<JobApplication> applications = jobApplicationService.lambdaQuery()
+                .in(JobApplication::getJobId, jobIds)
+                .list();
+        long active = applications.stream()
+                .filter(app -> app.getStatus() != JobApplication.Status.REJECTED
+                        && app.getStatus() != JobApplication.Status.OFFERED)
+                .count();
+        long scheduled = interviewService.lambdaQuery()
+                .in(Interview::getJobId, jobIds)
+                .eq(Interview::getStatus, Interview.Status.SCHEDULED)
+                .count();
+        assertThat(response.getHeader().getActiveApplicationCount()).isEqualTo(active);
+        assertThat(response.getHeader().getScheduledInterviewCount()).isEqualTo(scheduled);
+        assertThat(response.getHeader().getTalentPoolSize()).isEqualTo(STUDENT_COUNT);
+        assertThat(response.getJobs().stream().mapToLong(EmployerDashboardResponse.JobOverview::getApplicationCount).sum())
+                .isEqualTo(applications.size());
+    }
+
+    /**
+     * 按固定周期追加申请：学生轮流投递，每 5 条申请安排一场面试
+     */
+    private void addApplications(int count) {
+        JobApplication.Status[] statuses = JobApplication.Status.values();
+        List<JobApplication> applications = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            int n = seeded + i;
+            JobApplication application = new JobApplication();
+            application.setJobId(jobIds.get(n % JOB_COUNT));
+            application.setStudentId(studentIds.get(n % STUDENT_COUNT));
+            application.setResumeId(1L);
+            application.setStatus(statuses[n % statuses.length]);
+            application.setAppliedAt(START.plusHours(n));
+            applications.add(application);
+        }
+        jobApplicationService.saveBatch(applications);
+
+        List<Interview> interviews = new ArrayList<>();
+        for (int i = 0; i < count; i += 5) {
+            JobApplication application = applications.get(i);
+            Interview interview = new Interview();
+            interview.setJobId(application.getJobId());
+            interview.setApplicationId(application.getId());
+            interview.setScheduledTime(application.getAppliedAt().plusDays(3));
+            interview.setStatus((seeded + i) % 10 == 0 ? Interview.Status.SCHEDULED : Interview.Status.COMPLETED);
+            interviews.add(interview);
+        }
+        interviewService.saveBatch(interviews);
+        seeded += count;
+    }
+
+    private SysUser user(String username, SysUser.Role role) {
+        SysUser user = new SysUser();
+        user.setUsername(username);
+        user.setPasswordHash("x");
+        user.setFullName(username);
+        user.setEmail(username + "@example.com");
+        user.setRole(role);
+        user.setStatus(SysUser.Status.ACTIVE);
+        sysUserService.save(user);
+        return user;
+    }
+}
@@ -0,0 +1,110 @@
+package com.ryj.demo.service.impl;
+
+import com.ryj.demo.entity.JobPosting;
+import com.ryj.demo.service.CandidateMatchService.CandidateMatch;
+import com.ryj.demo.service.JobPostingService;
+import com.ryj.demo.service.JobRequirementService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 技能按英文单词边界匹配岗位要求："C"、"Go" 这类短技能不会因为出现在 "React"、"good" 中间而计分。
+ * <p>
+ * 匹配索引是单例，数据真正提交后再重建，用例结束后清理并再次重建。
+ */
+@SpringBootTest
+@ActiveProfiles("h2")
+class CandidateMatchServiceImplTests {
+
+    private static final long C_STUDENT = 81_001L;
+    private static final long GO_STUDENT = 81_002L;
+    private static final long REACT_STUDENT = 81_003L;
+
+    @Autowired
+    private CandidateMatchServiceImpl candidateMatchService;
+    @Autowired
+    private JobPostingService jobPostingService;
+    @Autowired
+    private JobRequirementService jobRequirementService;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final List<Long> postingIds = new ArrayList<>();
+
+    @BeforeEach
+    void seed() {
+        student(C_STUDENT, "C");
+        student(GO_STUDENT, "Go");
+        student(REACT_STUDENT, "React");
+    }
+
+    @AfterEach
+    void cleanUp() {
+        postingIds.forEach(id -> jobRequirementService.replaceRequirements(id, null));
+        jobPostingService.removeByIds(postingIds);
+        List<Long> students = List.of(C_STUDENT, GO_STUDENT, REACT_STUDENT);
+        for (Long studentId : students) {
+            jdbcTemplate.update("DELETE FROM resume_skill WHERE resume_id IN (SELECT id FROM resume WHERE student_id = ?)", studentId);
+            jdbcTemplate.update("DELETE FROM resume WHERE student_id = ?", studentId);
+            jdbcTemplate.update("DELETE FROM student_profile WHERE id = ?", studentId);
+        }
+        candidateMatchService.rebuild();
+    }
+
+    @Test
+    void shortSkillsDoNotMatchInsideLongerWords() {
+        JobPosting posting = posting("前端开发", List.of("熟悉 React 开发", "good communication skills"));
+        candidateMatchService.rebuild();
+
+        Map<Long, CandidateMatch> matches = candidateMatchService.score(posting,
+                List.of(C_STUDENT, GO_STUDENT, REACT_STUDENT));
+
+        assertThat(matches).doesNotContainKeys(C_STUDENT, GO_STUDENT);
+        assertThat(matches.get(REACT_STUDENT).matchedSkills()).containsExactly("react");
+    }
+
+    @Test
+    void skillsStillMatchWholeWordsNextToPunctuationOrChinese() {
+        JobPosting posting = posting("嵌入式开发", List.of("掌握C语言", "熟悉 go/rust", "了解 C++"));
+        candidateMatchService.rebuild();
+
+        Map<Long, CandidateMatch> matches = candidateMatchService.score(posting,
+                List.of(C_STUDENT, GO_STUDENT, REACT_STUDENT));
+
+        assertThat(matches.get(C_STUDENT).matchedSkills()).containsExactly("c");
+        assertThat(matches.get(GO_STUDENT).matchedSkills()).containsExactly("go");
+        assertThat(matches).doesNotContainKey(REACT_STUDENT);
+        // "C++" 中的 "c" 不算命中，C 学生只覆盖了第一条要求
+        assertThat(matches.get(C_STUDENT).score()).isEqualTo(matches.get(GO_STUDENT).score());
+    }
+
+    private void student(long studentId, String skill) {
+        jdbcTemplate.update("INSERT INTO student_profile (id, major) VALUES (?, ?)", studentId, "计算机科学");
+        jdbcTemplate.update("INSERT INTO resume (student_id, title) VALUES (?, ?)", studentId, "简历");
+        Long resumeId = jdbcTemplate.queryForObject("SELECT id FROM resume WHERE student_id = ?", Long.class, studentId);
+        jdbcTemplate.update("INSERT INTO resume_skill (resume_id, skill) VALUES (?, ?)", resumeId, skill);
+    }
+
+    private JobPosting posting(String title, List<String> requirements) {
+        JobPosting posting = new JobPosting();
+        posting.setEmployerId(9_201L);
+        posting.setTitle(title);
+        posting.setWorkType(JobPosting.WorkType.FULL_TIME);
+        posting.setStatus(JobPosting.Status.OPEN);
+        jobPostingService.save(posting);
+        postingIds.add(posting.getId());
+        jobRequirementService.replaceRequirements(posting.getId(), requirements);
+        return posting;
+    }
+}
@@ -0,0 +1,287 @@
+package com.ryj.demo.service.impl;
+
+import com.ryj.demo.controller.EmployerModuleController;
+import com.ryj.demo.dto.EmployerInterviewRequest;
+import com.ryj.demo.entity.Employer;
+import com.ryj.demo.entity.Interview;
+import com.ryj.demo.entity.InterviewSlot;
+import com.ryj.demo.entity.JobApplication;
+import com.ryj.demo.entity.JobPosting;
+import com.ryj.demo.service.EmployerService;
+import com.ryj.demo.service.InterviewService;
+import com.ryj.demo.service.InterviewSlotService;
+import com.ryj.demo.service.JobApplicationService;
+import com.ryj.demo.service.JobPostingService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntFunction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 数百名学生同时抢占面试时段：每个时段最多被一个申请占用，每个申请最多占用一个时段，
+ * 落败者在内存 CAS 处快速返回，抢占人数增加时延迟保持平稳；面试取消或删除后时段重新开放。
+ * <p>
+ * 抢占在多个线程中各自提交事务，因此不使用 @Transactional，数据在用例结束后清理。
+ */
+@SpringBootTest
+@ActiveProfiles("h2")
+class InterviewSlotServiceImplTests {
+
+    private static final int SLOT_COUNT = 20;
+    private static final int CLAIMANT_COUNT = 400;
+    private static final int THREADS = 64;
+    private static final long STUDENT_ID_BASE = 50_000L;
+    private static final long EMPLOYER_USER_ID = 9_001L;
+
+    @Autowired
+    private InterviewSlotService slotService;
+    @Autowired
+    private InterviewService interviewService;
+    @Autowired
+    private JobApplicationService jobApplicationService;
+    @Autowired
+    private JobPostingService jobPostingService;
+    @Autowired
+    private EmployerService employerService;
+    @Autowired
+    private EmployerModuleController employerController;
+
+    private Employer employer;
+    private JobPosting posting;
+    private final List<Long> slotIds = new ArrayList<>();
+    private final List<JobApplication> applications = new ArrayList<>();
+
+    @BeforeEach
+    void seed() {
+        employer = new Employer();
+        employer.setUserId(EMPLOYER_USER_ID);
+        employer.setCompanyName("面试时段压测企业");
+        employerService.save(employer);
+
+        posting = new JobPosting();
+        posting.setEmployerId(employer.getId());
+        posting.setTitle("面试时段压测岗位");
+        posting.setWorkType(JobPosting.WorkType.FULL_TIME);
+        posting.setStatus(JobPosting.Status.OPEN);
+        jobPostingService.save(posting);
+
+        LocalDateTime start = LocalDateTime.now().plusDays(7).withHour(9).withMinute(0).withSecond(0).withNano(0);
+        List<LocalDateTime> startTimes = new ArrayList<>();
+        for (int i = 0; i < SLOT_COUNT; i++) {
+            startTimes.add(start.plusMinutes(30L * i));
+        }
+        slotService.publish(posting.getId(), startTimes, "三号楼 201", null)
+                .forEach(slot -> slotIds.add(slot.getId()));
+
+        for (int i = 0; i < CLAIMANT_COUNT; i++) {
+            JobApplication application = new JobApplication();
+            application.setJobId(posting.getId());
+            application.setStudentId(STUDENT_ID_BASE + i);
+            application.setResumeId(1L);
+            application.setStatus(JobApplication.Status.REVIEWING);
+            applications.add(application);
+        }
+        jobApplicationService.saveBatch(applications);
+    }
+
+    @AfterEach
+    void cleanUp() {
+        slotService.lambdaUpdate().eq(InterviewSlot::getJobId, posting.getId()).remove();
+        interviewService.lambdaUpdate().eq(Interview::getJobId, posting.getId()).remove();
+        jobApplicationService.lambdaUpdate().eq(JobApplication::getJobId, posting.getId()).remove();
+        jobPostingService.removeById(posting.getId());
+        employerService.removeById(employer.getId());
+    }
+
+    @Test
+    void parallelClaimsNeverDoubleBook() throws Exception {
+        assertThat(slotIds).hasSize(SLOT_COUNT);
+
+        // 每个时段 20 人争抢
+        Outcome outcome = race(applications, i -> slotIds.get(i % SLOT_COUNT));
+
+        assertThat(outcome.booked()).hasSize(SLOT_COUNT);
+        assertNoDoubleBooking();
+        assertThat(slotService.listByJob(posting.getId(), true)).isEmpty();
+    }
+
+    @Test
+    void everyoneRacingForOneSlotYieldsOneBooking() throws Exception {
+        Long contested = slotIds.get(0);
+
+        Outcome outcome = race(applications, i -> contested);
+
+        assertThat(outcome.booked()).hasSize(1);
+        assertNoDoubleBooking();
+        assertThat(slotService.listByJob(posting.getId(), true)).hasSize(SLOT_COUNT - 1);
+    }
+
+    @Test
+    void contentionOnOneSlotIsNoSlowerThanSpreadClaims() throws Exception {
+        int half = CLAIMANT_COUNT / 2;
+        // 前一半申请同时抢第一个时段，后一半分散到其余时段；先跑集中抢占，预热开销计在它身上
+        Outcome contended = race(applications.subList(0, half), i -> slotIds.get(0));
+        Outcome spread = race(applications.subList(half, CLAIMANT_COUNT), i -> slotIds.get(1 + i % (SLOT_COUNT - 1)));
+
+        assertThat(contended.booked()).hasSize(1);
+        assertThat(spread.booked()).hasSize(SLOT_COUNT - 1);
+        assertNoDoubleBooking();
+        // 集中抢占只有一次落库，其余都在内存中被拒绝，不排队等待数据库行锁；
+        // 分散抢占有 19 次落库，集中抢占的尾延迟不应高于它
+        assertThat(contended.percentileMillis(0.99)).isLessThanOrEqualTo(spread.percentileMillis(0.99));
+        assertThat(contended.percentileMillis(0.5)).isLessThanOrEqualTo(spread.percentileMillis(0.99));
+    }
+
+    @Test
+    void oneApplicationRacingForEverySlotBooksOnlyOne() throws Exception {
+        JobApplication greedy = applications.get(0);
+
+        Outcome outcome = race(Collections.nCopies(SLOT_COUNT, greedy), slotIds::get);
+
+        assertThat(outcome.booked()).hasSize(1);
+        assertNoDoubleBooking();
+        assertThat(slotService.listByJob(posting.getId(), true)).hasSize(SLOT_COUNT - 1);
+        assertThat(slotService.listByJob(posting.getId(), false))
+                .filteredOn(slot -> greedy.getId().equals(slot.getApplicationId()))
+                .hasSize(1);
+    }
+
+    @Test
+    void cancellingOrDeletingInterviewReopensItsSlot() {
+        JobApplication application = applications.get(0);
+        Long first = slotIds.get(0);
+        Long second = slotIds.get(1);
+        Interview booked = slotService.claim(first, application.getStudentId(), application.getId());
+        assertThatThrownBy(() -> slotService.claim(second, application.getStudentId(), application.getId()))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> employerController.deleteJob(EMPLOYER_USER_ID, posting.getId()))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        // 取消后原时段重新开放，申请可以改约其他时段
+        employerController.updateInterview(EMPLOYER_USER_ID, booked.getId(),
+                interviewRequest(interviewService.getById(booked.getId()), Interview.Status.CANCELLED));
+        InterviewSlot released = slotService.getById(first);
+        assertThat(released.getApplicationId()).isNull();
+        assertThat(released.getInterviewId()).isNull();
+        assertThat(released.getBookedAt()).isNull();
+        Interview rebooked = slotService.claim(second, application.getStudentId(), application.getId());
+
+        // 删除经时段预约的面试不受外键阻拦，时段同样重新开放
+        assertThat(employerController.deleteInterview(EMPLOYER_USER_ID, rebooked.getId()).getData()).isTrue();
+        assertThat(slotService.getById(second).getApplicationId()).isNull();
+        assertThat(slotService.listByJob(posting.getId(), true)).hasSize(SLOT_COUNT);
+        assertThat(slotService.claim(first, application.getStudentId(), application.getId())).isNotNull();
+        assertNoDoubleBooking();
+
+        // 没有被预约的时段时，删除岗位会一并删除其时段
+        Long other = applications.get(1).getId();
+        interviewService.lambdaQuery().eq(Interview::getJobId, posting.getId()).list()
+                .forEach(interview -> employerController.deleteInterview(EMPLOYER_USER_ID, interview.getId()));
+        assertThat(employerController.deleteJob(EMPLOYER_USER_ID, posting.getId()).getData()).isTrue();
+        assertThat(slotService.listByJob(posting.getId(), false)).isEmpty();
+        assertThatThrownBy(() -> slotService.claim(second, application.getStudentId(), other))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private EmployerInterviewRequest interviewRequest(Interview interview, Interview.Status status) {
+        EmployerInterviewRequest request = new EmployerInterviewRequest();
+        request.setJobId(interview.getJobId());
+        request.setApplicationId(interview.getApplicationId());
+        request.setScheduledTime(interview.getScheduledTime());
+        request.setLocation(interview.getLocation());
+        request.setStatus(status);
+        request.setVersion(interview.getVersion());
+        return request;
+    }
+
+    private void assertNoDoubleBooking() {
+        List<InterviewSlot> slots = slotService.listByJob(posting.getId(), false);
+        List<Long> holders = slots.stream()
+                .map(InterviewSlot::getApplicationId)
+                .filter(Objects::nonNull)
+                .toList();
+        assertThat(holders).doesNotHaveDuplicates();
+
+        // 已取消的面试不再占用时段
+        List<Interview> interviews = interviewService.lambdaQuery()
+                .eq(Interview::getJobId, posting.getId())
+                .eq(Interview::getStatus, Interview.Status.SCHEDULED)
+                .list();
+        assertThat(interviews).hasSameSizeAs(holders);
+        assertThat(interviews).extracting(Interview::getApplicationId)
+                .doesNotHaveDuplicates()
+                .containsExactlyInAnyOrderElementsOf(holders);
+        for (InterviewSlot slot : slots) {
+            if (slot.getApplicationId() != null) {
+                assertThat(slot.getInterviewId()).isNotNull();
+            }
+        }
+    }
+
+    /**
+     * 全部抢占者在同一时刻放行，第 i 个申请抢占 slotFor(i)
+     */
+    private Outcome race(List<JobApplication> claimants, IntFunction<Long> slotFor) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch ready = new CountDownLatch(claimants.size());
+        CountDownLatch go = new CountDownLatch(1);
+        ConcurrentLinkedQueue<Long> booked = new ConcurrentLinkedQueue<>();
+        ConcurrentLinkedQueue<Long> latencies = new ConcurrentLinkedQueue<>();
+        List<Future<?>> futures = new ArrayList<>();
+        try {
+            for (int i = 0; i < claimants.size(); i++) {
+                JobApplication application = claimants.get(i);
+                Long slotId = slotFor.apply(i);
+                futures.add(executor.submit(() -> {
+                    ready.countDown();
+                    go.await();
+                    long begin = System.nanoTime();
+                    try {
+                        slotService.claim(slotId, application.getStudentId(), application.getId());
+                        booked.add(application.getId());
+                    } catch (IllegalArgumentException rejected) {
+                        // 时段已被他人预约
+                    } finally {
+                        latencies.add(System.nanoTime() - begin);
+                    }
+                    return null;
+                }));
+            }
+            go.countDown();
+            for (Future<?> future : futures) {
+                future.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        return new Outcome(new ArrayList<>(booked), new ArrayList<>(latencies));
+    }
+
+    private record Outcome(List<Long> booked, List<Long> latencies) {
+
+        double percentileMillis(double percentile) {
+            List<Long> sorted = new ArrayList<>(latencies);
+            Collections.sort(sorted);
+            int index = Math.min(sorted.size() - 1, (int) Math.ceil(percentile * sorted.size()) - 1);
+            return sorted.get(Math.max(0, index)) / 1_000_000.0;
+        }
+    }
+}
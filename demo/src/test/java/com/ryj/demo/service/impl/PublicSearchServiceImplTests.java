@@ -0,0 +1,121 @@
+package com.ryj.demo.service.impl;
+
+import com.ryj.demo.dto.PublicSearchResponse;
+import com.ryj.demo.dto.PublicSearchResult;
+import com.ryj.demo.entity.JobPosting;
+import com.ryj.demo.service.JobPostingService;
+import com.ryj.demo.service.PublicSearchService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 翻页期间索引被写入：新文档改变了文档数、文档频率与平均长度，已有文档在后续各页仍按首页的统计打分，
+ * 逐页取完后每条原有命中恰好出现一次。
+ * <p>
+ * 索引通过表变更事件增量更新，写入需要真正提交，因此不使用 @Transactional，数据在用例结束后清理。
+ */
+@SpringBootTest
+@ActiveProfiles("h2")
+class PublicSearchServiceImplTests {
+
+    private static final String KEYWORD = "kotlin";
+    private static final int MATCHING_COUNT = 25;
+
+    @Autowired
+    private PublicSearchService searchService;
+    @Autowired
+    private PublicSearchIndexer indexer;
+    @Autowired
+    private JobPostingService jobPostingService;
+
+    private final List<Long> seeded = new ArrayList<>();
+
+    @BeforeEach
+    void seed() {
+        LocalDateTime published = LocalDateTime.now().minusDays(1);
+        List<JobPosting> postings = new ArrayList<>();
+        for (int i = 0; i < MATCHING_COUNT; i++) {
+            // 描述长短与关键字出现次数各不相同，长度归一化会随平均长度变化而改变相对顺序
+            postings.add(posting("Kotlin 工程师 " + i,
+                    "kotlin ".repeat(1 + i % 4) + "移动端开发 ".repeat(i % 7), published.minusHours(i)));
+        }
+        for (int i = 0; i < 10; i++) {
+            postings.add(posting("Java 工程师 " + i, "后端开发", published));
+        }
+        jobPostingService.saveBatch(postings);
+        postings.forEach(posting -> seeded.add(posting.getId()));
+        indexer.rebuild();
+    }
+
+    @AfterEach
+    void cleanUp() {
+        jobPostingService.removeByIds(seeded);
+        indexer.rebuild();
+    }
+
+    @Test
+    void writesBetweenPagesNeitherSkipNorRepeatHits() {
+        List<Long> matching = List.copyOf(seeded.subList(0, MATCHING_COUNT));
+        PublicSearchResponse page = searchService.search(KEYWORD, "job", null, null);
+        List<Long> returned = new ArrayList<>(ids(page));
+        assertThat(returned).hasSize(10);
+
+        // 首页之后写入几条更长、同样命中的岗位
+        List<JobPosting> added = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            added.add(posting("Kotlin 架构师 " + i, "kotlin 服务端 ".repeat(40), LocalDateTime.now()));
+        }
+        jobPostingService.saveBatch(added);
+        added.forEach(posting -> seeded.add(posting.getId()));
+        indexer.applyPendingChanges();
+
+        while (page.getNextCursor() != null) {
+            page = searchService.search(KEYWORD, "job", null, page.getNextCursor());
+            returned.addAll(ids(page));
+        }
+
+        assertThat(returned).doesNotHaveDuplicates();
+        assertThat(returned).containsAll(matching);
+    }
+
+    @Test
+    void cursorIsBoundToItsQuery() {
+        String cursor = searchService.search(KEYWORD, "job", null, null).getNextCursor();
+        assertThat(cursor).isNotNull();
+
+        assertThatThrownBy(() -> searchService.search("工程师", "job", null, cursor))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> searchService.search(KEYWORD, "job", "上海", cursor))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(searchService.search(KEYWORD, "job", null, cursor).getResults()).hasSize(10);
+    }
+
+    private JobPosting posting(String title, String description, LocalDateTime published) {
+        JobPosting posting = new JobPosting();
+        posting.setEmployerId(9_101L);
+        posting.setTitle(title);
+        posting.setDescription(description);
+        posting.setWorkType(JobPosting.WorkType.FULL_TIME);
+        posting.setStatus(JobPosting.Status.OPEN);
+        posting.setPublishedDate(published);
+        return posting;
+    }
+
+    private static List<Long> ids(PublicSearchResponse response) {
+        return response.getResults().stream()
+                .map(PublicSearchResult::getLink)
+                .map(link -> Long.parseLong(link.substring(link.lastIndexOf('/') + 1)))
+                .toList();
+    }
+}
@@ -0,0 +1,199 @@
+package com.ryj.demo.service.impl;
+
+import com.ryj.demo.dto.EmploymentStatisticsDto;
+import com.ryj.demo.entity.Employer;
+import com.ryj.demo.entity.Interview;
+import com.ryj.demo.entity.JobApplication;
+import com.ryj.demo.entity.JobPosting;
+import com.ryj.demo.entity.StudentProfile;
+import com.ryj.demo.entity.SysUser;
+import com.ryj.demo.entity.TeacherGuidance;
+import com.ryj.demo.service.EmployerService;
+import com.ryj.demo.service.InterviewService;
+import com.ryj.demo.service.JobApplicationService;
+import com.ryj.demo.service.JobPostingService;
+import com.ryj.demo.service.StudentProfileService;
+import com.ryj.demo.service.SysUserService;
+import com.ryj.demo.service.TeacherGuidanceService;
+import com.ryj.demo.service.TeacherStatisticsService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("h2")
+@Transactional
+class TeacherStatisticsServiceImplTests {
+
+    private static final Long GUIDING_TEACHER_ID = 1L;
+    private static final Long IDLE_TEACHER_ID = 2L;
+
+    @Autowired
+    private TeacherStatisticsService statisticsService;
+    @Autowired
+    private TeacherGuidanceService guidanceService;
+    @Autowired
+    private StudentProfileService studentProfileService;
+    @Autowired
+    private JobApplicationService jobApplicationService;
+    @Autowired
+    private InterviewService interviewService;
+    @Autowired
+    private JobPostingService jobPostingService;
+    @Autowired
+    private EmployerService employerService;
+    @Autowired
+    private SysUserService sysUserService;
+
+    private LegacyTeacherStatistics legacy;
+
+    @BeforeEach
+    void seed() {
+        legacy = new LegacyTeacherStatistics(guidanceService, studentProfileService, jobApplicationService,
+                interviewService, jobPostingService, employerService, sysUserService);
+
+        Random random = new Random(20240601L);
+        String[] majors = {"计算机科学与技术", "软件工程", "市场营销", "会计学", null};
+        String[] locations = {"北京", "上海", "深圳", "杭州", null};
+        String[] salaries = {"8k-12k", "10000-15000", "5k", "4500", "15K-25K", "面议", null, "6.5k-8k"};
+
+        List<Long> studentIds = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            SysUser student = user("stat_student_" + i, SysUser.Role.STUDENT);
+            studentIds.add(student.getId());
+            if (i % 7 != 0) {
+                StudentProfile profile = new StudentProfile();
+                profile.setId(student.getId());
+                profile.setMajor(majors[random.nextInt(majors.length)]);
+                studentProfileService.save(profile);
+            }
+        }
+        user("stat_teacher", SysUser.Role.TEACHER);
+
+        List<Long> jobIds = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            SysUser employerUser = user("stat_employer_" + i, SysUser.Role.EMPLOYER);
+            Employer employer = new Employer();
+            employer.setUserId(employerUser.getId());
+            employer.setCompanyName("企业" + (char) ('A' + i));
+            employerService.save(employer);
+            for (int j = 0; j < 3; j++) {
+                JobPosting posting = new JobPosting();
+                posting.setEmployerId(employer.getId());
+                posting.setTitle("岗位" + i + "-" + j);
+                posting.setLocation(locations[random.nextInt(locations.length)]);
+                posting.setSalaryRange(salaries[random.nextInt(salaries.length)]);
+                posting.setWorkType(JobPosting.WorkType.FULL_TIME);
+                posting.setStatus(JobPosting.Status.OPEN);
+                jobPostingService.save(posting);
+                jobIds.add(posting.getId());
+            }
+        }
+
+        JobApplication.Status[] statuses = JobApplication.Status.values();
+        for (int i = 0; i < 150; i++) {
+            // 约四分之一的学生不投递，保证“未开始求职”有数据
+            Long studentId = studentIds.get(random.nextInt(studentIds.size() * 3 / 4));
+            JobApplication application = new JobApplication();
+            application.setJobId(jobIds.get(random.nextInt(jobIds.size())));
+            application.setStudentId(studentId);
+            application.setResumeId(1L);
+            application.setStatus(statuses[random.nextInt(statuses.length)]);
+            application.setAppliedAt(LocalDateTime.of(2024, 1 + random.nextInt(6), 1 + random.nextInt(28), 10, 0));
+            jobApplicationService.save(application);
+
+            int interviews = random.nextInt(3);
+            for (int k = 0; k < interviews; k++) {
+                Interview interview = new Interview();
+                interview.setJobId(application.getJobId());
+                interview.setApplicationId(application.getId());
+                interview.setScheduledTime(application.getAppliedAt().plusDays(3 + k));
+                interview.setStatus(Interview.Status.SCHEDULED);
+                interviewService.save(interview);
+            }
+        }
+
+        for (int i = 0; i < 40; i += 2) {
+            TeacherGuidance guidance = new TeacherGuidance();
+            guidance.setTeacherId(GUIDING_TEACHER_ID);
+            guidance.setStudentId(studentIds.get(i));
+            guidance.setNote("指导记录");
+            guidanceService.save(guidance);
+        }
+        // 同一学生多条指导记录不应被重复统计
+        TeacherGuidance duplicate = new TeacherGuidance();
+        duplicate.setTeacherId(GUIDING_TEACHER_ID);
+        duplicate.setStudentId(studentIds.get(0));
+        duplicate.setNote("补充记录");
+        guidanceService.save(duplicate);
+    }
+
+    @Test
+    void allStudentsMatchesLegacyImplementation() {
+        assertSameStatistics(GUIDING_TEACHER_ID, "all");
+    }
+
+    @Test
+    void guidedStudentsMatchesLegacyImplementation() {
+        assertSameStatistics(GUIDING_TEACHER_ID, "guided");
+    }
+
+    @Test
+    void teacherWithoutStudentsReturnsEmptyStatistics() {
+        EmploymentStatisticsDto stats = statisticsService.getEmploymentStatistics(IDLE_TEACHER_ID, "guided");
+        assertThat(stats).isEqualTo(legacy.getEmploymentStatistics(IDLE_TEACHER_ID, "guided"));
+        assertThat(stats.getOverview().getTotalStudents()).isZero();
+    }
+
+    private void assertSameStatistics(Long teacherId, String scope) {
+        EmploymentStatisticsDto expected = normalize(legacy.getEmploymentStatistics(teacherId, scope));
+        EmploymentStatisticsDto actual = statisticsService.getEmploymentStatistics(teacherId, scope);
+
+        assertThat(actual.getOverview().getTotalApplications()).isPositive();
+        assertThat(actual.getOverview()).isEqualTo(expected.getOverview());
+        assertThat(actual.getIndustryDistribution()).isEqualTo(expected.getIndustryDistribution());
+        assertThat(actual.getLocationDistribution()).isEqualTo(expected.getLocationDistribution());
+        assertThat(actual.getSalaryDistribution()).isEqualTo(expected.getSalaryDistribution());
+        assertThat(actual.getMajorEmploymentRates()).isEqualTo(expected.getMajorEmploymentRates());
+        assertThat(actual.getMonthlyTrends()).isEqualTo(expected.getMonthlyTrends());
+    }
+
+    /**
+     * 旧实现基于 HashMap，数量相同的分组顺序不确定；按新实现的稳定排序规则对齐后再比较
+     */
+    private EmploymentStatisticsDto normalize(EmploymentStatisticsDto stats) {
+        stats.getIndustryDistribution().sort(Comparator
+                .comparingInt(EmploymentStatisticsDto.IndustryDistribution::getCount).reversed()
+                .thenComparing(EmploymentStatisticsDto.IndustryDistribution::getIndustry));
+        stats.getLocationDistribution().sort(Comparator
+                .comparingInt(EmploymentStatisticsDto.LocationDistribution::getCount).reversed()
+                .thenComparing(EmploymentStatisticsDto.LocationDistribution::getLocation));
+        stats.getMajorEmploymentRates().sort(Comparator
+                .comparingDouble(EmploymentStatisticsDto.MajorEmploymentRate::getEmploymentRate).reversed()
+                .thenComparing(EmploymentStatisticsDto.MajorEmploymentRate::getMajor));
+        return stats;
+    }
+
+    private SysUser user(String username, SysUser.Role role) {
+        SysUser user = new SysUser();
+        user.setUsername(username);
+        user.setPasswordHash("x");
+        user.setFullName(username);
+        user.setEmail(username + "@example.com");
+        user.setRole(role);
+        user.setStatus(SysUser.Status.ACTIVE);
+        sysUserService.save(user);
+        return user;
+    }
+}
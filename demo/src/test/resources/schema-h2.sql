@@ -0,0 +1,257 @@
+-- 测试用表结构，对应 database/schema.sql（去掉外键与注释以兼容 H2）
+
+DROP TABLE IF EXISTS public_resource;
+DROP TABLE IF EXISTS public_search_history;
+DROP TABLE IF EXISTS system_notification;
+DROP TABLE IF EXISTS teacher_guidance;
+DROP TABLE IF EXISTS teacher;
+DROP TABLE IF EXISTS interview_slot;
+DROP TABLE IF EXISTS interview;
+DROP TABLE IF EXISTS job_application;
+DROP TABLE IF EXISTS job_requirement;
+DROP TABLE IF EXISTS job_posting;
+DROP TABLE IF EXISTS employer;
+DROP TABLE IF EXISTS resume_experience;
+DROP TABLE IF EXISTS resume_skill;
+DROP TABLE IF EXISTS resume;
+DROP TABLE IF EXISTS employment_intention_city;
+DROP TABLE IF EXISTS employment_intention;
+DROP TABLE IF EXISTS student_award;
+DROP TABLE IF EXISTS student_experience;
+DROP TABLE IF EXISTS student_education;
+DROP TABLE IF EXISTS student_profile_update_request;
+DROP TABLE IF EXISTS student_profile;
+DROP TABLE IF EXISTS sys_user;
+
+CREATE TABLE sys_user (
+    id            BIGINT PRIMARY KEY AUTO_INCREMENT,
+    username      VARCHAR(50)  NOT NULL UNIQUE,
+    password_hash VARCHAR(255) NOT NULL,
+    full_name     VARCHAR(100) NOT NULL,
+    email         VARCHAR(120) NOT NULL,
+    phone         VARCHAR(30),
+    role          VARCHAR(20)  NOT NULL,
+    status        VARCHAR(20)  DEFAULT 'ACTIVE',
+    created_at    DATETIME     DEFAULT CURRENT_TIMESTAMP,
+    updated_at    DATETIME     DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE TABLE student_profile (
+    id              BIGINT PRIMARY KEY,
+    gender          VARCHAR(10),
+    age             INT,
+    major           VARCHAR(100),
+    biography       TEXT,
+    graduation_year INT
+);
+
+CREATE TABLE student_profile_update_request (
+    id                  BIGINT PRIMARY KEY AUTO_INCREMENT,
+    student_id          BIGINT NOT NULL,
+    gender              VARCHAR(10),
+    age                 INT,
+    major               VARCHAR(100),
+    biography           TEXT,
+    graduation_year     INT,
+    status              VARCHAR(20) DEFAULT 'PENDING',
+    created_at          DATETIME DEFAULT CURRENT_TIMESTAMP,
+    reviewed_at         DATETIME,
+    reviewer_id         BIGINT,
+    homeroom_teacher_id BIGINT,
+    review_comment      TEXT
+);
+
+CREATE TABLE student_education (
+    id          BIGINT PRIMARY KEY AUTO_INCREMENT,
+    student_id  BIGINT NOT NULL,
+    school      VARCHAR(120) NOT NULL,
+    major       VARCHAR(120),
+    degree      VARCHAR(60),
+    start_date  DATE,
+    end_date    DATE,
+    description TEXT
+);
+
+CREATE TABLE student_experience (
+    id              BIGINT PRIMARY KEY AUTO_INCREMENT,
+    student_id      BIGINT NOT NULL,
+    title           VARCHAR(150) NOT NULL,
+    organization    VARCHAR(150),
+    start_date      DATE,
+    end_date        DATE,
+    description     TEXT,
+    experience_type VARCHAR(20) DEFAULT 'OTHER'
+);
+
+CREATE TABLE student_award (
+    id          BIGINT PRIMARY KEY AUTO_INCREMENT,
+    student_id  BIGINT NOT NULL,
+    name        VARCHAR(150) NOT NULL,
+    award_date  DATE,
+    level       VARCHAR(60),
+    description TEXT
+);
+
+CREATE TABLE employment_intention (
+    id                BIGINT PRIMARY KEY AUTO_INCREMENT,
+    student_id        BIGINT NOT NULL UNIQUE,
+    expected_position VARCHAR(120),
+    salary_range      VARCHAR(60),
+    salary_min        INT,
+    salary_max        INT,
+    work_type         VARCHAR(20),
+    notes             TEXT
+);
+
+CREATE TABLE employment_intention_city (
+    intention_id BIGINT NOT NULL,
+    city         VARCHAR(80) NOT NULL,
+    PRIMARY KEY (intention_id, city)
+);
+
+CREATE TABLE resume (
+    id            BIGINT PRIMARY KEY AUTO_INCREMENT,
+    student_id    BIGINT NOT NULL,
+    title         VARCHAR(150) NOT NULL,
+    summary       TEXT,
+    portfolio_url VARCHAR(255),
+    created_at    DATETIME DEFAULT CURRENT_TIMESTAMP,
+    updated_at    DATETIME DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE TABLE resume_skill (
+    resume_id   BIGINT      NOT NULL,
+    skill       VARCHAR(80) NOT NULL,
+    proficiency TINYINT,
+    PRIMARY KEY (resume_id, skill)
+);
+
+CREATE TABLE resume_experience (
+    id           BIGINT PRIMARY KEY AUTO_INCREMENT,
+    resume_id    BIGINT NOT NULL,
+    title        VARCHAR(150) NOT NULL,
+    organization VARCHAR(150),
+    start_date   DATE,
+    end_date     DATE,
+    description  TEXT
+);
+
+CREATE TABLE employer (
+    id             BIGINT PRIMARY KEY AUTO_INCREMENT,
+    user_id        BIGINT NOT NULL,
+    company_name   VARCHAR(150) NOT NULL,
+    contact_person VARCHAR(100),
+    contact_email  VARCHAR(120),
+    contact_phone  VARCHAR(40),
+    description    TEXT,
+    website        VARCHAR(200)
+);
+
+CREATE TABLE job_posting (
+    id             BIGINT PRIMARY KEY AUTO_INCREMENT,
+    employer_id    BIGINT NOT NULL,
+    title          VARCHAR(150) NOT NULL,
+    description    TEXT,
+    salary_range   VARCHAR(80),
+    salary_min     INT,
+    salary_max     INT,
+    location       VARCHAR(120),
+    work_type      VARCHAR(20),
+    status         VARCHAR(20) DEFAULT 'OPEN',
+    published_date DATETIME DEFAULT CURRENT_TIMESTAMP,
+    closing_date   DATE
+);
+
+CREATE TABLE job_requirement (
+    job_id      BIGINT       NOT NULL,
+    requirement VARCHAR(200) NOT NULL,
+    PRIMARY KEY (job_id, requirement)
+);
+
+CREATE TABLE job_application (
+    id           BIGINT PRIMARY KEY AUTO_INCREMENT,
+    job_id       BIGINT NOT NULL,
+    student_id   BIGINT NOT NULL,
+    resume_id    BIGINT NOT NULL,
+    status       VARCHAR(20) DEFAULT 'SUBMITTED',
+    cover_letter TEXT,
+    applied_at   DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE TABLE interview (
+    id             BIGINT PRIMARY KEY AUTO_INCREMENT,
+    job_id         BIGINT   NOT NULL,
+    application_id BIGINT   NOT NULL,
+    scheduled_time DATETIME NOT NULL,
+    location       VARCHAR(200),
+    meeting_link   VARCHAR(255),
+    status         VARCHAR(20) DEFAULT 'SCHEDULED',
+    feedback       TEXT,
+    version        INT NOT NULL DEFAULT 0
+);
+
+CREATE TABLE interview_slot (
+    id             BIGINT PRIMARY KEY AUTO_INCREMENT,
+    job_id         BIGINT   NOT NULL,
+    start_time     DATETIME NOT NULL,
+    location       VARCHAR(200),
+    meeting_link   VARCHAR(255),
+    application_id BIGINT UNIQUE,
+    interview_id   BIGINT,
+    booked_at      DATETIME,
+    FOREIGN KEY (job_id) REFERENCES job_posting(id),
+    FOREIGN KEY (application_id) REFERENCES job_application(id),
+    FOREIGN KEY (interview_id) REFERENCES interview(id)
+);
+
+CREATE TABLE teacher (
+    id         BIGINT PRIMARY KEY AUTO_INCREMENT,
+    user_id    BIGINT NOT NULL,
+    department VARCHAR(120),
+    email      VARCHAR(120),
+    phone      VARCHAR(30),
+    major      VARCHAR(120),
+    focus      VARCHAR(255),
+    biography  TEXT
+);
+
+CREATE TABLE teacher_guidance (
+    id         BIGINT PRIMARY KEY AUTO_INCREMENT,
+    teacher_id BIGINT NOT NULL,
+    student_id BIGINT NOT NULL,
+    note       TEXT,
+    created_at DATETIME DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE TABLE public_search_history (
+    id               BIGINT PRIMARY KEY AUTO_INCREMENT,
+    user_id          BIGINT,
+    keyword          VARCHAR(200) NOT NULL,
+    role_filter      VARCHAR(60),
+    category_filter  VARCHAR(120),
+    location_filter  VARCHAR(120),
+    advanced_options TEXT,
+    created_at       DATETIME DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE TABLE public_resource (
+    id           BIGINT PRIMARY KEY AUTO_INCREMENT,
+    uploader_id  BIGINT,
+    file_name    VARCHAR(255) NOT NULL,
+    file_type    VARCHAR(120),
+    file_size    BIGINT,
+    storage_path VARCHAR(500) NOT NULL,
+    download_url VARCHAR(255),
+    description  TEXT,
+    created_at   DATETIME DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE TABLE system_notification (
+    id         BIGINT PRIMARY KEY AUTO_INCREMENT,
+    user_id    BIGINT NOT NULL,
+    category   VARCHAR(20) DEFAULT 'SYSTEM',
+    title      VARCHAR(150) NOT NULL,
+    content    TEXT,
+    read_flag  TINYINT DEFAULT 0,
+    created_at DATETIME DEFAULT CURRENT_TIMESTAMP
+);
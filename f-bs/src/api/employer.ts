@@ -79,6 +79,26 @@ export interface EmployerApplicationOverview {
   status: JobApplicationStatus
   appliedAt: string | null
   resumeId: number | null
+  resumeTitle: string | null
+}
+
+export interface EmployerApplicationPage {
+  records: EmployerApplicationOverview[]
+  total: number | null
+  hasMore: boolean
+  nextCursorAppliedAt: string | null
+  nextCursorId: number | null
+}
+
+export interface EmployerApplicationQuery {
+  status?: JobApplicationStatus
+  jobId?: number
+  appliedFrom?: string
+  appliedTo?: string
+  cursorAppliedAt?: string
+  cursorId?: number
+  size?: number
+  withTotal?: boolean
 }
 
 export interface EmployerInterviewOverview {
@@ -87,11 +107,13 @@ export interface EmployerInterviewOverview {
   jobTitle: string | null
   applicationId: number | null
   candidateName: string | null
+  resumeTitle: string | null
   status: InterviewStatus
   scheduledTime: string | null
   location: string | null
   meetingLink: string | null
   feedback: string | null
+  version: number | null
 }
 
 export interface EmployerTalentSummary {
@@ -124,12 +146,16 @@ export interface EmployerTalentCandidate {
 export interface EmployerTalentResponse {
   summary: EmployerTalentSummary
   candidates: EmployerTalentCandidate[]
+  page: number
+  size: number
 }
 
 export interface EmployerTalentQuery {
   keyword?: string
   status?: JobApplicationStatus
   interviewStatus?: InterviewStatus
+  page?: number
+  size?: number
 }
 
 export interface EmployerDashboardResponse {
@@ -191,6 +217,11 @@ export interface EmployerApplicationStatusPayload {
   status: JobApplicationStatus
 }
 
+export interface EmployerApplicationBulkStatusPayload {
+  applicationIds: number[]
+  status: JobApplicationStatus
+}
+
 export interface EmployerInterviewRequestPayload {
   jobId: number
   applicationId: number
@@ -199,6 +230,44 @@ export interface EmployerInterviewRequestPayload {
   meetingLink?: string | null
   status?: InterviewStatus | null
   feedback?: string | null
+  version?: number | null
+}
+
+export interface EmployerInterviewSlotPayload {
+  applicationId: number
+  scheduledTime: string
+  location?: string | null
+  meetingLink?: string | null
+}
+
+export interface EmployerInterviewRejectedSlot {
+  index: number
+  applicationId: number | null
+  scheduledTime: string | null
+  reason: string
+}
+
+export interface EmployerInterviewBatchResponse {
+  scheduled: EmployerInterviewOverview[]
+  rejected: EmployerInterviewRejectedSlot[]
+}
+
+export interface EmployerInterviewSlot {
+  id: number
+  jobId: number
+  startTime: string
+  location: string | null
+  meetingLink: string | null
+  applicationId: number | null
+  interviewId: number | null
+  bookedAt: string | null
+}
+
+export interface EmployerInterviewSlotPayload {
+  jobId: number
+  startTimes: string[]
+  location?: string | null
+  meetingLink?: string | null
 }
 
 export async function fetchEmployerDashboard(userId: number): Promise<EmployerDashboardResponse> {
@@ -246,10 +315,15 @@ export async function deleteEmployerJob(userId: number, jobId: number): Promise<
 
 export async function fetchEmployerApplications(
   userId: number,
-  status?: JobApplicationStatus,
-): Promise<EmployerApplicationOverview[]> {
-  const query = status ? `&status=${status}` : ''
-  return request(`/api/employer-module/applications?userId=${userId}${query}`)
+  query: EmployerApplicationQuery = {},
+): Promise<EmployerApplicationPage> {
+  const params = new URLSearchParams({ userId: String(userId) })
+  for (const [key, value] of Object.entries(query)) {
+    if (value !== undefined && value !== null && value !== '') {
+      params.append(key, String(value))
+    }
+  }
+  return request(`/api/employer-module/applications?${params.toString()}`)
 }
 
 export async function updateEmployerApplicationStatus(
@@ -263,6 +337,16 @@ export async function updateEmployerApplicationStatus(
   })
 }
 
+export async function updateEmployerApplicationStatuses(
+  userId: number,
+  payload: EmployerApplicationBulkStatusPayload,
+): Promise<number> {
+  return request(`/api/employer-module/applications/status?userId=${userId}`, {
+    method: 'PUT',
+    body: JSON.stringify(payload),
+  })
+}
+
 export async function fetchEmployerInterviews(userId: number): Promise<EmployerInterviewOverview[]> {
   return request(`/api/employer-module/interviews?userId=${userId}`)
 }
@@ -277,6 +361,16 @@ export async function createEmployerInterview(
   })
 }
 
+export async function scheduleEmployerInterviews(
+  userId: number,
+  slots: EmployerInterviewSlotPayload[],
+): Promise<EmployerInterviewBatchResponse> {
+  return request(`/api/employer-module/interviews/batch?userId=${userId}`, {
+    method: 'POST',
+    body: JSON.stringify({ slots }),
+  })
+}
+
 export async function updateEmployerInterview(
   userId: number,
   interviewId: number,
@@ -308,5 +402,31 @@ export async function fetchEmployerTalent(
   if (query.interviewStatus) {
     params.append('interviewStatus', query.interviewStatus)
   }
+  if (query.page) {
+    params.append('page', String(query.page))
+  }
+  if (query.size) {
+    params.append('size', String(query.size))
+  }
   return request(`/api/employer-module/talent?${params.toString()}`)
 }
+
+export async function fetchEmployerInterviewSlots(userId: number, jobId: number): Promise<EmployerInterviewSlot[]> {
+  return request(`/api/employer-module/slots?userId=${userId}&jobId=${jobId}`)
+}
+
+export async function publishEmployerInterviewSlots(
+  userId: number,
+  payload: EmployerInterviewSlotPayload,
+): Promise<EmployerInterviewSlot[]> {
+  return request(`/api/employer-module/slots?userId=${userId}`, {
+    method: 'POST',
+    body: JSON.stringify(payload),
+  })
+}
+
+export async function deleteEmployerInterviewSlot(userId: number, slotId: number): Promise<boolean> {
+  return request(`/api/employer-module/slots/${slotId}?userId=${userId}`, {
+    method: 'DELETE',
+  })
+}
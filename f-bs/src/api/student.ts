@@ -448,3 +448,35 @@ export async function fetchJobPostings(params: {
 export async function fetchJobPostingDetail(id: number) {
   return request<JobPostingDetail>(`/api/job-postings/${id}`)
 }
+
+export type InterviewSlot = {
+  id: number
+  jobId: number
+  startTime: string
+  location?: string | null
+  meetingLink?: string | null
+  applicationId?: number | null
+  interviewId?: number | null
+  bookedAt?: string | null
+}
+
+export type BookedInterview = {
+  id: number
+  jobId: number
+  applicationId: number
+  scheduledTime: string
+  location?: string | null
+  meetingLink?: string | null
+  status: 'SCHEDULED' | 'COMPLETED' | 'CANCELLED'
+}
+
+export async function fetchOpenInterviewSlots(jobId: number) {
+  return request<InterviewSlot[]>(`/api/interviews/slots?jobId=${jobId}`)
+}
+
+export async function claimInterviewSlot(slotId: number, payload: { studentId: number; applicationId: number }) {
+  return request<BookedInterview>(`/api/interviews/slots/${slotId}/claim`, {
+    method: 'POST',
+    body: JSON.stringify(payload),
+  })
+}